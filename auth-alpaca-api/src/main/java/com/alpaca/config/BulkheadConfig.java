@@ -0,0 +1,97 @@
+package com.alpaca.config;
+
+import com.alpaca.scheduling.Bulkhead;
+import com.alpaca.scheduling.BulkheadDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Declares the {@link Bulkhead}s bounding bcrypt and the connection pool, enabled with {@code
+ * app.bulkhead.enabled}, typically together with virtual threads in the {@code virtual} profile.
+ * Disabled bulkheads let every caller through.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    /**
+     * Bounds concurrent bcrypt operations.
+     *
+     * @param enabled whether the bulkheads are enabled
+     * @param permits concurrent hashes; {@code 0} for the number of available processors
+     * @param maxWait longest wait in ms for a permit
+     * @return the bulkhead used by {@link com.alpaca.security.manager.PasswordManager}
+     */
+    @Bean
+    Bulkhead passwordBulkhead(
+            @Value("${app.bulkhead.enabled:false}") boolean enabled,
+            @Value("${app.bulkhead.password.permits:0}") int permits,
+            @Value("${app.bulkhead.max-wait:5000}") long maxWait,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        int bound = permits > 0 ? permits : Runtime.getRuntime().availableProcessors();
+        return new Bulkhead(
+                "password",
+                enabled ? bound : 0,
+                Duration.ofMillis(maxWait),
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * Bounds the connections of the auth pool held by requests.
+     *
+     * @param enabled whether the bulkheads are enabled
+     * @param permits connections held by requests at once; {@code 0} for the pool size minus the
+     *     reserve
+     * @param poolSize maximum size of the auth connection pool
+     * @param reserve connections kept for work outside of requests
+     * @param maxWait longest wait in ms for a permit
+     * @return the bulkhead used by the {@link BulkheadDataSource}
+     */
+    @Bean
+    Bulkhead connectionBulkhead(
+            @Value("${app.bulkhead.enabled:false}") boolean enabled,
+            @Value("${app.bulkhead.connection.permits:0}") int permits,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${app.bulkhead.connection.reserve:2}") int reserve,
+            @Value("${app.bulkhead.max-wait:5000}") long maxWait,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        int bound = permits > 0 ? permits : Math.max(1, poolSize - reserve);
+        return new Bulkhead(
+                "connection",
+                enabled ? bound : 0,
+                Duration.ofMillis(maxWait),
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * Wraps the auth connection pool in a {@link BulkheadDataSource} when the bulkheads are
+     * enabled. The bulk pool is bounded by its own size.
+     *
+     * @param connectionBulkhead provider of the connection bulkhead, resolved lazily as this
+     *     post-processor is created before regular beans
+     * @return the post-processor wrapping the data source
+     */
+    @Bean
+    static BeanPostProcessor bulkheadDataSourcePostProcessor(
+            @Qualifier("connectionBulkhead") ObjectProvider<Bulkhead> connectionBulkhead) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "authDataSource".equals(beanName)) {
+                    Bulkhead bulkhead = connectionBulkhead.getObject();
+                    if (bulkhead.isEnabled()) {
+                        return new BulkheadDataSource(dataSource, bulkhead);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,7 +1,13 @@
 package com.alpaca.config;
 
+import com.alpaca.datasource.ConnectionPool;
+import com.alpaca.datasource.UseConnectionPool;
+import com.alpaca.metrics.AuthMetrics;
+import com.alpaca.metrics.AuthMetrics.CleanupTable;
+import com.alpaca.metrics.jfr.CleanupEvent;
 import com.alpaca.repository.RefreshTokenRepo;
 import com.alpaca.repository.SessionRepo;
+import java.util.function.IntSupplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,7 +18,8 @@ import org.springframework.transaction.annotation.Transactional;
  * Scheduled cleanup tasks for expired or revoked data.
  *
  * <p>Runs purge jobs at configured intervals to prevent the refresh_tokens and sessions tables from
- * accumulating stale revoked rows.
+ * accumulating stale revoked rows. Purges run on the bulk connection pool, the deleted rows are
+ * counted by {@link AuthMetrics} and each run is recorded as a {@link CleanupEvent}.
  */
 @Slf4j
 @Component
@@ -21,24 +28,47 @@ public class CleanupScheduler {
 
     private final RefreshTokenRepo refreshTokenRepo;
     private final SessionRepo sessionRepo;
+    private final AuthMetrics authMetrics;
 
     /** Purges all revoked refresh tokens every day at 00:00 UTC. */
+    @UseConnectionPool(ConnectionPool.BULK)
     @Transactional
     @Scheduled(cron = "0 0 0 * * ?", zone = "UTC")
     public void purgeRevokedRefreshTokens() {
-        int deleted = refreshTokenRepo.deleteRevoked();
+        int deleted = purge(CleanupTable.REFRESH_TOKENS, refreshTokenRepo::deleteRevoked);
         if (deleted > 0) {
             log.info("Purged {} revoked refresh tokens", deleted);
         }
     }
 
     /** Purges all revoked sessions every Sunday at 00:00 UTC. */
+    @UseConnectionPool(ConnectionPool.BULK)
     @Transactional
     @Scheduled(cron = "0 0 0 * * 0", zone = "UTC")
     public void purgeRevokedSessions() {
-        int deleted = sessionRepo.deleteRevoked();
+        int deleted = purge(CleanupTable.SESSIONS, sessionRepo::deleteRevoked);
         if (deleted > 0) {
             log.info("Purged {} revoked sessions", deleted);
         }
     }
+
+    /**
+     * Runs a purge and records the deleted rows.
+     *
+     * @param table the purged table
+     * @param delete the deletion, returning the number of removed rows
+     * @return the number of removed rows
+     */
+    private int purge(CleanupTable table, IntSupplier delete) {
+        CleanupEvent event = new CleanupEvent(table);
+        int deleted =
+                event.record(
+                        () -> {
+                            int removed = delete.getAsInt();
+                            event.setDeleted(removed);
+                            return removed;
+                        });
+        authMetrics.recordCleanup(table, deleted);
+        return deleted;
+    }
 }
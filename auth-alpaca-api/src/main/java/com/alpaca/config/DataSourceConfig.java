@@ -0,0 +1,252 @@
+package com.alpaca.config;
+
+import com.alpaca.datasource.ConnectionPool;
+import com.alpaca.datasource.ConnectionPoolInterceptor;
+import com.alpaca.datasource.ConnectionPoolRoutingDataSource;
+import com.alpaca.datasource.ReadFromReplica;
+import com.alpaca.datasource.ReadOnlyJpaDialect;
+import com.alpaca.datasource.ReplicaRouter;
+import com.alpaca.datasource.UseConnectionPool;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+/**
+ * Declares one Hikari pool per {@link ConnectionPool} behind a {@link
+ * ConnectionPoolRoutingDataSource}, which replaces the auto-configured data source.
+ *
+ * <p>Both pools connect with the {@code spring.datasource} settings, or the service connection in
+ * tests. The {@link ConnectionPool#AUTH} pool is tuned with {@code spring.datasource.hikari.*} and
+ * the {@link ConnectionPool#BULK} pool with {@code app.datasource.bulk.hikari.*}. Their metrics are
+ * published as {@code hikaricp.*}, tagged by {@code pool}. The pools themselves are not autowire
+ * candidates, so that everything else, Flyway and JPA included, uses the routing data source.
+ *
+ * <p>When {@code app.datasource.replica.url} is set, a third pool, named {@code replica} and tuned
+ * with {@code app.datasource.replica.hikari.*}, serves the read-only transactions of {@link
+ * ReadFromReplica} methods, as decided by the {@link ReplicaRouter}.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * PostgreSQL replication lag in ms: zero on a primary or a replica that replayed everything it
+     * received, {@code NULL} before the replica replayed anything.
+     */
+    private static final String DEFAULT_LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() ="
+                    + " pg_last_wal_replay_lsn() THEN 0 ELSE EXTRACT(EPOCH FROM now() -"
+                    + " pg_last_xact_replay_timestamp()) * 1000 END";
+
+    /**
+     * Creates the pool of the authentication path, the default one.
+     *
+     * @param properties the {@code spring.datasource} settings
+     * @param connectionDetails the service connection, overriding the settings when present
+     * @return the auth pool, named {@code auth}
+     */
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource authDataSource(
+            DataSourceProperties properties,
+            ObjectProvider<JdbcConnectionDetails> connectionDetails,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return createPool(
+                "auth", properties, connectionDetails.getIfAvailable(), meterRegistryProvider);
+    }
+
+    /**
+     * Creates the pool of admin listings, exports and batch jobs.
+     *
+     * @param properties the {@code spring.datasource} settings
+     * @param connectionDetails the service connection, overriding the settings when present
+     * @return the bulk pool, named {@code bulk}
+     */
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("app.datasource.bulk.hikari")
+    HikariDataSource bulkDataSource(
+            DataSourceProperties properties,
+            ObjectProvider<JdbcConnectionDetails> connectionDetails,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return createPool(
+                "bulk", properties, connectionDetails.getIfAvailable(), meterRegistryProvider);
+    }
+
+    /**
+     * Creates the router of read-only transactions, along with the replica pool when one is
+     * configured.
+     *
+     * @param url JDBC URL of the replica; empty to read everything from the primary
+     * @param username database user of the replica
+     * @param password database password of the replica
+     * @param lagQuery query returning the replication lag of the replica in ms
+     * @param maxLag lag in ms above which reads fall back to the primary
+     * @param readYourWritesWindow time in ms after a write during which the reads of its user fall
+     *     back to the primary
+     * @return the router, which owns and closes the replica pool
+     */
+    @Bean
+    ReplicaRouter replicaRouter(
+            DataSourceProperties properties,
+            Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistryProvider,
+            @Value("${app.datasource.replica.url:}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}")
+                    String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}")
+                    String password,
+            @Value("${app.datasource.replica.lag-query:" + DEFAULT_LAG_QUERY + "}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag:1000}") long maxLag,
+            @Value("${app.datasource.replica.read-your-writes-window:5000}")
+                    long readYourWritesWindow) {
+        MeterRegistry meterRegistry =
+                meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        HikariDataSource replica = null;
+        if (!url.isBlank()) {
+            replica =
+                    DataSourceBuilder.create(properties.getClassLoader())
+                            .type(HikariDataSource.class)
+                            .url(url)
+                            .username(username)
+                            .password(password)
+                            .build();
+            Binder.get(environment)
+                    .bind("app.datasource.replica.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica");
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return new ReplicaRouter(
+                replica,
+                lagQuery,
+                Duration.ofMillis(maxLag),
+                Duration.ofMillis(readYourWritesWindow),
+                meterRegistry);
+    }
+
+    /**
+     * Creates the data source routing to the selected pool.
+     *
+     * <p>Post-processors wrapping the connection acquisition, such as the request deadline check,
+     * apply to this bean: it sits beneath the lazy proxy of {@link #dataSource}, so its {@code
+     * getConnection()} covers the wait for a pooled connection.
+     *
+     * @param authDataSource the auth pool, possibly wrapped by a post-processor
+     * @param bulkDataSource the bulk pool
+     * @param replicaRouter the router of read-only transactions
+     * @return the routing data source, not an autowire candidate
+     */
+    @Bean(defaultCandidate = false)
+    DataSource routingDataSource(
+            @Qualifier("authDataSource") DataSource authDataSource,
+            @Qualifier("bulkDataSource") DataSource bulkDataSource,
+            ReplicaRouter replicaRouter) {
+        return new ConnectionPoolRoutingDataSource(authDataSource, bulkDataSource, replicaRouter);
+    }
+
+    /**
+     * Creates the data source of the application.
+     *
+     * <p>Connections are fetched lazily, on the first statement, so that the route sees whether the
+     * transaction is read-only.
+     *
+     * @param routingDataSource the routing data source, possibly wrapped by a post-processor
+     * @return the lazy proxy of the routing data source
+     */
+    @Bean
+    DataSource dataSource(@Qualifier("routingDataSource") DataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Applies {@link UseConnectionPool} and {@link ReadFromReplica} around annotated methods, ahead
+     * of the transaction advisor.
+     *
+     * @return the advisor selecting the pool
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor connectionPoolAdvisor() {
+        DefaultPointcutAdvisor advisor =
+                new DefaultPointcutAdvisor(
+                        new ComposablePointcut(
+                                        new AnnotationMatchingPointcut(
+                                                null, UseConnectionPool.class, true))
+                                .union(
+                                        new AnnotationMatchingPointcut(
+                                                null, ReadFromReplica.class, true)),
+                        new ConnectionPoolInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    /**
+     * Installs the {@link ReadOnlyJpaDialect} on the entity manager factory, before the vendor
+     * adapter provides its default dialect, so that read-only transactions load entities without
+     * dirty-checking snapshots.
+     *
+     * @return the post-processor of the entity manager factory
+     */
+    @Bean
+    static BeanPostProcessor readOnlyJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean factoryBean) {
+                    factoryBean.setJpaDialect(new ReadOnlyJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static HikariDataSource createPool(
+            String name,
+            DataSourceProperties properties,
+            JdbcConnectionDetails connectionDetails,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        DataSourceBuilder<HikariDataSource> builder =
+                DataSourceBuilder.create(properties.getClassLoader()).type(HikariDataSource.class);
+        if (connectionDetails != null) {
+            builder.url(connectionDetails.getJdbcUrl())
+                    .username(connectionDetails.getUsername())
+                    .password(connectionDetails.getPassword())
+                    .driverClassName(connectionDetails.getDriverClassName());
+        } else {
+            builder.url(properties.determineUrl())
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .driverClassName(properties.determineDriverClassName());
+        }
+        HikariDataSource pool = builder.build();
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(
+                new MicrometerMetricsTrackerFactory(
+                        meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry)));
+        return pool;
+    }
+}
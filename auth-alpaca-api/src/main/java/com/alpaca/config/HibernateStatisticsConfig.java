@@ -2,54 +2,96 @@ package com.alpaca.config;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManagerFactory;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
 import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
 
 /**
  * Exposes the Hibernate {@link SessionFactory} for programmatic statistics access.
  *
  * <p>This configuration unwraps the JPA {@link EntityManagerFactory} to obtain the underlying
- * Hibernate {@link SessionFactory} and stores a reference to its {@link Statistics} object. The
- * statistics themselves are controlled externally via the standard property {@code
- * spring.jpa.properties.hibernate.generate_statistics}.
+ * Hibernate {@link SessionFactory} and applies the standard property {@code
+ * spring.jpa.properties.hibernate.generate_statistics} to its {@link Statistics} object.
  *
- * <p>Defining this bean in a {@code @Configuration} class ensures that {@link Statistics} can be
- * injected into monitoring or actuator components without coupling them to JPA bootstrap details.
- *
- * <p>When statistics are active (via the Hibernate property), the following metrics become
- * available:
+ * <p>When statistics are active, the following metrics become available:
  *
  * <ul>
  *   <li>Session open/close counts
  *   <li>Query execution counts and timings
- *   <li>Cache hit/miss ratios
+ *   <li>Second-level and query cache hit/miss ratios, periodically logged per region
  *   <li>Flush and transaction timings
  * </ul>
  */
 @Slf4j
 @Configuration
-@RequiredArgsConstructor
 public class HibernateStatisticsConfig {
 
     /** Interface used to interact with the entity manager factory for the persistence unit. */
     private final EntityManagerFactory entityManagerFactory;
 
+    /** Whether Hibernate statistics should be collected. */
+    private final boolean statisticsEnabled;
+
     /**
-     * Ensures the {@link SessionFactory} is accessible after bean initialization and logs that
-     * statistics wiring is in place.
+     * Creates the configuration.
      *
-     * <p>Note: Whether statistics are actually collected depends on the Hibernate configuration
-     * property {@code hibernate.generate_statistics} — this method does not enable or disable them;
-     * it only makes the statistics handle available for downstream use.
+     * @param entityManagerFactory the entity manager factory of the persistence unit
+     * @param statisticsEnabled value of {@code hibernate.generate_statistics}; defaults to {@code
+     *     false}
      */
+    public HibernateStatisticsConfig(
+            EntityManagerFactory entityManagerFactory,
+            @Value("${spring.jpa.properties.hibernate.generate_statistics:false}")
+                    boolean statisticsEnabled) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    /** Applies the configured statistics flag after bean initialization and logs the outcome. */
     @PostConstruct
     public void enableStatistics() {
-        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
-        Statistics stats = sessionFactory.getStatistics();
-        stats.setStatisticsEnabled(false);
-        log.info("Hibernate Statistics enabled");
+        getStatistics().setStatisticsEnabled(statisticsEnabled);
+        log.info("Hibernate Statistics {}", statisticsEnabled ? "enabled" : "disabled");
+    }
+
+    /**
+     * Logs the second-level cache and query cache counters of every region every five minutes. Does
+     * nothing while statistics are disabled.
+     */
+    @Scheduled(fixedDelay = 300_000, initialDelay = 300_000)
+    public void logCacheStatistics() {
+        Statistics stats = getStatistics();
+        if (!stats.isStatisticsEnabled()) {
+            return;
+        }
+        log.info(
+                "Second-level cache: hits={}, misses={}, puts={}; query cache: hits={}, misses={},"
+                        + " puts={}",
+                stats.getSecondLevelCacheHitCount(),
+                stats.getSecondLevelCacheMissCount(),
+                stats.getSecondLevelCachePutCount(),
+                stats.getQueryCacheHitCount(),
+                stats.getQueryCacheMissCount(),
+                stats.getQueryCachePutCount());
+        for (String region : stats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = stats.getCacheRegionStatistics(region);
+            if (regionStats != null) {
+                log.debug(
+                        "Cache region {}: hits={}, misses={}, puts={}, elements={}",
+                        region,
+                        regionStats.getHitCount(),
+                        regionStats.getMissCount(),
+                        regionStats.getPutCount(),
+                        regionStats.getElementCountInMemory());
+            }
+        }
+    }
+
+    private Statistics getStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
     }
 }
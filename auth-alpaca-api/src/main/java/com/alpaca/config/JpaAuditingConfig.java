@@ -1,13 +1,13 @@
 package com.alpaca.config;
 
 import com.alpaca.model.UserPrincipal;
+import com.alpaca.security.filter.JwtTokenValidatorFilter;
 import java.util.Optional;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 /**
  * Enables JPA auditing and provides an {@link AuditorAware} bean that automatically populates
@@ -15,7 +15,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
  *
  * <p>The auditor is resolved from the currently authenticated Spring Security principal, falling
  * back to the authentication name when the principal is not a {@link
- * com.alpaca.model.UserPrincipal}.
+ * com.alpaca.model.UserPrincipal}. A Bearer token that was not verified by the request is ignored,
+ * so that writes on {@code permitAll} routes such as login or token rotation neither verify it nor
+ * fail on it.
  */
 @Configuration
 @EnableJpaAuditing
@@ -28,7 +30,8 @@ public class JpaAuditingConfig {
      * <p>This implementation checks the security context:
      *
      * <ul>
-     *   <li>If no user is authenticated, it returns an empty {@link Optional}.
+     *   <li>If no user is authenticated, or the Bearer token of the request has not been verified,
+     *       it returns an empty {@link Optional}.
      *   <li>If a user is authenticated, it casts the principal to {@link UserPrincipal} and returns
      *       the user's ID as a String.
      * </ul>
@@ -38,7 +41,7 @@ public class JpaAuditingConfig {
     @Bean
     public AuditorAware<String> auditorAware() {
         return () -> {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            Authentication authentication = JwtTokenValidatorFilter.getResolvedAuthentication();
 
             if (authentication == null || !authentication.isAuthenticated()) {
                 return Optional.empty();
@@ -0,0 +1,57 @@
+package com.alpaca.config;
+
+import com.alpaca.metrics.QueryBudgetFilter;
+import com.alpaca.metrics.QueryBudgetInspector;
+import com.alpaca.metrics.QueryBudgetProperties;
+import jakarta.servlet.DispatcherType;
+import org.hibernate.cfg.JdbcSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Checks the statements and latency of every request against the budget of its route when {@code
+ * app.query-budget.enabled} is set.
+ *
+ * <p>Statements are counted by a Hibernate {@link QueryBudgetInspector}, next to the session
+ * factory statistics of {@link HibernateStatisticsConfig}, so that a new lazy load on a hot route,
+ * e.g. in {@link com.alpaca.model.UserPrincipal}, shows up as a warning, or fails the request with
+ * {@code app.query-budget.strict} as in tests.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-budget.enabled", havingValue = "true")
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class QueryBudgetConfig {
+
+    /**
+     * Registers the filter right after the {@link ServerTimingConfig} one, so that the latency of a
+     * route covers the security filters and the wait in the request scheduler.
+     *
+     * @param properties the budgets of the routes
+     * @return the filter registration
+     */
+    @Bean
+    FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(QueryBudgetProperties properties) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+                new FilterRegistrationBean<>(new QueryBudgetFilter(properties));
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+
+    /**
+     * Sets the {@link QueryBudgetInspector} as the statement inspector of the session factory.
+     *
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    HibernatePropertiesCustomizer queryBudgetInspector() {
+        return properties ->
+                properties.put(JdbcSettings.STATEMENT_INSPECTOR, new QueryBudgetInspector());
+    }
+}
@@ -0,0 +1,97 @@
+package com.alpaca.config;
+
+import com.alpaca.scheduling.DeadlineAwareDataSource;
+import com.alpaca.scheduling.LoadShedder;
+import com.alpaca.scheduling.RequestDeadlineFilter;
+import com.alpaca.scheduling.RequestScheduler;
+import com.alpaca.scheduling.RequestSchedulingFilter;
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers the {@link RequestDeadlineFilter} as the first servlet filter, and the {@link
+ * RequestSchedulingFilter} as the last one, for the initial and the {@code ASYNC} dispatch of each
+ * request. Also wraps the routing {@link DataSource} so that no connection is handed to a request
+ * whose deadline has passed.
+ */
+@Configuration
+public class RequestSchedulingConfig {
+
+    /**
+     * Registers the request deadline filter.
+     *
+     * @param loadShedder the shedder dropping requests that arrive after their deadline
+     * @param defaultDeadline time in ms after arrival past which a request is dropped; 0 for none
+     * @return the filter registration
+     */
+    @Bean
+    FilterRegistrationBean<RequestDeadlineFilter> requestDeadlineFilter(
+            LoadShedder loadShedder,
+            @Value("${app.scheduling.default-deadline:0}") long defaultDeadline) {
+        FilterRegistrationBean<RequestDeadlineFilter> registration =
+                new FilterRegistrationBean<>(
+                        new RequestDeadlineFilter(loadShedder, Duration.ofMillis(defaultDeadline)));
+        registration.setDispatcherTypes(DispatcherType.REQUEST);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Wraps the routing {@link DataSource} in a {@link DeadlineAwareDataSource}.
+     *
+     * <p>The application data source is a lazy proxy whose {@code getConnection()} returns before
+     * any pool wait; the routing data source beneath it acquires the pooled connection, so that the
+     * deadline is checked again once the wait is over.
+     *
+     * @param loadShedder provider of the shedder, resolved lazily as this post-processor is created
+     *     before regular beans
+     * @return the post-processor wrapping the data source
+     */
+    @Bean
+    static BeanPostProcessor deadlineAwareDataSourcePostProcessor(
+            ObjectProvider<LoadShedder> loadShedder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "routingDataSource".equals(beanName)) {
+                    return new DeadlineAwareDataSource(dataSource, loadShedder.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Registers the request scheduling filter.
+     *
+     * @param scheduler the scheduler admitting the requests
+     * @param loadShedder the shedder dropping requests admitted after their deadline
+     * @param enabled whether requests go through the scheduler
+     * @param queueTimeout time in ms a request may wait before being answered with 503
+     * @return the filter registration
+     */
+    @Bean
+    FilterRegistrationBean<RequestSchedulingFilter> requestSchedulingFilter(
+            RequestScheduler scheduler,
+            LoadShedder loadShedder,
+            @Value("${app.scheduling.enabled:false}") boolean enabled,
+            @Value("${app.scheduling.queue-timeout:30000}") long queueTimeout) {
+        FilterRegistrationBean<RequestSchedulingFilter> registration =
+                new FilterRegistrationBean<>(
+                        new RequestSchedulingFilter(
+                                scheduler, Duration.ofMillis(queueTimeout), loadShedder));
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        registration.setAsyncSupported(true);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
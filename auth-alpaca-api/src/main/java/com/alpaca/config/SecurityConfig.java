@@ -1,18 +1,25 @@
 package com.alpaca.config;
 
 import com.alpaca.security.filter.JwtTokenValidatorFilter;
+import com.alpaca.security.manager.AuthorityBitmapManager;
+import com.alpaca.security.manager.BitmapAuthorizationManagerFactory;
 import com.alpaca.security.manager.CustomAuthenticationManager;
 import com.alpaca.security.manager.JJwtManager;
 import com.alpaca.security.oauth2.*;
 import com.alpaca.service.IOAuth2Service;
+import jakarta.servlet.DispatcherType;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.FormHttpMessageConverter;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationManagerFactory;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -30,7 +37,7 @@ import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
-import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.session.SessionManagementFilter;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -60,6 +67,28 @@ public class SecurityConfig {
     private final ClientRegistrationRepository clientRegistrationRepository;
     private final CustomAuthenticationManager authenticationManager;
 
+    /**
+     * Builds the security filter chain of the Actuator endpoints, matched before the API chain.
+     *
+     * <p>The endpoints are served on {@code management.server.port}, which is not exposed by the
+     * public ingress, so they are permitted without authentication for the metrics scrapers and the
+     * orchestrator probes. No session, CSRF token or Bearer token is involved.
+     *
+     * @param http the {@link HttpSecurity} to modify
+     * @return the built {@link SecurityFilterChain}
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    SecurityFilterChain managementSecurityFilterChain(HttpSecurity http) {
+        http.securityMatcher(EndpointRequest.toAnyEndpoint());
+        http.csrf(AbstractHttpConfigurer::disable);
+        http.formLogin(AbstractHttpConfigurer::disable);
+        http.httpBasic(AbstractHttpConfigurer::disable);
+        http.sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        http.authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+        return http.build();
+    }
+
     /**
      * Builds the security filter chain with stateless session management, JWT validation, and
      * OAuth2 login support.
@@ -74,10 +103,12 @@ public class SecurityConfig {
      *       /api/users/**}.
      *   <li>Admin-only endpoints: {@code /api/roles/**}, {@code /api/permissions/**}.
      *   <li>All other requests are denied by default.
+     *   <li>{@code ASYNC} dispatches are permitted: they resume requests parked by the {@link
+     *       com.alpaca.scheduling.RequestSchedulingFilter}, which were authorized on arrival.
      *   <li>OAuth2 login is configured with cookie-based authorization request repository and a
      *       custom token response client.
-     *   <li>A {@link JwtTokenValidatorFilter} is injected before {@link BasicAuthenticationFilter}
-     *       to validate Bearer tokens on every request.
+     *   <li>A {@link JwtTokenValidatorFilter} is injected after {@link SessionManagementFilter} to
+     *       validate Bearer tokens lazily, once a rule or endpoint needs the authentication.
      * </ul>
      *
      * @param http the {@link HttpSecurity} to modify
@@ -92,6 +123,7 @@ public class SecurityConfig {
         http.sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
         http.authorizeHttpRequests(
                 auth -> {
+                    auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
                     auth.requestMatchers("/api/auth/**", "/oauth2/**").permitAll();
                     auth.requestMatchers("/api/sessions/**").authenticated();
                     auth.requestMatchers("/api/advertisers/**").permitAll();
@@ -126,8 +158,9 @@ public class SecurityConfig {
                                 .accessDeniedHandler(accessDeniedHandler())
                                 .authenticationEntryPoint(authenticationEntryPoint()));
         http.authenticationProvider(authenticationManager);
-        http.addFilterBefore(
-                new JwtTokenValidatorFilter(jwtManager), BasicAuthenticationFilter.class);
+        // After SessionManagementFilter, which reads the security context on every request and
+        // would otherwise force the deferred Bearer token verification.
+        http.addFilterAfter(new JwtTokenValidatorFilter(jwtManager), SessionManagementFilter.class);
         return http.build();
     }
 
@@ -163,6 +196,21 @@ public class SecurityConfig {
         return client;
     }
 
+    /**
+     * Publishes the {@link AuthorizationManagerFactory} used by both {@code authorizeHttpRequests}
+     * rules and method security expressions, so that {@code hasRole}/{@code hasAuthority} checks
+     * are answered from the authority bitset of the access token.
+     *
+     * @param authorityBitmapManager the compiled authority catalogue
+     * @param <T> the type of object being authorized
+     * @return the bitmap-backed authorization manager factory
+     */
+    @Bean
+    <T> AuthorizationManagerFactory<T> authorizationManagerFactory(
+            AuthorityBitmapManager authorityBitmapManager) {
+        return new BitmapAuthorizationManagerFactory<>(authorityBitmapManager);
+    }
+
     /**
      * Returns an {@link AccessDeniedHandler} that responds with HTTP 403 and includes the access
      * denial reason in the response body.
@@ -0,0 +1,57 @@
+package com.alpaca.config;
+
+import com.alpaca.metrics.ServerTiming;
+import com.alpaca.metrics.ServerTimingFilter;
+import com.alpaca.metrics.ServerTimingSessionListener;
+import jakarta.servlet.DispatcherType;
+import org.hibernate.cfg.SessionEventSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Answers the {@value ServerTiming#HEADER} header on every response when {@code
+ * app.server-timing.enabled} is set, e.g. by the {@code timing} profile used for load tests.
+ *
+ * <p>The start of the serialization is marked by the {@link
+ * com.alpaca.metrics.ServerTimingBodyAdvice}, registered under the same condition.
+ *
+ * <p>The header discloses how long password checks and database work take, and buffering the bodies
+ * costs a copy per response, so it stays disabled by default.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    /**
+     * Registers the filter right after the {@link com.alpaca.scheduling.RequestDeadlineFilter}, so
+     * that the total covers the security filters and the wait in the request scheduler.
+     *
+     * @return the filter registration
+     */
+    @Bean
+    FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+
+    /**
+     * Adds a {@link ServerTimingSessionListener} to every Hibernate session.
+     *
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    HibernatePropertiesCustomizer serverTimingSessionListener() {
+        return properties ->
+                properties.put(
+                        SessionEventSettings.AUTO_SESSION_EVENTS_LISTENER,
+                        ServerTimingSessionListener.class.getName());
+    }
+}
@@ -21,6 +21,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
@@ -75,7 +76,10 @@ public class AuthController {
                 manager.authenticate(
                         new UsernamePasswordAuthenticationToken(
                                 requestDTO.getEmail(), requestDTO.getPassword()));
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        // Replaces the context instead of reading it, which would verify a stale Bearer token
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
         return new ResponseEntity<>(
                 authService.login(
                         ((UserPrincipal) authentication.getPrincipal()),
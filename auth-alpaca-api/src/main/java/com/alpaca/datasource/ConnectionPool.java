@@ -0,0 +1,19 @@
+package com.alpaca.datasource;
+
+/**
+ * Named connection pools behind the {@link ConnectionPoolRoutingDataSource}.
+ *
+ * @see UseConnectionPool
+ */
+public enum ConnectionPool {
+    /**
+     * Default pool, reserved for the authentication path (login, rotation, logout) and every method
+     * that does not select another pool.
+     */
+    AUTH,
+    /**
+     * Pool of admin listings, exports and batch jobs, which may hold connections for long, sized so
+     * that they never take connections from {@link #AUTH}.
+     */
+    BULK
+}
@@ -0,0 +1,67 @@
+package com.alpaca.datasource;
+
+/**
+ * Holds the {@link ConnectionPool} selected for the current thread, and whether its read-only
+ * transactions may read from the replica.
+ *
+ * @see ConnectionPoolInterceptor
+ */
+public final class ConnectionPoolContext {
+
+    private static final ThreadLocal<ConnectionPool> CURRENT = new ThreadLocal<>();
+
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private ConnectionPoolContext() {}
+
+    /**
+     * Returns the pool selected for the current thread.
+     *
+     * @return the selected pool, {@link ConnectionPool#AUTH} when none was selected
+     */
+    public static ConnectionPool current() {
+        ConnectionPool pool = CURRENT.get();
+        return pool != null ? pool : ConnectionPool.AUTH;
+    }
+
+    /**
+     * Selects a pool for the current thread.
+     *
+     * @param pool the pool to select; {@code null} to clear the selection
+     * @return the previous selection, to restore with this method, or {@code null}
+     */
+    public static ConnectionPool select(ConnectionPool pool) {
+        ConnectionPool previous = CURRENT.get();
+        if (pool != null) {
+            CURRENT.set(pool);
+        } else {
+            CURRENT.remove();
+        }
+        return previous;
+    }
+
+    /**
+     * Tells whether read-only transactions of the current thread may read from the replica.
+     *
+     * @return {@code true} inside a method annotated with {@link ReadFromReplica}
+     */
+    public static boolean isReplicaAllowed() {
+        return Boolean.TRUE.equals(REPLICA_ALLOWED.get());
+    }
+
+    /**
+     * Allows or forbids replica reads for the current thread.
+     *
+     * @param allowed whether read-only transactions may read from the replica
+     * @return the previous setting, to restore with this method
+     */
+    public static boolean allowReplica(boolean allowed) {
+        boolean previous = isReplicaAllowed();
+        if (allowed) {
+            REPLICA_ALLOWED.set(Boolean.TRUE);
+        } else {
+            REPLICA_ALLOWED.remove();
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,59 @@
+package com.alpaca.datasource;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.NonNull;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Applies {@link UseConnectionPool} and {@link ReadFromReplica} for the duration of the annotated
+ * methods, and restores the previous selection afterwards.
+ *
+ * <p>Registered with a higher precedence than the transaction interceptor, so the pool is selected
+ * before the transaction acquires its connection.
+ */
+public class ConnectionPoolInterceptor implements MethodInterceptor {
+
+    private final Map<Method, Selection> selections = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+        Class<?> targetClass =
+                invocation.getThis() != null
+                        ? AopUtils.getTargetClass(invocation.getThis())
+                        : invocation.getMethod().getDeclaringClass();
+        Selection selection =
+                selections.computeIfAbsent(
+                        AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass),
+                        ConnectionPoolInterceptor::findSelection);
+        if (selection.pool() == null && !selection.replica()) {
+            return invocation.proceed();
+        }
+        ConnectionPool previousPool =
+                selection.pool() != null ? ConnectionPoolContext.select(selection.pool()) : null;
+        boolean previousReplica = ConnectionPoolContext.allowReplica(selection.replica());
+        try {
+            return invocation.proceed();
+        } finally {
+            if (selection.pool() != null) {
+                ConnectionPoolContext.select(previousPool);
+            }
+            ConnectionPoolContext.allowReplica(previousReplica);
+        }
+    }
+
+    private static Selection findSelection(Method method) {
+        UseConnectionPool pool =
+                AnnotatedElementUtils.findMergedAnnotation(method, UseConnectionPool.class);
+        return new Selection(
+                pool != null ? pool.value() : null,
+                AnnotatedElementUtils.hasAnnotation(method, ReadFromReplica.class));
+    }
+
+    /** Pool and replica settings declared on a method. */
+    private record Selection(ConnectionPool pool, boolean replica) {}
+}
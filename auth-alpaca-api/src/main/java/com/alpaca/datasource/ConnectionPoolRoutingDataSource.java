@@ -0,0 +1,80 @@
+package com.alpaca.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link DataSource} handing out connections from the {@link ConnectionPool} selected for the
+ * current thread, see {@link ConnectionPoolContext}, or from the replica when the {@link
+ * ReplicaRouter} sends the current transaction there.
+ *
+ * <p>Each pool has its own size, timeout and metrics, so a slow admin listing exhausts the {@link
+ * ConnectionPool#BULK} pool at worst, while logins and token rotations keep the connections of the
+ * {@link ConnectionPool#AUTH} pool.
+ *
+ * <p>Connections acquired by a read-only transaction are flagged read-only, which lets the driver
+ * open a read-only database transaction; the pool resets the flag when they are returned. The route
+ * is decided when a transaction acquires its connection, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: without it, the
+ * connection is acquired as the transaction begins, before it is flagged read-only.
+ */
+public class ConnectionPoolRoutingDataSource extends AbstractRoutingDataSource {
+
+    /** Lookup key of the replica. */
+    private static final String REPLICA = "replica";
+
+    private final ReplicaRouter replicaRouter;
+
+    /**
+     * Creates the data source.
+     *
+     * @param authPool the default pool
+     * @param bulkPool the pool of admin listings, exports and batch jobs
+     * @param replicaRouter the router deciding which transactions read from the replica
+     */
+    public ConnectionPoolRoutingDataSource(
+            DataSource authPool, DataSource bulkPool, ReplicaRouter replicaRouter) {
+        this.replicaRouter = replicaRouter;
+        Map<Object, Object> pools = new HashMap<>();
+        pools.put(ConnectionPool.AUTH, authPool);
+        pools.put(ConnectionPool.BULK, bulkPool);
+        if (replicaRouter.getReplica() != null) {
+            pools.put(REPLICA, replicaRouter.getReplica());
+        }
+        setTargetDataSources(pools);
+        setDefaultTargetDataSource(authPool);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return prepare(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return prepare(super.getConnection(username, password));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaRouter.shouldRead()) {
+            return REPLICA;
+        }
+        replicaRouter.recordWrite();
+        return ConnectionPoolContext.current();
+    }
+
+    private static Connection prepare(Connection connection) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            connection.setReadOnly(true);
+        }
+        return connection;
+    }
+}
@@ -0,0 +1,23 @@
+package com.alpaca.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets the read-only transactions of a bean method read from the replica, see {@link
+ * ReplicaRouter}.
+ *
+ * <p>Only transactions declared with {@code @Transactional(readOnly = true)} go to the replica;
+ * writes, and reads falling back because of replica lag or a recent write of the current user, use
+ * the selected {@link ConnectionPool}. Reads of the authentication path are never annotated, as
+ * they must see revocations as soon as they commit.
+ *
+ * @see ConnectionPoolInterceptor
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromReplica {}
@@ -0,0 +1,51 @@
+package com.alpaca.datasource;
+
+import jakarta.persistence.EntityManager;
+import java.sql.SQLException;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * {@link HibernateJpaDialect} running every read-only transaction in read-only session mode.
+ *
+ * <p>Spring already switches read-only transactions to {@code FlushMode.MANUAL}, but only makes the
+ * session read-only when the transaction opened its own {@link EntityManager}. Within an
+ * open-in-view request the {@link EntityManager} is bound beforehand, so every loaded entity kept a
+ * snapshot for dirty checking. This dialect makes the session read-only for the duration of any
+ * read-only transaction, so that entities and query results are loaded without snapshot, and
+ * restores it afterwards.
+ *
+ * <p>Entities loaded that way stay read-only for the rest of the session: a write transaction
+ * sharing it must not modify them.
+ */
+public class ReadOnlyJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly()) {
+            return transactionData;
+        }
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        if (session.isDefaultReadOnly()) {
+            return transactionData;
+        }
+        session.setDefaultReadOnly(true);
+        return new ReadOnlyTransactionData(session, transactionData);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReadOnlyTransactionData readOnly) {
+            readOnly.session().setDefaultReadOnly(false);
+            super.cleanupTransaction(readOnly.transactionData());
+            return;
+        }
+        super.cleanupTransaction(transactionData);
+    }
+
+    /** Transaction data of a session made read-only by this dialect. */
+    private record ReadOnlyTransactionData(SessionImplementor session, Object transactionData) {}
+}
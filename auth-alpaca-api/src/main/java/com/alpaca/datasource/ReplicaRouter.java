@@ -0,0 +1,211 @@
+package com.alpaca.datasource;
+
+import com.alpaca.model.UserPrincipal;
+import com.alpaca.security.filter.JwtTokenValidatorFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Decides which read-only transactions read from the replica.
+ *
+ * <p>A transaction reads from the replica when it is read-only, runs inside a method annotated with
+ * {@link ReadFromReplica}, and neither of the following fallbacks to the primary applies:
+ *
+ * <ul>
+ *   <li><strong>Lag:</strong> the replica is polled for its replication lag; while the lag exceeds
+ *       the maximum, or the replica cannot be reached, every read goes to the primary.
+ *   <li><strong>Read-your-writes:</strong> once a write transaction of an authenticated user
+ *       commits, the reads of that user go to the primary for a window longer than the tolerated
+ *       lag, so that they see their own changes. The user is taken from {@link
+ *       JwtTokenValidatorFilter#getResolvedAuthentication()}, so acquiring a connection never
+ *       verifies a deferred Bearer token nor rejects the request; while the token of a request is
+ *       still unverified, such as on {@code permitAll} routes, the check is skipped.
+ * </ul>
+ *
+ * <p>The router records the following metrics:
+ *
+ * <ul>
+ *   <li>{@code datasource.replica.lag}: last measured replication lag in ms, {@code NaN} while the
+ *       replica cannot be reached.
+ *   <li>{@code datasource.replica.reads}: transactions served by the replica.
+ *   <li>{@code datasource.replica.fallbacks}: eligible transactions sent to the primary, tagged by
+ *       {@code reason} ({@code lag} or {@code read-your-writes}).
+ * </ul>
+ *
+ * <p>Without a replica, every transaction uses the primary and nothing is recorded.
+ */
+@Slf4j
+public class ReplicaRouter implements Closeable {
+
+    private final DataSource replica;
+
+    private final String lagQuery;
+
+    private final long maxLagMillis;
+
+    /** Users who committed a write within the read-your-writes window. */
+    private final Cache<UUID, Boolean> recentWriters;
+
+    private final Counter reads;
+
+    private final Counter lagFallbacks;
+
+    private final Counter readYourWritesFallbacks;
+
+    private volatile double lagMillis = Double.NaN;
+
+    private volatile boolean available;
+
+    /**
+     * Creates the router.
+     *
+     * @param replica the replica pool; {@code null} when no replica is configured
+     * @param lagQuery query returning the replication lag of the replica in ms, {@code NULL} when
+     *     unknown
+     * @param maxLag lag above which reads fall back to the primary
+     * @param readYourWritesWindow time after a write during which the reads of its user fall back
+     *     to the primary
+     * @param meterRegistry registry of the router metrics
+     */
+    public ReplicaRouter(
+            DataSource replica,
+            String lagQuery,
+            Duration maxLag,
+            Duration readYourWritesWindow,
+            MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLag.toMillis();
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(readYourWritesWindow).build();
+        this.reads = meterRegistry.counter("datasource.replica.reads");
+        this.lagFallbacks = meterRegistry.counter("datasource.replica.fallbacks", "reason", "lag");
+        this.readYourWritesFallbacks =
+                meterRegistry.counter("datasource.replica.fallbacks", "reason", "read-your-writes");
+        if (replica != null) {
+            Gauge.builder("datasource.replica.lag", this, r -> r.lagMillis)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Returns the replica pool.
+     *
+     * @return the replica, or {@code null} when none is configured
+     */
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    /**
+     * Tells whether the transaction acquiring a connection on the current thread reads from the
+     * replica, counting the decision.
+     *
+     * @return {@code true} to use the replica
+     */
+    public boolean shouldRead() {
+        if (replica == null
+                || !ConnectionPoolContext.isReplicaAllowed()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        if (!available) {
+            lagFallbacks.increment();
+            return false;
+        }
+        UUID userId = currentUserId();
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            readYourWritesFallbacks.increment();
+            return false;
+        }
+        reads.increment();
+        return true;
+    }
+
+    /**
+     * Opens the read-your-writes window of the current user once the write transaction acquiring a
+     * connection on the current thread commits.
+     */
+    public void recordWrite() {
+        if (replica == null
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        UUID userId = currentUserId();
+        if (userId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentWriters.put(userId, Boolean.TRUE);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(userId, Boolean.TRUE);
+                    }
+                });
+    }
+
+    /** Measures the replication lag and decides whether the replica may serve reads. */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:1000}")
+    public void checkLag() {
+        if (replica == null) {
+            return;
+        }
+        double lag = Double.NaN;
+        try (Connection connection = replica.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (resultSet.next()) {
+                double value = resultSet.getDouble(1);
+                lag = resultSet.wasNull() ? Double.NaN : value;
+            }
+        } catch (SQLException e) {
+            log.debug("Could not measure the replica lag: {}", e.getMessage());
+        }
+        boolean wasAvailable = available;
+        lagMillis = lag;
+        available = !Double.isNaN(lag) && lag <= maxLagMillis;
+        if (wasAvailable != available) {
+            log.info(
+                    "Replica {} for reads (lag {} ms)",
+                    available ? "enabled" : "disabled",
+                    Double.isNaN(lag) ? "unknown" : (long) lag);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (replica instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static UUID currentUserId() {
+        Authentication authentication = JwtTokenValidatorFilter.getResolvedAuthentication();
+        return authentication != null
+                        && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getUserId()
+                : null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.alpaca.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects the {@link ConnectionPool} used by a bean method and everything it calls.
+ *
+ * <p>The pool is selected around the method, before any transaction it declares begins, so the
+ * annotation can sit next to {@code @Transactional}. A transaction already running keeps the
+ * connection it holds. Methods without the annotation use the pool selected by their caller, or
+ * {@link ConnectionPool#AUTH}.
+ *
+ * @see ConnectionPoolInterceptor
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UseConnectionPool {
+
+    /**
+     * The pool to use.
+     *
+     * @return the selected pool
+     */
+    ConnectionPool value();
+}
@@ -7,6 +7,8 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a Permission entity in the system. This entity is used to manage user permissions and
@@ -17,6 +19,8 @@ import lombok.*;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rbac-permissions")
 @Entity
 @Table(name = "permissions")
 public class Permission extends Auditable {
@@ -40,6 +44,9 @@ public class Permission extends Auditable {
      * directly.
      */
     @Builder.Default
+    @Cache(
+            usage = CacheConcurrencyStrategy.READ_WRITE,
+            region = "rbac-role-permissions-by-permission")
     @OneToMany(mappedBy = "permission", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<RolePermission> rolePermissions = new HashSet<>();
 
@@ -4,16 +4,23 @@ import com.alpaca.utils.GeneratorUUIDv7;
 import jakarta.persistence.*;
 import java.util.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a Role entity in the system. This entity is mapped to the "roles" table in the
  * database and defines user roles with specific permissions.
+ *
+ * <p>Roles and their permission assignments are read-mostly and kept in the Hibernate second-level
+ * cache.
  */
 @Builder
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rbac-roles")
 @Entity
 @Table(name = "roles")
 public class Role extends Auditable {
@@ -41,6 +48,7 @@ public class Role extends Auditable {
      * RolePermission}
      */
     @Builder.Default
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rbac-role-permissions-by-role")
     @OneToMany(
             mappedBy = "role",
             cascade = CascadeType.ALL,
@@ -0,0 +1,191 @@
+package com.alpaca.exception;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Authentication failures a client can trigger without holding any valid credential, e.g. forged or
+ * expired Access Tokens, wrong passwords and replayed exchange codes.
+ *
+ * <p>Under credential stuffing or token spraying these are the most frequent responses of the API,
+ * so each failure is answered by a single pre-allocated exception that does not capture a stack
+ * trace, and by an {@link com.alpaca.dto.response.ErrorResponseDTO} body whose status and message
+ * are rendered once; only the request path and the error time are written per response. The
+ * exceptions still are {@link UnauthorizedException} and {@link BadRequestException}, so callers
+ * and tests matching on those types or on their reason are unaffected.
+ *
+ * <p>The instances are shared by all requests: they must be thrown as they are, never wrapped as
+ * the cause of another exception nor altered through {@link ResponseStatusException#getHeaders()}
+ * or {@link ResponseStatusException#getBody()}.
+ *
+ * @see GlobalExceptionHandler#handleAuthFailure
+ * @see com.alpaca.security.filter.JwtTokenValidatorFilter
+ */
+public enum AuthFailure {
+    INVALID_ACCESS_TOKEN(HttpStatus.UNAUTHORIZED, "Invalid Access Token"),
+    TOKEN_INVALID(HttpStatus.UNAUTHORIZED, "Token Invalid, Unauthorized"),
+    INVALID_USERNAME_OR_PASSWORD(HttpStatus.BAD_REQUEST, "Invalid Username or Password"),
+    INVALID_PASSWORD(HttpStatus.BAD_REQUEST, "Invalid Password"),
+    EXCHANGE_CODE_REQUIRED(HttpStatus.UNAUTHORIZED, "Exchange code is required"),
+    INVALID_CODE_VERIFIER(HttpStatus.BAD_REQUEST, "Invalid code-verifier format"),
+    CODE_INVALID_OR_EXPIRED(HttpStatus.UNAUTHORIZED, "Code Invalid or Expired"),
+    MISSING_REFRESH_TOKEN(HttpStatus.BAD_REQUEST, "Invalid Refresh Token"),
+    UNKNOWN_REFRESH_TOKEN(HttpStatus.UNAUTHORIZED, "Invalid Refresh Token"),
+    MISSING_CLIENT_ID(HttpStatus.BAD_REQUEST, "Invalid Client ID"),
+    MISSING_USER_AGENT(HttpStatus.BAD_REQUEST, "Invalid User Agent"),
+    MISSING_CLIENT_IP(HttpStatus.BAD_REQUEST, "Invalid Client IP");
+
+    /** Clock of the {@code errorTime}, resolving the system time zone once instead of per error. */
+    private static final Clock CLOCK = Clock.systemDefaultZone();
+
+    private static final String API_PATH_PREFIX = "{\"apiPath\":\"";
+
+    private static final String BODY_SUFFIX = "\"}";
+
+    private final HttpStatus status;
+
+    private final ResponseStatusException exception;
+
+    /** The body between the request path and the error time, holding the escaped message. */
+    private final String bodyMessage;
+
+    AuthFailure(HttpStatus status, String message) {
+        this.status = status;
+        this.exception =
+                status == HttpStatus.UNAUTHORIZED
+                        ? new Unauthorized(this, message)
+                        : new BadRequest(this, message);
+        this.bodyMessage =
+                appendEscaped(new StringBuilder("\",\"message\":\""), message)
+                        .append("\",\"errorTime\":\"")
+                        .toString();
+    }
+
+    /**
+     * Returns the shared exception of this failure.
+     *
+     * @return an {@link UnauthorizedException} or a {@link BadRequestException} without stack trace
+     */
+    public ResponseStatusException exception() {
+        return exception;
+    }
+
+    /**
+     * Returns the HTTP status of this failure.
+     *
+     * @return {@code 401 Unauthorized} or {@code 400 Bad Request}
+     */
+    public HttpStatus status() {
+        return status;
+    }
+
+    /**
+     * Resolves the failure an exception was pre-allocated for.
+     *
+     * @param exception any exception
+     * @return the failure, or {@code null} if the exception is not one of the shared instances
+     */
+    public static AuthFailure of(Throwable exception) {
+        return exception instanceof Cached cached ? cached.failure() : null;
+    }
+
+    /**
+     * Renders the JSON error body of this failure, with the fields of {@link
+     * com.alpaca.dto.response.ErrorResponseDTO} in their serialized form.
+     *
+     * @param apiPath the request description, e.g. {@code uri=/api/auth/me}
+     * @return the JSON body
+     */
+    public String body(String apiPath) {
+        StringBuilder body = new StringBuilder(128).append(API_PATH_PREFIX);
+        appendEscaped(body, apiPath).append(bodyMessage);
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(LocalDateTime.now(CLOCK), body);
+        return body.append(BODY_SUFFIX).toString();
+    }
+
+    /**
+     * Writes the status and the JSON body of this failure straight to the response, for failures
+     * raised in the filter chain outside of Spring MVC.
+     *
+     * @param request the rejected request
+     * @param response the response, not committed yet
+     * @throws IOException if the body cannot be written
+     */
+    public void write(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte[] body = body("uri=" + request.getRequestURI()).getBytes(StandardCharsets.UTF_8);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static StringBuilder appendEscaped(StringBuilder json, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json;
+    }
+
+    /** Marks the pre-allocated exceptions. */
+    sealed interface Cached permits Unauthorized, BadRequest {
+
+        AuthFailure failure();
+    }
+
+    /** Pre-allocated {@link UnauthorizedException} without stack trace. */
+    static final class Unauthorized extends UnauthorizedException implements Cached {
+
+        private final AuthFailure failure;
+
+        private Unauthorized(AuthFailure failure, String message) {
+            super(message);
+            this.failure = failure;
+        }
+
+        @Override
+        public AuthFailure failure() {
+            return failure;
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /** Pre-allocated {@link BadRequestException} without stack trace. */
+    static final class BadRequest extends BadRequestException implements Cached {
+
+        private final AuthFailure failure;
+
+        private BadRequest(AuthFailure failure, String message) {
+            super(message);
+            this.failure = failure;
+        }
+
+        @Override
+        public AuthFailure failure() {
+            return failure;
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -5,10 +5,12 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.HashMap;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -33,6 +35,8 @@ import org.springframework.web.server.ResponseStatusException;
  *       timestamp and request description, returning HTTP 500.
  *   <li>{@link ResponseStatusException}: translates the exception into an error response using the
  *       exception’s status and reason.
+ *   <li>{@link AuthFailure}: answers the shared authentication failures with their pre-rendered
+ *       body.
  * </ul>
  *
  * <p>This approach centralizes error logic, improves API consistency, and cleanly separates concern
@@ -108,7 +112,9 @@ public class GlobalExceptionHandler {
      * Handles any uncaught exception not handled by more specific exception handlers.
      *
      * <p>Logs the full error at ERROR level and returns a generic HTTP 500 response, avoiding
-     * leakage of internal implementation details to the client.
+     * leakage of internal implementation details to the client. A request dropped while waiting for
+     * a database connection arrives here wrapped by the persistence layer; it is answered with the
+     * HTTP 503 of its {@link ServiceUnavailableException} cause instead.
      *
      * @param ex the unexpected exception
      * @param req the current web request for context
@@ -116,6 +122,10 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> handleGlobalException(Exception ex, WebRequest req) {
+        if (NestedExceptionUtils.getMostSpecificCause(ex)
+                instanceof ServiceUnavailableException unavailable) {
+            return handleResponseStatusException(unavailable, req);
+        }
         log.error("Unexpected error occurred: ", ex);
         return buildResponse(
                 HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred.", req);
@@ -144,6 +154,24 @@ public class GlobalExceptionHandler {
                 HttpStatus.valueOf(exception.getStatusCode().value()));
     }
 
+    /**
+     * Handles the pre-allocated {@link AuthFailure} exceptions with their pre-rendered body,
+     * skipping the {@link ErrorResponseDTO} and its JSON serialization on the most frequent error
+     * responses.
+     *
+     * @param exception one of the shared {@link AuthFailure} exceptions
+     * @param webRequest the current web request for context
+     * @return a response with the status of the failure and its JSON body
+     */
+    @ExceptionHandler({AuthFailure.Unauthorized.class, AuthFailure.BadRequest.class})
+    public ResponseEntity<String> handleAuthFailure(
+            ResponseStatusException exception, WebRequest webRequest) {
+        AuthFailure failure = AuthFailure.of(exception);
+        return ResponseEntity.status(failure.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(failure.body(webRequest.getDescription(false)));
+    }
+
     /**
      * Handles rate-limit violations by returning HTTP 429 with a {@code Retry-After} header so the
      * client knows when to retry.
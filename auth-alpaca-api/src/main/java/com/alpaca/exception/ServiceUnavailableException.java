@@ -0,0 +1,21 @@
+package com.alpaca.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Thrown when the server drops a request it could not serve in time.
+ *
+ * <p>Translates to HTTP 503 Service Unavailable. Raised by {@link
+ * com.alpaca.scheduling.LoadShedder} when a request reaches an expensive stage after its deadline.
+ */
+public class ServiceUnavailableException extends ResponseStatusException {
+    /**
+     * Constructs a new ServiceUnavailableException with the given detail message.
+     *
+     * @param message the detail message explaining why the request was dropped
+     */
+    public ServiceUnavailableException(String message) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message);
+    }
+}
@@ -0,0 +1,375 @@
+package com.alpaca.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Broadcasts invalidations of node-local structures to the other replicas over PostgreSQL {@code
+ * LISTEN}/{@code NOTIFY}.
+ *
+ * <p>Caches, revocation sets and other in-JVM structures apply their own changes locally and
+ * publish them here. Events are sent with {@code pg_notify} on the connection of the current
+ * transaction, so PostgreSQL delivers them only once the change commits and drops them on rollback.
+ *
+ * <p>Each replica listens on a dedicated JDBC connection, outside of the connection pool, since a
+ * {@code LISTEN} registration belongs to its session. It connects like the pools of {@link
+ * com.alpaca.config.DataSourceConfig}: with the service connection when there is one, otherwise
+ * with the {@code spring.datasource} settings, and with the driver properties of {@code
+ * spring.datasource.hikari.data-source-properties}, such as SSL settings. Received events are
+ * dispatched to the {@link InvalidationListener} beans handling their type; events published by
+ * this replica are skipped. When the connection is lost, the listener reconnects with an
+ * exponential backoff and then asks every listener to rebuild its state, as events published in
+ * between were not delivered.
+ *
+ * <p>The bus records the following metrics:
+ *
+ * <ul>
+ *   <li>{@code invalidation.bus.published}: events published by this replica.
+ *   <li>{@code invalidation.bus.received}: events received from other replicas.
+ *   <li>{@code invalidation.bus.lag}: delay between an invalidation and its dispatch on this
+ *       replica, tagged by event type; it includes the clock skew between replicas.
+ *   <li>{@code invalidation.bus.gaps}: reconnections followed by a catch-up reload.
+ * </ul>
+ *
+ * <p>With {@code app.invalidation.enabled=false}, e.g. for a single replica or a database other
+ * than PostgreSQL, nothing is published and no connection is opened.
+ */
+@Slf4j
+@Component
+public class InvalidationBus implements SmartLifecycle {
+
+    /** Channel names are written unquoted in the {@code LISTEN} statement. */
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    /** Idle time after which the listening connection is checked with a round trip. */
+    private static final int HEARTBEAT_MILLIS = 10_000;
+
+    private static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(30);
+
+    /**
+     * {@code application_name} of the listening connection, unless the driver properties set one.
+     */
+    public static final String APPLICATION_NAME = "alpaca-invalidation-bus";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectProvider<InvalidationListener> listenerProvider;
+
+    private final boolean enabled;
+
+    private final String channel;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final ObjectProvider<JdbcConnectionDetails> connectionDetails;
+
+    private final Environment environment;
+
+    private final Duration reconnectDelay;
+
+    /** Identifier of this replica, used to skip the events it published itself. */
+    private final String origin = UUID.randomUUID().toString();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter published;
+
+    private final Counter received;
+
+    private final Counter gaps;
+
+    private volatile List<InvalidationListener> listeners = List.of();
+
+    private volatile boolean running;
+
+    private volatile Connection connection;
+
+    /** Settings of the listening connection, resolved when the bus starts. */
+    private ConnectionSettings connectionSettings;
+
+    private Thread listenerThread;
+
+    /**
+     * Creates the bus.
+     *
+     * @param enabled whether events are published and received
+     * @param channel the PostgreSQL notification channel, a lower-case unquoted identifier
+     * @param dataSourceProperties the {@code spring.datasource} settings
+     * @param connectionDetails the service connection, overriding the settings when present
+     * @param environment the environment holding the driver properties of the pools
+     * @param reconnectDelay initial delay in ms before reconnecting, doubled up to 30 seconds
+     * @throws IllegalStateException if the channel name is not a valid unquoted identifier
+     */
+    public InvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<InvalidationListener> listenerProvider,
+            ObjectProvider<MeterRegistry> meterRegistryProvider,
+            @Value("${app.invalidation.enabled:false}") boolean enabled,
+            @Value("${app.invalidation.channel:alpaca_invalidation}") String channel,
+            DataSourceProperties dataSourceProperties,
+            ObjectProvider<JdbcConnectionDetails> connectionDetails,
+            Environment environment,
+            @Value("${app.invalidation.reconnect-delay:1000}") long reconnectDelay) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalStateException("app.invalidation.channel must be a lower-case name");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.listenerProvider = listenerProvider;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.dataSourceProperties = dataSourceProperties;
+        this.connectionDetails = connectionDetails;
+        this.environment = environment;
+        this.reconnectDelay = Duration.ofMillis(reconnectDelay);
+        this.meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        this.published = meterRegistry.counter("invalidation.bus.published");
+        this.received = meterRegistry.counter("invalidation.bus.received");
+        this.gaps = meterRegistry.counter("invalidation.bus.gaps");
+    }
+
+    /**
+     * Publishes an invalidation made now.
+     *
+     * @param type what was invalidated
+     * @param key identifier of the invalidated entry, or {@code null} for the whole structure
+     * @see #publish(InvalidationEvent.Type, Object, long)
+     */
+    public void publish(InvalidationEvent.Type type, Object key) {
+        publish(type, key, System.currentTimeMillis());
+    }
+
+    /**
+     * Publishes an invalidation to the other replicas.
+     *
+     * <p>Inside a transaction the event is delivered when it commits; otherwise it is delivered
+     * immediately.
+     *
+     * @param type what was invalidated
+     * @param key identifier of the invalidated entry, or {@code null} for the whole structure
+     * @param timestamp epoch milliseconds of the invalidation
+     */
+    public void publish(InvalidationEvent.Type type, Object key, long timestamp) {
+        if (!enabled) {
+            return;
+        }
+        InvalidationEvent event =
+                new InvalidationEvent(type, key != null ? key.toString() : "", timestamp, origin);
+        jdbcTemplate.query(
+                "SELECT pg_notify(?, ?)", (RowCallbackHandler) _ -> {}, channel, event.encode());
+        published.increment();
+    }
+
+    /**
+     * Dispatches a received {@code NOTIFY} payload to the listeners of its type.
+     *
+     * @param payload the payload of the notification
+     */
+    public void dispatch(String payload) {
+        InvalidationEvent event = InvalidationEvent.decode(payload);
+        if (event == null) {
+            log.debug("Ignoring unknown invalidation payload {}", payload);
+            return;
+        }
+        if (origin.equals(event.origin())) {
+            return;
+        }
+        received.increment();
+        meterRegistry
+                .timer("invalidation.bus.lag", "type", event.type().name())
+                .record(
+                        Math.max(0, System.currentTimeMillis() - event.timestamp()),
+                        TimeUnit.MILLISECONDS);
+        for (InvalidationListener listener : getListeners()) {
+            if (listener.invalidationTypes().contains(event.type())) {
+                try {
+                    listener.onInvalidation(event);
+                } catch (RuntimeException e) {
+                    log.warn("Invalidation listener failed for {}", event, e);
+                }
+            }
+        }
+    }
+
+    /** Asks every listener to rebuild its state after events may have been missed. */
+    private void catchUp() {
+        gaps.increment();
+        for (InvalidationListener listener : getListeners()) {
+            try {
+                listener.onInvalidationGap();
+            } catch (RuntimeException e) {
+                log.warn("Invalidation catch-up failed for {}", listener, e);
+            }
+        }
+    }
+
+    private List<InvalidationListener> getListeners() {
+        List<InvalidationListener> current = listeners;
+        if (current.isEmpty()) {
+            current = listenerProvider.orderedStream().toList();
+            listeners = current;
+        }
+        return current;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        connectionSettings = resolveConnectionSettings();
+        running = true;
+        listenerThread = Thread.ofPlatform().daemon().name("invalidation-bus").start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Connection current = connection;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException _) {
+                // The listening thread is leaving anyway
+            }
+        }
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Listens on a dedicated connection, reconnecting and catching up whenever it is lost. */
+    private void listen() {
+        Duration delay = reconnectDelay;
+        boolean missed = false;
+        while (running) {
+            try (Connection listening =
+                    DriverManager.getConnection(
+                            connectionSettings.url(), connectionSettings.properties())) {
+                connection = listening;
+                PGConnection pgConnection = listening.unwrap(PGConnection.class);
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for invalidations on channel {}", channel);
+                if (missed) {
+                    catchUp();
+                    missed = false;
+                }
+                delay = reconnectDelay;
+                while (running) {
+                    PGNotification[] notifications =
+                            pgConnection.getNotifications(HEARTBEAT_MILLIS);
+                    if (notifications == null || notifications.length == 0) {
+                        heartbeat(listening);
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                missed = true;
+                log.warn(
+                        "Invalidation bus connection lost, reconnecting in {}: {}",
+                        delay,
+                        e.getMessage());
+                if (!sleep(delay)) {
+                    return;
+                }
+                delay = delay.multipliedBy(2);
+                if (delay.compareTo(MAX_RECONNECT_DELAY) > 0) {
+                    delay = MAX_RECONNECT_DELAY;
+                }
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    /**
+     * Resolves the URL, credentials and driver properties of the listening connection the way the
+     * connection pools are configured.
+     */
+    private ConnectionSettings resolveConnectionSettings() {
+        Properties properties = new Properties();
+        Binder.get(environment)
+                .bind(
+                        "spring.datasource.hikari.data-source-properties",
+                        Bindable.mapOf(String.class, String.class))
+                .ifBound(properties::putAll);
+        properties.putIfAbsent("ApplicationName", APPLICATION_NAME);
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        String url;
+        String username;
+        String password;
+        if (details != null) {
+            url = details.getJdbcUrl();
+            username = details.getUsername();
+            password = details.getPassword();
+        } else {
+            url = dataSourceProperties.determineUrl();
+            username = dataSourceProperties.determineUsername();
+            password = dataSourceProperties.determinePassword();
+        }
+        if (username != null) {
+            properties.setProperty("user", username);
+        }
+        if (password != null) {
+            properties.setProperty("password", password);
+        }
+        return new ConnectionSettings(url, properties);
+    }
+
+    /** Round trip that surfaces a silently dropped connection as an {@link SQLException}. */
+    private static void heartbeat(Connection listening) throws SQLException {
+        try (Statement statement = listening.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+    }
+
+    /** URL and driver properties, credentials included, of the listening connection. */
+    private record ConnectionSettings(String url, Properties properties) {}
+
+    private boolean sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+            return running;
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
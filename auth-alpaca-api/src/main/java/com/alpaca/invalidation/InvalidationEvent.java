@@ -0,0 +1,68 @@
+package com.alpaca.invalidation;
+
+/**
+ * Invalidation of a node-local structure, broadcast to the other replicas by {@link
+ * InvalidationBus}.
+ *
+ * <p>Events travel as {@code NOTIFY} payloads of the form {@code
+ * <origin>|<type>|<timestamp>|<key>}. The key never contains the separator, as it is always an
+ * identifier or empty.
+ *
+ * @param type what was invalidated
+ * @param key identifier of the invalidated entry; empty when the whole structure is invalidated
+ * @param timestamp epoch milliseconds of the invalidation, also used to measure the delivery lag
+ * @param origin identifier of the replica that published the event
+ */
+public record InvalidationEvent(Type type, String key, long timestamp, String origin) {
+
+    private static final char SEPARATOR = '|';
+
+    /** Kinds of invalidation carried by the bus. */
+    public enum Type {
+        /** Authorities of a single role; the key is the role ID. */
+        ROLE,
+        /** Authorities of every role, e.g. after a permission change; the key is empty. */
+        AUTHORITIES,
+        /** Access Tokens of a revoked refresh token family; the key is the family ID. */
+        TOKEN_FAMILY,
+        /** Access Tokens of a user issued before the event timestamp; the key is the user ID. */
+        USER_TOKENS
+    }
+
+    /**
+     * Writes the event as a {@code NOTIFY} payload.
+     *
+     * @return the payload read back by {@link #decode(String)}
+     */
+    public String encode() {
+        return origin + SEPARATOR + type.name() + SEPARATOR + timestamp + SEPARATOR + key;
+    }
+
+    /**
+     * Reads an event written by {@link #encode()}.
+     *
+     * @param payload the {@code NOTIFY} payload
+     * @return the event, or {@code null} when the payload is malformed or of an unknown type, e.g.
+     *     published by a newer release during a rolling deployment
+     */
+    public static InvalidationEvent decode(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        int typeStart = payload.indexOf(SEPARATOR) + 1;
+        int timestampStart = payload.indexOf(SEPARATOR, typeStart) + 1;
+        int keyStart = payload.indexOf(SEPARATOR, timestampStart) + 1;
+        if (typeStart <= 0 || timestampStart <= 0 || keyStart <= 0) {
+            return null;
+        }
+        try {
+            return new InvalidationEvent(
+                    Type.valueOf(payload.substring(typeStart, timestampStart - 1)),
+                    payload.substring(keyStart),
+                    Long.parseLong(payload.substring(timestampStart, keyStart - 1)),
+                    payload.substring(0, typeStart - 1));
+        } catch (IllegalArgumentException _) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.alpaca.invalidation;
+
+import java.util.Set;
+
+/**
+ * Node-local structure kept coherent across replicas by {@link InvalidationBus}.
+ *
+ * <p>Implementations are Spring beans; the bus discovers them on startup. They apply the events
+ * published by the other replicas to their local state only, without publishing them again.
+ *
+ * @see InvalidationEvent
+ */
+public interface InvalidationListener {
+
+    /**
+     * Returns the event types this listener applies.
+     *
+     * @return the handled types
+     */
+    Set<InvalidationEvent.Type> invalidationTypes();
+
+    /**
+     * Applies an event published by another replica.
+     *
+     * @param event an event of one of the {@link #invalidationTypes()}
+     */
+    void onInvalidation(InvalidationEvent event);
+
+    /**
+     * Rebuilds the local state after the bus lost its connection, during which events may have been
+     * missed.
+     */
+    void onInvalidationGap();
+}
@@ -0,0 +1,232 @@
+package com.alpaca.metrics;
+
+import com.alpaca.security.exchange.IExchangeCodeStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters of the authentication hot paths.
+ *
+ * <p>Every meter is registered when the application starts, with one tag value per constant of the
+ * enums below, so recording never looks up or creates a meter and the label cardinality is fixed.
+ * Durations are passed as the {@link System#nanoTime()} taken before the measured work, which keeps
+ * callers free of lambdas and lets a mocked instance record nothing.
+ *
+ * <ul>
+ *   <li>{@code auth.jwt.sign}, {@code auth.jwt.verify}: JWT signing and verification, tagged by
+ *       {@code type}; verification includes rejected tokens.
+ *   <li>{@code auth.password.hash}: BCrypt work, tagged by {@code operation}, excluding the wait
+ *       for the password bulkhead.
+ *   <li>{@code auth.ratelimit}: rate-limit decisions, tagged by {@code result}.
+ *   <li>{@code auth.refresh.rotation}: refresh token rotations, tagged by {@code outcome}.
+ *   <li>{@code auth.session.admission}: session creations, tagged by {@code outcome}.
+ *   <li>{@code cleanup.deleted}: rows removed by purge jobs, tagged by {@code table}.
+ *   <li>{@code auth.exchange.codes.pending}: exchange codes waiting to be consumed.
+ * </ul>
+ *
+ * <p>Timed durations are also added to the {@link ServerTiming} of the current request, if any.
+ *
+ * <p>Connection pool waits are recorded by Hikari itself as {@code hikaricp.connections.acquire},
+ * tagged by pool.
+ */
+@Component
+public class AuthMetrics {
+
+    /** Kind of JWT signed or verified. */
+    public enum TokenType {
+        ACCESS,
+        REFRESH
+    }
+
+    /** BCrypt operation. */
+    public enum PasswordOperation {
+        ENCODE,
+        MATCH
+    }
+
+    /**
+     * Result of a refresh token rotation. Rejections are also counted when a refresh token is
+     * presented at logout, which runs the same checks.
+     */
+    public enum RotationOutcome {
+        /** The token was rotated. */
+        OK,
+        /** No stored token has the presented hash. */
+        UNKNOWN,
+        /** The token was already rotated or revoked, and its family is now revoked. */
+        REUSE,
+        /** The token expired. */
+        EXPIRED,
+        /** The token or its session was revoked, e.g. by a user watermark. */
+        REVOKED,
+        /** The client or User-Agent differs from the one the token was issued to. */
+        MISMATCH
+    }
+
+    /** Result of a session admission at login. */
+    public enum SessionAdmission {
+        /** The session of the same device was reused with a new refresh token family. */
+        REUSED,
+        /** A new session was created under the per-user limit. */
+        CREATED,
+        /** A new session was created by evicting the oldest one. */
+        EVICTED,
+        /** The login was rejected as the user reached the session limit. */
+        REJECTED
+    }
+
+    /** Table purged by a cleanup job. */
+    public enum CleanupTable {
+        REFRESH_TOKENS,
+        SESSIONS,
+        EXCHANGE_CODES
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<TokenType, Timer> jwtSign;
+
+    private final Map<TokenType, Timer> jwtVerify;
+
+    private final Map<PasswordOperation, Timer> passwordHash;
+
+    private final Counter rateLimitAllowed;
+
+    private final Counter rateLimitDenied;
+
+    private final Map<RotationOutcome, Counter> rotations;
+
+    private final Map<SessionAdmission, Counter> admissions;
+
+    private final Map<CleanupTable, Counter> cleanupDeleted;
+
+    /**
+     * Creates and registers every meter.
+     *
+     * @param meterRegistryProvider the registry; the global registry when none is configured
+     */
+    public AuthMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        this.jwtSign = timers(TokenType.class, "auth.jwt.sign", "type");
+        this.jwtVerify = timers(TokenType.class, "auth.jwt.verify", "type");
+        this.passwordHash = timers(PasswordOperation.class, "auth.password.hash", "operation");
+        this.rateLimitAllowed = meterRegistry.counter("auth.ratelimit", "result", "allowed");
+        this.rateLimitDenied = meterRegistry.counter("auth.ratelimit", "result", "denied");
+        this.rotations = counters(RotationOutcome.class, "auth.refresh.rotation", "outcome");
+        this.admissions = counters(SessionAdmission.class, "auth.session.admission", "outcome");
+        this.cleanupDeleted = counters(CleanupTable.class, "cleanup.deleted", "table");
+    }
+
+    /**
+     * Records the signing of a JWT.
+     *
+     * @param type the kind of token
+     * @param startNanos {@link System#nanoTime()} taken before signing
+     */
+    public void recordJwtSign(TokenType type, long startNanos) {
+        record(jwtSign.get(type), ServerTiming.Stage.TOKEN_SIGN, startNanos);
+    }
+
+    /**
+     * Records the verification of a JWT, whether it was accepted or not.
+     *
+     * @param type the kind of token
+     * @param startNanos {@link System#nanoTime()} taken before verifying
+     */
+    public void recordJwtVerify(TokenType type, long startNanos) {
+        record(jwtVerify.get(type), ServerTiming.Stage.JWT_VERIFY, startNanos);
+    }
+
+    /**
+     * Records a BCrypt hash computation.
+     *
+     * @param operation the BCrypt operation
+     * @param startNanos {@link System#nanoTime()} taken before hashing
+     */
+    public void recordPasswordHash(PasswordOperation operation, long startNanos) {
+        record(passwordHash.get(operation), ServerTiming.Stage.BCRYPT, startNanos);
+    }
+
+    /**
+     * Counts a rate-limit decision.
+     *
+     * @param allowed whether the request was let through
+     */
+    public void recordRateLimit(boolean allowed) {
+        (allowed ? rateLimitAllowed : rateLimitDenied).increment();
+    }
+
+    /**
+     * Counts the result of a refresh token rotation.
+     *
+     * @param outcome the result
+     */
+    public void recordRotation(RotationOutcome outcome) {
+        rotations.get(outcome).increment();
+    }
+
+    /**
+     * Counts the result of a session admission.
+     *
+     * @param outcome the result
+     */
+    public void recordSessionAdmission(SessionAdmission outcome) {
+        admissions.get(outcome).increment();
+    }
+
+    /**
+     * Counts the rows removed by a purge.
+     *
+     * @param table the purged table
+     * @param deleted number of removed rows
+     */
+    public void recordCleanup(CleanupTable table, int deleted) {
+        cleanupDeleted.get(table).increment(deleted);
+    }
+
+    /**
+     * Registers the gauge of the exchange codes waiting to be consumed.
+     *
+     * @param store the store of exchange codes
+     */
+    public void registerExchangeCodeStore(IExchangeCodeStore store) {
+        Gauge.builder("auth.exchange.codes.pending", store, IExchangeCodeStore::pendingCodes)
+                .register(meterRegistry);
+    }
+
+    private static void record(Timer timer, ServerTiming.Stage stage, long startNanos) {
+        long duration = System.nanoTime() - startNanos;
+        timer.record(duration, TimeUnit.NANOSECONDS);
+        ServerTiming.record(stage, duration);
+    }
+
+    private <E extends Enum<E>> Map<E, Timer> timers(Class<E> type, String name, String tag) {
+        return meters(type, value -> meterRegistry.timer(name, tag, tagValue(value)));
+    }
+
+    private <E extends Enum<E>> Map<E, Counter> counters(Class<E> type, String name, String tag) {
+        return meters(type, value -> meterRegistry.counter(name, tag, tagValue(value)));
+    }
+
+    private static <E extends Enum<E>, M> Map<E, M> meters(Class<E> type, Function<E, M> factory) {
+        Map<E, M> meters = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            meters.put(value, factory.apply(value));
+        }
+        return meters;
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,177 @@
+package com.alpaca.metrics;
+
+import com.alpaca.exception.InternalErrorException;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Statements run by a request against the budget of its route, checked by {@link
+ * QueryBudgetFilter}.
+ *
+ * <p>The budget is created on arrival and stored in a request attribute, like {@link ServerTiming},
+ * so it also counts the statements of the {@code ASYNC} dispatch of parked requests. Statements are
+ * reported by the {@link QueryBudgetInspector} as Hibernate prepares them, so a JDBC batch counts
+ * once. A request runs on one thread at a time, so the budget needs no synchronization.
+ */
+public final class QueryBudget {
+
+    private static final String ATTRIBUTE = QueryBudget.class.getName();
+
+    private final String route;
+
+    private final QueryBudgetProperties.Route limits;
+
+    private final int maxRepeats;
+
+    private final boolean strict;
+
+    private final long arrivalNanos = System.nanoTime();
+
+    private final Map<String, Integer> runs = new HashMap<>();
+
+    private int statements;
+
+    private String repeatedStatement;
+
+    private int repeats;
+
+    private QueryBudget(
+            String route, QueryBudgetProperties.Route limits, int maxRepeats, boolean strict) {
+        this.route = route;
+        this.limits = limits;
+        this.maxRepeats = maxRepeats;
+        this.strict = strict;
+    }
+
+    /**
+     * Creates the budget of an arriving request and stores it in a request attribute.
+     *
+     * @param request the arriving request
+     * @param route the path pattern of the route, or the path of a route without budget
+     * @param limits the budget of the route
+     * @param maxRepeats times a single statement may run before it is reported
+     * @param strict whether a statement over budget fails the request
+     * @return the budget
+     */
+    public static QueryBudget start(
+            HttpServletRequest request,
+            String route,
+            QueryBudgetProperties.Route limits,
+            int maxRepeats,
+            boolean strict) {
+        QueryBudget budget = new QueryBudget(route, limits, maxRepeats, strict);
+        request.setAttribute(ATTRIBUTE, budget);
+        return budget;
+    }
+
+    /**
+     * Returns the budget of a request.
+     *
+     * @param request the request
+     * @return the budget, or {@code null} if the request is not inspected
+     */
+    public static QueryBudget of(HttpServletRequest request) {
+        return (QueryBudget) request.getAttribute(ATTRIBUTE);
+    }
+
+    /**
+     * Returns the budget of the request bound to the current thread.
+     *
+     * @return the budget, or {@code null} outside of an inspected request
+     */
+    public static QueryBudget current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                ? (QueryBudget) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+    }
+
+    /**
+     * Counts a statement of the request.
+     *
+     * @param sql the statement
+     * @throws InternalErrorException in strict mode, if the statement exceeds the budget of the
+     *     route or runs more than the allowed repeats
+     */
+    public void add(String sql) {
+        statements++;
+        int runsOfStatement = runs.merge(sql, 1, Integer::sum);
+        if (runsOfStatement > repeats) {
+            repeats = runsOfStatement;
+            repeatedStatement = sql;
+        }
+        if (strict && (isOverStatements() || runsOfStatement > maxRepeats)) {
+            throw new InternalErrorException("Query budget exceeded: " + summary());
+        }
+    }
+
+    /**
+     * Returns the statements counted so far.
+     *
+     * @return the statement count
+     */
+    public int statements() {
+        return statements;
+    }
+
+    /**
+     * Returns the time since arrival.
+     *
+     * @return the elapsed time
+     */
+    public Duration elapsed() {
+        return Duration.ofNanos(System.nanoTime() - arrivalNanos);
+    }
+
+    /**
+     * Tells whether the request ran more statements than its route allows.
+     *
+     * @return {@code true} if the statement budget is exceeded
+     */
+    public boolean isOverStatements() {
+        return limits.statements() >= 0 && statements > limits.statements();
+    }
+
+    /**
+     * Tells whether a single statement ran more than the allowed repeats, a sign of an N+1 query.
+     *
+     * @return {@code true} if a statement is repeated too often
+     */
+    public boolean isOverRepeats() {
+        return repeats > maxRepeats;
+    }
+
+    /**
+     * Tells whether the request took longer than its route allows.
+     *
+     * @param elapsed the time since arrival
+     * @return {@code true} if the latency threshold is exceeded
+     */
+    public boolean isOverLatency(Duration elapsed) {
+        return limits.latency() != null && elapsed.compareTo(limits.latency()) > 0;
+    }
+
+    /**
+     * Describes the budget in {@code key=value} pairs, for the warning or the exception.
+     *
+     * @return the description of the route, its counters and limits
+     */
+    public String summary() {
+        return "route="
+                + route
+                + ", statements="
+                + statements
+                + ", budget="
+                + limits.statements()
+                + ", repeats="
+                + repeats
+                + ", maxRepeats="
+                + maxRepeats
+                + ", repeatedStatement="
+                + (repeats > maxRepeats ? repeatedStatement : "none");
+    }
+}
@@ -0,0 +1,108 @@
+package com.alpaca.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Gives every request the {@link QueryBudget} of its route and logs a warning when the request
+ * completes over budget: more statements or more time than its route allows, or a statement
+ * repeated more often than {@link QueryBudgetProperties#maxRepeats()}.
+ *
+ * <p>The route is the most specific configured path pattern matching the request; requests matching
+ * none are only checked for repeated statements. Parked requests are reported on their {@code
+ * ASYNC} dispatch, once they complete.
+ */
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final List<Map.Entry<PathPattern, QueryBudgetProperties.Route>> routes;
+
+    private final int maxRepeats;
+
+    private final boolean strict;
+
+    /**
+     * Creates the filter.
+     *
+     * @param properties the budgets of the routes
+     */
+    public QueryBudgetFilter(QueryBudgetProperties properties) {
+        this.routes =
+                properties.routes().entrySet().stream()
+                        .map(
+                                route ->
+                                        Map.entry(
+                                                PathPatternParser.defaultInstance.parse(
+                                                        route.getKey()),
+                                                route.getValue()))
+                        .sorted(Map.Entry.comparingByKey(PathPattern.SPECIFICITY_COMPARATOR))
+                        .toList();
+        this.maxRepeats = properties.maxRepeats();
+        this.strict = properties.strict();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryBudget budget = QueryBudget.of(request);
+        if (budget == null) {
+            budget = start(request);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                report(budget);
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private QueryBudget start(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (Map.Entry<PathPattern, QueryBudgetProperties.Route> route : routes) {
+            if (route.getKey().matches(pathContainer)) {
+                return QueryBudget.start(
+                        request,
+                        route.getKey().getPatternString(),
+                        route.getValue(),
+                        maxRepeats,
+                        strict);
+            }
+        }
+        return QueryBudget.start(
+                request, path, QueryBudgetProperties.Route.UNLIMITED, maxRepeats, strict);
+    }
+
+    private static void report(QueryBudget budget) {
+        Duration elapsed = budget.elapsed();
+        boolean overLatency = budget.isOverLatency(elapsed);
+        if (budget.isOverStatements() || budget.isOverRepeats() || overLatency) {
+            log.warn(
+                    "Query budget exceeded. {}, elapsed={}ms, overLatency={}",
+                    budget.summary(),
+                    elapsed.toMillis(),
+                    overLatency);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.alpaca.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement prepared by Hibernate against the {@link QueryBudget} of the current
+ * request. Statements outside of an inspected request, e.g. of background jobs, are ignored. The
+ * SQL is returned unchanged.
+ */
+public class QueryBudgetInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryBudget budget = QueryBudget.current();
+        if (budget != null) {
+            budget.add(sql);
+        }
+        return sql;
+    }
+}
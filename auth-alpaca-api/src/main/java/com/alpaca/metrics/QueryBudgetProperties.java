@@ -0,0 +1,52 @@
+package com.alpaca.metrics;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Statement and latency budgets of the HTTP routes, bound from {@code app.query-budget.*}.
+ *
+ * <p>Routes are keyed by path pattern, e.g. {@code app.query-budget.routes[/api/auth/rotate]
+ * .statements=3}; the brackets keep the slashes of the key.
+ *
+ * @param enabled whether requests are inspected at all
+ * @param strict whether a statement over budget fails the request, as in tests, instead of being
+ *     reported once the request completes
+ * @param maxRepeats times a single statement may run in one request before it is reported as a
+ *     probable N+1 query; applies to every route
+ * @param routes budgets by path pattern
+ */
+@ConfigurationProperties("app.query-budget")
+public record QueryBudgetProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("false") boolean strict,
+        @DefaultValue("5") int maxRepeats,
+        Map<String, Route> routes) {
+
+    /**
+     * Creates the properties, with no route budget when none is configured.
+     *
+     * @param enabled whether requests are inspected at all
+     * @param strict whether a statement over budget fails the request
+     * @param maxRepeats times a single statement may run in one request
+     * @param routes budgets by path pattern
+     */
+    public QueryBudgetProperties {
+        routes = routes != null ? Map.copyOf(routes) : Map.of();
+    }
+
+    /**
+     * Budget of a route.
+     *
+     * @param statements statements the route may run per request; negative for no limit
+     * @param latency time from arrival to completion past which the route is reported; {@code null}
+     *     for no limit
+     */
+    public record Route(@DefaultValue("-1") int statements, Duration latency) {
+
+        /** Budget of routes without a configured one: only statement repeats are checked. */
+        public static final Route UNLIMITED = new Route(-1, null);
+    }
+}
@@ -0,0 +1,192 @@
+package com.alpaca.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Locale;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Time spent by a request in each stage of the authentication pipeline, answered in the {@value
+ * #HEADER} header by {@link ServerTimingFilter}.
+ *
+ * <p>The recorder is created on arrival and stored in a request attribute, like {@link
+ * com.alpaca.scheduling.RequestDeadline}, so it follows the request into its {@code ASYNC}
+ * dispatch. Stages add their durations with {@link #record(Stage, long)}, which does nothing
+ * outside of a timed request, e.g. when the header is disabled or in background jobs. A request
+ * runs on one thread at a time, so the recorder needs no synchronization.
+ */
+public final class ServerTiming {
+
+    /** Response header carrying the durations. */
+    public static final String HEADER = "Server-Timing";
+
+    private static final String ATTRIBUTE = ServerTiming.class.getName();
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /** Stages reported in the header, by their metric name. */
+    public enum Stage {
+        /** Wait in the request scheduler before admission. */
+        QUEUE("queue"),
+        /** Rate-limit check of the client IP. */
+        RATE_LIMIT("ratelimit"),
+        /** Verification of JWTs. */
+        JWT_VERIFY("jwt"),
+        /** BCrypt hashing, without the wait for the password bulkhead. */
+        BCRYPT("bcrypt"),
+        /** Acquisition of JDBC connections, including the pool wait. */
+        DB_CONNECTION("db-conn"),
+        /** Preparation and execution of single JDBC statements. */
+        DB_STATEMENT("db-exec"),
+        /** Execution of JDBC batches, e.g. the inserts of a flush. */
+        DB_BATCH("db-batch"),
+        /** Signing of JWTs. */
+        TOKEN_SIGN("sign"),
+        /** Serialization of the response body. */
+        SERIALIZATION("ser");
+
+        private final String metricName;
+
+        Stage(String metricName) {
+            this.metricName = metricName;
+        }
+
+        /**
+         * Returns the name of the stage in the header.
+         *
+         * @return the metric name
+         */
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private final long arrivalNanos = System.nanoTime();
+
+    private final long[] durations = new long[Stage.values().length];
+
+    private long parkedNanos;
+
+    private long serializationNanos;
+
+    private ServerTiming() {}
+
+    /**
+     * Creates the recorder of an arriving request and stores it in a request attribute.
+     *
+     * @param request the arriving request
+     * @return the recorder
+     */
+    public static ServerTiming start(HttpServletRequest request) {
+        ServerTiming timing = new ServerTiming();
+        request.setAttribute(ATTRIBUTE, timing);
+        return timing;
+    }
+
+    /**
+     * Returns the recorder of a request.
+     *
+     * @param request the request
+     * @return the recorder, or {@code null} if the request is not timed
+     */
+    public static ServerTiming of(HttpServletRequest request) {
+        return (ServerTiming) request.getAttribute(ATTRIBUTE);
+    }
+
+    /**
+     * Returns the recorder of the request bound to the current thread.
+     *
+     * @return the recorder, or {@code null} outside of a timed request
+     */
+    public static ServerTiming current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                ? (ServerTiming) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+    }
+
+    /**
+     * Adds a duration to a stage of the current request, if it is timed.
+     *
+     * @param stage the stage
+     * @param durationNanos the duration in nanoseconds
+     */
+    public static void record(Stage stage, long durationNanos) {
+        ServerTiming timing = current();
+        if (timing != null) {
+            timing.add(stage, durationNanos);
+        }
+    }
+
+    /**
+     * Adds a duration to a stage.
+     *
+     * @param stage the stage
+     * @param durationNanos the duration in nanoseconds
+     */
+    public void add(Stage stage, long durationNanos) {
+        durations[stage.ordinal()] += durationNanos;
+    }
+
+    /**
+     * Returns the time recorded for a stage.
+     *
+     * @param stage the stage
+     * @return the total duration in nanoseconds
+     */
+    public long duration(Stage stage) {
+        return durations[stage.ordinal()];
+    }
+
+    /** Marks the request as parked by the request scheduler, at the end of its first dispatch. */
+    public void park() {
+        parkedNanos = System.nanoTime();
+    }
+
+    /**
+     * Adds the time the request was parked to {@link Stage#QUEUE}, on its {@code ASYNC} dispatch.
+     */
+    public void resume() {
+        if (parkedNanos != 0) {
+            add(Stage.QUEUE, System.nanoTime() - parkedNanos);
+            parkedNanos = 0;
+        }
+    }
+
+    /** Marks the start of the serialization of the response body. */
+    public void startSerialization() {
+        serializationNanos = System.nanoTime();
+    }
+
+    /**
+     * Ends the request and writes the header value: the stages with a recorded time, in the order
+     * of {@link Stage}, then the total time since arrival.
+     *
+     * @return the value of the {@value #HEADER} header
+     */
+    public String finish() {
+        long now = System.nanoTime();
+        if (serializationNanos != 0) {
+            add(Stage.SERIALIZATION, now - serializationNanos);
+            serializationNanos = 0;
+        }
+        StringBuilder header = new StringBuilder(160);
+        for (Stage stage : Stage.values()) {
+            long duration = durations[stage.ordinal()];
+            if (duration > 0) {
+                appendMetric(header, stage.metricName(), duration);
+            }
+        }
+        appendMetric(header, "total", now - arrivalNanos);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long durationNanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name)
+                .append(";dur=")
+                .append(String.format(Locale.ROOT, "%.3f", durationNanos / NANOS_PER_MILLI));
+    }
+}
@@ -0,0 +1,74 @@
+package com.alpaca.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.jspecify.annotations.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Times every request with a {@link ServerTiming} recorder and answers the durations of its stages
+ * in the {@value ServerTiming#HEADER} header.
+ *
+ * <p>A header must be written before the body, while the serialization of the body is one of the
+ * measured stages. The response body is therefore buffered and only sent once the header is set, at
+ * the cost of a copy of each body; the filter is meant for load tests, not for production traffic.
+ *
+ * <p>Requests parked by the {@link com.alpaca.scheduling.RequestSchedulingFilter} end their first
+ * dispatch without a response; the filter then runs again on their {@code ASYNC} dispatch, adds the
+ * time they waited and answers the header once they complete.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        ServerTiming timing = ServerTiming.of(request);
+        HttpServletResponse responseToUse = response;
+        if (timing == null) {
+            timing = ServerTiming.start(request);
+            responseToUse = new ContentCachingResponseWrapper(response);
+        } else {
+            timing.resume();
+        }
+        try {
+            filterChain.doFilter(request, responseToUse);
+        } finally {
+            // Parked with startAsync, which the WebAsyncManager of isAsyncStarted does not see
+            if (request.isAsyncStarted()) {
+                timing.park();
+            } else {
+                complete(timing, responseToUse);
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    /**
+     * Sets the header and sends the buffered body.
+     *
+     * @param timing the recorder of the request
+     * @param response the response, wrapped by the first dispatch of the request
+     * @throws IOException if the body cannot be sent
+     */
+    private static void complete(ServerTiming timing, HttpServletResponse response)
+            throws IOException {
+        ContentCachingResponseWrapper wrapper =
+                WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        response.setHeader(ServerTiming.HEADER, timing.finish());
+        if (wrapper != null) {
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.alpaca.metrics;
+
+import com.alpaca.metrics.ServerTiming.Stage;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the JDBC work of a Hibernate session to the {@link ServerTiming} of the current request.
+ *
+ * <p>Hibernate creates one listener per session, from the {@code hibernate.session.events.auto}
+ * setting, and calls it on the thread using the session.
+ */
+public class ServerTimingSessionListener implements SessionEventListener {
+
+    private long connectionStart;
+
+    private long prepareStart;
+
+    private long executeStart;
+
+    private long batchStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        ServerTiming.record(Stage.DB_CONNECTION, System.nanoTime() - connectionStart);
+    }
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        prepareStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        ServerTiming.record(Stage.DB_STATEMENT, System.nanoTime() - prepareStart);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ServerTiming.record(Stage.DB_STATEMENT, System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ServerTiming.record(Stage.DB_BATCH, System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,99 @@
+package com.alpaca.metrics.jfr;
+
+import java.util.function.Supplier;
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * JDK Flight Recorder event of a stage of the authentication pipeline.
+ *
+ * <p>Events are disabled unless a recording enables them, e.g. with the {@code
+ * jfr/auth-pipeline.jfc} settings shipped with the application, so an instrumented stage costs an
+ * object allocation and a few field writes when nobody is recording. Every event carries the
+ * duration of its stage and an {@link #setOutcome(String) outcome}.
+ */
+@Category({"Alpaca", "Authentication"})
+@Enabled(false)
+@StackTrace(false)
+public abstract class AuthEvent extends Event {
+
+    /** Outcome of a stage that completed. */
+    public static final String OK = "ok";
+
+    /** Outcome of a stage refused with a client error, e.g. an invalid token or password. */
+    public static final String REJECTED = "rejected";
+
+    /** Outcome of a stage dropped by the load shedder or a full bulkhead. */
+    public static final String UNAVAILABLE = "unavailable";
+
+    /** Outcome of a stage that failed unexpectedly. */
+    public static final String ERROR = "error";
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Sets the outcome recorded when the stage completes, instead of {@link #OK}.
+     *
+     * @param outcome the outcome, a short lower-case value
+     */
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+
+    /**
+     * Runs a stage and commits the event with its duration and outcome.
+     *
+     * @param work the stage
+     * @param <T> the type of the stage result
+     * @return the result of the stage
+     */
+    public final <T> T record(Supplier<T> work) {
+        begin();
+        try {
+            T result = work.get();
+            if (outcome == null) {
+                outcome = OK;
+            }
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            commit();
+        }
+    }
+
+    /**
+     * Runs a stage without result and commits the event with its duration and outcome.
+     *
+     * @param work the stage
+     */
+    public final void record(Runnable work) {
+        record(
+                () -> {
+                    work.run();
+                    return null;
+                });
+    }
+
+    private static String outcomeOf(RuntimeException e) {
+        if (e instanceof AuthenticationException) {
+            return REJECTED;
+        }
+        if (e instanceof ResponseStatusException status) {
+            if (status.getStatusCode().is4xxClientError()) {
+                return REJECTED;
+            }
+            if (status.getStatusCode().value() == 503) {
+                return UNAVAILABLE;
+            }
+        }
+        return ERROR;
+    }
+}
@@ -0,0 +1,11 @@
+package com.alpaca.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Username and password authentication, including the user lookup and the password match. */
+@Name("com.alpaca.Authentication")
+@Label("Authentication")
+@Description("Username and password authentication of a login")
+public class AuthenticationEvent extends AuthEvent {}
@@ -0,0 +1,40 @@
+package com.alpaca.metrics.jfr;
+
+import com.alpaca.metrics.AuthMetrics.CleanupTable;
+import java.util.Locale;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Run of a purge job, which competes with the authentication pipeline for the database. */
+@Name("com.alpaca.Cleanup")
+@Label("Cleanup")
+@Description("Run of a scheduled purge job")
+@Category({"Alpaca", "Maintenance"})
+public class CleanupEvent extends AuthEvent {
+
+    @Label("Table")
+    String table;
+
+    @Label("Deleted Rows")
+    int deleted;
+
+    /**
+     * Creates the event of a purge.
+     *
+     * @param table the purged table
+     */
+    public CleanupEvent(CleanupTable table) {
+        this.table = table.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * Sets the number of rows removed by the purge.
+     *
+     * @param deleted number of removed rows
+     */
+    public void setDeleted(int deleted) {
+        this.deleted = deleted;
+    }
+}
@@ -0,0 +1,11 @@
+package com.alpaca.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Verification of the Bearer token of a request, when its security context is first read. */
+@Name("com.alpaca.JwtVerification")
+@Label("JWT Verification")
+@Description("Verification of the Bearer token of a request")
+public class JwtVerificationEvent extends AuthEvent {}
@@ -0,0 +1,44 @@
+package com.alpaca.metrics.jfr;
+
+import com.alpaca.metrics.AuthMetrics.PasswordOperation;
+import java.util.Locale;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * BCrypt hash computation, from the deadline check to the end of the hash. The time spent waiting
+ * for the password bulkhead is reported separately, so the hash itself is the duration minus the
+ * queue time.
+ */
+@Name("com.alpaca.PasswordHash")
+@Label("Password Hash")
+@Description("BCrypt encoding or matching of a password")
+public class PasswordHashEvent extends AuthEvent {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Queue Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long queueTime;
+
+    /**
+     * Creates the event of a BCrypt operation.
+     *
+     * @param operation the BCrypt operation
+     */
+    public PasswordHashEvent(PasswordOperation operation) {
+        this.operation = operation.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sets the time spent waiting for a bulkhead permit.
+     *
+     * @param queueTime the wait in nanoseconds
+     */
+    public void setQueueTime(long queueTime) {
+        this.queueTime = queueTime;
+    }
+}
@@ -0,0 +1,37 @@
+package com.alpaca.metrics.jfr;
+
+import java.util.Locale;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Stage of a refresh token rotation; a rotation that fails stops at its failed stage. */
+@Name("com.alpaca.RefreshRotation")
+@Label("Refresh Token Rotation")
+@Description("Stage of a refresh token rotation")
+public class RefreshRotationEvent extends AuthEvent {
+
+    /** Stages of a rotation, in order. */
+    public enum Stage {
+        /** Hashing of the presented token and lookup of the stored one. */
+        LOOKUP,
+        /** Checks of the stored token and of its session. */
+        VALIDATE,
+        /** Signing and hashing of the new tokens. */
+        SIGN,
+        /** Insertion of the new token and update of the rotated one. */
+        INSERT
+    }
+
+    @Label("Stage")
+    String stage;
+
+    /**
+     * Creates the event of a rotation stage.
+     *
+     * @param stage the stage
+     */
+    public RefreshRotationEvent(Stage stage) {
+        this.stage = stage.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,15 @@
+package com.alpaca.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Creation or reuse of the session of a login, including the user row lock; the outcome is the
+ * {@link com.alpaca.metrics.AuthMetrics.SessionAdmission} of the session. The commit of the
+ * surrounding transaction is not included.
+ */
+@Name("com.alpaca.SessionCreation")
+@Label("Session Creation")
+@Description("Creation or reuse of the session of a login")
+public class SessionCreationEvent extends AuthEvent {}
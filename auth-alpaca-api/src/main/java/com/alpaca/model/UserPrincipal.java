@@ -1,6 +1,9 @@
 package com.alpaca.model;
 
 import com.alpaca.entity.User;
+import com.alpaca.entity.UserRole;
+import com.alpaca.security.manager.AuthorityBitmapManager.AuthorityBits;
+import com.alpaca.security.manager.CompactClaims;
 import io.jsonwebtoken.Claims;
 import java.util.*;
 import lombok.AllArgsConstructor;
@@ -54,6 +57,18 @@ public class UserPrincipal implements OAuth2User, UserDetails {
     /** The authorities granted to the user for authorization purposes. */
     private Collection<GrantedAuthority> authorities = new HashSet<>();
 
+    /**
+     * Identifiers of the roles assigned to the user, used to assemble the authorities claim from
+     * cached per-role snapshots. Empty when the principal was built from JWT claims.
+     */
+    private List<UUID> roleIds = List.of();
+
+    /**
+     * Authorities decoded from the bitset claim of an access token, used for bit-test authorization
+     * checks. {@code null} when the token carries no bitset for the current authority catalogue.
+     */
+    private transient AuthorityBits authorityBits;
+
     /**
      * Additional attributes provided by the OAuth2 authentication provider.
      *
@@ -82,6 +97,7 @@ public class UserPrincipal implements OAuth2User, UserDetails {
         this.accountNonExpired = user.isAccountNonExpired();
         this.credentialsNonExpired = user.isCredentialNonExpired();
         this.authorities = user.getAuthorities();
+        this.roleIds = extractRoleIds(user);
         this.attributes = attributes;
     }
 
@@ -105,38 +121,89 @@ public class UserPrincipal implements OAuth2User, UserDetails {
         this.accountNonExpired = user.isAccountNonExpired();
         this.credentialsNonExpired = user.isCredentialNonExpired();
         this.authorities = user.getAuthorities();
+        this.roleIds = extractRoleIds(user);
         this.attributes = null;
     }
 
     /**
-     * Builds a {@link UserPrincipal} from JWT claims.
+     * Builds a principal intended only for access token issuance.
+     *
+     * <p>Unlike {@link #UserPrincipal(User)}, the role permissions are not walked: only the role
+     * identifiers are captured, and the authorities are resolved by {@link
+     * com.alpaca.security.manager.JJwtManager} from cached role snapshots.
+     *
+     * @param user the {@link User} entity containing user details; must not be {@code null}
+     * @return a principal with an empty authority collection and the user's role identifiers
+     */
+    public static UserPrincipal forAccessToken(User user) {
+        UserPrincipal principal = new UserPrincipal();
+        principal.userId = user.getId();
+        principal.profileId = user.getProfile() != null ? user.getProfile().getId() : null;
+        principal.advertiserId = user.getAdvertiser() != null ? user.getAdvertiser().getId() : null;
+        principal.username = user.getEmail();
+        principal.password = user.getPassword();
+        principal.enabled = user.isEnabled();
+        principal.accountNonLocked = user.isAccountNonLocked();
+        principal.accountNonExpired = user.isAccountNonExpired();
+        principal.credentialsNonExpired = user.isCredentialNonExpired();
+        principal.authorities = Collections.emptyList();
+        principal.roleIds = extractRoleIds(user);
+        principal.attributes = null;
+        return principal;
+    }
+
+    /**
+     * Builds a {@link UserPrincipal} from JWT claims of either claim profile.
+     *
+     * <p>Authorities are read from the comma-delimited authority names only; the bitset of compact
+     * tokens needs the authority catalogue and is resolved by {@link
+     * com.alpaca.security.manager.JJwtManager}.
      *
      * @param claims the token claims
      */
     public UserPrincipal(Claims claims) {
+        this(
+                claims,
+                claims != null
+                        ? AuthorityUtils.commaSeparatedStringToAuthorityList(
+                                CompactClaims.getAuthoritiesClaim(claims))
+                        : Collections.emptyList());
+    }
+
+    /**
+     * Builds a {@link UserPrincipal} from JWT claims whose authorities claim was already resolved,
+     * typically to a shared immutable list from {@link
+     * com.alpaca.security.manager.GrantedAuthorityRegistry}.
+     *
+     * @param claims the token claims
+     * @param authorities the authorities of the {@code authorities} claim; kept by reference
+     */
+    public UserPrincipal(Claims claims, Collection<GrantedAuthority> authorities) {
+        this.authorities = authorities;
+        this.attributes = null;
         if (claims == null) {
             this.username = "anonymous";
-            this.authorities = Collections.emptyList();
             return;
         }
-        this.userId = getUUIDFromClaim(claims, "userId");
-        this.profileId = getUUIDFromClaim(claims, "profileId");
-        this.advertiserId = getUUIDFromClaim(claims, "advertiserId");
+        this.userId = CompactClaims.getUserId(claims);
+        this.profileId = CompactClaims.getProfileId(claims);
+        this.advertiserId = CompactClaims.getAdvertiserId(claims);
         this.username = claims.getSubject() != null ? claims.getSubject() : "";
         this.password = null;
-        this.authorities =
-                AuthorityUtils.commaSeparatedStringToAuthorityList(
-                        claims.get("authorities", String.class));
-        this.attributes = null;
     }
 
-    /**
-     * Safely extracts and parses a UUID from a JWT claim, returning {@code null} when the claim is
-     * absent or empty rather than failing.
-     */
-    private UUID getUUIDFromClaim(Claims claims, String key) {
-        String value = claims.get(key, String.class);
-        return (value != null && !value.isEmpty()) ? UUID.fromString(value) : null;
+    /** Collects the identifiers of the roles assigned to the user without loading permissions. */
+    private static List<UUID> extractRoleIds(User user) {
+        if (user.getUserRoles() == null || user.getUserRoles().isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<UUID> ids = new ArrayList<>(user.getUserRoles().size());
+        for (UserRole userRole : user.getUserRoles()) {
+            if (userRole.getRole() != null && userRole.getRole().getId() != null) {
+                ids.add(userRole.getRole().getId());
+            }
+        }
+        return ids;
     }
 
     /**
@@ -0,0 +1,13 @@
+package com.alpaca.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The {@code tokensInvalidBefore} watermark of a user, projected without loading the {@link
+ * com.alpaca.entity.User} entity and its eagerly fetched associations.
+ *
+ * @param userId the user whose tokens are invalidated
+ * @param tokensInvalidBefore the instant before which the tokens of the user are rejected
+ */
+public record UserTokenWatermark(UUID userId, Instant tokensInvalidBefore) {}
@@ -65,4 +65,13 @@ public interface IRefreshTokenDAO extends IGenericDAO<RefreshToken, UUID> {
      * @param reason reason recorded on each revoked token
      */
     void revokeTokensByUserId(UUID userId, Instant revokedAt, String reason);
+
+    /**
+     * Resolves the families revoked as a whole since the given instant, leaving out ordinary
+     * rotations.
+     *
+     * @param since lower bound of the revocation timestamp, inclusive
+     * @return the distinct identifiers of the revoked families
+     */
+    List<UUID> findFamilyIdsRevokedSince(Instant since);
 }
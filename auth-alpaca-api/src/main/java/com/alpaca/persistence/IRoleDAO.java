@@ -22,4 +22,13 @@ public interface IRoleDAO extends IGenericDAO<Role, UUID> {
      *     Optional}.
      */
     Optional<Role> findByRoleName(String roleName);
+
+    /**
+     * Finds a role by its identifier together with its permissions.
+     *
+     * @param id The identifier of the role - must not be null.
+     * @return An {@link Optional} containing the role if found, otherwise an empty {@link
+     *     Optional}.
+     */
+    Optional<Role> findByIdWithPermissions(UUID id);
 }
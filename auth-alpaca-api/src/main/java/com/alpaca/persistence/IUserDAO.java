@@ -1,6 +1,9 @@
 package com.alpaca.persistence;
 
 import com.alpaca.entity.User;
+import com.alpaca.model.UserTokenWatermark;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -41,4 +44,22 @@ public interface IUserDAO extends IGenericDAO<User, UUID> {
      * @return An {@link Optional} containing the locked user if found, otherwise empty
      */
     Optional<User> lockFindUserById(UUID userId);
+
+    /**
+     * Retrieves the {@code tokensInvalidBefore} watermarks moved since the given instant, without
+     * loading the users.
+     *
+     * @param since lower bound of the watermark, inclusive
+     * @return the recent watermarks, empty if none
+     */
+    List<UserTokenWatermark> findTokenWatermarksSince(Instant since);
+
+    /**
+     * Moves the {@code tokensInvalidBefore} watermark of a user, invalidating every token issued
+     * before it.
+     *
+     * @param userId the user whose tokens are invalidated
+     * @param tokensInvalidBefore the new watermark
+     */
+    void updateTokensInvalidBefore(UUID userId, Instant tokensInvalidBefore);
 }
@@ -114,4 +114,15 @@ public class RefreshTokenDAOImpl extends GenericDAOImpl<RefreshToken, UUID>
     public void revokeTokensByUserId(UUID userId, Instant revokedAt, String reason) {
         repo.revokeTokensByUserId(userId, revokedAt, reason);
     }
+
+    /**
+     * Resolves the families revoked as a whole since the given instant.
+     *
+     * @param since lower bound of the revocation timestamp, inclusive
+     * @return the distinct identifiers of the revoked families
+     */
+    @Override
+    public List<UUID> findFamilyIdsRevokedSince(Instant since) {
+        return repo.findFamilyIdsRevokedSince(since);
+    }
 }
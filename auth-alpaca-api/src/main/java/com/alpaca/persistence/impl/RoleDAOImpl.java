@@ -8,6 +8,8 @@ import java.util.Optional;
 import java.util.UUID;
 import lombok.Generated;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 /**
@@ -32,6 +34,22 @@ public class RoleDAOImpl extends GenericDAOImpl<Role, UUID> implements IRoleDAO
         return repo;
     }
 
+    /**
+     * Retrieves a page of roles, then loads the permissions of the page in a single query, so that
+     * the page can be mapped once the transaction has ended.
+     *
+     * @param pageable pagination parameters
+     * @return the page of roles with their permissions loaded
+     */
+    @Override
+    public Page<Role> findAllPage(Pageable pageable) {
+        Page<Role> page = repo.findAll(pageable);
+        if (page.hasContent()) {
+            repo.findAllWithPermissionsByIdIn(page.map(Role::getId).getContent());
+        }
+        return page;
+    }
+
     /**
      * Retrieves a {@link Role} entity by its role name.
      *
@@ -46,6 +64,20 @@ public class RoleDAOImpl extends GenericDAOImpl<Role, UUID> implements IRoleDAO
         return repo.findByName(roleName);
     }
 
+    /**
+     * Retrieves a {@link Role} entity by its ID with its permissions already initialized.
+     *
+     * @param id the identifier of the role; may be {@code null}
+     * @return an {@link Optional} containing the found role, or empty if not found or invalid input
+     */
+    @Override
+    public Optional<Role> findByIdWithPermissions(UUID id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return repo.findWithPermissionsById(id);
+    }
+
     /**
      * Determines whether a role already exists based on its unique properties. Both role name and
      * description are required to be non-null and non-blank to perform the check.
@@ -1,13 +1,18 @@
 package com.alpaca.persistence.impl;
 
 import com.alpaca.entity.User;
+import com.alpaca.model.UserTokenWatermark;
 import com.alpaca.persistence.IUserDAO;
 import com.alpaca.repository.CustomRepo;
 import com.alpaca.repository.UserRepo;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.Generated;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 /**
@@ -32,6 +37,22 @@ public class UserDAOImpl extends GenericDAOImpl<User, UUID> implements IUserDAO
         return repo;
     }
 
+    /**
+     * Retrieves a page of users, then loads the roles and permissions of the page in a single
+     * query, so that the page can be mapped once the transaction has ended.
+     *
+     * @param pageable pagination parameters
+     * @return the page of users with their authorities loaded
+     */
+    @Override
+    public Page<User> findAllPage(Pageable pageable) {
+        Page<User> page = repo.findAll(pageable);
+        if (page.hasContent()) {
+            repo.findAllWithAuthoritiesByIdIn(page.map(User::getId).getContent());
+        }
+        return page;
+    }
+
     /**
      * Searches for a {@link User} by email.
      *
@@ -88,4 +109,27 @@ public class UserDAOImpl extends GenericDAOImpl<User, UUID> implements IUserDAO
     public Optional<User> lockFindUserById(UUID userId) {
         return repo.lockFindUserById(userId);
     }
+
+    /**
+     * Retrieves the {@code tokensInvalidBefore} watermarks moved since the given instant, without
+     * loading the users.
+     *
+     * @param since lower bound of the watermark, inclusive
+     * @return the recent watermarks, empty if none
+     */
+    @Override
+    public List<UserTokenWatermark> findTokenWatermarksSince(Instant since) {
+        return repo.findTokenWatermarksSince(since);
+    }
+
+    /**
+     * Moves the {@code tokensInvalidBefore} watermark of a user with a bulk update.
+     *
+     * @param userId the user whose tokens are invalidated
+     * @param tokensInvalidBefore the new watermark
+     */
+    @Override
+    public void updateTokensInvalidBefore(UUID userId, Instant tokensInvalidBefore) {
+        repo.updateTokensInvalidBefore(userId, tokensInvalidBefore);
+    }
 }
@@ -1,9 +1,13 @@
 package com.alpaca.repository;
 
 import com.alpaca.entity.Advertiser;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.jspecify.annotations.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,6 +18,10 @@ import org.springframework.stereotype.Repository;
  * <p>Extends {@link CustomRepo} to inherit common CRUD operations and defines additional queries
  * for advertiser-specific operations.
  *
+ * <p>Lookups of whole advertisers fetch their user, whose ID and email every advertiser response
+ * includes, along with the user's profile: the user is the inverse side of that one-to-one, so
+ * Hibernate would otherwise select it separately for each row.
+ *
  * @see CustomRepo
  */
 @Repository
@@ -37,5 +45,35 @@ public interface AdvertiserRepo extends CustomRepo<Advertiser, UUID> {
      * @param pageable pagination and sorting parameters
      * @return a {@link Page} of indexed advertisers
      */
+    @EntityGraph(attributePaths = {"user", "user.profile"})
     Page<Advertiser> findAllByIndexedTrue(Pageable pageable);
+
+    /**
+     * Retrieves an advertiser by ID together with its user.
+     *
+     * @param id The advertiser UUID - must not be null.
+     * @return An {@link Optional} containing the advertiser if found, otherwise empty.
+     */
+    @NonNull
+    @EntityGraph(attributePaths = {"user", "user.profile"})
+    Optional<Advertiser> findById(@NonNull UUID id);
+
+    /**
+     * Retrieves all advertisers together with their user.
+     *
+     * @return every advertiser
+     */
+    @NonNull
+    @EntityGraph(attributePaths = {"user", "user.profile"})
+    List<Advertiser> findAll();
+
+    /**
+     * Retrieves a page of advertisers together with their user.
+     *
+     * @param pageable pagination and sorting parameters - must not be null.
+     * @return the requested page of advertisers
+     */
+    @NonNull
+    @EntityGraph(attributePaths = {"user", "user.profile"})
+    Page<Advertiser> findAll(@NonNull Pageable pageable);
 }
@@ -1,7 +1,13 @@
 package com.alpaca.repository;
 
 import com.alpaca.entity.Profile;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.jspecify.annotations.NonNull;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,6 +18,10 @@ import org.springframework.stereotype.Repository;
  * <p>Extends {@link CustomRepo} to inherit common CRUD operations and defines additional queries
  * for profile-specific operations.
  *
+ * <p>Lookups of whole profiles fetch their user, whose ID and email every profile response
+ * includes, along with the user's advertiser: the user is the inverse side of that one-to-one, so
+ * Hibernate would otherwise select it separately for each row.
+ *
  * @see CustomRepo
  */
 @Repository
@@ -25,4 +35,33 @@ public interface ProfileRepo extends CustomRepo<Profile, UUID> {
      */
     @Query("SELECT COUNT(p) FROM Profile p WHERE p.user.email = :email")
     long countByUserEmail(@Param("email") String email);
+
+    /**
+     * Retrieves a profile by ID together with its user.
+     *
+     * @param id The profile UUID - must not be null.
+     * @return An {@link Optional} containing the profile if found, otherwise empty.
+     */
+    @NonNull
+    @EntityGraph(attributePaths = {"user", "user.advertiser"})
+    Optional<Profile> findById(@NonNull UUID id);
+
+    /**
+     * Retrieves all profiles together with their user.
+     *
+     * @return every profile
+     */
+    @NonNull
+    @EntityGraph(attributePaths = {"user", "user.advertiser"})
+    List<Profile> findAll();
+
+    /**
+     * Retrieves a page of profiles together with their user.
+     *
+     * @param pageable pagination and sorting parameters - must not be null.
+     * @return the requested page of profiles
+     */
+    @NonNull
+    @EntityGraph(attributePaths = {"user", "user.advertiser"})
+    Page<Profile> findAll(@NonNull Pageable pageable);
 }
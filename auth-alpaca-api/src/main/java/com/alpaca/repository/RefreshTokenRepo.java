@@ -73,6 +73,26 @@ public interface RefreshTokenRepo extends CustomRepo<RefreshToken, UUID> {
             """)
     Optional<UUID> findFamilyIdByTokenHash(@Param("hash") String hash);
 
+    /**
+     * Resolves the families revoked as a whole since the given instant.
+     *
+     * <p>Family-wide revocations only touch tokens that were not replaced yet, while a rotation
+     * revokes the token it replaces, so the {@code replacedBy IS NULL} condition leaves out
+     * ordinary rotations. Used to rebuild the Access Token revocation index.
+     *
+     * @param since lower bound of the revocation timestamp, inclusive
+     * @return the distinct identifiers of the revoked families
+     */
+    @Query(
+            """
+            SELECT DISTINCT r.familyId
+            FROM RefreshToken r
+            WHERE r.revoked = true
+              AND r.revokedAt >= :since
+              AND r.replacedBy IS NULL
+            """)
+    List<UUID> findFamilyIdsRevokedSince(@Param("since") Instant since);
+
     /**
      * Retrieves a refresh token by its hashed value in a secure manner.
      *
@@ -1,9 +1,15 @@
 package com.alpaca.repository;
 
 import com.alpaca.entity.Role;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
+import org.jspecify.annotations.NonNull;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -12,20 +18,43 @@ import org.springframework.stereotype.Repository;
  * <p>Extends {@link CustomRepo} to inherit common CRUD operations and defines additional queries
  * for role-specific operations.
  *
+ * <p>Lookups of whole roles fetch their permissions, which every role response includes, since they
+ * are mapped after the transaction has ended.
+ *
  * @see CustomRepo
  */
 @Repository
 public interface RoleRepo extends CustomRepo<Role, UUID> {
 
+    /** Hibernate query cache region holding the results of {@link #findByName(String)}. */
+    String FIND_BY_NAME_CACHE_REGION = "rbac-role-by-name";
+
     /**
      * Retrieves a role by its name.
      *
+     * <p>The result is stored in the Hibernate query cache, since every registration and OAuth2
+     * signup looks up the same few role names. Hibernate invalidates the region on any write to the
+     * {@code roles} table.
+     *
      * @param roleName The name of the role.
      * @return An {@link Optional} containing the role if found, otherwise empty.
      */
     @EntityGraph(attributePaths = {"rolePermissions", "rolePermissions.permission"})
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = FIND_BY_NAME_CACHE_REGION)
+    })
     Optional<Role> findByName(String roleName);
 
+    /**
+     * Retrieves a role by its ID, eagerly loading its permissions.
+     *
+     * @param id The role UUID - must not be null.
+     * @return An {@link Optional} containing the role if found, otherwise empty.
+     */
+    @EntityGraph(attributePaths = {"rolePermissions", "rolePermissions.permission"})
+    Optional<Role> findWithPermissionsById(UUID id);
+
     /**
      * Checks whether a role with the specified name exists.
      *
@@ -33,4 +62,43 @@ public interface RoleRepo extends CustomRepo<Role, UUID> {
      * @return {@code true} if a role with the given name exists, {@code false} otherwise.
      */
     boolean existsByName(String roleName);
+
+    /**
+     * Retrieves a role by ID together with its permissions.
+     *
+     * @param id The role UUID - must not be null.
+     * @return An {@link Optional} containing the role if found, otherwise empty.
+     */
+    @NonNull
+    @EntityGraph(attributePaths = {"rolePermissions", "rolePermissions.permission"})
+    Optional<Role> findById(@NonNull UUID id);
+
+    /**
+     * Retrieves all roles together with their permissions.
+     *
+     * @return every role
+     */
+    @NonNull
+    @EntityGraph(attributePaths = {"rolePermissions", "rolePermissions.permission"})
+    List<Role> findAll();
+
+    /**
+     * Retrieves the roles with the given IDs together with their permissions.
+     *
+     * @param ids The role UUIDs - must not be null.
+     * @return the roles found, in no particular order
+     */
+    @NonNull
+    @EntityGraph(attributePaths = {"rolePermissions", "rolePermissions.permission"})
+    List<Role> findAllById(@NonNull Iterable<UUID> ids);
+
+    /**
+     * Loads the permissions of the given roles in a single query, e.g. for the roles of a page
+     * already loaded in the persistence context.
+     *
+     * @param ids The role UUIDs - must not be null.
+     * @return the roles found, in no particular order
+     */
+    @EntityGraph(attributePaths = {"rolePermissions", "rolePermissions.permission"})
+    List<Role> findAllWithPermissionsByIdIn(Collection<UUID> ids);
 }
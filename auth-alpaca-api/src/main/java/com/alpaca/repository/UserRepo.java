@@ -1,12 +1,19 @@
 package com.alpaca.repository;
 
 import com.alpaca.entity.User;
+import com.alpaca.model.UserTokenWatermark;
 import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.jspecify.annotations.NonNull;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,6 +24,10 @@ import org.springframework.stereotype.Repository;
  * <p>Extends {@link CustomRepo} to inherit common CRUD operations and defines additional queries
  * for user-specific operations.
  *
+ * <p>Lookups of whole users follow the {@code User.withAuthorities} entity graph, which covers
+ * everything a user response or a {@link com.alpaca.model.UserPrincipal} reads, since both are
+ * built after the transaction has ended.
+ *
  * @see CustomRepo
  */
 @Repository
@@ -53,6 +64,39 @@ public interface UserRepo extends CustomRepo<User, UUID> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Retrieves all users with their roles, permissions, profile and advertiser.
+     *
+     * @return every user
+     */
+    @NonNull
+    @EntityGraph(value = "User.withAuthorities", type = EntityGraph.EntityGraphType.LOAD)
+    List<User> findAll();
+
+    /**
+     * Retrieves a page of users with their profile and advertiser.
+     *
+     * <p>Roles are a collection and cannot be fetched along with a page without paging in memory;
+     * load them afterwards with {@link #findAllWithAuthoritiesByIdIn(Collection)}.
+     *
+     * @param pageable pagination and sorting parameters - must not be null.
+     * @return the requested page of users
+     */
+    @NonNull
+    @EntityGraph(attributePaths = {"profile", "advertiser"})
+    Page<User> findAll(@NonNull Pageable pageable);
+
+    /**
+     * Loads the users with the given IDs along the {@code User.withAuthorities} entity graph in a
+     * single query, e.g. to initialize the roles of a page already loaded in the persistence
+     * context.
+     *
+     * @param ids The user UUIDs - must not be null.
+     * @return the users found, in no particular order
+     */
+    @EntityGraph(value = "User.withAuthorities", type = EntityGraph.EntityGraphType.LOAD)
+    List<User> findAllWithAuthoritiesByIdIn(Collection<UUID> ids);
+
     /**
      * Retrieves and pessimistically locks a user row for the duration of the current transaction.
      *
@@ -66,4 +110,34 @@ public interface UserRepo extends CustomRepo<User, UUID> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT u FROM User u WHERE u.id = :userId")
     Optional<User> lockFindUserById(@Param("userId") UUID userId);
+
+    /**
+     * Retrieves the {@code tokensInvalidBefore} watermarks moved since the given instant.
+     *
+     * <p>Only the identifier and watermark are projected, so that the eagerly fetched profile and
+     * advertiser of each user are not loaded. Used to rebuild the Access Token revocation index.
+     *
+     * @param since lower bound of the watermark, inclusive
+     * @return the recent watermarks, empty if none
+     */
+    @Query(
+            """
+            SELECT new com.alpaca.model.UserTokenWatermark(u.id, u.tokensInvalidBefore)
+            FROM User u
+            WHERE u.tokensInvalidBefore >= :since
+            """)
+    List<UserTokenWatermark> findTokenWatermarksSince(@Param("since") Instant since);
+
+    /**
+     * Moves the {@code tokensInvalidBefore} watermark of a user, invalidating every token issued
+     * before it.
+     *
+     * @param userId the user whose tokens are invalidated
+     * @param tokensInvalidBefore the new watermark
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE User u SET u.tokensInvalidBefore = :tokensInvalidBefore WHERE u.id = :userId")
+    void updateTokensInvalidBefore(
+            @Param("userId") UUID userId,
+            @Param("tokensInvalidBefore") Instant tokensInvalidBefore);
 }
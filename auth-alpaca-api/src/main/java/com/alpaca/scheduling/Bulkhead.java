@@ -0,0 +1,127 @@
+package com.alpaca.scheduling;
+
+import com.alpaca.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the number of callers using a scarce resource at once.
+ *
+ * <p>With platform threads the worker pool bounds every resource implicitly. Virtual threads lift
+ * that bound, so each resource that cannot take unbounded concurrency, such as the CPU for bcrypt
+ * or the connection pool, gets its own bulkhead. Callers wait on a fair {@link Semaphore}, which
+ * parks a virtual thread without pinning its carrier, for at most the max wait or the time left
+ * before their {@link RequestDeadline}, and are answered with {@code 503} past that.
+ *
+ * <p>A bulkhead created with no permits is disabled and lets every caller through.
+ *
+ * <p>Each bulkhead records the following metrics, tagged by {@code name}:
+ *
+ * <ul>
+ *   <li>{@code bulkhead.available}: permits currently free.
+ *   <li>{@code bulkhead.wait}: time spent waiting for a permit.
+ *   <li>{@code bulkhead.rejected}: callers that gave up waiting.
+ * </ul>
+ */
+public class Bulkhead {
+
+    private final String name;
+
+    private final Semaphore semaphore;
+
+    private final Duration maxWait;
+
+    private final Timer waitTimer;
+
+    private final Counter rejected;
+
+    /**
+     * Creates a bulkhead.
+     *
+     * @param name name of the guarded resource, used as the metric tag
+     * @param permits callers allowed at once; {@code 0} or less disables the bulkhead
+     * @param maxWait longest wait for a permit
+     * @param meterRegistry registry of the bulkhead metrics
+     */
+    public Bulkhead(String name, int permits, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.semaphore = permits > 0 ? new Semaphore(permits, true) : null;
+        this.maxWait = maxWait;
+        this.waitTimer = Timer.builder("bulkhead.wait").tag("name", name).register(meterRegistry);
+        this.rejected = meterRegistry.counter("bulkhead.rejected", "name", name);
+        if (semaphore != null) {
+            Gauge.builder("bulkhead.available", semaphore, Semaphore::availablePermits)
+                    .tag("name", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Tells whether callers are bounded.
+     *
+     * @return {@code false} for a bulkhead created without permits
+     */
+    public boolean isEnabled() {
+        return semaphore != null;
+    }
+
+    /**
+     * Waits for a permit, to {@link #release()} once the resource is no longer used.
+     *
+     * @throws ServiceUnavailableException if no permit is freed in time
+     */
+    public void acquire() {
+        if (semaphore == null) {
+            return;
+        }
+        Duration timeout = maxWait;
+        RequestDeadline deadline = RequestDeadline.current();
+        Duration remaining = deadline != null ? deadline.remaining() : null;
+        if (remaining != null && remaining.compareTo(timeout) < 0) {
+            timeout = remaining.isNegative() ? Duration.ZERO : remaining;
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many concurrent requests for " + name);
+        }
+    }
+
+    /** Gives back a permit taken by {@link #acquire()}. */
+    public void release() {
+        if (semaphore != null) {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * Runs an action while holding a permit.
+     *
+     * @param action the action using the guarded resource
+     * @return the result of the action
+     * @param <T> the result type
+     * @throws ServiceUnavailableException if no permit is freed in time
+     */
+    public <T> T call(Supplier<T> action) {
+        acquire();
+        try {
+            return action.get();
+        } finally {
+            release();
+        }
+    }
+}
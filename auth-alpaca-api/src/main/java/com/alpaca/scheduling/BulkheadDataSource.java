@@ -0,0 +1,112 @@
+package com.alpaca.scheduling;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * {@link DataSource} that makes requests hold a {@link Bulkhead} permit for as long as they hold a
+ * connection.
+ *
+ * <p>Sized below the pool, the bulkhead keeps connections free for scheduled jobs and the
+ * invalidation bus however many virtual threads are serving requests, and turns a long wait for a
+ * connection into a {@code 503} instead of a pool timeout. Connections requested outside of a
+ * request are not bounded. The permit is released when the connection is closed, i.e. given back to
+ * the pool.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Bulkhead bulkhead;
+
+    public BulkheadDataSource(DataSource targetDataSource, Bulkhead bulkhead) {
+        super(targetDataSource);
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return guard(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return guard(() -> super.getConnection(username, password));
+    }
+
+    private Connection guard(ConnectionSupplier supplier) throws SQLException {
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return supplier.get();
+        }
+        try {
+            bulkhead.acquire();
+        } catch (RuntimeException e) {
+            throw new SQLTransientConnectionException(e.getMessage(), "08001", e);
+        }
+        try {
+            Connection connection = supplier.get();
+            return (Connection)
+                    Proxy.newProxyInstance(
+                            Connection.class.getClassLoader(),
+                            new Class<?>[] {Connection.class},
+                            new ReleasingHandler(connection));
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    /** Closes the connection and releases the permit once, however often it is closed. */
+    private final class ReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                    // Forwarded below
+                }
+            }
+            if (method.getName().equals("close")) {
+                if (released.compareAndSet(false, true)) {
+                    try {
+                        target.close();
+                    } finally {
+                        bulkhead.release();
+                    }
+                }
+                return null;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.alpaca.scheduling;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} that refuses to hand a connection to a request whose deadline has passed.
+ *
+ * <p>The deadline is checked before asking the pool, and again once the connection is acquired, as
+ * the wait for a free connection may have outlived the deadline. In that case the connection goes
+ * straight back to the pool. The {@link SQLException} carries the {@link
+ * com.alpaca.exception.ServiceUnavailableException} as its cause, which the exception handler
+ * answers with {@code 503}. Connections requested outside of a request are never refused.
+ */
+public class DeadlineAwareDataSource extends DelegatingDataSource {
+
+    private final LoadShedder loadShedder;
+
+    public DeadlineAwareDataSource(DataSource targetDataSource, LoadShedder loadShedder) {
+        super(targetDataSource);
+        this.loadShedder = loadShedder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        RequestDeadline deadline = RequestDeadline.current();
+        checkDeadline(deadline);
+        return checkAcquired(super.getConnection(), deadline);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        RequestDeadline deadline = RequestDeadline.current();
+        checkDeadline(deadline);
+        return checkAcquired(super.getConnection(username, password), deadline);
+    }
+
+    private Connection checkAcquired(Connection connection, RequestDeadline deadline)
+            throws SQLException {
+        try {
+            checkDeadline(deadline);
+            return connection;
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    private void checkDeadline(RequestDeadline deadline) throws SQLException {
+        if (loadShedder.shouldShed(deadline, LoadShedder.STAGE_CONNECTION)) {
+            throw new SQLTransientConnectionException(
+                    "Request deadline exceeded", "08001", loadShedder.deadlineExceeded());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.alpaca.scheduling;
+
+import com.alpaca.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops requests whose {@link RequestDeadline} has passed before an expensive stage starts.
+ *
+ * <p>Every queued stage checks the deadline just before starting its work: arrival, the {@link
+ * RequestScheduler} queue, bcrypt hashing and the wait for a database connection. A dropped request
+ * is answered with {@code 503 Service Unavailable} and counted in {@code request.deadline.dropped},
+ * tagged by {@code stage}, so no CPU is spent on responses nobody will read.
+ */
+@Component
+public class LoadShedder {
+
+    /** Stage of a request that arrived after its client deadline. */
+    public static final String STAGE_ARRIVAL = "arrival";
+
+    /** Stage of a request admitted by the {@link RequestScheduler} after its deadline. */
+    public static final String STAGE_QUEUE = "queue";
+
+    /** Stage of a bcrypt hash or verification. */
+    public static final String STAGE_PASSWORD = "password";
+
+    /** Stage of a database connection acquired after the deadline. */
+    public static final String STAGE_CONNECTION = "connection";
+
+    private static final String MESSAGE = "Request deadline exceeded";
+
+    private final MeterRegistry meterRegistry;
+
+    public LoadShedder(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    /**
+     * Tells whether a request must be dropped at the given stage, counting it if so.
+     *
+     * @param deadline the deadline of the request; {@code null} never sheds
+     * @param stage the stage about to start
+     * @return {@code true} if the deadline has passed
+     */
+    public boolean shouldShed(RequestDeadline deadline, String stage) {
+        if (deadline == null || !deadline.isExpired()) {
+            return false;
+        }
+        meterRegistry.counter("request.deadline.dropped", "stage", stage).increment();
+        return true;
+    }
+
+    /**
+     * Drops the request bound to the current thread if its deadline has passed.
+     *
+     * @param stage the stage about to start
+     * @throws ServiceUnavailableException if the deadline has passed
+     */
+    public void checkDeadline(String stage) {
+        if (shouldShed(RequestDeadline.current(), stage)) {
+            throw new ServiceUnavailableException(MESSAGE);
+        }
+    }
+
+    /**
+     * Creates the exception reported for a dropped request.
+     *
+     * @return a new exception answered with {@code 503}
+     */
+    public ServiceUnavailableException deadlineExceeded() {
+        return new ServiceUnavailableException(MESSAGE);
+    }
+}
@@ -0,0 +1,65 @@
+package com.alpaca.scheduling;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Cost classes of the API routes, in the order {@link RequestScheduler} admits them.
+ *
+ * <p>The class of a request is derived from its method and path alone, before it reaches Spring
+ * MVC, so routes are listed here explicitly; anything not listed is {@link #DB_LIGHT}.
+ */
+public enum RequestClass {
+
+    /** Answered from the Access Token alone in microseconds: {@code GET /api/auth/me}, health. */
+    TOKEN_ONLY,
+
+    /** A few indexed queries: token rotation and exchange, logout, CRUD and listings. */
+    DB_LIGHT,
+
+    /** Dominated by bcrypt: login, registration, user creation and password changes. */
+    CPU_HEAVY;
+
+    private static final String AUTH = "/api/auth";
+
+    private static final String USERS = "/api/users";
+
+    /**
+     * Classifies a request by route.
+     *
+     * @param request the incoming request
+     * @return the cost class of its route
+     */
+    public static RequestClass of(HttpServletRequest request) {
+        return of(request.getMethod(), pathWithinApplication(request));
+    }
+
+    /**
+     * Classifies a route.
+     *
+     * @param method the HTTP method
+     * @param path the path, without the context path
+     * @return the cost class of the route
+     */
+    public static RequestClass of(String method, String path) {
+        if ("GET".equals(method)) {
+            return AUTH.equals(path) || (AUTH + "/me").equals(path) ? TOKEN_ONLY : DB_LIGHT;
+        }
+        if ("POST".equals(method)) {
+            return (AUTH + "/login").equals(path)
+                            || (AUTH + "/register").equals(path)
+                            || USERS.equals(path)
+                    ? CPU_HEAVY
+                    : DB_LIGHT;
+        }
+        if ("PUT".equals(method) && (USERS + "/change-password").equals(path)) {
+            return CPU_HEAVY;
+        }
+        return DB_LIGHT;
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return contextPath.isEmpty() ? uri : uri.substring(contextPath.length());
+    }
+}
@@ -0,0 +1,107 @@
+package com.alpaca.scheduling;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Arrival time and deadline of a request, stamped by {@link RequestDeadlineFilter}.
+ *
+ * <p>The deadline is the earliest of the server default timeout, counted from arrival, and the
+ * client deadline sent in the {@value #HEADER} header as epoch milliseconds. The client deadline
+ * also covers the time spent before arrival, e.g. in the accept queue, at the cost of depending on
+ * the clock of the client. Both are converted to the monotonic clock on arrival.
+ */
+public final class RequestDeadline {
+
+    /** Header carrying the client deadline, in epoch milliseconds. */
+    public static final String HEADER = "X-Request-Deadline";
+
+    private static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    private final long arrivalNanos;
+
+    private final long deadlineNanos;
+
+    private RequestDeadline(long arrivalNanos, long deadlineNanos) {
+        this.arrivalNanos = arrivalNanos;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Stamps a request on arrival and stores the deadline in a request attribute.
+     *
+     * @param request the arriving request
+     * @param defaultTimeout server timeout counted from arrival; zero for none
+     * @return the deadline of the request
+     */
+    public static RequestDeadline stamp(HttpServletRequest request, Duration defaultTimeout) {
+        long now = System.nanoTime();
+        long deadline = defaultTimeout.isZero() ? Long.MAX_VALUE : now + defaultTimeout.toNanos();
+        String header = request.getHeader(HEADER);
+        if (header != null) {
+            try {
+                long remainingMillis = Long.parseLong(header.trim()) - System.currentTimeMillis();
+                deadline = Math.min(deadline, now + Duration.ofMillis(remainingMillis).toNanos());
+            } catch (NumberFormatException | ArithmeticException _) {
+                // A malformed client deadline is ignored rather than failing the request
+            }
+        }
+        RequestDeadline requestDeadline = new RequestDeadline(now, deadline);
+        request.setAttribute(ATTRIBUTE, requestDeadline);
+        return requestDeadline;
+    }
+
+    /**
+     * Returns the deadline stamped on a request.
+     *
+     * @param request the request
+     * @return the deadline, or {@code null} if the request was not stamped
+     */
+    public static RequestDeadline of(HttpServletRequest request) {
+        return (RequestDeadline) request.getAttribute(ATTRIBUTE);
+    }
+
+    /**
+     * Returns the deadline of the request bound to the current thread.
+     *
+     * @return the deadline, or {@code null} outside of a stamped request
+     */
+    public static RequestDeadline current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                ? (RequestDeadline)
+                        attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+    }
+
+    /**
+     * Tells whether the deadline has passed.
+     *
+     * @return {@code true} once nobody is expected to read the response anymore
+     */
+    public boolean isExpired() {
+        return deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * Returns the time left before the deadline.
+     *
+     * @return the remaining time, negative once expired, or {@code null} without a deadline
+     */
+    public Duration remaining() {
+        return deadlineNanos != Long.MAX_VALUE
+                ? Duration.ofNanos(deadlineNanos - System.nanoTime())
+                : null;
+    }
+
+    /**
+     * Returns the time elapsed since arrival.
+     *
+     * @return the age of the request
+     */
+    public Duration age() {
+        return Duration.ofNanos(System.nanoTime() - arrivalNanos);
+    }
+}
@@ -0,0 +1,38 @@
+package com.alpaca.scheduling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Stamps every request with its {@link RequestDeadline} as the first servlet filter, and drops
+ * requests that arrive after their client deadline with an empty {@code 503 Service Unavailable}.
+ */
+@RequiredArgsConstructor
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private final LoadShedder loadShedder;
+
+    private final Duration defaultTimeout;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestDeadline deadline = RequestDeadline.stamp(request, defaultTimeout);
+        if (loadShedder.shouldShed(deadline, LoadShedder.STAGE_ARRIVAL)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,279 @@
+package com.alpaca.scheduling;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admission control of requests by {@link RequestClass}.
+ *
+ * <p>At most {@code maxConcurrent} requests execute at once, and at most {@code maxCpuHeavy} of
+ * them may be {@link RequestClass#CPU_HEAVY}, so that a burst of logins never holds every worker
+ * thread. A request that cannot run waits in the queue of its class without holding a thread (see
+ * {@link RequestSchedulingFilter}). Whenever a request finishes, the freed slot goes to the oldest
+ * request of the cheapest non-empty class, unless a request has waited longer than the starvation
+ * threshold, in which case the longest waiting request goes first whatever its class.
+ *
+ * <p>The scheduler records the following metrics, tagged by {@code class}:
+ *
+ * <ul>
+ *   <li>{@code request.scheduler.queue}: requests waiting for a slot.
+ *   <li>{@code request.scheduler.wait}: time between arrival and admission, zero for requests
+ *       admitted immediately.
+ *   <li>{@code request.scheduler.timeouts}: requests that gave up waiting.
+ * </ul>
+ */
+@Slf4j
+@Component
+public class RequestScheduler {
+
+    private final int maxConcurrent;
+
+    private final int maxCpuHeavy;
+
+    private final long starvationNanos;
+
+    private final Map<RequestClass, ArrayDeque<Ticket>> queues = new EnumMap<>(RequestClass.class);
+
+    private final Map<RequestClass, Timer> waitTimers = new EnumMap<>(RequestClass.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private int running;
+
+    private int runningCpuHeavy;
+
+    /**
+     * Creates the scheduler.
+     *
+     * @param maxConcurrent requests executing at once, at most the number of worker threads
+     * @param maxCpuHeavy {@link RequestClass#CPU_HEAVY} requests executing at once; {@code 0} for
+     *     the number of available processors
+     * @param starvationThreshold wait in ms after which a request goes first whatever its class
+     */
+    public RequestScheduler(
+            @Value("${app.scheduling.max-concurrent:${server.tomcat.threads.max:200}}")
+                    int maxConcurrent,
+            @Value("${app.scheduling.max-cpu-heavy:0}") int maxCpuHeavy,
+            @Value("${app.scheduling.starvation-threshold:2000}") long starvationThreshold,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        if (maxConcurrent < 1) {
+            throw new IllegalStateException("app.scheduling.max-concurrent must be positive");
+        }
+        this.maxConcurrent = maxConcurrent;
+        int heavy = maxCpuHeavy > 0 ? maxCpuHeavy : Runtime.getRuntime().availableProcessors();
+        this.maxCpuHeavy = Math.min(heavy, maxConcurrent);
+        this.starvationNanos = Duration.ofMillis(starvationThreshold).toNanos();
+        this.meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        for (RequestClass requestClass : RequestClass.values()) {
+            ArrayDeque<Ticket> queue = new ArrayDeque<>();
+            queues.put(requestClass, queue);
+            Gauge.builder("request.scheduler.queue", this, s -> s.queueSize(requestClass))
+                    .tag("class", requestClass.name())
+                    .register(meterRegistry);
+            waitTimers.put(
+                    requestClass,
+                    Timer.builder("request.scheduler.wait")
+                            .tag("class", requestClass.name())
+                            .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Admits a request immediately if a slot is free and no request of its class is waiting.
+     *
+     * @param requestClass the class of the request
+     * @return the admitted ticket, to {@link #finish(Ticket)} once the request completes, or {@code
+     *     null} if the request must be queued
+     */
+    public Ticket tryAdmit(RequestClass requestClass) {
+        Ticket ticket = new Ticket(requestClass, System.nanoTime(), null);
+        synchronized (this) {
+            if (!queues.get(requestClass).isEmpty() || !hasSlot(requestClass)) {
+                return null;
+            }
+            admit(ticket);
+        }
+        waitTimers.get(requestClass).record(Duration.ZERO);
+        return ticket;
+    }
+
+    /**
+     * Queues a request until a slot is free.
+     *
+     * <p>{@code onAdmit} runs on the thread that freed the slot, or on the calling thread if a slot
+     * was freed in the meantime; it must hand the request over quickly.
+     *
+     * @param requestClass the class of the request
+     * @param onAdmit called with the ticket once the request is admitted
+     * @return the queued ticket, to {@link #finish(Ticket)} once the request completes or gives up
+     */
+    public Ticket enqueue(RequestClass requestClass, Consumer<Ticket> onAdmit) {
+        Ticket ticket = new Ticket(requestClass, System.nanoTime(), onAdmit);
+        synchronized (this) {
+            queues.get(requestClass).addLast(ticket);
+        }
+        dispatch();
+        return ticket;
+    }
+
+    /**
+     * Releases the slot of a completed request, or withdraws a request still waiting.
+     *
+     * <p>Idempotent, so it may be called both when the request completes and from container
+     * callbacks.
+     *
+     * @param ticket the ticket of the request
+     * @return {@code true} if the request was still waiting and has been withdrawn
+     */
+    public boolean finish(Ticket ticket) {
+        boolean withdrawn = false;
+        synchronized (this) {
+            switch (ticket.state) {
+                case QUEUED -> {
+                    queues.get(ticket.requestClass).remove(ticket);
+                    withdrawn = true;
+                }
+                case ADMITTED -> {
+                    running--;
+                    if (ticket.requestClass == RequestClass.CPU_HEAVY) {
+                        runningCpuHeavy--;
+                    }
+                }
+                case FINISHED -> {
+                    return false;
+                }
+            }
+            ticket.state = Ticket.State.FINISHED;
+        }
+        if (!withdrawn) {
+            dispatch();
+        }
+        return withdrawn;
+    }
+
+    /**
+     * Records a request that gave up waiting.
+     *
+     * @param requestClass the class of the request
+     */
+    public void recordTimeout(RequestClass requestClass) {
+        meterRegistry
+                .counter("request.scheduler.timeouts", "class", requestClass.name())
+                .increment();
+    }
+
+    /**
+     * Returns the number of requests of a class waiting for a slot.
+     *
+     * @param requestClass the class
+     * @return the queue length
+     */
+    public synchronized int queueSize(RequestClass requestClass) {
+        return queues.get(requestClass).size();
+    }
+
+    /** Admits waiting requests while slots are free, then hands them over outside the lock. */
+    private void dispatch() {
+        List<Ticket> admitted = new ArrayList<>();
+        synchronized (this) {
+            Ticket next;
+            while ((next = next(System.nanoTime())) != null) {
+                queues.get(next.requestClass).removeFirst();
+                admit(next);
+                admitted.add(next);
+            }
+        }
+        long now = System.nanoTime();
+        for (Ticket ticket : admitted) {
+            waitTimers.get(ticket.requestClass).record(Duration.ofNanos(now - ticket.enqueuedAt));
+            try {
+                ticket.onAdmit.accept(ticket);
+            } catch (RuntimeException e) {
+                log.warn("Could not hand over an admitted {} request", ticket.requestClass, e);
+                finish(ticket);
+            }
+        }
+    }
+
+    /** Picks the next request to admit, or {@code null} if none can run now. */
+    private Ticket next(long now) {
+        if (running >= maxConcurrent) {
+            return null;
+        }
+        Ticket starved = null;
+        Ticket cheapest = null;
+        for (RequestClass requestClass : RequestClass.values()) {
+            Ticket head = queues.get(requestClass).peekFirst();
+            if (head == null || !hasSlot(requestClass)) {
+                continue;
+            }
+            if (cheapest == null) {
+                cheapest = head;
+            }
+            if (now - head.enqueuedAt >= starvationNanos
+                    && (starved == null || head.enqueuedAt < starved.enqueuedAt)) {
+                starved = head;
+            }
+        }
+        return starved != null ? starved : cheapest;
+    }
+
+    private boolean hasSlot(RequestClass requestClass) {
+        return running < maxConcurrent
+                && (requestClass != RequestClass.CPU_HEAVY || runningCpuHeavy < maxCpuHeavy);
+    }
+
+    private void admit(Ticket ticket) {
+        running++;
+        if (ticket.requestClass == RequestClass.CPU_HEAVY) {
+            runningCpuHeavy++;
+        }
+        ticket.state = Ticket.State.ADMITTED;
+    }
+
+    /** Place of a request in the scheduler; its state is guarded by the scheduler lock. */
+    public static final class Ticket {
+
+        private enum State {
+            QUEUED,
+            ADMITTED,
+            FINISHED
+        }
+
+        private final RequestClass requestClass;
+
+        private final long enqueuedAt;
+
+        private final Consumer<Ticket> onAdmit;
+
+        private State state = State.QUEUED;
+
+        private Ticket(RequestClass requestClass, long enqueuedAt, Consumer<Ticket> onAdmit) {
+            this.requestClass = requestClass;
+            this.enqueuedAt = enqueuedAt;
+            this.onAdmit = onAdmit;
+        }
+
+        /**
+         * Returns the class of the request.
+         *
+         * @return the request class
+         */
+        public RequestClass getRequestClass() {
+            return requestClass;
+        }
+    }
+}
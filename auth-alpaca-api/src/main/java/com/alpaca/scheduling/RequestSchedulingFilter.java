@@ -0,0 +1,141 @@
+package com.alpaca.scheduling;
+
+import com.alpaca.scheduling.RequestScheduler.Ticket;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Runs every request through the {@link RequestScheduler}.
+ *
+ * <p>A request admitted on arrival continues on its worker thread. Otherwise the filter puts it in
+ * asynchronous mode and returns, freeing the worker thread while the request waits; once admitted,
+ * the request is dispatched again to the container and resumes the filter chain from here. Requests
+ * still waiting after the queue timeout are answered with {@code 503 Service Unavailable}, and so
+ * are requests whose {@link RequestDeadline} passed while they waited, without running them. The
+ * status is set without an error dispatch, which would go through the security filters again.
+ *
+ * <p>The filter must come after the security filters: they have already run for the request when it
+ * is parked, and the second dispatch is an {@code ASYNC} one, which the security configuration lets
+ * through.
+ */
+@RequiredArgsConstructor
+public class RequestSchedulingFilter extends OncePerRequestFilter {
+
+    /** Request attribute carrying the ticket of an admitted request into its second dispatch. */
+    private static final String TICKET_ATTRIBUTE =
+            RequestSchedulingFilter.class.getName() + ".TICKET";
+
+    private final RequestScheduler scheduler;
+
+    private final Duration queueTimeout;
+
+    private final LoadShedder loadShedder;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            Ticket admitted = (Ticket) request.getAttribute(TICKET_ATTRIBUTE);
+            request.removeAttribute(TICKET_ATTRIBUTE);
+            runAdmitted(admitted, request, response, filterChain);
+            return;
+        }
+
+        RequestClass requestClass = RequestClass.of(request);
+        Ticket admitted = scheduler.tryAdmit(requestClass);
+        if (admitted != null) {
+            runAdmitted(admitted, request, response, filterChain);
+            return;
+        }
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(queueTimeout.toMillis());
+        Ticket queued =
+                scheduler.enqueue(
+                        requestClass,
+                        ticket -> {
+                            if (loadShedder.shouldShed(
+                                    RequestDeadline.of(request), LoadShedder.STAGE_QUEUE)) {
+                                shed(ticket, asyncContext, response);
+                                return;
+                            }
+                            request.setAttribute(TICKET_ATTRIBUTE, ticket);
+                            asyncContext.dispatch();
+                        });
+        asyncContext.addListener(new TicketListener(queued, response));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private void runAdmitted(
+            Ticket admitted,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (admitted != null) {
+                scheduler.finish(admitted);
+            }
+        }
+    }
+
+    /** Answers an admitted request that outlived its deadline and frees its slot at once. */
+    private void shed(Ticket ticket, AsyncContext asyncContext, HttpServletResponse response) {
+        scheduler.finish(ticket);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        asyncContext.complete();
+    }
+
+    /** Withdraws a request that times out while waiting and frees the slot of a dropped one. */
+    @RequiredArgsConstructor
+    private final class TicketListener implements AsyncListener {
+
+        private final Ticket ticket;
+
+        private final HttpServletResponse response;
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (scheduler.finish(ticket)) {
+                scheduler.recordTimeout(ticket.getRequestClass());
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                event.getAsyncContext().complete();
+            }
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            scheduler.finish(ticket);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            scheduler.finish(ticket);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Not re-registered: the request is no longer waiting once it starts async again
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.alpaca.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports virtual threads pinned to their carrier thread while running on virtual threads.
+ *
+ * <p>A pinned virtual thread blocks its carrier, so a few of them stall every request. Since JDK 24
+ * a {@code synchronized} block, such as the ones of {@link RequestScheduler}, no longer pins, but
+ * native frames and class initialization still do. The monitor streams the JFR {@code
+ * jdk.VirtualThreadPinned} event in-process, logs each pinning longer than the threshold with the
+ * top of its stack and counts it in {@code jvm.threads.virtual.pinned}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+
+    private final Counter pinned;
+
+    private RecordingStream stream;
+
+    /**
+     * Creates the monitor.
+     *
+     * @param threshold shortest pinning in ms worth reporting
+     */
+    public VirtualThreadPinningMonitor(
+            @Value("${app.virtual-threads.pinned-threshold:20}") long threshold,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.threshold = Duration.ofMillis(threshold);
+        this.pinned =
+                meterRegistryProvider
+                        .getIfAvailable(() -> Metrics.globalRegistry)
+                        .counter("jvm.threads.virtual.pinned");
+    }
+
+    @Override
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void report(RecordedEvent event) {
+        pinned.increment();
+        if (log.isWarnEnabled()) {
+            List<RecordedFrame> frames =
+                    event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+            log.warn(
+                    "Virtual thread pinned for {} ms at {}",
+                    event.getDuration().toMillis(),
+                    frames.stream()
+                            .limit(LOGGED_FRAMES)
+                            .map(
+                                    frame ->
+                                            frame.getMethod().getType().getName()
+                                                    + "."
+                                                    + frame.getMethod().getName()
+                                                    + ":"
+                                                    + frame.getLineNumber())
+                            .collect(Collectors.joining(" <- ")));
+        }
+    }
+}
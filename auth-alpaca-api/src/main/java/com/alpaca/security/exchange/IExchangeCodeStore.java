@@ -0,0 +1,51 @@
+package com.alpaca.security.exchange;
+
+import com.alpaca.model.AuthCode;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Storage of the single-use exchange codes issued at the end of an OAuth2 login.
+ *
+ * <p>{@link com.alpaca.security.manager.TokenExchangeManager} delegates to the implementation
+ * selected by {@code app.exchange-code.store}:
+ *
+ * <ul>
+ *   <li>{@code memory} (default): {@link InMemoryExchangeCodeStore}, local to the replica that
+ *       handled the OAuth2 callback.
+ *   <li>{@code jdbc}: {@link JdbcExchangeCodeStore}, shared by every replica through the database,
+ *       so that the callback and the exchange may land on different replicas.
+ * </ul>
+ *
+ * <p>Implementations must make {@link #consume(String)} atomic: when several requests race for the
+ * same code, at most one of them receives it.
+ */
+public interface IExchangeCodeStore {
+
+    /** Lifetime of an exchange code, matching {@link AuthCode#getExpiresAt()}. */
+    Duration TTL = Duration.ofSeconds(60);
+
+    /**
+     * Stores an exchange code for {@link #TTL}, replacing any previous entry with the same code.
+     *
+     * @param code the exchange code
+     * @param authCode the authorization payload bound to the code
+     */
+    void save(String code, AuthCode authCode);
+
+    /**
+     * Atomically removes and returns the payload of an exchange code.
+     *
+     * @param code the exchange code
+     * @return the payload, or empty if the code is unknown, expired or already consumed
+     */
+    Optional<AuthCode> consume(String code);
+
+    /**
+     * Returns the approximate number of codes waiting to be consumed, without blocking on I/O so
+     * that it can back a gauge.
+     *
+     * @return the number of pending codes
+     */
+    long pendingCodes();
+}
@@ -0,0 +1,68 @@
+package com.alpaca.security.exchange;
+
+import com.alpaca.model.AuthCode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link IExchangeCodeStore} backed by a Caffeine cache local to this replica.
+ *
+ * <p>Codes are consumed with {@code asMap().remove}, which reads and deletes the entry in a single
+ * atomic step. The cache is bounded to the number of codes issued during one {@link #TTL} at the
+ * configured peak login rate; a code evicted by that bound before being exchanged is logged, as it
+ * means the bound is too low for the actual traffic.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+        name = "app.exchange-code.store",
+        havingValue = "memory",
+        matchIfMissing = true)
+public class InMemoryExchangeCodeStore implements IExchangeCodeStore {
+
+    private final Cache<String, AuthCode> storage;
+
+    /**
+     * Creates the store.
+     *
+     * @param peakLoginsPerSecond expected peak rate of OAuth2 logins, which sizes the cache
+     */
+    public InMemoryExchangeCodeStore(
+            @Value("${app.exchange-code.peak-logins-per-second:50}") int peakLoginsPerSecond) {
+        this.storage =
+                Caffeine.newBuilder()
+                        .expireAfterWrite(TTL)
+                        .maximumSize((long) Math.max(1, peakLoginsPerSecond) * TTL.toSeconds())
+                        .<String, AuthCode>removalListener(
+                                (_, _, cause) -> {
+                                    if (cause == RemovalCause.SIZE) {
+                                        log.warn(
+                                                "Exchange code evicted before use, raise"
+                                                    + " app.exchange-code.peak-logins-per-second");
+                                    }
+                                })
+                        .build();
+    }
+
+    @Override
+    public void save(String code, AuthCode authCode) {
+        storage.put(code, authCode);
+    }
+
+    @Override
+    public Optional<AuthCode> consume(String code) {
+        return Optional.ofNullable(storage.asMap().remove(code));
+    }
+
+    /** Returns the estimated cache size, which may still count expired codes not yet evicted. */
+    @Override
+    public long pendingCodes() {
+        return storage.estimatedSize();
+    }
+}
@@ -0,0 +1,125 @@
+package com.alpaca.security.exchange;
+
+import com.alpaca.metrics.AuthMetrics;
+import com.alpaca.model.AuthCode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@link IExchangeCodeStore} shared by every replica through the {@code exchange_codes} table.
+ *
+ * <p>The table is {@code UNLOGGED}: codes live for a minute, so skipping the write-ahead log is
+ * worth losing them on a database crash, which only makes pending logins start over. A code is
+ * consumed with a single {@code DELETE ... RETURNING}, atomic under concurrent exchanges, and
+ * always in its own transaction so that the deletion is committed even if the exchange fails
+ * afterwards. Expiration uses the database clock, common to all replicas; expired rows are purged
+ * periodically.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.exchange-code.store", havingValue = "jdbc")
+@RequiredArgsConstructor
+public class JdbcExchangeCodeStore implements IExchangeCodeStore {
+
+    private static final String COLUMNS =
+            "auth_code, code_challenge, code_verifier, redirect_uri, client_id, user_agent,"
+                    + " client_ip, user_id, auth_expires_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AuthMetrics authMetrics;
+
+    /** Codes left in the table by the last purge. */
+    private volatile long pendingCodes;
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void save(String code, AuthCode authCode) {
+        jdbcTemplate.update(
+                "INSERT INTO exchange_codes (code, "
+                        + COLUMNS
+                        + ", expires_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?,"
+                        + " now() + ? * interval '1 second')"
+                        + " ON CONFLICT (code) DO UPDATE SET auth_code = EXCLUDED.auth_code,"
+                        + " code_challenge = EXCLUDED.code_challenge,"
+                        + " code_verifier = EXCLUDED.code_verifier,"
+                        + " redirect_uri = EXCLUDED.redirect_uri, client_id = EXCLUDED.client_id,"
+                        + " user_agent = EXCLUDED.user_agent, client_ip = EXCLUDED.client_ip,"
+                        + " user_id = EXCLUDED.user_id, auth_expires_at = EXCLUDED.auth_expires_at,"
+                        + " expires_at = EXCLUDED.expires_at",
+                code,
+                authCode.getCode(),
+                authCode.getCodeChallenge(),
+                authCode.getCodeVerifier(),
+                authCode.getRedirectUri(),
+                authCode.getClientId(),
+                authCode.getUserAgent(),
+                authCode.getClientIp(),
+                authCode.getUserId(),
+                authCode.getExpiresAt() != null ? Timestamp.from(authCode.getExpiresAt()) : null,
+                TTL.toSeconds());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<AuthCode> consume(String code) {
+        return jdbcTemplate
+                .query(
+                        "DELETE FROM exchange_codes WHERE code = ? AND expires_at > now()"
+                                + " RETURNING "
+                                + COLUMNS,
+                        JdbcExchangeCodeStore::mapRow,
+                        code)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Returns the number of codes counted by the last purge, to keep the database out of the gauge.
+     */
+    @Override
+    public long pendingCodes() {
+        return pendingCodes;
+    }
+
+    /** Deletes the codes that expired without being exchanged and counts the remaining ones. */
+    @Scheduled(
+            fixedDelayString = "${app.exchange-code.purge-interval:60000}",
+            initialDelayString = "${app.exchange-code.purge-interval:60000}")
+    public void purgeExpired() {
+        int deleted = jdbcTemplate.update("DELETE FROM exchange_codes WHERE expires_at <= now()");
+        if (deleted > 0) {
+            log.debug("Purged {} expired exchange codes", deleted);
+        }
+        authMetrics.recordCleanup(AuthMetrics.CleanupTable.EXCHANGE_CODES, deleted);
+        Long remaining =
+                jdbcTemplate.queryForObject("SELECT count(*) FROM exchange_codes", Long.class);
+        pendingCodes = remaining != null ? remaining : 0;
+    }
+
+    private static AuthCode mapRow(ResultSet rs, int rowNum) throws SQLException {
+        AuthCode authCode = new AuthCode();
+        authCode.setCode(rs.getString("auth_code"));
+        authCode.setCodeChallenge(rs.getString("code_challenge"));
+        authCode.setCodeVerifier(rs.getString("code_verifier"));
+        authCode.setRedirectUri(rs.getString("redirect_uri"));
+        authCode.setClientId(rs.getString("client_id"));
+        authCode.setUserAgent(rs.getString("user_agent"));
+        authCode.setClientIp(rs.getString("client_ip"));
+        authCode.setUserId(rs.getObject("user_id", UUID.class));
+        Timestamp authExpiresAt = rs.getTimestamp("auth_expires_at");
+        authCode.setExpiresAt(authExpiresAt != null ? authExpiresAt.toInstant() : null);
+        return authCode;
+    }
+}
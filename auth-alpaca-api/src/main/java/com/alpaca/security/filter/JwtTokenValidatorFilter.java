@@ -1,6 +1,8 @@
 package com.alpaca.security.filter;
 
+import com.alpaca.exception.AuthFailure;
 import com.alpaca.exception.UnauthorizedException;
+import com.alpaca.metrics.jfr.JwtVerificationEvent;
 import com.alpaca.security.manager.JJwtManager;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -11,10 +13,16 @@ import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
  * A servlet filter that validates JWT tokens in incoming requests and populates the Spring Security
@@ -26,6 +34,17 @@ import org.springframework.web.filter.OncePerRequestFilter;
  * and if valid, delegates authentication to {@link JJwtManager}. A new {@link
  * UsernamePasswordAuthenticationToken} is created and set in the {@link SecurityContextHolder}.
  *
+ * <p>Authentication is deferred: the filter only registers a memoized {@link SecurityContext}
+ * supplier, and the token is verified the first time something reads the context, such as an {@code
+ * authenticated()} or {@code hasRole} rule, {@code @PreAuthorize} or
+ * {@code @AuthenticationPrincipal}. Requests to {@code permitAll} routes therefore skip the ECDSA
+ * verification entirely, and an invalid token is only rejected where authentication is needed. Each
+ * verification is recorded as a {@link JwtVerificationEvent}. A token rejected by the authorization
+ * rules of the filter chain is answered here with the 401 of {@link AuthFailure}, while one
+ * rejected inside a controller goes through {@link com.alpaca.exception.GlobalExceptionHandler}.
+ * Components that only use the authentication when it is at hand, and must not trigger the
+ * verification, read it through {@link #getResolvedAuthentication()}.
+ *
  * <p>This integration aligns with standard JWT authentication flows as seen in Spring Security
  * configurations ([OncePerRequestFilter guarantees single
  * execution](https://docs.spring.io/spring-framework/docs/current/javadoc-api/org/springframework/web/filter/OncePerRequestFilter.html)
@@ -37,11 +56,55 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @RequiredArgsConstructor
 public class JwtTokenValidatorFilter extends OncePerRequestFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * Shortest possible ES256 token: the 20-character {@code {"alg":"ES256"}} header, a non-empty
+     * payload and the 86-character signature, joined by two separators. Compact claims make tokens
+     * far shorter than they used to be, so the bound is derived from the format rather than from
+     * observed token sizes.
+     */
+    private static final int MIN_TOKEN_LENGTH = 20 + 1 + 86 + 2;
+
+    /** Stateless details source shared by all requests instead of being created per request. */
+    private static final WebAuthenticationDetailsSource DETAILS_SOURCE =
+            new WebAuthenticationDetailsSource();
+
+    /** Request attribute present while the Bearer token of the request is not verified. */
+    private static final String UNVERIFIED_TOKEN_ATTRIBUTE =
+            JwtTokenValidatorFilter.class.getName() + ".UNVERIFIED_TOKEN";
+
     private final JJwtManager jwtManager;
 
     /**
-     * Filters the HTTP request to extract and validate a JWT token if present. If the token is
-     * valid, sets the corresponding authentication into the security context.
+     * Returns the authentication of the current thread without verifying a deferred Bearer token.
+     *
+     * <p>Reading the security context resolves the deferred context of this filter, i.e. verifies
+     * the token and rejects the request when it is invalid. Components that merely record who is
+     * acting, such as the JPA auditor or the read-your-writes check of the replica router, run on
+     * {@code permitAll} routes and while acquiring connections, where a stale token sent by the
+     * client must neither be verified nor reject the request. They use this method instead, which
+     * treats a token that has not been verified yet, or failed verification, as no authentication.
+     *
+     * @return the authentication of the security context, or {@code null} while the Bearer token of
+     *     the current request is unverified or invalid
+     */
+    public static Authentication getResolvedAuthentication() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(
+                                UNVERIFIED_TOKEN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                        != null) {
+            return null;
+        }
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    /**
+     * Filters the HTTP request to extract a JWT token if present and defers its validation until
+     * the security context is first read. If the token is valid, the resolved context holds the
+     * corresponding authentication; otherwise reading the context throws {@link
+     * UnauthorizedException}, answered by this filter when thrown before Spring MVC.
      *
      * @param request the incoming HTTP request (never {@code null})
      * @param response the HTTP response (never {@code null})
@@ -61,28 +124,97 @@ public class JwtTokenValidatorFilter extends OncePerRequestFilter {
         }
 
         String jwtToken = request.getHeader(HttpHeaders.AUTHORIZATION);
-        if (isAToken(jwtToken)) {
-            UsernamePasswordAuthenticationToken userToken =
-                    jwtManager.manageAuthentication(jwtToken.substring(7));
-            if (userToken == null) {
-                throw new UnauthorizedException("Invalid Access Token");
-            }
-            userToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContext context = SecurityContextHolder.getContext();
-            context.setAuthentication(userToken);
-            SecurityContextHolder.setContext(context);
+        if (!isAToken(jwtToken)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+        request.setAttribute(UNVERIFIED_TOKEN_ATTRIBUTE, Boolean.TRUE);
+        strategy.setDeferredContext(
+                SingletonSupplier.of(() -> authenticate(strategy, jwtToken, request)));
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ResponseStatusException e) {
+            reject(e, request, response);
         }
-        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Answers a token rejected by the authorization rules of the filter chain, which Spring MVC
+     * never sees, straight from this filter with the pre-rendered body of its {@link AuthFailure}.
+     * Without it the exception would reach the container and be answered by an error dispatch.
+     *
+     * @param exception the exception thrown by the rest of the chain
+     * @param request the rejected request
+     * @param response the response to write the failure to
+     * @throws IOException if the body cannot be written
+     * @throws ResponseStatusException the given exception, if it is not an {@link AuthFailure} or
+     *     the response is already committed
+     */
+    private void reject(
+            ResponseStatusException exception,
+            HttpServletRequest request,
+            HttpServletResponse response)
+            throws IOException {
+        AuthFailure failure = AuthFailure.of(exception);
+        if (failure == null || response.isCommitted()) {
+            throw exception;
+        }
+        failure.write(request, response);
+    }
+
+    /**
+     * Registers the deferred context again on {@code ASYNC} dispatches, which start from an empty
+     * security context, such as requests resumed by {@link
+     * com.alpaca.scheduling.RequestSchedulingFilter}.
+     *
+     * @return {@code false}
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    /**
+     * Verifies the Bearer token and builds the security context holding its authentication.
+     *
+     * @param strategy the strategy used to create the context
+     * @param jwtToken the raw {@code Authorization} header value
+     * @param request the request the token was sent with
+     * @return a context holding the authenticated token
+     * @throws UnauthorizedException if the token is invalid
+     */
+    private SecurityContext authenticate(
+            SecurityContextHolderStrategy strategy, String jwtToken, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken userToken =
+                new JwtVerificationEvent()
+                        .record(
+                                () -> {
+                                    UsernamePasswordAuthenticationToken token =
+                                            jwtManager.manageAuthentication(
+                                                    jwtToken.substring(BEARER_PREFIX.length()));
+                                    if (token == null) {
+                                        throw AuthFailure.INVALID_ACCESS_TOKEN.exception();
+                                    }
+                                    return token;
+                                });
+        userToken.setDetails(DETAILS_SOURCE.buildDetails(request));
+        SecurityContext context = strategy.createEmptyContext();
+        context.setAuthentication(userToken);
+        request.removeAttribute(UNVERIFIED_TOKEN_ATTRIBUTE);
+        return context;
     }
 
     /**
      * Determines whether the provided string is a valid Bearer token header. It checks if the
-     * string starts with "Bearer " and exceeds a minimal plausible length.
+     * string starts with "Bearer " and is at least as long as the shortest possible ES256 token.
      *
      * @param token the raw {@code Authorization} header value
      * @return {@code true} if the header looks like a valid Bearer token; {@code false} otherwise
      */
     public boolean isAToken(String token) {
-        return token != null && token.startsWith("Bearer ") && token.length() > 120;
+        return token != null
+                && token.startsWith(BEARER_PREFIX)
+                && token.length() >= BEARER_PREFIX.length() + MIN_TOKEN_LENGTH;
     }
 }
@@ -0,0 +1,239 @@
+package com.alpaca.security.manager;
+
+import com.alpaca.invalidation.InvalidationBus;
+import com.alpaca.invalidation.InvalidationEvent;
+import com.alpaca.invalidation.InvalidationListener;
+import com.alpaca.model.UserTokenWatermark;
+import com.alpaca.persistence.IRefreshTokenDAO;
+import com.alpaca.persistence.IUserDAO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory index of revocations that Access Tokens must honor before they expire.
+ *
+ * <p>Access Tokens are verified from their signature alone, so revoking a session or refresh token
+ * family in the database does not affect the Access Tokens already handed out for it. This index
+ * keeps the two kinds of revocation an Access Token can be matched against:
+ *
+ * <ul>
+ *   <li><strong>Revoked families:</strong> refresh token families revoked by a logout, a session
+ *       revocation, an eviction or reuse detection; tokens carrying one of them are rejected.
+ *   <li><strong>Watermarks:</strong> the {@code tokensInvalidBefore} instant of users who revoked
+ *       all their sessions or were disabled or locked; tokens issued before that instant are
+ *       rejected.
+ * </ul>
+ *
+ * <p>Entries only need to outlive the Access Tokens they reject, so both maps expire them one
+ * Access Token lifetime after they are written and stay small. Revocations made by this instance
+ * are applied once their transaction commits and broadcast to the other instances through the
+ * {@link InvalidationBus}. Revocations made before a restart, or missed while the bus was
+ * disconnected, are picked up by {@link #reload()}, which also polls incrementally as a fallback.
+ *
+ * @see JJwtManager#createAuthentication(io.jsonwebtoken.Claims)
+ */
+@Slf4j
+@Component
+public class AccessTokenRevocationIndex implements InvalidationListener {
+
+    private final IRefreshTokenDAO refreshTokenDAO;
+
+    private final IUserDAO userDAO;
+
+    private final InvalidationBus invalidationBus;
+
+    /**
+     * Read-only transaction of {@link #reload()}, which also runs from the listener thread of the
+     * {@link InvalidationBus} where no proxy is involved.
+     */
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Duration retention;
+
+    private final Duration pollInterval;
+
+    private final Cache<UUID, Boolean> revokedFamilies;
+
+    /** Epoch millisecond of the {@code tokensInvalidBefore} watermark of each user. */
+    private final Cache<UUID, Long> watermarks;
+
+    /** Start of the last reload; {@code null} until the startup reload ran. */
+    private volatile Instant lastReload;
+
+    /**
+     * Creates the index.
+     *
+     * @param jwtTimeExpAccess expiration duration in ms for Access Tokens, which bounds how long a
+     *     revocation must be remembered
+     * @param pollInterval delay in ms between two incremental reloads
+     */
+    public AccessTokenRevocationIndex(
+            IRefreshTokenDAO refreshTokenDAO,
+            IUserDAO userDAO,
+            InvalidationBus invalidationBus,
+            PlatformTransactionManager transactionManager,
+            @Value("${security.jwt.access.expiration}") @NotNull String jwtTimeExpAccess,
+            @Value("${security.jwt.revocation.poll-interval:30000}") long pollInterval) {
+        this.refreshTokenDAO = refreshTokenDAO;
+        this.userDAO = userDAO;
+        this.invalidationBus = invalidationBus;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.retention = Duration.ofMillis(Long.parseLong(jwtTimeExpAccess));
+        this.pollInterval = Duration.ofMillis(pollInterval);
+        this.revokedFamilies = Caffeine.newBuilder().expireAfterWrite(retention).build();
+        this.watermarks = Caffeine.newBuilder().expireAfterWrite(retention).build();
+    }
+
+    /**
+     * Rejects the Access Tokens of a refresh token family once the current transaction commits.
+     *
+     * @param familyId the revoked family; ignored when {@code null}
+     */
+    public void revokeFamily(UUID familyId) {
+        if (familyId != null) {
+            afterCommit(() -> revokedFamilies.put(familyId, Boolean.TRUE));
+            invalidationBus.publish(InvalidationEvent.Type.TOKEN_FAMILY, familyId);
+        }
+    }
+
+    /**
+     * Rejects the Access Tokens of a user issued before the given instant once the current
+     * transaction commits.
+     *
+     * @param userId the user whose tokens are invalidated
+     * @param tokensInvalidBefore the new watermark of the user
+     */
+    public void invalidateTokensBefore(UUID userId, Instant tokensInvalidBefore) {
+        if (userId != null && tokensInvalidBefore != null) {
+            afterCommit(() -> putWatermark(userId, tokensInvalidBefore));
+            invalidationBus.publish(
+                    InvalidationEvent.Type.USER_TOKENS, userId, tokensInvalidBefore.toEpochMilli());
+        }
+    }
+
+    /**
+     * Returns the {@code tokensInvalidBefore} watermark of a user known to this instance.
+     *
+     * @param userId the user to look up
+     * @return the watermark, or {@code null} when the user has none
+     */
+    public Instant getTokensInvalidBefore(UUID userId) {
+        Long watermark = userId != null ? watermarks.getIfPresent(userId) : null;
+        return watermark != null ? Instant.ofEpochMilli(watermark) : null;
+    }
+
+    /**
+     * Tells whether an Access Token has been revoked.
+     *
+     * <p>Like the {@code tokensInvalidBefore} check of Refresh Tokens, only tokens issued strictly
+     * before the watermark are rejected. The {@code iat} claim has a one-second resolution, so a
+     * token issued earlier in the second of the watermark is rejected as well; {@link
+     * JJwtManager#createAccessToken(com.alpaca.model.UserPrincipal, UUID, Instant)} moves the
+     * {@code iat} of tokens issued later in that second to the next one.
+     *
+     * @param userId the {@code uid} claim of the token
+     * @param familyId the family claim of the token; absent on tokens issued before it existed
+     * @param issuedAt the {@code iat} claim of the token
+     * @return {@code true} when the family is revoked or the token predates the user watermark
+     */
+    public boolean isRevoked(UUID userId, UUID familyId, Date issuedAt) {
+        if (familyId != null && revokedFamilies.getIfPresent(familyId) != null) {
+            return true;
+        }
+        Long watermark = userId != null ? watermarks.getIfPresent(userId) : null;
+        return watermark != null && (issuedAt == null || issuedAt.getTime() < watermark);
+    }
+
+    /**
+     * Loads the revocations recorded since the last reload.
+     *
+     * <p>The first reload reads one Access Token lifetime back. Later ones overlap the previous
+     * window by a poll interval, so that revocations committed while it ran are not missed. Both
+     * queries run in one read-only transaction.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            fixedDelayString = "${security.jwt.revocation.poll-interval:30000}",
+            initialDelayString = "${security.jwt.revocation.poll-interval:30000}")
+    public void reload() {
+        Instant now = Instant.now();
+        Instant previous = lastReload;
+        Instant since =
+                previous != null && previous.minus(pollInterval).isAfter(now.minus(retention))
+                        ? previous.minus(pollInterval)
+                        : now.minus(retention);
+        readOnlyTransaction.executeWithoutResult(_ -> load(since));
+        lastReload = now;
+    }
+
+    private void load(Instant since) {
+        int families = 0;
+        for (UUID familyId : refreshTokenDAO.findFamilyIdsRevokedSince(since)) {
+            revokedFamilies.put(familyId, Boolean.TRUE);
+            families++;
+        }
+        int users = 0;
+        for (UserTokenWatermark watermark : userDAO.findTokenWatermarksSince(since)) {
+            putWatermark(watermark.userId(), watermark.tokensInvalidBefore());
+            users++;
+        }
+        if (families > 0 || users > 0) {
+            log.debug("Loaded {} revoked token families and {} user watermarks", families, users);
+        }
+    }
+
+    @Override
+    public Set<InvalidationEvent.Type> invalidationTypes() {
+        return Set.of(InvalidationEvent.Type.TOKEN_FAMILY, InvalidationEvent.Type.USER_TOKENS);
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        UUID id = UUID.fromString(event.key());
+        if (event.type() == InvalidationEvent.Type.TOKEN_FAMILY) {
+            revokedFamilies.put(id, Boolean.TRUE);
+        } else {
+            putWatermark(id, Instant.ofEpochMilli(event.timestamp()));
+        }
+    }
+
+    @Override
+    public void onInvalidationGap() {
+        reload();
+    }
+
+    private void putWatermark(UUID userId, Instant tokensInvalidBefore) {
+        watermarks.asMap().merge(userId, tokensInvalidBefore.toEpochMilli(), Math::max);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
+}
@@ -0,0 +1,235 @@
+package com.alpaca.security.manager;
+
+import com.alpaca.entity.Permission;
+import com.alpaca.entity.Role;
+import com.alpaca.entity.User;
+import com.alpaca.persistence.IPermissionDAO;
+import com.alpaca.persistence.IRoleDAO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Compiles the authority catalogue into a dense bit index so that authorization checks become
+ * single bit tests.
+ *
+ * <p>The catalogue holds every {@code ROLE_<name>} authority from {@link IRoleDAO} and every
+ * permission name from {@link IPermissionDAO}, sorted by name and numbered from zero. An access
+ * token carries the authorities of its user as a bitset over those numbers, prefixed with a version
+ * derived from the catalogue contents: {@code <version>.<base64url bitset>}.
+ *
+ * <p>A bitset is only decoded when its version matches the local catalogue. Tokens issued before a
+ * role or permission change, or by an instance with a different catalogue, are rejected by {@link
+ * #decode(String)} and callers fall back to the comma-delimited authorities claim, which is still
+ * written to legacy tokens.
+ *
+ * <p>Compact tokens (see {@link CompactClaims}) carry only the bitset. Their authority names are
+ * recovered by {@link #toAuthoritiesClaim(String)} from the catalogue the bitset was issued
+ * against, which is the current one or one of the few catalogues compiled before it by this
+ * instance. Since the version is derived from the catalogue contents, every instance with the same
+ * roles and permissions recognises the same version.
+ *
+ * @see BitmapAuthorizationManagerFactory
+ * @see JJwtManager
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthorityBitmapManager {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+    private static final int MAX_RETAINED_CATALOGUES = 8;
+
+    private final IRoleDAO roleDAO;
+
+    private final IPermissionDAO permissionDAO;
+
+    /** Currently compiled catalogue; {@code null} until first use or after an invalidation. */
+    private volatile Catalogue catalogue;
+
+    /** Bumped on every invalidation so that a compilation racing with it is not stored. */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** Recently compiled catalogues by version, kept to read bitsets of tokens still in flight. */
+    private final Cache<String, Catalogue> compiled =
+            Caffeine.newBuilder().maximumSize(MAX_RETAINED_CATALOGUES).build();
+
+    /**
+     * Immutable compiled catalogue.
+     *
+     * @param version short identifier of the catalogue contents, written before each bitset
+     * @param indexes bit index of each authority name
+     * @param names authority names in bit index order
+     */
+    private record Catalogue(String version, Map<String, Integer> indexes, List<String> names) {}
+
+    /**
+     * Authorities of a principal decoded from a bitset claim.
+     *
+     * @param version catalogue version the bitset was issued against
+     * @param bits set bits are the indexes of the granted authorities
+     */
+    public record AuthorityBits(String version, BitSet bits) {}
+
+    /**
+     * Returns the bit index of the given authority in the current catalogue.
+     *
+     * @param version catalogue version of the bitset about to be tested
+     * @param authority the authority name, e.g. {@code ROLE_ADMIN} or {@code READ}
+     * @return the bit index, or {@code -1} when the catalogue has changed since the bitset was
+     *     issued or the authority is not catalogued
+     */
+    public int indexOf(String version, String authority) {
+        Catalogue current = getCatalogue();
+        if (!current.version().equals(version)) {
+            return -1;
+        }
+        Integer index = current.indexes().get(authority);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Encodes a comma-delimited authorities claim as a versioned bitset claim.
+     *
+     * @param authoritiesClaim the comma-delimited authorities of a user
+     * @return the bitset claim, or {@code null} when an authority is not catalogued; the catalogue
+     *     is then recompiled on next use, as it predates the role or permission
+     */
+    public String encode(String authoritiesClaim) {
+        Catalogue current = getCatalogue();
+        BitSet bits = new BitSet(current.indexes().size());
+        for (String authority : StringUtils.commaDelimitedListToStringArray(authoritiesClaim)) {
+            Integer index = current.indexes().get(authority.trim());
+            if (index == null) {
+                invalidate();
+                return null;
+            }
+            bits.set(index);
+        }
+        return current.version() + "." + BASE64_URL.encodeToString(bits.toByteArray());
+    }
+
+    /**
+     * Decodes a bitset claim issued against the current catalogue.
+     *
+     * @param bitmapClaim the versioned bitset claim
+     * @return the decoded authorities, or {@code null} when the claim is absent, malformed or was
+     *     issued against another catalogue version
+     */
+    public AuthorityBits decode(String bitmapClaim) {
+        if (!StringUtils.hasText(bitmapClaim)) {
+            return null;
+        }
+        String version = getCatalogue().version();
+        int separator = version.length();
+        if (bitmapClaim.length() <= separator
+                || bitmapClaim.charAt(separator) != '.'
+                || !bitmapClaim.startsWith(version)) {
+            return null;
+        }
+        try {
+            return new AuthorityBits(
+                    version,
+                    BitSet.valueOf(
+                            BASE64_URL_DECODER.decode(bitmapClaim.substring(separator + 1))));
+        } catch (IllegalArgumentException _) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts a bitset claim back into the comma-delimited authority names it was encoded from.
+     *
+     * @param bitmapClaim the versioned bitset claim
+     * @return the comma-delimited authority names, or {@code null} when the claim is malformed or
+     *     its catalogue is no longer known to this instance
+     */
+    public String toAuthoritiesClaim(String bitmapClaim) {
+        int separator = bitmapClaim != null ? bitmapClaim.indexOf('.') : -1;
+        if (separator <= 0) {
+            return null;
+        }
+        String version = bitmapClaim.substring(0, separator);
+        Catalogue current = getCatalogue();
+        Catalogue issuedWith =
+                current.version().equals(version) ? current : compiled.getIfPresent(version);
+        if (issuedWith == null) {
+            return null;
+        }
+        BitSet bits;
+        try {
+            bits = BitSet.valueOf(BASE64_URL_DECODER.decode(bitmapClaim.substring(separator + 1)));
+        } catch (IllegalArgumentException _) {
+            return null;
+        }
+        if (bits.length() > issuedWith.names().size()) {
+            return null;
+        }
+        StringBuilder claim = new StringBuilder();
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            if (!claim.isEmpty()) {
+                claim.append(',');
+            }
+            claim.append(issuedWith.names().get(i));
+        }
+        return claim.toString();
+    }
+
+    /** Discards the compiled catalogue so that it is rebuilt on next use. */
+    public void invalidate() {
+        generation.incrementAndGet();
+        catalogue = null;
+    }
+
+    private Catalogue getCatalogue() {
+        Catalogue current = catalogue;
+        if (current == null) {
+            synchronized (this) {
+                current = catalogue;
+                if (current == null) {
+                    long expected = generation.get();
+                    current = compile(roleDAO.findAll(), permissionDAO.findAll());
+                    if (generation.get() == expected) {
+                        catalogue = current;
+                    }
+                    compiled.put(current.version(), current);
+                }
+            }
+        }
+        return current;
+    }
+
+    /** Builds the sorted, versioned catalogue from the given roles and permissions. */
+    private static Catalogue compile(List<Role> roles, List<Permission> permissions) {
+        SortedSet<String> names = new TreeSet<>();
+        for (Role role : roles) {
+            names.add(User.ROLE_KEY_AUTHORITY + role.getName());
+        }
+        for (Permission permission : permissions) {
+            names.add(permission.getName());
+        }
+        Map<String, Integer> indexes = HashMap.newHashMap(names.size());
+        CRC32 crc = new CRC32();
+        for (String name : names) {
+            indexes.put(name, indexes.size());
+            crc.update(name.getBytes(StandardCharsets.UTF_8));
+            crc.update(',');
+        }
+        return new Catalogue(
+                Long.toHexString(crc.getValue()), Map.copyOf(indexes), List.copyOf(names));
+    }
+}
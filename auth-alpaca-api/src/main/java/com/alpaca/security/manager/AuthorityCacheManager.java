@@ -0,0 +1,234 @@
+package com.alpaca.security.manager;
+
+import com.alpaca.entity.Permission;
+import com.alpaca.entity.Role;
+import com.alpaca.entity.RolePermission;
+import com.alpaca.entity.User;
+import com.alpaca.invalidation.InvalidationBus;
+import com.alpaca.invalidation.InvalidationEvent;
+import com.alpaca.invalidation.InvalidationListener;
+import com.alpaca.persistence.IRoleDAO;
+import com.alpaca.repository.RoleRepo;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory cache of the authorities granted by each {@link Role}.
+ *
+ * <p>The role/permission graph changes rarely, while every login, OAuth2 callback and token
+ * rotation needs the authorities of a user. This component stores, per role ID, the precomputed
+ * list of {@link GrantedAuthority} entries ({@code ROLE_<name>} followed by the role permissions)
+ * and the comma-joined claim string, so that {@link JJwtManager#createAccessToken} can assemble a
+ * user's authorities from the cached fragments without walking lazy collections.
+ *
+ * <p>Invalidation is version based: every eviction bumps a global version, and a snapshot computed
+ * while an eviction happened is never stored. Evictions issued inside a transaction are repeated
+ * after commit so that a concurrent reader cannot re-cache data from before the change. They are
+ * also published on the {@link InvalidationBus}, so that the other replicas drop the same entries
+ * once the change commits.
+ *
+ * <p>The same evictions are applied to the Hibernate second-level cache regions of the RBAC
+ * entities. Hibernate keeps those regions consistent for changes flushed through the session, but
+ * not for bulk deletes, whose database cascades leave stale {@link RolePermission} collection
+ * entries behind. The compiled catalogue of {@link AuthorityBitmapManager} is discarded as well.
+ *
+ * @see Role
+ * @see JJwtManager
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthorityCacheManager implements InvalidationListener {
+
+    /** Second-level cache role of the {@code Role.rolePermissions} collection. */
+    private static final String ROLE_PERMISSIONS_COLLECTION =
+            Role.class.getName() + ".rolePermissions";
+
+    /** Second-level cache role of the {@code Permission.rolePermissions} collection. */
+    private static final String PERMISSION_ROLES_COLLECTION =
+            Permission.class.getName() + ".rolePermissions";
+
+    private final IRoleDAO roleDAO;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final AuthorityBitmapManager authorityBitmapManager;
+
+    private final InvalidationBus invalidationBus;
+
+    private final Map<UUID, RoleAuthorities> snapshots = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Authorities granted by a single role.
+     *
+     * @param authorities immutable list of the role and permission authorities
+     * @param claim the same authorities joined with commas, as written in the access token
+     */
+    public record RoleAuthorities(List<GrantedAuthority> authorities, String claim) {}
+
+    /**
+     * Returns the cached authorities of the role with the given ID, loading the role with its
+     * permissions on a miss.
+     *
+     * <p>The version is read before the role is loaded, so an eviction committed while loading
+     * prevents the loaded snapshot from being stored.
+     *
+     * @param roleId the role identifier
+     * @return the authorities granted by the role, or an empty snapshot if the role does not exist
+     */
+    public RoleAuthorities getRoleAuthorities(UUID roleId) {
+        RoleAuthorities cached = snapshots.get(roleId);
+        if (cached != null) {
+            return cached;
+        }
+        long expected = version.get();
+        return roleDAO.findByIdWithPermissions(roleId)
+                .map(role -> store(roleId, compute(role), expected))
+                .orElseGet(() -> new RoleAuthorities(List.of(), ""));
+    }
+
+    /**
+     * Builds the comma-delimited authorities claim for a set of roles.
+     *
+     * <p>A single role returns its cached claim as is. Several roles are merged in order, skipping
+     * duplicated authorities, matching {@link User#getAuthorities()}.
+     *
+     * @param roleIds the identifiers of the roles granted to the user
+     * @return the authorities claim; empty when no role is given
+     */
+    public String getAuthoritiesClaim(Collection<UUID> roleIds) {
+        if (roleIds == null || roleIds.isEmpty()) {
+            return "";
+        }
+        if (roleIds.size() == 1) {
+            return getRoleAuthorities(roleIds.iterator().next()).claim();
+        }
+        Set<String> merged = new LinkedHashSet<>();
+        for (UUID roleId : roleIds) {
+            for (GrantedAuthority authority : getRoleAuthorities(roleId).authorities()) {
+                merged.add(authority.getAuthority());
+            }
+        }
+        return String.join(",", merged);
+    }
+
+    /**
+     * Evicts the snapshot of a single role, e.g. after its name or permissions change.
+     *
+     * @param roleId the identifier of the modified role
+     */
+    public void evictRole(UUID roleId) {
+        if (roleId == null) {
+            return;
+        }
+        runNowAndAfterCommit(() -> evictRoleLocally(roleId));
+        invalidationBus.publish(InvalidationEvent.Type.ROLE, roleId);
+    }
+
+    /** Evicts every snapshot, e.g. after a permission shared by several roles changes. */
+    public void evictAll() {
+        runNowAndAfterCommit(this::evictAllLocally);
+        invalidationBus.publish(InvalidationEvent.Type.AUTHORITIES, null);
+    }
+
+    @Override
+    public Set<InvalidationEvent.Type> invalidationTypes() {
+        return Set.of(InvalidationEvent.Type.ROLE, InvalidationEvent.Type.AUTHORITIES);
+    }
+
+    @Override
+    public void onInvalidation(InvalidationEvent event) {
+        if (event.type() == InvalidationEvent.Type.ROLE) {
+            evictRoleLocally(UUID.fromString(event.key()));
+        } else {
+            evictAllLocally();
+        }
+    }
+
+    @Override
+    public void onInvalidationGap() {
+        evictAllLocally();
+    }
+
+    private void evictRoleLocally(UUID roleId) {
+        version.incrementAndGet();
+        snapshots.remove(roleId);
+        authorityBitmapManager.invalidate();
+        Cache cache = getSecondLevelCache();
+        cache.evictEntityData(Role.class, roleId);
+        cache.evictCollectionData(ROLE_PERMISSIONS_COLLECTION, roleId);
+        cache.evictQueryRegion(RoleRepo.FIND_BY_NAME_CACHE_REGION);
+    }
+
+    private void evictAllLocally() {
+        version.incrementAndGet();
+        snapshots.clear();
+        authorityBitmapManager.invalidate();
+        Cache cache = getSecondLevelCache();
+        cache.evictEntityData(Role.class);
+        cache.evictEntityData(Permission.class);
+        cache.evictEntityData(RolePermission.class);
+        cache.evictCollectionData(ROLE_PERMISSIONS_COLLECTION);
+        cache.evictCollectionData(PERMISSION_ROLES_COLLECTION);
+        cache.evictQueryRegion(RoleRepo.FIND_BY_NAME_CACHE_REGION);
+    }
+
+    /** Stores a freshly computed snapshot unless an eviction happened while computing it. */
+    private RoleAuthorities store(UUID roleId, RoleAuthorities computed, long expected) {
+        if (version.get() == expected) {
+            snapshots.putIfAbsent(roleId, computed);
+        }
+        return computed;
+    }
+
+    /** Computes the authorities of a role with the same layout as {@link User#getAuthorities()}. */
+    private RoleAuthorities compute(Role role) {
+        List<Permission> permissions = role.getPermissions();
+        Set<String> names = LinkedHashSet.newLinkedHashSet(permissions.size() + 1);
+        names.add(User.ROLE_KEY_AUTHORITY + role.getName());
+        for (Permission permission : permissions) {
+            names.add(permission.getName());
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(names.size());
+        for (String name : names) {
+            authorities.add(new SimpleGrantedAuthority(name));
+        }
+        return new RoleAuthorities(List.copyOf(authorities), String.join(",", names));
+    }
+
+    /** Returns the Hibernate second-level cache of the persistence unit. */
+    private Cache getSecondLevelCache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    /** Runs the eviction immediately and, inside a transaction, once more after commit. */
+    private void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            eviction.run();
+                        }
+                    });
+        }
+    }
+}
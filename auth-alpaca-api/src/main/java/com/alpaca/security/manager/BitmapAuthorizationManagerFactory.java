@@ -0,0 +1,160 @@
+package com.alpaca.security.manager;
+
+import com.alpaca.entity.User;
+import com.alpaca.model.UserPrincipal;
+import com.alpaca.security.manager.AuthorityBitmapManager.AuthorityBits;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagerFactory;
+import org.springframework.security.authorization.DefaultAuthorizationManagerFactory;
+import org.springframework.security.core.Authentication;
+
+/**
+ * {@link AuthorizationManagerFactory} answering role and authority checks with bit tests.
+ *
+ * <p>Spring Security uses this factory both for {@code authorizeHttpRequests} rules and for {@code
+ * hasRole}/{@code hasAuthority} in method security expressions. When the authenticated principal is
+ * a {@link UserPrincipal} carrying an authority bitset compiled by {@link AuthorityBitmapManager},
+ * each check resolves the authority to its bit index and tests that bit. Any other authentication,
+ * an authority that is not catalogued, or a bitset issued against an older catalogue is delegated
+ * to {@link DefaultAuthorizationManagerFactory}, which scans {@link
+ * Authentication#getAuthorities()}. The delegated manager is created once with each rule rather
+ * than on every check that falls back to it; role rules delegate the prefixed authorities, so that
+ * roles given with or without the {@code ROLE_} prefix are accepted either way.
+ *
+ * @param <T> the type of object being authorized
+ * @see AuthorityBitmapManager
+ */
+public class BitmapAuthorizationManagerFactory<T> implements AuthorizationManagerFactory<T> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final AuthorityBitmapManager bitmapManager;
+
+    private final AuthorizationManagerFactory<T> delegate =
+            new DefaultAuthorizationManagerFactory<>();
+
+    /**
+     * Creates a factory backed by the given catalogue.
+     *
+     * @param bitmapManager the compiled authority catalogue
+     */
+    public BitmapAuthorizationManagerFactory(AuthorityBitmapManager bitmapManager) {
+        this.bitmapManager = bitmapManager;
+    }
+
+    @Override
+    public AuthorizationManager<T> hasRole(String role) {
+        return hasAnyRole(role);
+    }
+
+    @Override
+    public AuthorizationManager<T> hasAnyRole(String... roles) {
+        String[] authorities = toRoleAuthorities(roles);
+        return anyOf(authorities, delegate.hasAnyAuthority(authorities));
+    }
+
+    @Override
+    public AuthorizationManager<T> hasAllRoles(String... roles) {
+        String[] authorities = toRoleAuthorities(roles);
+        return allOf(authorities, delegate.hasAllAuthorities(authorities));
+    }
+
+    @Override
+    public AuthorizationManager<T> hasAuthority(String authority) {
+        return hasAnyAuthority(authority);
+    }
+
+    @Override
+    public AuthorizationManager<T> hasAnyAuthority(String... authorities) {
+        return anyOf(authorities, delegate.hasAnyAuthority(authorities));
+    }
+
+    @Override
+    public AuthorizationManager<T> hasAllAuthorities(String... authorities) {
+        return allOf(authorities, delegate.hasAllAuthorities(authorities));
+    }
+
+    @Override
+    public AuthorizationManager<T> authenticated() {
+        return delegate.authenticated();
+    }
+
+    @Override
+    public AuthorizationManager<T> fullyAuthenticated() {
+        return delegate.fullyAuthenticated();
+    }
+
+    @Override
+    public AuthorizationManager<T> rememberMe() {
+        return delegate.rememberMe();
+    }
+
+    @Override
+    public AuthorizationManager<T> anonymous() {
+        return delegate.anonymous();
+    }
+
+    /** Grants access when at least one of the authorities is set in the principal's bitset. */
+    private AuthorizationManager<T> anyOf(String[] authorities, AuthorizationManager<T> fallback) {
+        return (authentication, object) -> {
+            AuthorityBits bits = getAuthorityBits(authentication.get());
+            if (bits == null) {
+                return fallback.authorize(authentication, object);
+            }
+            for (String authority : authorities) {
+                int index = bitmapManager.indexOf(bits.version(), authority);
+                if (index < 0) {
+                    return fallback.authorize(authentication, object);
+                }
+                if (bits.bits().get(index)) {
+                    return GRANTED;
+                }
+            }
+            return DENIED;
+        };
+    }
+
+    /** Grants access when every authority is set in the principal's bitset. */
+    private AuthorizationManager<T> allOf(String[] authorities, AuthorizationManager<T> fallback) {
+        return (authentication, object) -> {
+            AuthorityBits bits = getAuthorityBits(authentication.get());
+            if (bits == null) {
+                return fallback.authorize(authentication, object);
+            }
+            for (String authority : authorities) {
+                int index = bitmapManager.indexOf(bits.version(), authority);
+                if (index < 0) {
+                    return fallback.authorize(authentication, object);
+                }
+                if (!bits.bits().get(index)) {
+                    return DENIED;
+                }
+            }
+            return GRANTED;
+        };
+    }
+
+    /** Returns the authority bitset of an authenticated {@link UserPrincipal}, if any. */
+    private static AuthorityBits getAuthorityBits(Authentication authentication) {
+        if (authentication != null
+                && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getAuthorityBits();
+        }
+        return null;
+    }
+
+    private static String[] toRoleAuthorities(String[] roles) {
+        String[] authorities = new String[roles.length];
+        for (int i = 0; i < roles.length; i++) {
+            authorities[i] =
+                    roles[i].startsWith(User.ROLE_KEY_AUTHORITY)
+                            ? roles[i]
+                            : User.ROLE_KEY_AUTHORITY + roles[i];
+        }
+        return authorities;
+    }
+}
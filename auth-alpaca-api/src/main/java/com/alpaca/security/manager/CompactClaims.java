@@ -0,0 +1,183 @@
+package com.alpaca.security.manager;
+
+import io.jsonwebtoken.Claims;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Claim names and codecs of the compact Access Token claim profile.
+ *
+ * <p>Legacy Access Tokens carry identifiers as 36-character UUID strings, write empty strings for
+ * missing identifiers and list every authority name. Compact tokens are marked with {@code "v":2}
+ * and instead carry:
+ *
+ * <ul>
+ *   <li><strong>{@code uid}, {@code pid}, {@code aid}:</strong> user, profile and advertiser
+ *       identifiers as 22-character base64url encodings of their 16 bytes; absent identifiers are
+ *       omitted.
+ *   <li><strong>{@code fid}:</strong> the refresh token family the token was issued for, in the
+ *       same encoding, checked against {@link AccessTokenRevocationIndex}.
+ *   <li><strong>{@code ab}:</strong> the authority bitset of {@link AuthorityBitmapManager}.
+ *   <li><strong>{@code au}:</strong> the comma-delimited authority names, written only when the
+ *       authorities could not be encoded as a bitset.
+ * </ul>
+ *
+ * <p>Readers accept both profiles, so tokens issued before and after the switch remain valid for
+ * their whole lifetime.
+ *
+ * @see JJwtManager
+ */
+public final class CompactClaims {
+
+    /** Claim holding the claim profile version; absent on legacy tokens. */
+    public static final String PROFILE = "v";
+
+    /** Value of {@link #PROFILE} marking the compact profile. */
+    public static final int COMPACT_PROFILE = 2;
+
+    public static final String USER_ID = "uid";
+
+    public static final String PROFILE_ID = "pid";
+
+    public static final String ADVERTISER_ID = "aid";
+
+    public static final String FAMILY_ID = "fid";
+
+    public static final String AUTHORITY_BITS = "ab";
+
+    public static final String AUTHORITIES = "au";
+
+    /** Legacy claim names, still read for tokens issued before the compact profile. */
+    public static final String LEGACY_USER_ID = "userId";
+
+    public static final String LEGACY_PROFILE_ID = "profileId";
+
+    public static final String LEGACY_ADVERTISER_ID = "advertiserId";
+
+    public static final String LEGACY_FAMILY_ID = "familyId";
+
+    public static final String LEGACY_AUTHORITIES = "authorities";
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+    private CompactClaims() {}
+
+    /**
+     * Tells whether the claims follow the compact profile.
+     *
+     * @param claims the token claims
+     * @return {@code true} when the {@code v} claim equals {@link #COMPACT_PROFILE}
+     */
+    public static boolean isCompact(Claims claims) {
+        Object profile = claims.get(PROFILE);
+        return profile instanceof Number number && number.intValue() == COMPACT_PROFILE;
+    }
+
+    /**
+     * Reads the user identifier of either profile.
+     *
+     * @param claims the token claims
+     * @return the user identifier, or {@code null} when absent
+     */
+    public static UUID getUserId(Claims claims) {
+        return getUUID(claims, LEGACY_USER_ID, USER_ID);
+    }
+
+    /**
+     * Reads the profile identifier of either profile.
+     *
+     * @param claims the token claims
+     * @return the profile identifier, or {@code null} when absent
+     */
+    public static UUID getProfileId(Claims claims) {
+        return getUUID(claims, LEGACY_PROFILE_ID, PROFILE_ID);
+    }
+
+    /**
+     * Reads the advertiser identifier of either profile.
+     *
+     * @param claims the token claims
+     * @return the advertiser identifier, or {@code null} when absent
+     */
+    public static UUID getAdvertiserId(Claims claims) {
+        return getUUID(claims, LEGACY_ADVERTISER_ID, ADVERTISER_ID);
+    }
+
+    /**
+     * Reads the refresh token family identifier of either profile.
+     *
+     * @param claims the token claims
+     * @return the family identifier, or {@code null} when absent, as on tokens issued before the
+     *     claim existed
+     */
+    public static UUID getFamilyId(Claims claims) {
+        return getUUID(claims, LEGACY_FAMILY_ID, FAMILY_ID);
+    }
+
+    /**
+     * Reads the raw user identifier claim of either profile, without decoding it.
+     *
+     * @param claims the token claims
+     * @return the claim value, or {@code null} when absent
+     */
+    public static String getUserIdClaim(Claims claims) {
+        return claims.get(isCompact(claims) ? USER_ID : LEGACY_USER_ID, String.class);
+    }
+
+    /**
+     * Reads the comma-delimited authority names of either profile.
+     *
+     * <p>Compact tokens only carry names when no bitset could be written; the bitset itself needs
+     * the authority catalogue and is resolved by {@link JJwtManager}.
+     *
+     * @param claims the token claims
+     * @return the comma-delimited authority names, or {@code null} when absent
+     */
+    public static String getAuthoritiesClaim(Claims claims) {
+        return claims.get(isCompact(claims) ? AUTHORITIES : LEGACY_AUTHORITIES, String.class);
+    }
+
+    /**
+     * Encodes a UUID as the base64url form of its 16 bytes.
+     *
+     * @param id the identifier to encode
+     * @return a 22-character base64url string
+     */
+    public static String encodeUUID(UUID id) {
+        return BASE64_URL.encodeToString(
+                ByteBuffer.allocate(16)
+                        .putLong(id.getMostSignificantBits())
+                        .putLong(id.getLeastSignificantBits())
+                        .array());
+    }
+
+    /**
+     * Decodes a UUID written by {@link #encodeUUID(UUID)}.
+     *
+     * @param value the base64url string; may be {@code null} or empty
+     * @return the identifier, or {@code null} when the value is absent
+     * @throws IllegalArgumentException if the value is not the base64url form of 16 bytes
+     */
+    public static UUID decodeUUID(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        byte[] bytes = BASE64_URL_DECODER.decode(value);
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Compact UUID must encode 16 bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static UUID getUUID(Claims claims, String legacyKey, String compactKey) {
+        if (isCompact(claims)) {
+            return decodeUUID(claims.get(compactKey, String.class));
+        }
+        String value = claims.get(legacyKey, String.class);
+        return (value != null && !value.isEmpty()) ? UUID.fromString(value) : null;
+    }
+}
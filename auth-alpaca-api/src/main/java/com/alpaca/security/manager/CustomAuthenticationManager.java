@@ -1,7 +1,9 @@
 package com.alpaca.security.manager;
 
+import com.alpaca.exception.AuthFailure;
 import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.UnauthorizedException;
+import com.alpaca.metrics.jfr.AuthenticationEvent;
 import com.alpaca.service.IAuthService;
 import java.util.Objects;
 import lombok.AllArgsConstructor;
@@ -27,7 +29,8 @@ import org.springframework.stereotype.Component;
  * </ul>
  *
  * <p>On failure, distinct exception types are used to distinguish bad credentials from disabled
- * accounts, allowing the caller to choose appropriate error responses.
+ * accounts, allowing the caller to choose appropriate error responses. Each attempt is recorded as
+ * an {@link AuthenticationEvent}.
  *
  * @see AuthenticationProvider
  * @see IAuthService
@@ -57,11 +60,15 @@ public class CustomAuthenticationManager implements AuthenticationProvider {
         String username = authentication.getName();
         String password = Objects.requireNonNull(authentication.getCredentials()).toString();
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-        validateUserDetails(password, userDetails);
-
-        return new UsernamePasswordAuthenticationToken(
-                userDetails, password, userDetails.getAuthorities());
+        return new AuthenticationEvent()
+                .record(
+                        () -> {
+                            UserDetails userDetails =
+                                    userDetailsService.loadUserByUsername(username);
+                            validateUserDetails(password, userDetails);
+                            return new UsernamePasswordAuthenticationToken(
+                                    userDetails, password, userDetails.getAuthorities());
+                        });
     }
 
     /**
@@ -85,12 +92,12 @@ public class CustomAuthenticationManager implements AuthenticationProvider {
      */
     public void validateUserDetails(String rawPassword, UserDetails userDetails) {
         if (userDetails == null) {
-            throw new BadRequestException("Invalid Username or Password");
+            throw AuthFailure.INVALID_USERNAME_OR_PASSWORD.exception();
         }
         if (rawPassword == null
                 || rawPassword.isBlank()
                 || !passwordManager.matches(rawPassword, userDetails.getPassword())) {
-            throw new BadRequestException("Invalid Password");
+            throw AuthFailure.INVALID_PASSWORD.exception();
         }
         if (!(userDetails.isEnabled()
                 && userDetails.isAccountNonLocked()
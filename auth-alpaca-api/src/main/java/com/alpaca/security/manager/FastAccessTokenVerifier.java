@@ -0,0 +1,202 @@
+package com.alpaca.security.manager;
+
+import com.alpaca.exception.AuthFailure;
+import com.alpaca.exception.UnauthorizedException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.json.JsonFactory;
+
+/**
+ * Specialized verifier for the Access Tokens issued by {@link JJwtManager}.
+ *
+ * <p>The generic jjwt parser deserializes the header and payload into maps with Jackson databind,
+ * looks up the signature algorithm from the header and validates every registered claim. Our own
+ * Access Tokens always carry the same {@code {"alg":"ES256"}} header and a small, known set of
+ * claims, so this verifier:
+ *
+ * <ul>
+ *   <li>compares the header segment with the pinned header instead of parsing it;
+ *   <li>verifies the raw 64-byte ES256 signature over the ASCII bytes of the signed segments;
+ *   <li>reads the payload with a streaming parser, accepting only the known claim names with their
+ *       expected JSON types;
+ *   <li>applies the issuer, expiration and not-before checks of the jjwt parser configured by
+ *       {@link JJwtManager}.
+ * </ul>
+ *
+ * <p>Any token outside that shape, such as another header, an unknown claim or a malformed segment,
+ * is not judged here: {@link #verify(String)} returns {@code null} and the caller falls back to the
+ * jjwt parser, which remains the reference implementation.
+ *
+ * @see JJwtManager#validateAccessToken(String)
+ */
+public class FastAccessTokenVerifier {
+
+    /** Base64url form of {@code {"alg":"ES256"}}, the header jjwt writes for our Access Tokens. */
+    private static final String PINNED_HEADER =
+            Base64.getUrlEncoder()
+                    .withoutPadding()
+                    .encodeToString("{\"alg\":\"ES256\"}".getBytes(StandardCharsets.US_ASCII));
+
+    /** ES256 signatures are the concatenated 32-byte R and S values. */
+    private static final int SIGNATURE_LENGTH = 64;
+
+    private static final String SIGNATURE_ALGORITHM = "SHA256withECDSAinP1363Format";
+
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final Set<String> TIME_CLAIMS = Set.of("exp", "iat", "nbf");
+
+    private static final Set<String> STRING_CLAIMS =
+            Set.of(
+                    "iss",
+                    "sub",
+                    CompactClaims.USER_ID,
+                    CompactClaims.PROFILE_ID,
+                    CompactClaims.ADVERTISER_ID,
+                    CompactClaims.FAMILY_ID,
+                    CompactClaims.AUTHORITY_BITS,
+                    CompactClaims.AUTHORITIES,
+                    CompactClaims.LEGACY_USER_ID,
+                    CompactClaims.LEGACY_PROFILE_ID,
+                    CompactClaims.LEGACY_ADVERTISER_ID,
+                    CompactClaims.LEGACY_FAMILY_ID,
+                    CompactClaims.LEGACY_AUTHORITIES,
+                    "authorityBits");
+
+    private final ECPublicKey publicKey;
+
+    private final String issuer;
+
+    /**
+     * Creates a verifier for Access Tokens signed by the given key pair.
+     *
+     * @param publicKey the EC public key of the Access Token key pair
+     * @param issuer the required {@code iss} claim
+     */
+    public FastAccessTokenVerifier(ECPublicKey publicKey, String issuer) {
+        this.publicKey = publicKey;
+        this.issuer = issuer;
+    }
+
+    /**
+     * Verifies an Access Token if it has the shape of the tokens we issue.
+     *
+     * @param token the compact JWS string
+     * @return the verified claims, or {@code null} when the token must be verified by jjwt instead
+     * @throws UnauthorizedException if the token has our shape but its signature, issuer or
+     *     validity period is rejected
+     */
+    public Claims verify(String token) {
+        int headerEnd = PINNED_HEADER.length();
+        if (token == null
+                || token.length() <= headerEnd
+                || token.charAt(headerEnd) != '.'
+                || !token.startsWith(PINNED_HEADER)) {
+            return null;
+        }
+        int payloadEnd = token.indexOf('.', headerEnd + 1);
+        if (payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            return null;
+        }
+
+        byte[] ascii = token.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer payload;
+        ByteBuffer signature;
+        try {
+            payload =
+                    BASE64_URL_DECODER.decode(
+                            ByteBuffer.wrap(ascii, headerEnd + 1, payloadEnd - headerEnd - 1));
+            signature =
+                    BASE64_URL_DECODER.decode(
+                            ByteBuffer.wrap(ascii, payloadEnd + 1, ascii.length - payloadEnd - 1));
+        } catch (IllegalArgumentException _) {
+            return null;
+        }
+        if (signature.remaining() != SIGNATURE_LENGTH) {
+            return null;
+        }
+        byte[] signatureBytes = new byte[SIGNATURE_LENGTH];
+        signature.get(signatureBytes);
+        if (!isSignatureValid(ascii, payloadEnd, signatureBytes)) {
+            throw AuthFailure.TOKEN_INVALID.exception();
+        }
+
+        Map<String, Object> claims = readClaims(payload);
+        if (claims == null) {
+            return null;
+        }
+        checkClaims(claims);
+        return Jwts.claims().add(claims).build();
+    }
+
+    private boolean isSignatureValid(byte[] ascii, int signedLength, byte[] signature) {
+        try {
+            Signature verifier = Signature.getInstance(SIGNATURE_ALGORITHM);
+            verifier.initVerify(publicKey);
+            verifier.update(ascii, 0, signedLength);
+            return verifier.verify(signature);
+        } catch (GeneralSecurityException _) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads the payload into a claim map, or returns {@code null} when it holds anything besides
+     * the known claims with their expected types.
+     */
+    private static Map<String, Object> readClaims(ByteBuffer payload) {
+        Map<String, Object> claims = LinkedHashMap.newLinkedHashMap(12);
+        try (JsonParser parser =
+                JSON_FACTORY.createParser(
+                        ObjectReadContext.empty(), payload.array(), 0, payload.remaining())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (STRING_CLAIMS.contains(name) && value == JsonToken.VALUE_STRING) {
+                    claims.put(name, parser.getString());
+                } else if (TIME_CLAIMS.contains(name) && value == JsonToken.VALUE_NUMBER_INT) {
+                    claims.put(name, parser.getLongValue());
+                } else if (CompactClaims.PROFILE.equals(name)
+                        && value == JsonToken.VALUE_NUMBER_INT) {
+                    claims.put(name, parser.getIntValue());
+                } else {
+                    return null;
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT || parser.nextToken() != null) {
+                return null;
+            }
+        } catch (JacksonException _) {
+            return null;
+        }
+        return claims;
+    }
+
+    /** Applies the issuer and validity period checks of the jjwt Access Token parser. */
+    private void checkClaims(Map<String, Object> claims) {
+        long now = System.currentTimeMillis();
+        if (!issuer.equals(claims.get("iss"))
+                || claims.get("exp") instanceof Long exp && now > exp * 1000
+                || claims.get("nbf") instanceof Long nbf && now < nbf * 1000) {
+            throw AuthFailure.TOKEN_INVALID.exception();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.alpaca.security.manager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Bounded registry of interned, immutable {@link GrantedAuthority} instances.
+ *
+ * <p>Every authenticated request carries the same few authorities claims, e.g. {@code
+ * ROLE_USER,READ,CREATE}. Instead of splitting the claim and allocating a new list of {@link
+ * SimpleGrantedAuthority} on each request, this registry parses every distinct claim once and
+ * returns the same immutable list afterwards. The authorities inside those lists are interned as
+ * well, so equal authorities of different claims share one instance.
+ *
+ * <p>Key properties:
+ *
+ * <ul>
+ *   <li><strong>Memory bound:</strong> At most 1024 claims, claim aliases and authorities are
+ *       retained, so unexpected claim values cannot grow the registry without limit.
+ *   <li><strong>Immutable results:</strong> Returned lists are unmodifiable and safe to share
+ *       between threads and authentication objects.
+ * </ul>
+ *
+ * @see JJwtManager#createAuthentication
+ */
+@Component
+public class GrantedAuthorityRegistry {
+
+    private static final int MAX_ENTRIES = 1024;
+
+    private final Cache<String, GrantedAuthority> authorities =
+            Caffeine.newBuilder().maximumSize(MAX_ENTRIES).build();
+
+    private final Cache<String, List<GrantedAuthority>> claims =
+            Caffeine.newBuilder().maximumSize(MAX_ENTRIES).build();
+
+    private final Cache<String, List<GrantedAuthority>> aliases =
+            Caffeine.newBuilder().maximumSize(MAX_ENTRIES).build();
+
+    /** Claim parser kept as a field so that lookups do not allocate a new method reference. */
+    private final Function<String, List<GrantedAuthority>> parser = this::parse;
+
+    /**
+     * Returns the interned authority with the given name.
+     *
+     * @param authority the authority name, e.g. {@code ROLE_ADMIN}
+     * @return the shared {@link GrantedAuthority} instance
+     */
+    public GrantedAuthority intern(String authority) {
+        return authorities.get(authority, SimpleGrantedAuthority::new);
+    }
+
+    /**
+     * Returns the authorities of a comma-delimited claim, parsing it only the first time it is
+     * seen.
+     *
+     * @param claim the comma-delimited authorities claim; may be {@code null} or empty
+     * @return an immutable list of interned authorities; empty when the claim has no text
+     */
+    public List<GrantedAuthority> resolve(String claim) {
+        if (!StringUtils.hasText(claim)) {
+            return List.of();
+        }
+        return claims.get(claim, parser);
+    }
+
+    /**
+     * Returns the authorities of a claim that stands for a comma-delimited authorities claim, such
+     * as an authority bitset, converting it only the first time it is seen.
+     *
+     * <p>The alias must always stand for the same authorities, which holds for versioned bitset
+     * claims since their version identifies the catalogue they were encoded with.
+     *
+     * @param alias the claim value standing for the authorities
+     * @param toAuthoritiesClaim converts the alias to a comma-delimited authorities claim, or
+     *     returns {@code null} when it cannot be converted
+     * @return an immutable list of interned authorities, or {@code null} when the alias could not
+     *     be converted
+     */
+    public List<GrantedAuthority> resolve(
+            String alias, Function<String, String> toAuthoritiesClaim) {
+        List<GrantedAuthority> cached = aliases.getIfPresent(alias);
+        if (cached != null) {
+            return cached;
+        }
+        String claim = toAuthoritiesClaim.apply(alias);
+        if (claim == null) {
+            return null;
+        }
+        List<GrantedAuthority> resolved = resolve(claim);
+        aliases.put(alias, resolved);
+        return resolved;
+    }
+
+    /** Splits a claim on commas, trimming entries and skipping empty ones. */
+    private List<GrantedAuthority> parse(String claim) {
+        String[] names = StringUtils.commaDelimitedListToStringArray(claim);
+        List<GrantedAuthority> parsed = new ArrayList<>(names.length);
+        for (String name : names) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                parsed.add(intern(trimmed));
+            }
+        }
+        return List.copyOf(parsed);
+    }
+}
@@ -1,9 +1,13 @@
 package com.alpaca.security.manager;
 
 import com.alpaca.entity.RefreshToken;
+import com.alpaca.exception.AuthFailure;
 import com.alpaca.exception.UnauthorizedException;
+import com.alpaca.metrics.AuthMetrics;
+import com.alpaca.metrics.AuthMetrics.TokenType;
 import com.alpaca.model.UserPrincipal;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
@@ -21,13 +25,17 @@ import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -70,9 +78,14 @@ public class JJwtManager {
     private final String jwtIssuer;
 
     /** Claim Keys for JWT Access Token */
-    private static final String CLAIM_KEY_USER_ID = "userId";
+    private static final String CLAIM_KEY_USER_ID = CompactClaims.LEGACY_USER_ID;
 
-    private static final String CLAIM_KEY_AUTHORITIES = "authorities";
+    private static final String CLAIM_KEY_AUTHORITIES = CompactClaims.LEGACY_AUTHORITIES;
+
+    private static final String CLAIM_KEY_AUTHORITY_BITS = "authorityBits";
+
+    /** Whether Access Tokens are issued with the compact claim profile of {@link CompactClaims}. */
+    private final boolean compactClaims;
 
     /**
      * Parser configured to validate and parse signed Access Tokens.
@@ -83,6 +96,12 @@ public class JJwtManager {
      */
     private final JwtParser jwtAccessParser;
 
+    /**
+     * Specialized verifier tried before {@link #jwtAccessParser} for tokens with the shape of our
+     * own Access Tokens; {@code null} when disabled.
+     */
+    private final FastAccessTokenVerifier fastAccessTokenVerifier;
+
     /**
      * Parser configured to validate and parse signed Refresh Tokens.
      *
@@ -94,6 +113,24 @@ public class JJwtManager {
 
     private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
 
+    /** Cache of per-role authorities used to build the authorities claim of Access Tokens. */
+    private final AuthorityCacheManager authorityCacheManager;
+
+    /** Compiled authority catalogue used to write and read the authority bitset claim. */
+    private final AuthorityBitmapManager authorityBitmapManager;
+
+    /** Registry of interned authorities used to resolve the authorities claim of requests. */
+    private final GrantedAuthorityRegistry grantedAuthorityRegistry;
+
+    /** Converts compact bitset claims back to authority names; kept to avoid per-call lambdas. */
+    private final Function<String, String> bitmapClaimConverter;
+
+    /** Revoked families and user watermarks that valid Access Tokens are checked against. */
+    private final AccessTokenRevocationIndex revocationIndex;
+
+    /** Timers of token signing and verification. */
+    private final AuthMetrics authMetrics;
+
     /**
      * Constructs a new {@code JJwtManager}, loading EC P-256 key pairs and configuring expiration
      * and issuer information from Spring properties.
@@ -108,6 +145,13 @@ public class JJwtManager {
      * @param refreshPublicKR resource for the Refresh Token EC public key
      * @param jwtTimeExpRefresh expiration duration in ms for Refresh Tokens
      * @param jwtIssuer the token issuer identifier applied to both token types
+     * @param compactClaims whether Access Tokens are issued with the compact claim profile
+     * @param fastVerify whether Access Tokens are first verified by {@link FastAccessTokenVerifier}
+     * @param authorityCacheManager cache of per-role authorities used for Access Tokens
+     * @param authorityBitmapManager compiled authority catalogue used for the bitset claim
+     * @param grantedAuthorityRegistry registry of interned authorities for incoming tokens
+     * @param revocationIndex index of revocations honored by Access Tokens
+     * @param authMetrics meters recording the signing and verification times
      * @throws NoSuchAlgorithmException if EC algorithm is not supported
      * @throws IOException if any key resource cannot be read
      * @throws InvalidKeySpecException if key spec cannot be converted into a key
@@ -119,7 +163,14 @@ public class JJwtManager {
             @Value("${security.jwt.refresh.private-key-path}") Resource refreshPrivateKR,
             @Value("${security.jwt.refresh.public-key-path}") Resource refreshPublicKR,
             @Value("${security.jwt.refresh.expiration}") @NotNull String jwtTimeExpRefresh,
-            @Value("${security.jwt.issuer}") @NotNull String jwtIssuer)
+            @Value("${security.jwt.issuer}") @NotNull String jwtIssuer,
+            @Value("${security.jwt.access.compact-claims:false}") boolean compactClaims,
+            @Value("${security.jwt.access.fast-verify:false}") boolean fastVerify,
+            AuthorityCacheManager authorityCacheManager,
+            AuthorityBitmapManager authorityBitmapManager,
+            GrantedAuthorityRegistry grantedAuthorityRegistry,
+            AccessTokenRevocationIndex revocationIndex,
+            AuthMetrics authMetrics)
             throws NoSuchAlgorithmException, IOException, InvalidKeySpecException {
 
         KeyFactory keyFactory = KeyFactory.getInstance("EC");
@@ -131,13 +182,23 @@ public class JJwtManager {
         ECPublicKey publicKeyRefresh = createPublicKey(refreshPublicKR, keyFactory);
 
         this.jwtIssuer = jwtIssuer;
+        this.compactClaims = compactClaims;
         this.jwtTimeExpAccess = Long.parseLong(jwtTimeExpAccess);
         this.jwtTimeExpRefresh = Long.parseLong(jwtTimeExpRefresh);
+        this.authorityCacheManager = authorityCacheManager;
+        this.authorityBitmapManager = authorityBitmapManager;
+        this.grantedAuthorityRegistry = grantedAuthorityRegistry;
+        this.bitmapClaimConverter = authorityBitmapManager::toAuthoritiesClaim;
+        this.revocationIndex = revocationIndex;
+        this.authMetrics = authMetrics;
 
         // Build parsers that require valid issuer and key verification
         this.jwtAccessParser =
                 Jwts.parser().verifyWith(publicKeyAccess).requireIssuer(jwtIssuer).build();
 
+        this.fastAccessTokenVerifier =
+                fastVerify ? new FastAccessTokenVerifier(publicKeyAccess, jwtIssuer) : null;
+
         this.jwtRefreshParser =
                 Jwts.parser().verifyWith(publicKeyRefresh).requireIssuer(jwtIssuer).build();
     }
@@ -145,16 +206,74 @@ public class JJwtManager {
     /**
      * Generates a signed JWT Access token for the specified authenticated user.
      *
+     * <p>When the principal carries role identifiers, the authorities claim is assembled from the
+     * cached per-role snapshots of {@link AuthorityCacheManager}; otherwise the principal's own
+     * authorities are used. The same authorities are also written as a bitset over the catalogue of
+     * {@link AuthorityBitmapManager}, unless one of them is not catalogued yet.
+     *
+     * <p>With the compact claim profile enabled, the token is written by {@link
+     * #createCompactAccessToken(UserPrincipal, UUID, Instant, Instant, String)} instead.
+     *
      * @param user authenticated user details
      * @return JWT string representing the signed Access Token
      */
     public String createAccessToken(UserPrincipal user, Instant now) {
-        return Jwts.builder()
-                .issuer(jwtIssuer)
+        return createAccessToken(user, null, now);
+    }
+
+    /**
+     * Generates a signed JWT Access token for the specified user, bound to the refresh token family
+     * it is issued with.
+     *
+     * <p>The family identifier lets {@link AccessTokenRevocationIndex} reject the token as soon as
+     * its session is logged out or revoked. A token issued in the same second as, but after, the
+     * {@code tokensInvalidBefore} watermark of the user gets its {@code iat} moved to the next
+     * second, since the truncated one would predate the watermark.
+     *
+     * @param user authenticated user details
+     * @param familyId the refresh token family of the session; omitted when {@code null}
+     * @param now issue instant of the token
+     * @return JWT string representing the signed Access Token
+     * @see #createAccessToken(UserPrincipal, Instant)
+     */
+    public String createAccessToken(UserPrincipal user, UUID familyId, Instant now) {
+        long start = System.nanoTime();
+        try {
+            String authorities = createAuthoritiesClaim(user);
+            Instant issuedAt = issuedAfterWatermark(user.getUserId(), now);
+            return compactClaims
+                    ? createCompactAccessToken(user, familyId, now, issuedAt, authorities)
+                    : createLegacyAccessToken(user, familyId, now, issuedAt, authorities);
+        } finally {
+            authMetrics.recordJwtSign(TokenType.ACCESS, start);
+        }
+    }
+
+    /**
+     * Resolves the {@code iat} of an Access Token so that it does not predate the watermark of the
+     * user once truncated to the second.
+     */
+    private Instant issuedAfterWatermark(UUID userId, Instant now) {
+        Instant watermark = revocationIndex.getTokensInvalidBefore(userId);
+        if (watermark == null
+                || now.isBefore(watermark)
+                || !now.truncatedTo(ChronoUnit.SECONDS).isBefore(watermark)) {
+            return now;
+        }
+        return now.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+    }
+
+    /** Writes an Access Token with the legacy claim profile. */
+    private String createLegacyAccessToken(
+            UserPrincipal user, UUID familyId, Instant now, Instant issuedAt, String authorities) {
+        JwtBuilder builder = Jwts.builder();
+        if (familyId != null) {
+            builder.claim(CompactClaims.LEGACY_FAMILY_ID, familyId.toString());
+        }
+        return builder.issuer(jwtIssuer)
                 .subject(user.getUsername())
-                .claim(
-                        CLAIM_KEY_AUTHORITIES,
-                        StringUtils.collectionToCommaDelimitedString(user.getAuthorities()))
+                .claim(CLAIM_KEY_AUTHORITIES, authorities)
+                .claim(CLAIM_KEY_AUTHORITY_BITS, authorityBitmapManager.encode(authorities))
                 .claim(CLAIM_KEY_USER_ID, user.getUserId().toString())
                 .claim(
                         "profileId",
@@ -162,13 +281,66 @@ public class JJwtManager {
                 .claim(
                         "advertiserId",
                         user.getAdvertiserId() != null ? user.getAdvertiserId().toString() : "")
-                .issuedAt(Date.from(now))
+                .issuedAt(Date.from(issuedAt))
                 .notBefore(Date.from(now))
                 .expiration(Date.from(now.plusMillis(jwtTimeExpAccess)))
                 .signWith(privateKeyAccess, SIGNATURE_ALGORITHM)
                 .compact();
     }
 
+    /**
+     * Writes an Access Token with the compact claim profile of {@link CompactClaims}.
+     *
+     * <p>Identifiers are written as base64url bytes, absent identifiers and the redundant {@code
+     * nbf} claim are omitted, and the authorities are written as a bitset only, falling back to
+     * their names when they are not all catalogued.
+     */
+    private String createCompactAccessToken(
+            UserPrincipal user, UUID familyId, Instant now, Instant issuedAt, String authorities) {
+        JwtBuilder builder =
+                Jwts.builder()
+                        .issuer(jwtIssuer)
+                        .subject(user.getUsername())
+                        .claim(CompactClaims.PROFILE, CompactClaims.COMPACT_PROFILE)
+                        .claim(CompactClaims.USER_ID, CompactClaims.encodeUUID(user.getUserId()));
+        if (user.getProfileId() != null) {
+            builder.claim(CompactClaims.PROFILE_ID, CompactClaims.encodeUUID(user.getProfileId()));
+        }
+        if (user.getAdvertiserId() != null) {
+            builder.claim(
+                    CompactClaims.ADVERTISER_ID, CompactClaims.encodeUUID(user.getAdvertiserId()));
+        }
+        if (familyId != null) {
+            builder.claim(CompactClaims.FAMILY_ID, CompactClaims.encodeUUID(familyId));
+        }
+        String authorityBits =
+                StringUtils.hasText(authorities)
+                        ? authorityBitmapManager.encode(authorities)
+                        : null;
+        if (authorityBits != null) {
+            builder.claim(CompactClaims.AUTHORITY_BITS, authorityBits);
+        } else {
+            builder.claim(CompactClaims.AUTHORITIES, authorities);
+        }
+        return builder.issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(now.plusMillis(jwtTimeExpAccess)))
+                .signWith(privateKeyAccess, SIGNATURE_ALGORITHM)
+                .compact();
+    }
+
+    /**
+     * Resolves the comma-delimited authorities claim for the given principal.
+     *
+     * @param user authenticated user details
+     * @return the authorities claim value
+     */
+    private String createAuthoritiesClaim(UserPrincipal user) {
+        if (user.getRoleIds() != null && !user.getRoleIds().isEmpty()) {
+            return authorityCacheManager.getAuthoritiesClaim(user.getRoleIds());
+        }
+        return StringUtils.collectionToCommaDelimitedString(user.getAuthorities());
+    }
+
     /**
      * Creates a signed Refresh JWT including refresh token metadata.
      *
@@ -176,6 +348,15 @@ public class JJwtManager {
      * @return JWT string representing the signed Refresh Token
      */
     public String createRefreshToken(RefreshToken refreshToken) {
+        long start = System.nanoTime();
+        try {
+            return signRefreshToken(refreshToken);
+        } finally {
+            authMetrics.recordJwtSign(TokenType.REFRESH, start);
+        }
+    }
+
+    private String signRefreshToken(RefreshToken refreshToken) {
         return Jwts.builder()
                 .issuer(jwtIssuer)
                 .subject(
@@ -230,15 +411,33 @@ public class JJwtManager {
     /**
      * Validates the given Access token and returns its JWT claims.
      *
+     * <p>When enabled, {@link FastAccessTokenVerifier} handles tokens with the shape of our own
+     * Access Tokens; any other token is verified by the jjwt parser.
+     *
      * @param token signed JWT
      * @return parsed claims if token is valid
      * @throws UnauthorizedException when verification fails
      */
     public Claims validateAccessToken(String token) {
+        long start = System.nanoTime();
+        try {
+            if (fastAccessTokenVerifier != null) {
+                Claims claims = fastAccessTokenVerifier.verify(token);
+                if (claims != null) {
+                    return claims;
+                }
+            }
+            return parseAccessToken(token);
+        } finally {
+            authMetrics.recordJwtVerify(TokenType.ACCESS, start);
+        }
+    }
+
+    private Claims parseAccessToken(String token) {
         try {
             return jwtAccessParser.parseSignedClaims(token).getPayload();
         } catch (Exception _) {
-            throw new UnauthorizedException("Token Invalid, Unauthorized");
+            throw AuthFailure.TOKEN_INVALID.exception();
         }
     }
 
@@ -250,16 +449,21 @@ public class JJwtManager {
      * @throws UnauthorizedException when verification fails
      */
     public Claims validateRefreshToken(String token) {
+        long start = System.nanoTime();
         try {
             return jwtRefreshParser.parseSignedClaims(token).getPayload();
         } catch (Exception _) {
-            throw new UnauthorizedException("Token Invalid, Unauthorized");
+            throw AuthFailure.TOKEN_INVALID.exception();
+        } finally {
+            authMetrics.recordJwtVerify(TokenType.REFRESH, start);
         }
     }
 
     /**
      * Determines if Access token claims represent a valid access token.
      *
+     * <p>Both the legacy and the compact claim profile of {@link CompactClaims} are accepted.
+     *
      * @param claims parsed JWT claims
      * @return true if basic validity checks pass
      */
@@ -267,8 +471,11 @@ public class JJwtManager {
         return claims.getExpiration() != null
                 && claims.getExpiration().after(new Date())
                 && StringUtils.hasText(claims.getSubject())
-                && StringUtils.hasText(claims.get(CLAIM_KEY_USER_ID, String.class))
-                && StringUtils.hasText(claims.get(CLAIM_KEY_AUTHORITIES, String.class));
+                && StringUtils.hasText(CompactClaims.getUserIdClaim(claims))
+                && (StringUtils.hasText(CompactClaims.getAuthoritiesClaim(claims))
+                        || CompactClaims.isCompact(claims)
+                                && StringUtils.hasText(
+                                        claims.get(CompactClaims.AUTHORITY_BITS, String.class)));
     }
 
     /**
@@ -307,21 +514,49 @@ public class JJwtManager {
      * Creates a Spring Security authentication object from validated JWT claims.
      *
      * <p>Extracts the {@link UserPrincipal} (as the principal), authorities from the {@code
-     * authorities} claim (comma-delimited string), and leaves credentials as {@code null} since
-     * token-based auth does not re-authenticate credentials on each request.
+     * authorities} claim (comma-delimited string, parsed once per distinct value by {@link
+     * GrantedAuthorityRegistry} and shared by the principal and the token), and leaves credentials
+     * as {@code null} since token-based auth does not re-authenticate credentials on each request.
+     * When the {@code authorityBits} claim matches the current authority catalogue, it is attached
+     * to the principal for bit-test authorization checks.
+     *
+     * <p>Compact tokens carrying only a bitset resolve their authorities from the catalogue the
+     * bitset was issued against; when that catalogue is no longer known, no authentication is
+     * created and the client has to refresh its Access Token.
+     *
+     * <p>Tokens whose family was revoked, or issued before the {@code tokensInvalidBefore}
+     * watermark of their user, are rejected from {@link AccessTokenRevocationIndex} without any
+     * database access.
      *
      * @param claims validated JWT claims
      * @return {@link UsernamePasswordAuthenticationToken} if claims pass {@link
-     *     #isValidAccessToken(Claims)}, or {@code null} if required claims are missing or expired
+     *     #isValidAccessToken(Claims)}, or {@code null} if required claims are missing or expired,
+     *     or the token has been revoked
      */
     public UsernamePasswordAuthenticationToken createAuthentication(Claims claims) {
-        return isValidAccessToken(claims)
-                ? new UsernamePasswordAuthenticationToken(
-                        new UserPrincipal(claims),
-                        null,
-                        AuthorityUtils.commaSeparatedStringToAuthorityList(
-                                claims.get(CLAIM_KEY_AUTHORITIES, String.class)))
-                : null;
+        if (!isValidAccessToken(claims)) {
+            return null;
+        }
+        boolean compact = CompactClaims.isCompact(claims);
+        String authorityBits =
+                claims.get(
+                        compact ? CompactClaims.AUTHORITY_BITS : CLAIM_KEY_AUTHORITY_BITS,
+                        String.class);
+        List<GrantedAuthority> authorities =
+                compact && authorityBits != null
+                        ? grantedAuthorityRegistry.resolve(authorityBits, bitmapClaimConverter)
+                        : grantedAuthorityRegistry.resolve(
+                                CompactClaims.getAuthoritiesClaim(claims));
+        if (authorities == null || authorities.isEmpty()) {
+            return null;
+        }
+        UserPrincipal principal = new UserPrincipal(claims, authorities);
+        if (revocationIndex.isRevoked(
+                principal.getUserId(), CompactClaims.getFamilyId(claims), claims.getIssuedAt())) {
+            return null;
+        }
+        principal.setAuthorityBits(authorityBitmapManager.decode(authorityBits));
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities);
     }
 
     /** Internal helper to generate a private key from a PEM resource. */
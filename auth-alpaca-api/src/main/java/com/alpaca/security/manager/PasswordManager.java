@@ -1,5 +1,12 @@
 package com.alpaca.security.manager;
 
+import com.alpaca.metrics.AuthMetrics;
+import com.alpaca.metrics.AuthMetrics.PasswordOperation;
+import com.alpaca.metrics.jfr.PasswordHashEvent;
+import com.alpaca.scheduling.Bulkhead;
+import com.alpaca.scheduling.LoadShedder;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -9,6 +16,12 @@ import org.springframework.util.StringUtils;
  * Spring component responsible for handling secure password hashing and verification using BCrypt.
  * It wraps a {@link BCryptPasswordEncoder} to encode raw passwords and validate matches.
  *
+ * <p>Hashing is the most expensive step of a request, so it is skipped for requests whose deadline
+ * has already passed, see {@link LoadShedder}, and bounded by a {@link Bulkhead} so that virtual
+ * threads cannot run more hashes at once than there are cores. The hashing time, without the wait
+ * for the bulkhead, is recorded by {@link AuthMetrics}, and each operation, with its wait, as a
+ * {@link PasswordHashEvent}.
+ *
  * @see BCryptPasswordEncoder
  */
 @Component
@@ -16,12 +29,25 @@ public class PasswordManager {
 
     private final BCryptPasswordEncoder encoder;
 
+    private final LoadShedder loadShedder;
+
+    private final Bulkhead passwordBulkhead;
+
+    private final AuthMetrics authMetrics;
+
     /**
      * Constructs a {@code PasswordManager} initialized with a cost factor of 12. This value
      * provides a strong balance between security and performance for low-resource environments.
      */
-    public PasswordManager(@Value("${security.password.bcrypt.cost-factor:12}") int costFactor) {
+    public PasswordManager(
+            @Value("${security.password.bcrypt.cost-factor:12}") int costFactor,
+            LoadShedder loadShedder,
+            @Qualifier("passwordBulkhead") Bulkhead passwordBulkhead,
+            AuthMetrics authMetrics) {
         this.encoder = new BCryptPasswordEncoder(costFactor);
+        this.loadShedder = loadShedder;
+        this.passwordBulkhead = passwordBulkhead;
+        this.authMetrics = authMetrics;
     }
 
     /**
@@ -29,12 +55,14 @@ public class PasswordManager {
      *
      * @param rawPassword the plain text password
      * @return the hashed password string
+     * @throws com.alpaca.exception.ServiceUnavailableException if the request deadline has passed
+     *     or the hashing bulkhead stays full
      */
     public String encodePassword(String rawPassword) {
         if (rawPassword == null) {
             return null;
         }
-        return encoder.encode(rawPassword);
+        return hash(PasswordOperation.ENCODE, () -> encoder.encode(rawPassword));
     }
 
     /**
@@ -43,11 +71,40 @@ public class PasswordManager {
      * @param rawPassword the plain text password to validate
      * @param encodedPassword the stored hashed password
      * @return {@code true} if the raw password matches the encoded one; {@code false} otherwise
+     * @throws com.alpaca.exception.ServiceUnavailableException if the request deadline has passed
+     *     or the hashing bulkhead stays full
      */
     public boolean matches(String rawPassword, String encodedPassword) {
         if (!StringUtils.hasText(rawPassword) || !StringUtils.hasText(encodedPassword)) {
             return false;
         }
-        return encoder.matches(rawPassword, encodedPassword);
+        return hash(PasswordOperation.MATCH, () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Runs a BCrypt operation once the deadline is checked and a bulkhead permit is acquired.
+     *
+     * @param operation the BCrypt operation
+     * @param work the hash computation
+     * @param <T> the type of the result
+     * @return the result of the computation
+     */
+    private <T> T hash(PasswordOperation operation, Supplier<T> work) {
+        PasswordHashEvent event = new PasswordHashEvent(operation);
+        return event.record(
+                () -> {
+                    loadShedder.checkDeadline(LoadShedder.STAGE_PASSWORD);
+                    long queuedAt = System.nanoTime();
+                    return passwordBulkhead.call(
+                            () -> {
+                                long start = System.nanoTime();
+                                event.setQueueTime(start - queuedAt);
+                                try {
+                                    return work.get();
+                                } finally {
+                                    authMetrics.recordPasswordHash(operation, start);
+                                }
+                            });
+                });
     }
 }
@@ -1,15 +1,13 @@
 package com.alpaca.security.manager;
 
+import com.alpaca.metrics.AuthMetrics;
 import com.alpaca.model.AuthCode;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.alpaca.security.exchange.IExchangeCodeStore;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
-import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
 /**
- * Manages single-use authorization code exchange using an in-memory Caffeine cache.
+ * Manages single-use authorization code exchange on top of an {@link IExchangeCodeStore}.
  *
  * <p>When a user completes an OAuth2 login flow ({@link
  * com.alpaca.security.oauth2.AuthSuccessHandler}), an {@link AuthCode} is stored here and the
@@ -19,26 +17,33 @@ import org.springframework.stereotype.Component;
  * <p>Key security properties:
  *
  * <ul>
- *   <li><strong>Single-use:</strong> {@link #consumeCode(String)} removes the entry after reading
- *       it, so replay attacks using the same code will fail.
- *   <li><strong>Expiration:</strong> Codes expire after 60 seconds (configured via {@link
- *       Caffeine#expireAfterWrite}), limiting the window for interception.
- *   <li><strong>Memory bound:</strong> Maximum 1000 entries prevents unbounded memory growth under
- *       concurrent login attempts.
+ *   <li><strong>Single-use:</strong> {@link #consumeCode(String)} removes the entry in the same
+ *       atomic step that reads it, so neither a replay nor two concurrent exchanges of the same
+ *       code can both succeed.
+ *   <li><strong>Expiration:</strong> Codes expire after {@link IExchangeCodeStore#TTL}, limiting
+ *       the window for interception.
+ *   <li><strong>Memory bound:</strong> The in-memory store is sized from the expected peak login
+ *       rate; the JDBC store keeps codes in the database and purges expired ones.
  * </ul>
  *
- * <p>This class is thread-safe as {@link Caffeine} provides concurrent access semantics internally.
- *
  * @see AuthCode
- * @see Cache
- * @see Caffeine
+ * @see IExchangeCodeStore
  */
 @Component
-@AllArgsConstructor
 public class TokenExchangeManager {
 
-    private final Cache<String, AuthCode> storage =
-            Caffeine.newBuilder().expireAfterWrite(60, TimeUnit.SECONDS).maximumSize(1000).build();
+    private final IExchangeCodeStore store;
+
+    /**
+     * Creates the manager and registers the gauge of its pending codes.
+     *
+     * @param store the store selected by {@code app.exchange-code.store}
+     * @param authMetrics meters of the authentication hot paths
+     */
+    public TokenExchangeManager(IExchangeCodeStore store, AuthMetrics authMetrics) {
+        this.store = store;
+        authMetrics.registerExchangeCodeStore(store);
+    }
 
     /**
      * Stores an {@link AuthCode} under the given exchange code key so it can be consumed later.
@@ -50,14 +55,14 @@ public class TokenExchangeManager {
      * @param authCode the authorization payload containing user and metadata
      */
     public void createExchangeCode(String code, AuthCode authCode) {
-        storage.put(code, authCode);
+        store.save(code, authCode);
     }
 
     /**
      * Retrieves and immediately invalidates the {@link AuthCode} for the given exchange code.
      *
      * <p>This method enforces <strong>single-use</strong> semantics: the code is deleted from the
-     * cache after the first successful read. Subsequent calls with the same code return {@link
+     * store by the read itself. Subsequent or concurrent calls with the same code return {@link
      * Optional#empty()}.
      *
      * @param code the exchange code to consume
@@ -65,11 +70,6 @@ public class TokenExchangeManager {
      *     if the code is unknown, expired, or already consumed
      */
     public Optional<AuthCode> consumeCode(String code) {
-        AuthCode data = storage.getIfPresent(code);
-        if (data != null) {
-            storage.invalidate(code);
-            return Optional.of(data);
-        }
-        return Optional.empty();
+        return store.consume(code);
     }
 }
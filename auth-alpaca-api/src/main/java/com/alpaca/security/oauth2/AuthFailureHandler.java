@@ -1,7 +1,5 @@
 package com.alpaca.security.oauth2;
 
-import com.alpaca.security.manager.CookieManager;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotNull;
@@ -43,7 +41,7 @@ public class AuthFailureHandler extends SimpleUrlAuthenticationFailureHandler {
     private final String frontendUriFallback;
     private static final Pattern ERROR_SANITIZER = Pattern.compile("[|{}\\[\\]]+");
 
-    /** Query parameter and cookie name for the post-authentication redirect URI. */
+    /** Query parameter and stored attribute name for the post-authentication redirect URI. */
     public static final String REDIRECT_PARAM_NAME = "redirect_uri";
 
     /**
@@ -69,20 +67,22 @@ public class AuthFailureHandler extends SimpleUrlAuthenticationFailureHandler {
             logger.debug("Response already committed, cannot redirect");
             return;
         }
+        String targetUrl = resolveTargetUrl(request);
         repository.removeAuthorizationRequestCookies(request, response);
         getRedirectStrategy()
                 .sendRedirect(
                         request,
                         response,
                         appendErrorParam(
-                                resolveTargetUrl(request),
+                                targetUrl,
                                 Optional.ofNullable(request.getParameter("error"))
                                         .orElse(exception.getMessage())));
     }
 
     /**
      * Determines the target URL for redirection after failure. Prefers the "redirect_uri" request
-     * parameter or cookie, and falls back to {@code frontendUri}.
+     * parameter or the one stored with the authorization request, and falls back to {@code
+     * frontendUri}.
      *
      * @param request the incoming HTTP request
      * @return the redirection URL
@@ -91,8 +91,8 @@ public class AuthFailureHandler extends SimpleUrlAuthenticationFailureHandler {
         return Optional.ofNullable(request.getParameter(REDIRECT_PARAM_NAME))
                 .or(
                         () ->
-                                CookieManager.getCookie(request, REDIRECT_PARAM_NAME)
-                                        .map(Cookie::getValue))
+                                Optional.ofNullable(
+                                        repository.loadAttribute(request, REDIRECT_PARAM_NAME)))
                 .orElse(frontendUriFallback);
     }
 
@@ -0,0 +1,196 @@
+package com.alpaca.security.oauth2;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.core.endpoint.PkceParameterNames;
+import org.springframework.security.oauth2.core.oidc.endpoint.OidcParameterNames;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Compact, versioned binary codec of the {@link OAuth2AuthorizationRequest} stored by {@link
+ * CookieAuthReqRepo}, authenticated with an HMAC-SHA256.
+ *
+ * <p>Only the fields read back on the authorization callback are kept: the authorization URI,
+ * client id, redirect URI, state and scopes, and the {@link #ATTRIBUTES} of the request, i.e. the
+ * registration id, the PKCE {@code code_verifier}, the OIDC {@code nonce}, and the {@code
+ * client_code_challenge}, post-login {@code redirect_uri} and {@code client_id} of the frontend.
+ * The additional parameters and the authorization request URI are only needed to redirect to the
+ * provider and are not stored.
+ *
+ * <p>Version 1 layout, encoded as unpadded Base64 URL:
+ *
+ * <pre>
+ * version (1 byte) | expiresAt (8 bytes, epoch seconds) | fields and attributes (modified UTF-8,
+ * 2-byte length, empty when absent) | HMAC-SHA256 of everything before (32 bytes)
+ * </pre>
+ *
+ * <p>The MAC makes the cookie tamper-proof, so the post-login redirect and client id it carries can
+ * be trusted, and the expiry bounds the flow server-side instead of relying on the cookie max-age.
+ * The key is read from {@code security.oauth2.cookie-key} and must be shared by all instances; a
+ * random key is generated when it is blank, which only suits a single instance.
+ */
+@Slf4j
+@Component
+public class AuthRequestCookieCodec {
+
+    /** Attributes of the authorization request kept in the cookie, in their encoding order. */
+    static final List<String> ATTRIBUTES =
+            List.of(
+                    OAuth2ParameterNames.REGISTRATION_ID,
+                    PkceParameterNames.CODE_VERIFIER,
+                    OidcParameterNames.NONCE,
+                    CookieAuthReqRepo.CLIENT_CODE_CHALLENGE,
+                    CookieAuthReqRepo.REDIRECT_PARAM_NAME,
+                    CookieAuthReqRepo.CLIENT_ID_PARAM);
+
+    private static final byte VERSION = 1;
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private static final int MAC_LENGTH = 32;
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecretKeySpec key;
+
+    /**
+     * Creates the codec with the configured HMAC key.
+     *
+     * @param key Base64 key of at least 32 bytes, or blank to generate a random one
+     * @throws IllegalArgumentException if the key is shorter than 32 bytes
+     */
+    public AuthRequestCookieCodec(@Value("${security.oauth2.cookie-key:}") String key) {
+        byte[] keyBytes;
+        if (StringUtils.hasText(key)) {
+            keyBytes = Base64.getDecoder().decode(key.trim());
+            if (keyBytes.length < MAC_LENGTH) {
+                throw new IllegalArgumentException(
+                        "security.oauth2.cookie-key must hold at least 32 bytes");
+            }
+        } else {
+            log.warn(
+                    "security.oauth2.cookie-key is not set, OAuth2 logins will fail across"
+                            + " instances and restarts");
+            keyBytes = new byte[MAC_LENGTH];
+            new SecureRandom().nextBytes(keyBytes);
+        }
+        this.key = new SecretKeySpec(keyBytes, MAC_ALGORITHM);
+    }
+
+    /**
+     * Encodes an authorization request into a cookie value.
+     *
+     * @param authorizationRequest the request to store
+     * @param expiresAt the time after which {@link #decode} rejects the value
+     * @return the unpadded Base64 URL value
+     */
+    public String encode(OAuth2AuthorizationRequest authorizationRequest, Instant expiresAt) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(expiresAt.getEpochSecond());
+            out.writeUTF(authorizationRequest.getAuthorizationUri());
+            out.writeUTF(authorizationRequest.getClientId());
+            out.writeUTF(nullToEmpty(authorizationRequest.getRedirectUri()));
+            out.writeUTF(nullToEmpty(authorizationRequest.getState()));
+            out.writeUTF(String.join(" ", authorizationRequest.getScopes()));
+            Map<String, Object> attributes = authorizationRequest.getAttributes();
+            for (String name : ATTRIBUTES) {
+                out.writeUTF(attributes.get(name) instanceof String value ? value : "");
+            }
+            out.write(mac(bytes.toByteArray(), bytes.size()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Authorization request too large for a cookie", e);
+        }
+        return BASE64_URL.encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decodes a cookie value written by {@link #encode}.
+     *
+     * @param value the cookie value
+     * @param now the current time
+     * @return the authorization request, or {@code null} if the value is malformed, was not signed
+     *     with the current key, has an unknown version or has expired
+     */
+    public OAuth2AuthorizationRequest decode(String value, Instant now) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(value);
+        } catch (IllegalArgumentException _) {
+            return null;
+        }
+        int length = bytes.length - MAC_LENGTH;
+        if (length <= 0
+                || !MessageDigest.isEqual(
+                        mac(bytes, length), Arrays.copyOfRange(bytes, length, bytes.length))) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, length))) {
+            if (in.readByte() != VERSION || now.getEpochSecond() > in.readLong()) {
+                return null;
+            }
+            OAuth2AuthorizationRequest.Builder builder =
+                    OAuth2AuthorizationRequest.authorizationCode()
+                            .authorizationUri(in.readUTF())
+                            .clientId(in.readUTF())
+                            .redirectUri(emptyToNull(in.readUTF()))
+                            .state(emptyToNull(in.readUTF()));
+            String scopes = in.readUTF();
+            Set<String> scopeSet =
+                    scopes.isEmpty()
+                            ? Set.of()
+                            : new LinkedHashSet<>(Arrays.asList(scopes.split(" ")));
+            Map<String, Object> attributes = HashMap.newHashMap(ATTRIBUTES.size());
+            for (String name : ATTRIBUTES) {
+                String attribute = in.readUTF();
+                if (!attribute.isEmpty()) {
+                    attributes.put(name, attribute);
+                }
+            }
+            return builder.scopes(scopeSet).attributes(attributes).build();
+        } catch (IOException | IllegalArgumentException _) {
+            return null;
+        }
+    }
+
+    private byte[] mac(byte[] bytes, int length) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            mac.update(bytes, 0, length);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
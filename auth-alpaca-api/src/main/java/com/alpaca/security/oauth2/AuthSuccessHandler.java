@@ -5,17 +5,14 @@ import com.alpaca.exception.InternalErrorException;
 import com.alpaca.exception.UnauthorizedException;
 import com.alpaca.model.AuthCode;
 import com.alpaca.model.UserPrincipal;
-import com.alpaca.security.manager.CookieManager;
 import com.alpaca.security.manager.TokenExchangeManager;
 import com.alpaca.service.IAuthService;
 import com.alpaca.utils.UUIDv7Generator;
 import com.alpaca.utils.Utils;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.net.URI;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import org.jspecify.annotations.NonNull;
@@ -43,18 +40,18 @@ import org.springframework.web.util.UriComponentsBuilder;
  *
  * @see SimpleUrlAuthenticationSuccessHandler
  * @see IAuthService
- * @see CookieManager
+ * @see CookieAuthReqRepo
  */
 @Component
 public class AuthSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
 
-    /** Query parameter and cookie name for the post-login redirect URI. */
+    /** Query parameter and stored attribute name for the post-login redirect URI. */
     public static final String REDIRECT_PARAM_NAME = "redirect_uri";
 
-    /** Attribute key and cookie name for the PKCE code challenge passed from the client. */
+    /** Attribute key for the PKCE code challenge passed from the client. */
     public static final String CLIENT_CODE_CHALLENGE = "client_code_challenge";
 
-    /** Query parameter and cookie name for the Client ID provided by the client. */
+    /** Query parameter and stored attribute name for the Client ID provided by the client. */
     public static final String CLIENT_ID_PARAM = "client_id";
 
     private final CookieAuthReqRepo repository;
@@ -115,7 +112,7 @@ public class AuthSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
         }
         String code = uuidGenerator.generate().toString();
         String clientId =
-                CookieManager.getCookie(request, CLIENT_ID_PARAM).map(Cookie::getValue).orElse("");
+                Optional.ofNullable(repository.loadAttribute(request, CLIENT_ID_PARAM)).orElse("");
         String userAgent = Optional.ofNullable(request.getHeader("User-Agent")).orElse("");
         String clientIp = Optional.ofNullable(Utils.extractClientIP(request)).orElse("");
 
@@ -145,9 +142,9 @@ public class AuthSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
     /**
      * Determines the target URL to which the client should navigate after login.
      *
-     * <p>This method retrieves a stored redirect URI from a cookie if present, or uses a configured
-     * default if not. It verifies that the resulting URI's host is in the configured whitelist of
-     * authorized redirect URIs.
+     * <p>This method retrieves the redirect URI stored with the authorization request if present,
+     * or uses a configured default if not. It verifies that the resulting URI's host is in the
+     * configured whitelist of authorized redirect URIs.
      *
      * @param request the current HTTP request
      * @param response the current HTTP response
@@ -163,8 +160,9 @@ public class AuthSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
             @NonNull HttpServletResponse response,
             Authentication auth) {
 
-        Optional<Cookie> redirectCookie = CookieManager.getCookie(request, REDIRECT_PARAM_NAME);
-        String target = redirectCookie.map(Cookie::getValue).orElse(getDefaultTargetUrl());
+        String target =
+                Optional.ofNullable(repository.loadAttribute(request, REDIRECT_PARAM_NAME))
+                        .orElse(getDefaultTargetUrl());
         if (!isAuthorizedRedirectURI(URI.create(target))) {
             throw new UnauthorizedException("Unauthorized redirect URI");
         }
@@ -176,29 +174,16 @@ public class AuthSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
      * Resolves the PKCE code challenge value associated with the current OAuth2 authorization
      * request.
      *
-     * <p>Priority order:
-     *
-     * <ol>
-     *   <li>From the stored {@link OAuth2AuthorizationRequest} attributes (set during the initial
-     *       authorization request by {@link com.alpaca.security.oauth2.OAuth2ReqResolver}).
-     *   <li>From the {@code client_code_challenge} cookie (persisted by {@link CookieAuthReqRepo}
-     *       for stateless flows).
-     * </ol>
+     * <p>The challenge is read from the attributes of the stored {@link
+     * OAuth2AuthorizationRequest}, set during the initial authorization request by {@link
+     * com.alpaca.security.oauth2.OAuth2ReqResolver}.
      *
      * @param request the incoming HTTP request
      * @return the code challenge string, or empty string if not found
      */
     protected String determineCodeChallenge(HttpServletRequest request) {
-        OAuth2AuthorizationRequest authReq = repository.loadAuthorizationRequest(request);
-        if (Objects.isNull(authReq)) {
-            return "";
-        }
-        String challenge = (String) authReq.getAttributes().get(CLIENT_CODE_CHALLENGE);
-        if (challenge != null && !challenge.isBlank()) {
-            return challenge;
-        }
-        Optional<Cookie> cookie = CookieManager.getCookie(request, CLIENT_CODE_CHALLENGE);
-        return cookie.map(Cookie::getValue).orElse("");
+        return Optional.ofNullable(repository.loadAttribute(request, CLIENT_CODE_CHALLENGE))
+                .orElse("");
     }
 
     /**
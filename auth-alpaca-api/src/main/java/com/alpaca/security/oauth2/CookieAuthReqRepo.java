@@ -4,10 +4,13 @@ import com.alpaca.security.manager.CookieManager;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
 import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
 import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 /**
  * Cookie-based implementation of {@link AuthorizationRequestRepository} for storing and retrieving
@@ -15,102 +18,125 @@ import org.springframework.stereotype.Component;
  *
  * <p>By default, Spring Security stores the OAuth2 authorization request in the HTTP session using
  * {@code HttpSessionOAuth2AuthorizationRequestRepository}. This implementation replaces that
- * behavior by serializing the request into a secure cookie using {@link CookieManager}, enabling
- * stateless authentication flows (e.g., REST APIs or mobile clients).
+ * behavior by encoding the request into a single signed cookie, {@code oauth2_auth_request}, with
+ * {@link AuthRequestCookieCodec}, enabling stateless authentication flows (e.g., REST APIs or
+ * mobile clients).
  *
- * <p>Two cookies are used:
+ * <p>The post-login {@code redirect_uri} and the {@code client_id} provided by the client are kept
+ * as attributes of the stored request, next to the {@code client_code_challenge} set by {@link
+ * OAuth2ReqResolver}, and read back with {@link #loadAttribute}. The decoded request is cached as a
+ * request attribute, so the callback decodes the cookie once for Spring Security and the {@link
+ * AuthSuccessHandler}.
  *
- * <ul>
- *   <li>{@code oauth2_auth_request}: holds the serialized {@code OAuth2AuthorizationRequest}.
- *   <li>{@code redirect_uri}: optionally stores a post-login redirect URI provided by the client.
- * </ul>
- *
- * Cookies are short-lived and expire after a defined duration (e.g., 180 seconds).
+ * <p>The cookie is short-lived: it expires after {@link #COOKIE_EXPIRED_SECONDS}, which the codec
+ * also enforces when decoding it.
  *
  * @see AuthorizationRequestRepository
- * @see CookieManager
+ * @see AuthRequestCookieCodec
  */
 @Component
+@RequiredArgsConstructor
 public class CookieAuthReqRepo
         implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
 
-    /** Cookie name holding the serialized {@link OAuth2AuthorizationRequest}. */
+    /** Cookie name holding the encoded {@link OAuth2AuthorizationRequest}. */
     public static final String AUTHORIZATION_COOKIE_NAME = "oauth2_auth_request";
 
-    /** Cookie name for the post-login redirect URI. */
+    /** Parameter and request attribute name for the post-login redirect URI. */
     public static final String REDIRECT_PARAM_NAME = "redirect_uri";
 
-    /** Cookie name for the PKCE code challenge provided by the client. */
+    /** Request attribute name for the PKCE code challenge provided by the client. */
     public static final String CLIENT_CODE_CHALLENGE = "client_code_challenge";
 
-    /** Cookie name for the Client ID provided by the client. */
+    /** Parameter and request attribute name for the Client ID provided by the client. */
     public static final String CLIENT_ID_PARAM = "client_id";
 
-    /** Lifetime in seconds after which the authorization cookies expire. */
+    /** Lifetime in seconds after which the authorization cookie expires. */
     public static final int COOKIE_EXPIRED_SECONDS = 600;
 
+    /** Request attribute caching the request decoded from the cookie. */
+    private static final String DECODED_ATTRIBUTE = CookieAuthReqRepo.class.getName() + ".DECODED";
+
+    /** Cached in place of a missing or rejected cookie, so that it is not decoded again. */
+    private static final Object NOT_FOUND = new Object();
+
+    private final AuthRequestCookieCodec codec;
+
     /**
-     * Loads the {@link OAuth2AuthorizationRequest} from the cookie if present.
+     * Loads the {@link OAuth2AuthorizationRequest} from the cookie if present, decoding it at most
+     * once per request.
      *
      * @param request the incoming HTTP request
-     * @return the deserialized {@link OAuth2AuthorizationRequest}, or {@code null} if not found
+     * @return the decoded {@link OAuth2AuthorizationRequest}, or {@code null} if not found,
+     *     tampered with or expired
      */
     @Override
     public OAuth2AuthorizationRequest loadAuthorizationRequest(
             @NonNull HttpServletRequest request) {
-        Cookie cookie = CookieManager.getCookie(request, AUTHORIZATION_COOKIE_NAME).orElse(null);
-        if (cookie != null) {
-            return CookieManager.deserialize(cookie, OAuth2AuthorizationRequest.class);
+        Object decoded = request.getAttribute(DECODED_ATTRIBUTE);
+        if (decoded == null) {
+            Cookie cookie =
+                    CookieManager.getCookie(request, AUTHORIZATION_COOKIE_NAME).orElse(null);
+            OAuth2AuthorizationRequest authorizationRequest =
+                    cookie != null ? codec.decode(cookie.getValue(), Instant.now()) : null;
+            decoded = authorizationRequest != null ? authorizationRequest : NOT_FOUND;
+            request.setAttribute(DECODED_ATTRIBUTE, decoded);
         }
-        return null;
+        return decoded instanceof OAuth2AuthorizationRequest authorizationRequest
+                ? authorizationRequest
+                : null;
     }
 
     /**
-     * Saves the {@link OAuth2AuthorizationRequest} into a cookie, and optionally captures a
-     * redirect URI to be stored in a separate cookie.
+     * Returns an attribute of the stored authorization request, such as {@link
+     * #REDIRECT_PARAM_NAME}, {@link #CLIENT_ID_PARAM} or {@link #CLIENT_CODE_CHALLENGE}.
      *
-     * <p>If {@code authorizationRequest} is {@code null}, deletes both cookies.
+     * @param request the incoming HTTP request
+     * @param name the attribute name
+     * @return the attribute value, or {@code null} if there is no stored request or attribute
+     */
+    public String loadAttribute(HttpServletRequest request, String name) {
+        OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+        return authorizationRequest != null
+                        && authorizationRequest.getAttributes().get(name) instanceof String value
+                ? value
+                : null;
+    }
+
+    /**
+     * Saves the {@link OAuth2AuthorizationRequest} into the cookie, together with the redirect URI
+     * and Client ID parameters of the request when present.
      *
-     * @param authorizationRequest the OAuth2 request to save (or {@code null} to clear)
+     * @param authorizationRequest the OAuth2 request to save
      * @param request the incoming HTTP request
-     * @param response the outgoing HTTP response to which cookies will be added
+     * @param response the outgoing HTTP response to which the cookie will be added
      */
     @Override
     public void saveAuthorizationRequest(
             @NonNull OAuth2AuthorizationRequest authorizationRequest,
             @NonNull HttpServletRequest request,
             @NonNull HttpServletResponse response) {
+        String redirectURIAfterLogin = request.getParameter(REDIRECT_PARAM_NAME);
+        String clientId = request.getParameter(CLIENT_ID_PARAM);
+        OAuth2AuthorizationRequest stored =
+                OAuth2AuthorizationRequest.from(authorizationRequest)
+                        .attributes(
+                                attributes -> {
+                                    if (StringUtils.hasText(redirectURIAfterLogin)) {
+                                        attributes.put(REDIRECT_PARAM_NAME, redirectURIAfterLogin);
+                                    }
+                                    if (StringUtils.hasText(clientId)) {
+                                        attributes.put(CLIENT_ID_PARAM, clientId);
+                                    }
+                                })
+                        .build();
         CookieManager.addCookie(
                 request,
                 response,
                 AUTHORIZATION_COOKIE_NAME,
-                CookieManager.serialize(authorizationRequest),
+                codec.encode(stored, Instant.now().plusSeconds(COOKIE_EXPIRED_SECONDS)),
                 COOKIE_EXPIRED_SECONDS);
-
-        String redirectURIAfterLogin = request.getParameter(REDIRECT_PARAM_NAME);
-        if (redirectURIAfterLogin != null && !redirectURIAfterLogin.isBlank()) {
-            CookieManager.addCookie(
-                    request,
-                    response,
-                    REDIRECT_PARAM_NAME,
-                    redirectURIAfterLogin,
-                    COOKIE_EXPIRED_SECONDS);
-        }
-        String clientId = request.getParameter(CLIENT_ID_PARAM);
-        if (clientId != null && !clientId.isBlank()) {
-            CookieManager.addCookie(
-                    request, response, CLIENT_ID_PARAM, clientId, COOKIE_EXPIRED_SECONDS);
-        }
-        String clientCodeChallenge =
-                (String) authorizationRequest.getAttributes().get(CLIENT_CODE_CHALLENGE);
-        if (clientCodeChallenge != null && !clientCodeChallenge.isBlank()) {
-            CookieManager.addCookie(
-                    request,
-                    response,
-                    CLIENT_CODE_CHALLENGE,
-                    clientCodeChallenge,
-                    COOKIE_EXPIRED_SECONDS);
-        }
+        request.setAttribute(DECODED_ATTRIBUTE, stored);
     }
 
     /**
@@ -129,7 +155,7 @@ public class CookieAuthReqRepo
     }
 
     /**
-     * Deletes both the authorization request and redirect URI cookies.
+     * Deletes the authorization request cookie.
      *
      * @param request the HTTP request
      * @param response the HTTP response
@@ -137,8 +163,5 @@ public class CookieAuthReqRepo
     public void removeAuthorizationRequestCookies(
             HttpServletRequest request, HttpServletResponse response) {
         CookieManager.deleteCookie(request, response, AUTHORIZATION_COOKIE_NAME);
-        CookieManager.deleteCookie(request, response, REDIRECT_PARAM_NAME);
-        CookieManager.deleteCookie(request, response, CLIENT_CODE_CHALLENGE);
-        CookieManager.deleteCookie(request, response, CLIENT_ID_PARAM);
     }
 }
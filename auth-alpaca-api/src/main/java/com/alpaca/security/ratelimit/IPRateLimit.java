@@ -1,6 +1,8 @@
 package com.alpaca.security.ratelimit;
 
 import com.alpaca.dto.response.RateLimitResult;
+import com.alpaca.metrics.AuthMetrics;
+import com.alpaca.metrics.ServerTiming;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
 import java.time.Duration;
@@ -23,6 +25,9 @@ import org.springframework.stereotype.Component;
  * evicted. Under steady traffic, the number of buckets stabilizes to the number of active IPs.
  * Burst traffic from distinct IPs will cause temporary memory growth.
  *
+ * <p>Decisions are counted by {@link AuthMetrics}, without the IP as a tag, and timed in the {@link
+ * ServerTiming} of the request.
+ *
  * @see Bucket
  * @see ConsumptionProbe
  * @see RateLimitResult
@@ -37,8 +42,12 @@ public class IPRateLimit {
 
     private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
 
-    public IPRateLimit(@Value("${security.ratelimit.max.rpm:50}") int maxRequests) {
+    private final AuthMetrics authMetrics;
+
+    public IPRateLimit(
+            @Value("${security.ratelimit.max.rpm:50}") int maxRequests, AuthMetrics authMetrics) {
         this.maxRequests = maxRequests;
+        this.authMetrics = authMetrics;
     }
 
     /**
@@ -52,8 +61,11 @@ public class IPRateLimit {
      * @return result with consumption status and retry-after seconds when denied
      */
     public RateLimitResult check(String ip) {
+        long start = System.nanoTime();
         Bucket bucket = buckets.computeIfAbsent(ip, this::createBucket);
         ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        ServerTiming.record(ServerTiming.Stage.RATE_LIMIT, System.nanoTime() - start);
+        authMetrics.recordRateLimit(probe.isConsumed());
 
         if (probe.isConsumed()) {
             return new RateLimitResult(true, 0);
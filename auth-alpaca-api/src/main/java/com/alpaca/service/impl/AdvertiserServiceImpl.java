@@ -1,5 +1,8 @@
 package com.alpaca.service.impl;
 
+import com.alpaca.datasource.ConnectionPool;
+import com.alpaca.datasource.ReadFromReplica;
+import com.alpaca.datasource.UseConnectionPool;
 import com.alpaca.entity.Advertiser;
 import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.NotFoundException;
@@ -80,6 +83,9 @@ public class AdvertiserServiceImpl extends GenericServiceImpl<Advertiser, UUID>
      * @param pageable pagination parameters; must not be {@code null}
      * @return a paginated list of indexed advertisers
      */
+    @UseConnectionPool(ConnectionPool.BULK)
+    @ReadFromReplica
+    @Transactional(readOnly = true)
     @Override
     public Page<Advertiser> findAllByIndexedTrue(Pageable pageable) {
         return dao.findAllByIndexedTrue(pageable);
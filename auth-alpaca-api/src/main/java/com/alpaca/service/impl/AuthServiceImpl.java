@@ -6,6 +6,7 @@ import com.alpaca.entity.Profile;
 import com.alpaca.entity.RefreshToken;
 import com.alpaca.entity.Role;
 import com.alpaca.entity.User;
+import com.alpaca.exception.AuthFailure;
 import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.NotFoundException;
 import com.alpaca.exception.UnauthorizedException;
@@ -87,36 +88,36 @@ public class AuthServiceImpl implements IAuthService {
     @Override
     public AuthResponseDTO login(AuthCode authCode) {
         if (authCode.getCode() == null || authCode.getCode().isEmpty()) {
-            throw new UnauthorizedException("Exchange code is required");
+            throw AuthFailure.EXCHANGE_CODE_REQUIRED.exception();
         }
         if (!authCode.getCodeVerifier().matches("^[A-Za-z0-9\\-._~]{43,128}$")) {
-            throw new BadRequestException("Invalid code-verifier format");
+            throw AuthFailure.INVALID_CODE_VERIFIER.exception();
         }
 
         AuthCode savedAuthCode = exchangeManager.consumeCode(authCode.getCode()).orElse(null);
         if (savedAuthCode == null) {
-            throw new UnauthorizedException("Code Invalid or Expired");
+            throw AuthFailure.CODE_INVALID_OR_EXPIRED.exception();
         }
 
         String newCodeChallenge = jJwtManager.createTokenHash(authCode.getCodeVerifier());
         if (!savedAuthCode.getCodeChallenge().equals(newCodeChallenge)) {
-            throw new UnauthorizedException("Code Invalid or Expired");
+            throw AuthFailure.CODE_INVALID_OR_EXPIRED.exception();
         }
         if (savedAuthCode.getExpiresAt().isBefore(Instant.now())) {
-            throw new UnauthorizedException("Code Invalid or Expired");
+            throw AuthFailure.CODE_INVALID_OR_EXPIRED.exception();
         }
         if (!savedAuthCode.getRedirectUri().equals(authCode.getRedirectUri())) {
-            throw new UnauthorizedException("Code Invalid or Expired");
+            throw AuthFailure.CODE_INVALID_OR_EXPIRED.exception();
         }
         // Optional additional validation userAgent, clientId, ClientIp
         if (!savedAuthCode.getClientId().equals(authCode.getClientId())) {
-            throw new UnauthorizedException("Code Invalid or Expired");
+            throw AuthFailure.CODE_INVALID_OR_EXPIRED.exception();
         }
         if (!savedAuthCode.getUserAgent().equals(authCode.getUserAgent())) {
-            throw new UnauthorizedException("Code Invalid or Expired");
+            throw AuthFailure.CODE_INVALID_OR_EXPIRED.exception();
         }
         if (!savedAuthCode.getClientIp().equals(authCode.getClientIp())) {
-            throw new UnauthorizedException("Code Invalid or Expired");
+            throw AuthFailure.CODE_INVALID_OR_EXPIRED.exception();
         }
 
         return refreshTokenService.generateJWTTokens(savedAuthCode);
@@ -167,7 +168,7 @@ public class AuthServiceImpl implements IAuthService {
     @Override
     public void logout(String refreshToken, String clientId, String userAgent, String ipAddress) {
         if (!StringUtils.hasText(refreshToken)) {
-            throw new BadRequestException("Invalid Refresh Token");
+            throw AuthFailure.MISSING_REFRESH_TOKEN.exception();
         }
         Instant now = Instant.now();
 
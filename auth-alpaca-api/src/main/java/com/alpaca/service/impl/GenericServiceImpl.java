@@ -1,5 +1,8 @@
 package com.alpaca.service.impl;
 
+import com.alpaca.datasource.ConnectionPool;
+import com.alpaca.datasource.ReadFromReplica;
+import com.alpaca.datasource.UseConnectionPool;
 import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.NotFoundException;
 import com.alpaca.persistence.IGenericDAO;
@@ -21,6 +24,11 @@ import org.springframework.util.StringUtils;
  * <p>Concrete services should extend this class and provide specific {@link IGenericDAO} instances
  * and entity names for exception messages.
  *
+ * <p>Read methods run in read-only transactions, unless called from a write transaction which they
+ * join. Hibernate then loads entities read-only, without the snapshot kept for dirty checking, and
+ * never flushes, see {@link com.alpaca.datasource.ReadOnlyJpaDialect}, while the JDBC connection is
+ * flagged read-only, see {@link com.alpaca.datasource.ConnectionPoolRoutingDataSource}.
+ *
  * @param <T> the entity type managed by this service (e.g., User, Role, Session)
  * @param <I> the type of the entity's identifier (e.g., Long, UUID, String)
  * @see IGenericService
@@ -49,6 +57,7 @@ public abstract class GenericServiceImpl<T, I> implements IGenericService<T, I>
      * @throws BadRequestException if {@code id} is {@code null}
      * @throws NotFoundException if no entity is found for the given {@code id}
      */
+    @Transactional(readOnly = true)
     @Override
     public T findById(I i) {
         if (i == null) {
@@ -72,6 +81,7 @@ public abstract class GenericServiceImpl<T, I> implements IGenericService<T, I>
      * @throws BadRequestException if validation fails
      * @throws NotFoundException if any of the requested entities are not found
      */
+    @Transactional(readOnly = true)
     @Override
     public List<T> findAllByIds(Collection<I> is) {
         if (invalidCollection(is)) {
@@ -134,22 +144,28 @@ public abstract class GenericServiceImpl<T, I> implements IGenericService<T, I>
     }
 
     /**
-     * Retrieves all entities of type {@code T}.
+     * Retrieves all entities of type {@code T}, on the bulk connection pool or the replica.
      *
      * @return a list of all entities
      */
+    @UseConnectionPool(ConnectionPool.BULK)
+    @ReadFromReplica
+    @Transactional(readOnly = true)
     @Override
     public List<T> findAll() {
         return getDAO().findAll();
     }
 
     /**
-     * Retrieves entities in a paginated fashion.
+     * Retrieves entities in a paginated fashion, on the bulk connection pool or the replica.
      *
      * @param pageable pagination parameters; must not be {@code null}
      * @return a paginated list of entities
      * @throws BadRequestException if {@code pageable} is {@code null}
      */
+    @UseConnectionPool(ConnectionPool.BULK)
+    @ReadFromReplica
+    @Transactional(readOnly = true)
     @Override
     public Page<T> findAllPage(Pageable pageable) {
         if (pageable == null) {
@@ -165,6 +181,7 @@ public abstract class GenericServiceImpl<T, I> implements IGenericService<T, I>
      * @param i the identifier to check; may be {@code null}
      * @return {@code true} if entity exists, {@code false} otherwise
      */
+    @Transactional(readOnly = true)
     @Override
     public boolean existsById(I i) {
         if (i == null) return false;
@@ -177,6 +194,7 @@ public abstract class GenericServiceImpl<T, I> implements IGenericService<T, I>
      * @param is the collection of IDs; must not be {@code null}, empty, or contain {@code null}
      * @return {@code true} if all IDs exist; {@code false} otherwise
      */
+    @Transactional(readOnly = true)
     @Override
     public boolean existsAllByIds(Collection<I> is) {
         if (invalidCollection(is)) return false;
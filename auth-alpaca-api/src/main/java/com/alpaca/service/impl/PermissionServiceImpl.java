@@ -5,6 +5,7 @@ import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.NotFoundException;
 import com.alpaca.persistence.IGenericDAO;
 import com.alpaca.persistence.IPermissionDAO;
+import com.alpaca.security.manager.AuthorityCacheManager;
 import com.alpaca.service.IGenericService;
 import com.alpaca.service.IPermissionService;
 import java.util.UUID;
@@ -18,7 +19,9 @@ import org.springframework.transaction.annotation.Transactional;
  * operations from {@link IGenericService}.
  *
  * <p>This service delegates persistence operations to the {@link IPermissionDAO} and provides a
- * clear abstraction point for future business logic related to permissions.
+ * clear abstraction point for future business logic related to permissions. Since a permission can
+ * be shared by several roles, write operations evict every cached role snapshot from {@link
+ * AuthorityCacheManager}.
  *
  * @see IGenericService
  * @see IPermissionService
@@ -29,6 +32,7 @@ public class PermissionServiceImpl extends GenericServiceImpl<Permission, UUID>
         implements IPermissionService {
 
     private final IPermissionDAO dao;
+    private final AuthorityCacheManager authorityCacheManager;
 
     /**
      * Provides the generic DAO used by inherited service methods.
@@ -73,7 +77,8 @@ public class PermissionServiceImpl extends GenericServiceImpl<Permission, UUID>
     /**
      * Updates an existing {@link Permission} identified by the given ID with the non-null and
      * non-blank values from the provided {@code permission} object. Only changed fields are
-     * applied. Throws a {@link NotFoundException} if no matching entity is found.
+     * applied. Throws a {@link NotFoundException} if no matching entity is found. All cached role
+     * authorities are evicted.
      *
      * @param permission the permission object containing updated values
      * @param id the unique identifier of the permission to update
@@ -98,6 +103,20 @@ public class PermissionServiceImpl extends GenericServiceImpl<Permission, UUID>
 
         updateTextIfExists(
                 existingPermission.getName(), permission.getName(), existingPermission::setName);
+        authorityCacheManager.evictAll();
         return super.save(existingPermission);
     }
+
+    /**
+     * Deletes a {@link Permission} by its ID and evicts all cached role authorities.
+     *
+     * @param id the identifier of the permission to delete; must not be {@code null}
+     * @throws BadRequestException if {@code id} is {@code null}
+     */
+    @Override
+    @Transactional
+    public void deleteById(UUID id) {
+        super.deleteById(id);
+        authorityCacheManager.evictAll();
+    }
 }
@@ -4,9 +4,14 @@ import com.alpaca.dto.response.AuthResponseDTO;
 import com.alpaca.entity.RefreshToken;
 import com.alpaca.entity.Session;
 import com.alpaca.entity.User;
+import com.alpaca.exception.AuthFailure;
 import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.NotFoundException;
 import com.alpaca.exception.UnauthorizedException;
+import com.alpaca.metrics.AuthMetrics;
+import com.alpaca.metrics.AuthMetrics.RotationOutcome;
+import com.alpaca.metrics.jfr.RefreshRotationEvent;
+import com.alpaca.metrics.jfr.RefreshRotationEvent.Stage;
 import com.alpaca.model.AuthCode;
 import com.alpaca.model.UserPrincipal;
 import com.alpaca.persistence.IGenericDAO;
@@ -35,7 +40,8 @@ import org.springframework.util.StringUtils;
  *
  * <p>This service delegates persistence operations to the {@link IRefreshTokenDAO} and handles
  * token rotation, refresh token validation with automatic reuse-detection revocation, and JWT
- * issuance in coordination with {@link ISessionService} and {@link JJwtManager}.
+ * issuance in coordination with {@link ISessionService} and {@link JJwtManager}. Rotation outcomes
+ * are counted by {@link AuthMetrics}.
  *
  * @see IGenericService
  * @see IRefreshTokenService
@@ -51,6 +57,7 @@ public class RefreshTokenServiceImpl extends GenericServiceImpl<RefreshToken, UU
     private final IUserService userService;
     private final JJwtManager manager;
     private final UUIDv7Generator uuidv7Generator;
+    private final AuthMetrics authMetrics;
 
     private static final String MESSAGE_REUSE_REASON = "reuse-detected";
     private static final String REVOKE_REASON_ROTATION = "rotation";
@@ -101,6 +108,9 @@ public class RefreshTokenServiceImpl extends GenericServiceImpl<RefreshToken, UU
      * <p>Isolation {@link Isolation#REPEATABLE_READ} prevents phantom reads during the
      * validate-and-rotate sequence so that concurrent reuse of the same token is reliably detected.
      *
+     * <p>The lookup, validation, signing and insertion stages are each recorded as a {@link
+     * RefreshRotationEvent}.
+     *
      * @param oldRefreshToken the raw refresh token string to rotate
      * @param clientId the OAuth2 client identifier for origin validation
      * @param userAgent the HTTP User-Agent for fingerprinting
@@ -115,36 +125,29 @@ public class RefreshTokenServiceImpl extends GenericServiceImpl<RefreshToken, UU
             String oldRefreshToken, String clientId, String userAgent, String clientIp) {
 
         if (!StringUtils.hasText(oldRefreshToken)) {
-            throw new BadRequestException("Invalid Refresh Token");
+            throw AuthFailure.MISSING_REFRESH_TOKEN.exception();
         }
         if (!StringUtils.hasText(clientId)) {
-            throw new BadRequestException("Invalid Client ID");
+            throw AuthFailure.MISSING_CLIENT_ID.exception();
         }
         if (!StringUtils.hasText(userAgent)) {
-            throw new BadRequestException("Invalid User Agent");
+            throw AuthFailure.MISSING_USER_AGENT.exception();
         }
         if (!StringUtils.hasText(clientIp)) {
-            throw new BadRequestException("Invalid Client IP");
+            throw AuthFailure.MISSING_CLIENT_IP.exception();
         }
 
         Instant now = Instant.now();
 
-        String oldRefreshTokenHash = manager.createTokenHash(oldRefreshToken);
         RefreshToken actualRefreshToken =
-                dao.findByTokenHashSecure(oldRefreshTokenHash)
-                        .orElseThrow(() -> new UnauthorizedException("Invalid Refresh Token"));
-
-        validateRefreshToken(actualRefreshToken, clientId, now, clientIp, userAgent);
+                new RefreshRotationEvent(Stage.LOOKUP).record(() -> lookup(oldRefreshToken));
 
-        sessionService
-                .findSessionByFamilyId(actualRefreshToken.getFamilyId())
-                .ifPresent(
-                        actualSession -> {
-                            if (actualSession.isRevoked()
-                                    || (actualSession.getRevokedAt() != null
-                                            && actualSession.getRevokedAt().isBefore(now))) {
-                                throw new UnauthorizedException("Revoked Session");
-                            }
+        new RefreshRotationEvent(Stage.VALIDATE)
+                .record(
+                        () -> {
+                            validateRefreshToken(
+                                    actualRefreshToken, clientId, now, clientIp, userAgent);
+                            validateSession(actualRefreshToken, now);
                         });
 
         actualRefreshToken.setRevoked(true);
@@ -163,15 +166,68 @@ public class RefreshTokenServiceImpl extends GenericServiceImpl<RefreshToken, UU
                         clientId,
                         userAgent,
                         clientIp);
-        String jwtRefreshToken = manager.createRefreshToken(newRefreshToken);
-        String refreshTokenHash = manager.createTokenHash(jwtRefreshToken);
-        newRefreshToken.setTokenHash(refreshTokenHash);
-        RefreshToken savedRefreshToken = super.save(newRefreshToken);
-        actualRefreshToken.setReplacedBy(savedRefreshToken);
-        super.save(actualRefreshToken);
-        String accessToken =
-                manager.createAccessToken(new UserPrincipal(newRefreshToken.getUser()), now);
-        return new AuthResponseDTO(accessToken, jwtRefreshToken);
+        AuthResponseDTO response =
+                new RefreshRotationEvent(Stage.SIGN)
+                        .record(
+                                () -> {
+                                    String jwtRefreshToken =
+                                            manager.createRefreshToken(newRefreshToken);
+                                    newRefreshToken.setTokenHash(
+                                            manager.createTokenHash(jwtRefreshToken));
+                                    String accessToken =
+                                            manager.createAccessToken(
+                                                    UserPrincipal.forAccessToken(
+                                                            newRefreshToken.getUser()),
+                                                    newRefreshToken.getFamilyId(),
+                                                    now);
+                                    return new AuthResponseDTO(accessToken, jwtRefreshToken);
+                                });
+        new RefreshRotationEvent(Stage.INSERT)
+                .record(
+                        () -> {
+                            RefreshToken savedRefreshToken = super.save(newRefreshToken);
+                            actualRefreshToken.setReplacedBy(savedRefreshToken);
+                            super.save(actualRefreshToken);
+                        });
+        authMetrics.recordRotation(RotationOutcome.OK);
+        return response;
+    }
+
+    /**
+     * Finds the stored refresh token matching a raw token.
+     *
+     * @param rawRefreshToken the raw refresh token presented by the client
+     * @return the stored token
+     * @throws UnauthorizedException if no stored token has the hash of the raw token
+     */
+    private RefreshToken lookup(String rawRefreshToken) {
+        return dao.findByTokenHashSecure(manager.createTokenHash(rawRefreshToken))
+                .orElseThrow(
+                        () -> {
+                            authMetrics.recordRotation(RotationOutcome.UNKNOWN);
+                            return AuthFailure.UNKNOWN_REFRESH_TOKEN.exception();
+                        });
+    }
+
+    /**
+     * Rejects the rotation of a token whose session was revoked.
+     *
+     * @param refreshToken the token being rotated
+     * @param now the time of the rotation
+     * @throws UnauthorizedException if the session is revoked
+     */
+    private void validateSession(RefreshToken refreshToken, Instant now) {
+        sessionService
+                .findSessionByFamilyId(refreshToken.getFamilyId())
+                .ifPresent(
+                        actualSession -> {
+                            if (actualSession.isRevoked()
+                                    || (actualSession.getRevokedAt() != null
+                                            && actualSession.getRevokedAt().isBefore(now))) {
+                                authMetrics.recordRotation(RotationOutcome.REVOKED);
+                                throw new UnauthorizedException("Revoked Session");
+                            }
+                        });
     }
 
     /**
@@ -197,7 +253,9 @@ public class RefreshTokenServiceImpl extends GenericServiceImpl<RefreshToken, UU
         String refreshTokenHash = manager.createTokenHash(jwtRefreshToken);
         refreshToken.setTokenHash(refreshTokenHash);
         super.save(refreshToken);
-        String accessToken = manager.createAccessToken(userPrincipal, session.getLastSeenAt());
+        String accessToken =
+                manager.createAccessToken(
+                        userPrincipal, session.getFamilyId(), session.getLastSeenAt());
         return new AuthResponseDTO(accessToken, jwtRefreshToken);
     }
 
@@ -231,7 +289,10 @@ public class RefreshTokenServiceImpl extends GenericServiceImpl<RefreshToken, UU
         refreshToken.setTokenHash(refreshTokenHash);
         super.save(refreshToken);
         String accessToken =
-                manager.createAccessToken(new UserPrincipal(user), session.getLastSeenAt());
+                manager.createAccessToken(
+                        UserPrincipal.forAccessToken(user),
+                        session.getFamilyId(),
+                        session.getLastSeenAt());
         return new AuthResponseDTO(accessToken, jwtRefreshToken);
     }
 
@@ -268,32 +329,38 @@ public class RefreshTokenServiceImpl extends GenericServiceImpl<RefreshToken, UU
             RefreshToken token, String clientId, Instant now, String clientIp, String userAgent)
             throws UnauthorizedException {
         if (token.isRevoked()) {
+            authMetrics.recordRotation(RotationOutcome.REUSE);
             revokeRefreshTokensAndSessionByFamilyId(token.getFamilyId(), now, MESSAGE_REUSE_REASON);
             logWhenReuseDetected(token.getFamilyId().toString(), clientIp, userAgent);
             throw new UnauthorizedException("Refresh Token already revoked");
         }
         if (token.getReplacedBy() != null) {
+            authMetrics.recordRotation(RotationOutcome.REUSE);
             revokeRefreshTokensAndSessionByFamilyId(token.getFamilyId(), now, MESSAGE_REUSE_REASON);
             logWhenReuseDetected(token.getFamilyId().toString(), clientIp, userAgent);
             throw new UnauthorizedException("Reuse Detected Refresh Token");
         }
         if (token.getExpiresAt().isBefore(now)) {
+            authMetrics.recordRotation(RotationOutcome.EXPIRED);
             revokeRefreshTokensAndSessionByFamilyId(token.getFamilyId(), now, MESSAGE_REUSE_REASON);
             logWhenReuseDetected(token.getFamilyId().toString(), clientIp, userAgent);
             throw new UnauthorizedException("Reuse Detected Refresh Token");
         }
         if (token.getUser().getTokensInvalidBefore() != null
                 && token.getCreatedAt().isBefore(token.getUser().getTokensInvalidBefore())) {
+            authMetrics.recordRotation(RotationOutcome.REVOKED);
             revokeRefreshTokensAndSessionByFamilyId(token.getFamilyId(), now, MESSAGE_REUSE_REASON);
             logWhenReuseDetected(token.getFamilyId().toString(), clientIp, userAgent);
             throw new UnauthorizedException("Refresh Token already revoked");
         }
         if (!Objects.equals(token.getClientId(), clientId)) {
+            authMetrics.recordRotation(RotationOutcome.MISMATCH);
             revokeRefreshTokensAndSessionByFamilyId(token.getFamilyId(), now, "client-mismatch");
             logWhenReuseDetected(token.getFamilyId().toString(), clientIp, userAgent);
             throw new UnauthorizedException("Client mismatch");
         }
         if (!Objects.equals(token.getUserAgent(), userAgent)) {
+            authMetrics.recordRotation(RotationOutcome.MISMATCH);
             revokeRefreshTokensAndSessionByFamilyId(token.getFamilyId(), now, "ua-mismatch");
             logWhenReuseDetected(token.getFamilyId().toString(), clientIp, userAgent);
             throw new UnauthorizedException("User-Agent mismatch");
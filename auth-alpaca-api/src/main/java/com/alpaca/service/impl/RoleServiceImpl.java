@@ -5,6 +5,7 @@ import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.NotFoundException;
 import com.alpaca.persistence.IGenericDAO;
 import com.alpaca.persistence.IRoleDAO;
+import com.alpaca.security.manager.AuthorityCacheManager;
 import com.alpaca.service.IGenericService;
 import com.alpaca.service.IRoleService;
 import java.util.HashSet;
@@ -20,7 +21,8 @@ import org.springframework.transaction.annotation.Transactional;
  * specific to roles while inheriting basic CRUD operations from {@link IGenericService}.
  *
  * <p>Includes specialized methods for fetching user-default roles and retrieving roles by name,
- * with validation and error handling for invalid inputs or missing entities.
+ * with validation and error handling for invalid inputs or missing entities. Write operations evict
+ * the cached authorities of the affected role from {@link AuthorityCacheManager}.
  *
  * @see IGenericService
  * @see IRoleService
@@ -30,6 +32,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class RoleServiceImpl extends GenericServiceImpl<Role, UUID> implements IRoleService {
 
     private final IRoleDAO dao;
+    private final AuthorityCacheManager authorityCacheManager;
 
     /**
      * Provides the generic DAO used by inherited service methods.
@@ -76,6 +79,7 @@ public class RoleServiceImpl extends GenericServiceImpl<Role, UUID> implements I
      * @return a {@link Set} containing the "USER" {@link Role}
      * @throws BadRequestException if the default role cannot be found
      */
+    @Transactional(readOnly = true)
     @Override
     public Set<Role> getUserRoles() {
         Set<Role> roles = HashSet.newHashSet(1);
@@ -99,6 +103,7 @@ public class RoleServiceImpl extends GenericServiceImpl<Role, UUID> implements I
      * @throws BadRequestException if the provided role name is {@code null} or blank
      * @throws NotFoundException if no role is found with the given name
      */
+    @Transactional(readOnly = true)
     @Override
     public Role findByRoleName(String roleName) {
         if (roleName == null || roleName.isBlank()) {
@@ -116,7 +121,8 @@ public class RoleServiceImpl extends GenericServiceImpl<Role, UUID> implements I
     /**
      * Updates an existing {@link Role} identified by the given ID with the non-null, non-blank
      * properties from the supplied {@code role} object. Only changed fields are applied. Throws
-     * {@link NotFoundException} if no existing entity is found.
+     * {@link NotFoundException} if no existing entity is found. The cached authorities of the role
+     * are evicted.
      *
      * @param role the role object containing updated values
      * @param id the unique identifier of the role to update
@@ -146,6 +152,20 @@ public class RoleServiceImpl extends GenericServiceImpl<Role, UUID> implements I
                 && !role.getRolePermissions().equals(existingRole.getRolePermissions())) {
             existingRole.setRolePermissions(role.getPermissions());
         }
+        authorityCacheManager.evictRole(id);
         return super.save(existingRole);
     }
+
+    /**
+     * Deletes a {@link Role} by its ID and evicts its cached authorities.
+     *
+     * @param id the identifier of the role to delete; must not be {@code null}
+     * @throws BadRequestException if {@code id} is {@code null}
+     */
+    @Override
+    @Transactional
+    public void deleteById(UUID id) {
+        super.deleteById(id);
+        authorityCacheManager.evictRole(id);
+    }
 }
@@ -1,21 +1,27 @@
 package com.alpaca.service.impl;
 
+import com.alpaca.datasource.ReadFromReplica;
 import com.alpaca.entity.Session;
 import com.alpaca.entity.User;
 import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.ExceededSessionsException;
 import com.alpaca.exception.ForbiddenException;
 import com.alpaca.exception.NotFoundException;
+import com.alpaca.metrics.AuthMetrics;
+import com.alpaca.metrics.AuthMetrics.SessionAdmission;
+import com.alpaca.metrics.jfr.SessionCreationEvent;
 import com.alpaca.persistence.IGenericDAO;
 import com.alpaca.persistence.IRefreshTokenDAO;
 import com.alpaca.persistence.ISessionDAO;
 import com.alpaca.persistence.IUserDAO;
+import com.alpaca.security.manager.AccessTokenRevocationIndex;
 import com.alpaca.service.IGenericService;
 import com.alpaca.service.IRefreshTokenService;
 import com.alpaca.service.ISessionService;
 import com.alpaca.utils.UUIDv7Generator;
 import jakarta.validation.constraints.NotNull;
 import java.time.Instant;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,7 +39,8 @@ import org.springframework.transaction.annotation.Transactional;
  *
  * <p>This service delegates persistence operations to the {@link ISessionDAO} and enforces
  * session-level policies such as per-user session limits and concurrent-device eviction. Session
- * revocation cascades to the associated refresh token family.
+ * revocation cascades to the associated refresh token family, and to the Access Tokens issued for
+ * it through the {@link AccessTokenRevocationIndex}.
  *
  * @see IGenericService
  * @see IRefreshTokenService
@@ -46,6 +53,8 @@ public class SessionServiceImpl extends GenericServiceImpl<Session, UUID>
     private final IUserDAO userDAO;
     private final IRefreshTokenDAO refreshTokenDAO;
     private final UUIDv7Generator uuidv7Generator;
+    private final AccessTokenRevocationIndex revocationIndex;
+    private final AuthMetrics authMetrics;
 
     private final int maxSessionsPerUser;
     private final boolean infinityLogin;
@@ -54,6 +63,7 @@ public class SessionServiceImpl extends GenericServiceImpl<Session, UUID>
     /**
      * Constructs the service with DAO dependencies and session-limit configuration.
      *
+     * @param authMetrics meters counting the session admission outcomes
      * @param maxSessionsPerUser maximum concurrent active sessions allowed per user (default: 10);
      *     must be at least 1
      * @param infinityLogin when {@code true}, exceeding the session limit evicts the oldest session
@@ -65,6 +75,8 @@ public class SessionServiceImpl extends GenericServiceImpl<Session, UUID>
             IUserDAO userDAO,
             IRefreshTokenDAO refreshTokenDAO,
             UUIDv7Generator uuidv7Generator,
+            AccessTokenRevocationIndex revocationIndex,
+            AuthMetrics authMetrics,
             @Value("${security.max.session.per.user:10}") @NotNull int maxSessionsPerUser,
             @Value("${security.infinity.login:false}") @NotNull boolean infinityLogin) {
         if (maxSessionsPerUser < 1) {
@@ -74,6 +86,8 @@ public class SessionServiceImpl extends GenericServiceImpl<Session, UUID>
         this.userDAO = userDAO;
         this.refreshTokenDAO = refreshTokenDAO;
         this.uuidv7Generator = uuidv7Generator;
+        this.revocationIndex = revocationIndex;
+        this.authMetrics = authMetrics;
         this.maxSessionsPerUser = maxSessionsPerUser;
         this.infinityLogin = infinityLogin;
     }
@@ -111,6 +125,7 @@ public class SessionServiceImpl extends GenericServiceImpl<Session, UUID>
     @Override
     public void revokeSessionByFamilyId(UUID familyId, Instant revokedAt, String reason) {
         dao.revokeSessionByFamilyId(familyId, revokedAt, reason);
+        revocationIndex.revokeFamily(familyId);
     }
 
     /**
@@ -143,7 +158,7 @@ public class SessionServiceImpl extends GenericServiceImpl<Session, UUID>
      *
      * <p>A pessimistic lock ({@code lockFindUserById}) is acquired on the user row, and the
      * isolation level is {@link Isolation#READ_COMMITTED} to prevent dirty reads during concurrent
-     * session creation.
+     * session creation. Each creation is recorded as a {@link SessionCreationEvent}.
      *
      * @param userId the user for whom to create a session
      * @param userAgent the HTTP User-Agent header identifying the client device
@@ -157,6 +172,22 @@ public class SessionServiceImpl extends GenericServiceImpl<Session, UUID>
     @Transactional(isolation = Isolation.READ_COMMITTED)
     @Override
     public Session createSession(UUID userId, String userAgent, String clientId, String clientIp) {
+        SessionCreationEvent event = new SessionCreationEvent();
+        return event.record(() -> admitSession(userId, userAgent, clientId, clientIp, event));
+    }
+
+    /**
+     * Creates or reuses the session of a login, see {@link #createSession}.
+     *
+     * @param event the event of the creation, given the admission as outcome
+     * @return the created or reused {@link Session} instance
+     */
+    private Session admitSession(
+            UUID userId,
+            String userAgent,
+            String clientId,
+            String clientIp,
+            SessionCreationEvent event) {
         User user =
                 userDAO.lockFindUserById(userId)
                         .orElseThrow(() -> new NotFoundException("User not found"));
@@ -173,10 +204,13 @@ public class SessionServiceImpl extends GenericServiceImpl<Session, UUID>
             // All previous refresh tokens are revoked
             refreshTokenDAO.revokeFamilyWithReason(
                     newSession.getFamilyId(), now, newSessionCreatedReason);
+            revocationIndex.revokeFamily(newSession.getFamilyId());
+            admit(SessionAdmission.REUSED, event);
         } else {
             long activeSession = dao.countByUserIdAndRevokedFalse(userId);
             Optional<Session> lastSession = dao.findFirstActiveSessionForUpdate(userId);
 
+            SessionAdmission admission = SessionAdmission.CREATED;
             if (activeSession >= maxSessionsPerUser) {
                 if (this.infinityLogin && lastSession.isPresent()) {
                     UUID oldestSessionFamilyId = lastSession.get().getFamilyId();
@@ -184,10 +218,14 @@ public class SessionServiceImpl extends GenericServiceImpl<Session, UUID>
                             oldestSessionFamilyId, now, newSessionCreatedReason);
                     dao.revokeSessionByFamilyId(
                             oldestSessionFamilyId, now, newSessionCreatedReason);
+                    revocationIndex.revokeFamily(oldestSessionFamilyId);
+                    admission = SessionAdmission.EVICTED;
                 } else if (!this.infinityLogin) {
+                    admit(SessionAdmission.REJECTED, event);
                     throw new ExceededSessionsException(maxSessionsPerUser);
                 }
             }
+            admit(admission, event);
             newSession = new Session();
             newSession.setUser(user);
 
@@ -204,6 +242,17 @@ public class SessionServiceImpl extends GenericServiceImpl<Session, UUID>
         return super.save(newSession);
     }
 
+    /**
+     * Counts the admission of a session and reports it as the outcome of its event.
+     *
+     * @param admission the admission
+     * @param event the event of the creation
+     */
+    private void admit(SessionAdmission admission, SessionCreationEvent event) {
+        authMetrics.recordSessionAdmission(admission);
+        event.setOutcome(admission.name().toLowerCase(Locale.ROOT));
+    }
+
     /**
      * Revokes a single session owned by the given user. The session is looked up by both session ID
      * and user ID to prevent a user from revoking another user's session. Revocation cascades to
@@ -225,11 +274,14 @@ public class SessionServiceImpl extends GenericServiceImpl<Session, UUID>
         dao.revokeSessionByFamilyId(session.getFamilyId(), Instant.now(), USER_SELF_REVOCATION);
         refreshTokenDAO.revokeFamilyWithReason(
                 session.getFamilyId(), Instant.now(), USER_SELF_REVOCATION);
+        revocationIndex.revokeFamily(session.getFamilyId());
     }
 
     /**
      * Revokes every active session owned by the specified user. This is a bulk operation — all
-     * sessions and their associated refresh token families are revoked simultaneously.
+     * sessions and their associated refresh token families are revoked simultaneously, and the
+     * {@code tokensInvalidBefore} watermark of the user is moved so that every Access Token issued
+     * so far is rejected as well.
      *
      * @param userId the user whose sessions are to be revoked
      */
@@ -239,6 +291,8 @@ public class SessionServiceImpl extends GenericServiceImpl<Session, UUID>
         Instant now = Instant.now();
         dao.revokeSessionsByUserId(userId, now, USER_SELF_REVOCATION);
         refreshTokenDAO.revokeTokensByUserId(userId, now, USER_SELF_REVOCATION);
+        userDAO.updateTokensInvalidBefore(userId, now);
+        revocationIndex.invalidateTokensBefore(userId, now);
     }
 
     /**
@@ -248,6 +302,8 @@ public class SessionServiceImpl extends GenericServiceImpl<Session, UUID>
      * @param pageable pagination parameters; must not be {@code null}
      * @return a paginated list of sessions
      */
+    @ReadFromReplica
+    @Transactional(readOnly = true)
     @Override
     public Page<Session> findAllByUserId(UUID userId, Pageable pageable) {
         return dao.findAllByUserId(userId, pageable);
@@ -7,9 +7,11 @@ import com.alpaca.exception.NotFoundException;
 import com.alpaca.model.UserPrincipal;
 import com.alpaca.persistence.IGenericDAO;
 import com.alpaca.persistence.IUserDAO;
+import com.alpaca.security.manager.AccessTokenRevocationIndex;
 import com.alpaca.security.manager.PasswordManager;
 import com.alpaca.service.IGenericService;
 import com.alpaca.service.IUserService;
+import java.time.Instant;
 import java.util.UUID;
 import lombok.Generated;
 import lombok.RequiredArgsConstructor;
@@ -35,6 +37,8 @@ public class UserServiceImpl extends GenericServiceImpl<User, UUID> implements I
     private final IUserDAO dao;
 
     private final PasswordManager passwordManager;
+
+    private final AccessTokenRevocationIndex revocationIndex;
     private static final String ERROR_CREATED_MESS = "%s cannot be created";
 
     /**
@@ -82,6 +86,10 @@ public class UserServiceImpl extends GenericServiceImpl<User, UUID> implements I
      * non-null, and non-blank are updated. Throws a {@link NotFoundException} if no user with the
      * specified ID exists.
      *
+     * <p>When the update disables, locks or expires an active account, its {@code
+     * tokensInvalidBefore} watermark is moved to now so that the Access Tokens already issued to
+     * the user stop being accepted.
+     *
      * @param user user object containing updated values
      * @param id the unique identifier of the user to update
      * @return the updated and saved {@link User} instance
@@ -101,6 +109,7 @@ public class UserServiceImpl extends GenericServiceImpl<User, UUID> implements I
                                                 String.format(
                                                         "%s with ID %s not found",
                                                         getEntityName(), id)));
+        boolean wasActive = isActive(existingUser);
 
         if (existingUser.getPassword() != null
                 && StringUtils.hasText(user.getPassword())
@@ -137,15 +146,25 @@ public class UserServiceImpl extends GenericServiceImpl<User, UUID> implements I
                 existingUser.isGoogleConnected(),
                 user.isGoogleConnected(),
                 existingUser::setGoogleConnected);
+        if (wasActive && !isActive(existingUser)) {
+            Instant now = Instant.now();
+            existingUser.setTokensInvalidBefore(now);
+            revocationIndex.invalidateTokensBefore(id, now);
+        }
         return super.save(existingUser);
     }
 
+    private static boolean isActive(User user) {
+        return user.isEnabled() && user.isAccountNonLocked() && user.isAccountNonExpired();
+    }
+
     /**
      * Checks whether a user exists based on their email address.
      *
      * @param email the email to check; may be {@code null} or blank
      * @return {@code true} if a user with the specified email exists; {@code false} otherwise
      */
+    @Transactional(readOnly = true)
     @Override
     public boolean existsByEmail(String email) {
         return dao.existsByEmail(email);
@@ -159,6 +178,7 @@ public class UserServiceImpl extends GenericServiceImpl<User, UUID> implements I
      * @throws BadRequestException if the email is {@code null} or blank
      * @throws NotFoundException if no user is found with the given email
      */
+    @Transactional(readOnly = true)
     @Override
     public User findByEmail(String email) {
         if (email == null || email.isBlank())
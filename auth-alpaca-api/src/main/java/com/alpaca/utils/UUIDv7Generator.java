@@ -1,7 +1,8 @@
 package com.alpaca.utils;
 
-import com.fasterxml.uuid.Generators;
-import com.fasterxml.uuid.impl.TimeBasedEpochGenerator;
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.util.UUID;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
@@ -9,33 +10,32 @@ import org.hibernate.id.IdentifierGenerator;
 import org.springframework.stereotype.Component;
 
 /**
- * Custom Hibernate Identifier Generator that produces UUID v7.
- *
- * <p>This generator uses the <a href="https://github.com/cowtowncoder/java-uuid-generator">JUG
- * library</a> to create time-ordered, epoch-based UUIDs.
+ * Custom Hibernate Identifier Generator that produces UUID v7, as specified by <a
+ * href="https://www.rfc-editor.org/rfc/rfc9562#section-5.7">RFC 9562</a>.
  *
  * <p>UUID v7 structure provides:
  *
  * <ul>
  *   <li>48-bit Unix Timestamp (milliseconds precision).
- *   <li>Monotonic sequence counter (to handle multiple generations within the same millisecond).
- *   <li>Random data for uniqueness.
+ *   <li>42-bit monotonic counter, spread over {@code rand_a} and the top of {@code rand_b} (RFC
+ *       9562 method 1), seeded randomly on each new millisecond with its top bit clear.
+ *   <li>32 random bits, drawn for every UUID.
  * </ul>
  *
- * <p>This implementation is thread-safe and ensures monotonicity by using a static generator
- * instance.
+ * <p>Generators are striped by thread id, so that concurrent callers, e.g. entity inserts, refresh
+ * token JTIs and OAuth2 exchange codes, do not serialize on a single generator. A thread always
+ * uses the same stripe, so the UUIDs it generates are strictly increasing, including within a
+ * millisecond and when the clock steps back; UUIDs of different threads are only ordered by their
+ * millisecond. Stripes are shared by few threads and their lock is rarely contended; keeping them
+ * out of thread locals avoids rebuilding a generator for each virtual thread.
+ *
+ * <p>Exchange codes are issued from these UUIDs, so random bits come from a per-stripe {@code DRBG}
+ * {@link SecureRandom}, read in batches rather than once per UUID.
  */
 @Component
 public class UUIDv7Generator implements IdentifierGenerator {
 
-    /**
-     * Singleton instance of the JUG TimeBasedEpochGenerator.
-     *
-     * <p>It is crucial to keep this instance static/shared. If instantiated per call, the internal
-     * counter for sub-millisecond sorting would reset, defeating the purpose of the monotonic
-     * logic.
-     */
-    private static final TimeBasedEpochGenerator GENERATOR = Generators.timeBasedEpochGenerator();
+    private static final Stripe[] STRIPES = createStripes();
 
     /**
      * Generates a new UUID v7.
@@ -48,7 +48,7 @@ public class UUIDv7Generator implements IdentifierGenerator {
     @Override
     public UUID generate(SharedSessionContractImplementor session, Object object)
             throws HibernateException {
-        return GENERATOR.generate();
+        return generate();
     }
 
     /**
@@ -61,6 +61,97 @@ public class UUIDv7Generator implements IdentifierGenerator {
      * @return a new time-ordered UUID v7
      */
     public UUID generate() {
-        return GENERATOR.generate();
+        return STRIPES[(int) Thread.currentThread().threadId() & (STRIPES.length - 1)].next();
+    }
+
+    /**
+     * Creates the stripes: the power of two at or above four per processor.
+     *
+     * @return the stripes
+     */
+    private static Stripe[] createStripes() {
+        int count = Integer.highestOneBit(4 * Runtime.getRuntime().availableProcessors() - 1) << 1;
+        Stripe[] stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        return stripes;
+    }
+
+    /** Monotonic UUID v7 generator of the threads mapped to one stripe. */
+    private static final class Stripe {
+
+        private static final long VERSION = 0x7000L;
+
+        private static final long VARIANT = 0x8000_0000_0000_0000L;
+
+        private static final int COUNTER_BITS = 42;
+
+        private static final int RAND_B_COUNTER_BITS = COUNTER_BITS - 12;
+
+        private static final long COUNTER_MAX = (1L << COUNTER_BITS) - 1;
+
+        /** Seeds leave the top bit clear, so that at least 2^41 UUIDs fit in a millisecond. */
+        private static final long COUNTER_SEED_MASK = COUNTER_MAX >>> 1;
+
+        private static final long RAND_B_COUNTER_MASK = (1L << RAND_B_COUNTER_BITS) - 1;
+
+        private static final int RANDOM_BATCH = 1024;
+
+        private final SecureRandom secureRandom = drbg();
+
+        private final ByteBuffer random = ByteBuffer.allocate(RANDOM_BATCH).limit(0);
+
+        private long lastMillis;
+
+        private long counter;
+
+        /**
+         * Generates the next UUID of the stripe.
+         *
+         * @return a UUID greater than the previous one of the stripe
+         */
+        synchronized UUID next() {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                counter = nextRandomLong() & COUNTER_SEED_MASK;
+            } else if (++counter > COUNTER_MAX) {
+                // Same millisecond, or the clock stepped back, and the counter is exhausted
+                lastMillis++;
+                counter = nextRandomLong() & COUNTER_SEED_MASK;
+            }
+            long mostSigBits = lastMillis << 16 | VERSION | counter >>> RAND_B_COUNTER_BITS;
+            long leastSigBits =
+                    VARIANT
+                            | (counter & RAND_B_COUNTER_MASK) << 32
+                            | Integer.toUnsignedLong(nextRandomInt());
+            return new UUID(mostSigBits, leastSigBits);
+        }
+
+        private long nextRandomLong() {
+            refillIfBelow(Long.BYTES);
+            return random.getLong();
+        }
+
+        private int nextRandomInt() {
+            refillIfBelow(Integer.BYTES);
+            return random.getInt();
+        }
+
+        private void refillIfBelow(int bytes) {
+            if (random.remaining() < bytes) {
+                secureRandom.nextBytes(random.array());
+                random.clear();
+            }
+        }
+
+        private static SecureRandom drbg() {
+            try {
+                return SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                return new SecureRandom();
+            }
+        }
     }
 }
@@ -0,0 +1,20 @@
+-- Single-use OAuth2 exchange codes shared by every replica (app.exchange-code.store=jdbc).
+-- Rows live for a minute, so the table skips the write-ahead log; a crash only empties it.
+CREATE UNLOGGED TABLE IF NOT EXISTS public.exchange_codes
+(
+    code character varying(64) COLLATE pg_catalog."default" NOT NULL,
+    auth_code character varying(255) COLLATE pg_catalog."default",
+    code_challenge character varying(255) COLLATE pg_catalog."default",
+    code_verifier character varying(255) COLLATE pg_catalog."default",
+    redirect_uri character varying(2048) COLLATE pg_catalog."default",
+    client_id character varying(255) COLLATE pg_catalog."default",
+    user_agent text COLLATE pg_catalog."default",
+    client_ip character varying(64) COLLATE pg_catalog."default",
+    user_id uuid,
+    auth_expires_at timestamp(6) with time zone,
+    expires_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT exchange_codes_pkey PRIMARY KEY (code)
+);
+
+CREATE INDEX IF NOT EXISTS exchange_codes_expires_at_key
+    ON public.exchange_codes(expires_at);
@@ -0,0 +1,11 @@
+-- Indexes for the incremental reloads of the Access Token revocation index, which run on every
+-- replica at each poll interval and read only the revocations of the last few minutes.
+
+-- Family-wide revocations: ordinary rotations also revoke a token but set replaced_by, so they
+-- stay out of the index, matching RefreshTokenRepo.findFamilyIdsRevokedSince.
+CREATE INDEX IF NOT EXISTS refresh_tokens_family_revoked_at_key
+    ON public.refresh_tokens(revoked_at)
+    WHERE revoked AND replaced_by IS NULL;
+
+CREATE INDEX IF NOT EXISTS users_tokens_invalid_before_key
+    ON public.users(tokens_invalid_before);
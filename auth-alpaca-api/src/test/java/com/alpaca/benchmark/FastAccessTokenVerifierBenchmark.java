@@ -0,0 +1,103 @@
+package com.alpaca.benchmark;
+
+import com.alpaca.security.manager.CompactClaims;
+import com.alpaca.security.manager.FastAccessTokenVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark comparing {@link FastAccessTokenVerifier} with the jjwt parser that {@code
+ * JJwtManager} falls back to, both verifying the same legacy-profile Access Token.
+ *
+ * <p>Most of either path is the ES256 signature check; run with {@code -prof gc} to also compare
+ * the bytes allocated per verification.
+ *
+ * <p>Not run by the test suite; see {@code docs/testing-strategy.md} for how to run it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FastAccessTokenVerifierBenchmark {
+
+    private static final String ISSUER = "benchmark-issuer";
+
+    private final KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+
+    private final FastAccessTokenVerifier fastVerifier =
+            new FastAccessTokenVerifier((ECPublicKey) keyPair.getPublic(), ISSUER);
+
+    private final JwtParser jjwtParser =
+            Jwts.parser().verifyWith(keyPair.getPublic()).requireIssuer(ISSUER).build();
+
+    private final String token = accessToken();
+
+    /** Writes a token with the claims of {@code JJwtManager.createLegacyAccessToken}. */
+    private String accessToken() {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .claim(CompactClaims.LEGACY_FAMILY_ID, UUID.randomUUID().toString())
+                .issuer(ISSUER)
+                .subject("admin@alpaca.com")
+                .claim(CompactClaims.LEGACY_AUTHORITIES, "ROLE_ADMIN,READ,CREATE,UPDATE,DELETE")
+                .claim("authorityBits", "1.Hw")
+                .claim(CompactClaims.LEGACY_USER_ID, UUID.randomUUID().toString())
+                .claim(CompactClaims.LEGACY_PROFILE_ID, UUID.randomUUID().toString())
+                .claim(CompactClaims.LEGACY_ADVERTISER_ID, "")
+                .issuedAt(Date.from(now))
+                .notBefore(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(3600)))
+                .signWith(keyPair.getPrivate(), Jwts.SIG.ES256)
+                .compact();
+    }
+
+    /** Fails fast if the token does not have the shape of the fast path. */
+    @Setup
+    public void checkFastPath() {
+        if (fastVerifier.verify(token) == null) {
+            throw new IllegalStateException("Token falls back to the jjwt parser");
+        }
+    }
+
+    @Benchmark
+    public Claims fastVerifier() {
+        return fastVerifier.verify(token);
+    }
+
+    @Benchmark
+    public Claims jjwtParser() {
+        return jjwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Runs the benchmark with the JMH command line, e.g. {@code -prof gc}.
+     *
+     * @param args JMH options
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        String[] options = new String[args.length + 1];
+        options[0] = FastAccessTokenVerifierBenchmark.class.getName();
+        System.arraycopy(args, 0, options, 1, args.length);
+        org.openjdk.jmh.Main.main(options);
+    }
+}
@@ -0,0 +1,84 @@
+package com.alpaca.benchmark;
+
+import com.alpaca.model.UserPrincipal;
+import com.alpaca.security.manager.CompactClaims;
+import com.alpaca.security.manager.GrantedAuthorityRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+/**
+ * JMH benchmark of the authentication built by {@code JJwtManager.createAuthentication} from the
+ * claims of a verified Access Token, comparing the claim resolved by {@link
+ * GrantedAuthorityRegistry} with the per-request parsing it replaced.
+ *
+ * <p>Meant to be run with the GC profiler, whose {@code gc.alloc.rate.norm} gives the bytes
+ * allocated per authentication: {@code -prof gc}.
+ *
+ * <p>Not run by the test suite; see {@code docs/testing-strategy.md} for how to run it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GrantedAuthorityRegistryBenchmark {
+
+    private static final String AUTHORITIES = "ROLE_ADMIN,READ,CREATE,UPDATE,DELETE";
+
+    private final GrantedAuthorityRegistry registry = new GrantedAuthorityRegistry();
+
+    private final Claims claims =
+            Jwts.claims()
+                    .subject("admin@alpaca.com")
+                    .add(CompactClaims.LEGACY_USER_ID, UUID.randomUUID().toString())
+                    .add(CompactClaims.LEGACY_PROFILE_ID, UUID.randomUUID().toString())
+                    .add(CompactClaims.LEGACY_ADVERTISER_ID, "")
+                    .add(CompactClaims.LEGACY_AUTHORITIES, AUTHORITIES)
+                    .build();
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken registry() {
+        List<GrantedAuthority> authorities =
+                registry.resolve(CompactClaims.getAuthoritiesClaim(claims));
+        return UsernamePasswordAuthenticationToken.authenticated(
+                new UserPrincipal(claims, authorities), null, authorities);
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken parsedPerRequest() {
+        return new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(claims),
+                null,
+                AuthorityUtils.commaSeparatedStringToAuthorityList(
+                        CompactClaims.getAuthoritiesClaim(claims)));
+    }
+
+    /**
+     * Runs the benchmark with the JMH command line, e.g. {@code -prof gc}.
+     *
+     * @param args JMH options
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        String[] options = new String[args.length + 1];
+        options[0] = GrantedAuthorityRegistryBenchmark.class.getName();
+        System.arraycopy(args, 0, options, 1, args.length);
+        org.openjdk.jmh.Main.main(options);
+    }
+}
@@ -0,0 +1,74 @@
+package com.alpaca.benchmark;
+
+import com.alpaca.utils.UUIDv7Generator;
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.impl.TimeBasedEpochGenerator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark comparing the striped {@link UUIDv7Generator} with the single synchronized JUG
+ * {@link TimeBasedEpochGenerator} it replaced, from one thread and from as many threads as
+ * processors.
+ *
+ * <p>Not run by the test suite; see {@code docs/testing-strategy.md} for how to run it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UUIDv7GeneratorBenchmark {
+
+    private final UUIDv7Generator striped = new UUIDv7Generator();
+
+    private final TimeBasedEpochGenerator jug = Generators.timeBasedEpochGenerator();
+
+    @Benchmark
+    @Threads(1)
+    public UUID stripedSingleThread() {
+        return striped.generate();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UUID jugSingleThread() {
+        return jug.generate();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public UUID stripedAllThreads() {
+        return striped.generate();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public UUID jugAllThreads() {
+        return jug.generate();
+    }
+
+    /**
+     * Runs the benchmark with the JMH command line, e.g. {@code -f 2 -t 16}.
+     *
+     * @param args JMH options
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        String[] options = new String[args.length + 1];
+        options[0] = UUIDv7GeneratorBenchmark.class.getName();
+        System.arraycopy(args, 0, options, 1, args.length);
+        org.openjdk.jmh.Main.main(options);
+    }
+}
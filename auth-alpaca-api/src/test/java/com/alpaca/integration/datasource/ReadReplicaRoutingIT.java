@@ -0,0 +1,184 @@
+package com.alpaca.integration.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.alpaca.datasource.ConnectionPoolContext;
+import com.alpaca.datasource.ReplicaRouter;
+import com.alpaca.entity.Permission;
+import com.alpaca.model.UserPrincipal;
+import com.alpaca.resources.utility.BaseIntegrationTests;
+import com.alpaca.service.impl.PermissionServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * Integration tests of the read replica routing, against a primary and a second PostgreSQL
+ * container standing in for the replica.
+ *
+ * <p>The replica is migrated like the primary but does not replicate it, so a row written through
+ * the application only exists on the primary: whether a read sees it, and the database it runs on,
+ * tell which pool served it. Transactions run outside of any test transaction, through the {@code
+ * LazyConnectionDataSourceProxy} of the application, so that the route is decided once the
+ * transaction is known to be read-only.
+ */
+@DisplayName("Read replica routing Integration Tests")
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadReplicaRoutingIT extends BaseIntegrationTests {
+
+    private static final String REPLICA_DATABASE = "auth_alpaca_replica";
+
+    @Container
+    @SuppressWarnings("resource")
+    private static final PostgreSQLContainer REPLICA =
+            new PostgreSQLContainer("postgres:18-alpine")
+                    .withDatabaseName(REPLICA_DATABASE)
+                    .withUsername("alpaca")
+                    .withPassword("secret");
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.datasource.replica.url", REPLICA::getJdbcUrl);
+        registry.add("app.datasource.replica.username", REPLICA::getUsername);
+        registry.add("app.datasource.replica.password", REPLICA::getPassword);
+        registry.add("app.datasource.replica.lag-check-interval", () -> "600000");
+    }
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @Autowired private PermissionServiceImpl permissionService;
+    @Autowired private ReplicaRouter replicaRouter;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private UUID permissionId;
+
+    @BeforeEach
+    void setup() {
+        replicaRouter.checkLag();
+        permissionId = UUID.randomUUID();
+        jdbcTemplate.update(
+                "INSERT INTO permissions (id, name, created_at) VALUES (?, ?, now())",
+                permissionId,
+                "REPLICA_IT_" + permissionId);
+    }
+
+    @AfterEach
+    void cleanup() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM permissions WHERE id = ?", permissionId);
+    }
+
+    private static void authenticate(UUID userId) {
+        UserPrincipal principal = new UserPrincipal();
+        principal.setUserId(userId);
+        SecurityContextHolder.getContext()
+                .setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private boolean listsPermission() {
+        return permissionService.findAll().stream()
+                .map(Permission::getId)
+                .anyMatch(permissionId::equals);
+    }
+
+    /** Returns the database and read-only setting of the connection a transaction runs on. */
+    private Map<String, Object> connectionOf(boolean readOnly, boolean replicaAllowed) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        boolean previous = ConnectionPoolContext.allowReplica(replicaAllowed);
+        try {
+            return transaction.execute(
+                    _ ->
+                            jdbcTemplate.queryForMap(
+                                    "SELECT current_database() AS database,"
+                                            + " current_setting('transaction_read_only') AS"
+                                            + " read_only"));
+        } finally {
+            ConnectionPoolContext.allowReplica(previous);
+        }
+    }
+
+    private double fallbacks(String reason) {
+        return meterRegistry.counter("datasource.replica.fallbacks", "reason", reason).count();
+    }
+
+    @Test
+    @DisplayName("@ReadFromReplica reads should be served by the replica")
+    void readFromReplica_ShouldUseReplica() {
+        double reads = meterRegistry.counter("datasource.replica.reads").count();
+
+        assertThat(listsPermission()).isFalse();
+        assertThat(meterRegistry.counter("datasource.replica.reads").count()).isEqualTo(reads + 1);
+    }
+
+    @Test
+    @DisplayName("read-only transactions should route once the proxy fetches their connection")
+    void readOnlyTransactions_ShouldRouteLazily() {
+        assertThat(connectionOf(true, true))
+                .containsEntry("database", REPLICA_DATABASE)
+                .containsEntry("read_only", "on");
+        assertThat(connectionOf(true, false))
+                .doesNotContainEntry("database", REPLICA_DATABASE)
+                .containsEntry("read_only", "on");
+    }
+
+    @Test
+    @DisplayName("writes should be served by the primary, even where replica reads are allowed")
+    void writes_ShouldUsePrimary() {
+        assertThat(connectionOf(false, true))
+                .doesNotContainEntry("database", REPLICA_DATABASE)
+                .containsEntry("read_only", "off");
+    }
+
+    @Test
+    @DisplayName("reads of a user right after their write should be served by the primary")
+    void readAfterWrite_ShouldUsePrimary() {
+        UUID writer = UUID.randomUUID();
+        authenticate(writer);
+        double readYourWrites = fallbacks("read-your-writes");
+
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(
+                        _ ->
+                                jdbcTemplate.update(
+                                        "UPDATE permissions SET updated_at = now() WHERE id = ?",
+                                        permissionId));
+
+        assertThat(listsPermission()).isTrue();
+        assertThat(connectionOf(true, true)).doesNotContainEntry("database", REPLICA_DATABASE);
+        assertThat(fallbacks("read-your-writes")).isEqualTo(readYourWrites + 2);
+
+        authenticate(UUID.randomUUID());
+        assertThat(listsPermission()).isFalse();
+    }
+}
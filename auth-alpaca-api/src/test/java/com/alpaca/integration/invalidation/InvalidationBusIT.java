@@ -0,0 +1,191 @@
+package com.alpaca.integration.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.alpaca.invalidation.InvalidationBus;
+import com.alpaca.invalidation.InvalidationEvent;
+import com.alpaca.invalidation.InvalidationListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.env.MockEnvironment;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * Integration tests of a {@code LISTEN}/{@code NOTIFY} round trip between two {@link
+ * InvalidationBus} instances, standing for two replicas, sharing a PostgreSQL container.
+ *
+ * <p>Both buses connect through a {@link JdbcConnectionDetails}, as under a service connection,
+ * with no {@code spring.datasource.url} set.
+ */
+@DisplayName("InvalidationBus Integration Tests")
+@Testcontainers
+class InvalidationBusIT {
+
+    private static final String CHANNEL = "alpaca_invalidation_it";
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Container
+    @SuppressWarnings("resource")
+    private static final PostgreSQLContainer POSTGRES =
+            new PostgreSQLContainer("postgres:18-alpine")
+                    .withDatabaseName("auth_alpaca_test")
+                    .withUsername("alpaca")
+                    .withPassword("secret");
+
+    /** Records the events and catch-ups of one bus. */
+    private static final class RecordingListener implements InvalidationListener {
+
+        private final BlockingQueue<InvalidationEvent> events = new LinkedBlockingQueue<>();
+
+        private final Semaphore gaps = new Semaphore(0);
+
+        @Override
+        public Set<InvalidationEvent.Type> invalidationTypes() {
+            return Set.of(InvalidationEvent.Type.ROLE);
+        }
+
+        @Override
+        public void onInvalidation(InvalidationEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void onInvalidationGap() {
+            gaps.release();
+        }
+    }
+
+    private JdbcTemplate jdbcTemplate;
+
+    private RecordingListener publisherListener;
+
+    private RecordingListener receiverListener;
+
+    private InvalidationBus publisher;
+
+    private InvalidationBus receiver;
+
+    @BeforeEach
+    void setup() throws InterruptedException {
+        jdbcTemplate =
+                new JdbcTemplate(
+                        new DriverManagerDataSource(
+                                POSTGRES.getJdbcUrl(),
+                                POSTGRES.getUsername(),
+                                POSTGRES.getPassword()));
+        publisherListener = new RecordingListener();
+        receiverListener = new RecordingListener();
+        publisher = bus(publisherListener);
+        receiver = bus(receiverListener);
+        publisher.start();
+        receiver.start();
+        awaitListeningConnections(2);
+    }
+
+    @AfterEach
+    void cleanup() {
+        publisher.stop();
+        receiver.stop();
+    }
+
+    private InvalidationBus bus(InvalidationListener listener) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", new SimpleMeterRegistry());
+        beanFactory.addBean("listener", listener);
+        beanFactory.addBean(
+                "jdbcConnectionDetails",
+                new JdbcConnectionDetails() {
+                    @Override
+                    public String getUsername() {
+                        return POSTGRES.getUsername();
+                    }
+
+                    @Override
+                    public String getPassword() {
+                        return POSTGRES.getPassword();
+                    }
+
+                    @Override
+                    public String getJdbcUrl() {
+                        return POSTGRES.getJdbcUrl();
+                    }
+                });
+        return new InvalidationBus(
+                jdbcTemplate,
+                beanFactory.getBeanProvider(InvalidationListener.class),
+                beanFactory.getBeanProvider(MeterRegistry.class),
+                true,
+                CHANNEL,
+                new DataSourceProperties(),
+                beanFactory.getBeanProvider(JdbcConnectionDetails.class),
+                new MockEnvironment(),
+                100);
+    }
+
+    /** Waits until the given number of bus connections listen on the channel. */
+    private void awaitListeningConnections(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (listeningConnections() != expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+        // The LISTEN statement follows the connection by a round trip
+        Thread.sleep(200);
+    }
+
+    private int listeningConnections() {
+        Integer count =
+                jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM pg_stat_activity WHERE application_name = ?",
+                        Integer.class,
+                        InvalidationBus.APPLICATION_NAME);
+        return count != null ? count : 0;
+    }
+
+    @Test
+    @DisplayName("publish should reach the other bus only")
+    void publish_ShouldReachOtherBus() throws InterruptedException {
+        publisher.publish(InvalidationEvent.Type.ROLE, "role-id");
+
+        InvalidationEvent event = receiverListener.events.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(event).isNotNull();
+        assertThat(event.type()).isEqualTo(InvalidationEvent.Type.ROLE);
+        assertThat(event.key()).isEqualTo("role-id");
+        assertThat(publisherListener.events.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("a bus should reconnect, catch up and receive again after losing its connection")
+    void listen_ShouldReconnectAndCatchUp_WhenConnectionLost() throws InterruptedException {
+        jdbcTemplate.query(
+                "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?",
+                _ -> {},
+                InvalidationBus.APPLICATION_NAME);
+
+        assertThat(receiverListener.gaps.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        awaitListeningConnections(2);
+
+        publisher.publish(InvalidationEvent.Type.ROLE, "after-reconnect");
+
+        InvalidationEvent event = receiverListener.events.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(event).isNotNull();
+        assertThat(event.key()).isEqualTo("after-reconnect");
+    }
+}
@@ -0,0 +1,122 @@
+package com.alpaca.integration.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.alpaca.dto.response.AuthResponseDTO;
+import com.alpaca.resources.utility.BaseIntegrationTests;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Integration tests running the auth routes over HTTP under the strict query budgets of the test
+ * profile: a route running more statements than its budget, e.g. after a new lazy load in {@link
+ * com.alpaca.model.UserPrincipal}, answers 500 and fails its test.
+ *
+ * <p>Requests run outside of any test transaction, so the user is removed after each test.
+ */
+@DisplayName("Auth query budget Integration Tests")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuthQueryBudgetIT extends BaseIntegrationTests {
+
+    private static final String PASSWORD = "Password123!";
+
+    @LocalServerPort private int port;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private RestClient client;
+
+    private String email;
+
+    @BeforeEach
+    void setup() {
+        client =
+                RestClient.builder()
+                        .baseUrl("http://localhost:" + port + "/api/auth")
+                        .defaultHeader("X-Client-Id", UUID.randomUUID().toString())
+                        .defaultHeader("User-Agent", "query-budget-it")
+                        .defaultStatusHandler(_ -> true, (_, _) -> {})
+                        .build();
+        email = "query-budget-" + UUID.randomUUID() + "@alpaca.com";
+    }
+
+    @AfterEach
+    void cleanup() {
+        String user = "(SELECT id FROM users WHERE email = ?)";
+        jdbcTemplate.update(
+                "UPDATE refresh_tokens SET replaced_by = NULL WHERE user_id = " + user, email);
+        for (String table :
+                new String[] {
+                    "refresh_tokens", "sessions", "user_roles", "profiles", "advertisers"
+                }) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id = " + user, email);
+        }
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", email);
+    }
+
+    private <T> ResponseEntity<T> post(
+            String path, String body, Class<T> responseType, String... headers) {
+        RestClient.RequestBodySpec request = client.post().uri(path);
+        for (int i = 0; i < headers.length; i += 2) {
+            request.header(headers[i], headers[i + 1]);
+        }
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+        return request.retrieve().toEntity(responseType);
+    }
+
+    private static <T> T ok(ResponseEntity<T> response) {
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    @Test
+    @DisplayName("register, login, me, rotate and logout stay within their query budgets")
+    void authFlow_ShouldStayWithinQueryBudgets() {
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+
+        ok(post("/register", credentials, AuthResponseDTO.class));
+        AuthResponseDTO login = ok(post("/login", credentials, AuthResponseDTO.class));
+
+        ResponseEntity<String> me =
+                client.get()
+                        .uri("/me")
+                        .header("Authorization", "Bearer " + login.accessToken())
+                        .retrieve()
+                        .toEntity(String.class);
+        assertThat(me.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        AuthResponseDTO rotated =
+                ok(
+                        post(
+                                "/rotate",
+                                null,
+                                AuthResponseDTO.class,
+                                "Authorization",
+                                "Bearer " + login.accessToken(),
+                                "X-Refresh-Token",
+                                login.refreshToken()));
+        ok(
+                post(
+                        "/logout",
+                        null,
+                        String.class,
+                        "Authorization",
+                        "Bearer " + rotated.accessToken(),
+                        "X-Refresh-Token",
+                        rotated.refreshToken()));
+    }
+}
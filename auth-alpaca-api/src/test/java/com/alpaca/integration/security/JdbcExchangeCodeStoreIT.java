@@ -0,0 +1,98 @@
+package com.alpaca.integration.security;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.alpaca.metrics.AuthMetrics;
+import com.alpaca.model.AuthCode;
+import com.alpaca.resources.utility.BaseIntegrationTests;
+import com.alpaca.security.exchange.JdbcExchangeCodeStore;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** Integration tests for {@link JdbcExchangeCodeStore} */
+@DisplayName("JdbcExchangeCodeStore Integration Tests")
+class JdbcExchangeCodeStoreIT extends BaseIntegrationTests {
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private AuthMetrics authMetrics;
+
+    private JdbcExchangeCodeStore store;
+
+    private AuthCode authCode;
+
+    @BeforeEach
+    void setup() {
+        store = new JdbcExchangeCodeStore(jdbcTemplate, authMetrics);
+        authCode =
+                new AuthCode(
+                        "auth-code",
+                        "challenge",
+                        "client-id",
+                        "Mozilla/5.0",
+                        "127.0.0.1",
+                        UUID.randomUUID(),
+                        "http://localhost/callback");
+    }
+
+    @Test
+    @DisplayName("consume should return the stored payload only once")
+    void consume_ShouldReturnPayloadOnce() {
+        store.save("exchange-key", authCode);
+
+        Optional<AuthCode> first = store.consume("exchange-key");
+        Optional<AuthCode> second = store.consume("exchange-key");
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getCode()).isEqualTo("auth-code");
+        assertThat(first.get().getCodeChallenge()).isEqualTo("challenge");
+        assertThat(first.get().getUserId()).isEqualTo(authCode.getUserId());
+        assertThat(first.get().getExpiresAt()).isNotNull();
+        assertThat(second).isEmpty();
+    }
+
+    @Test
+    @DisplayName("save should replace the payload of an existing code")
+    void save_ShouldReplaceExistingCode() {
+        store.save("exchange-key", authCode);
+        authCode.setClientId("other-client");
+        store.save("exchange-key", authCode);
+
+        assertThat(store.consume("exchange-key"))
+                .hasValueSatisfying(c -> assertThat(c.getClientId()).isEqualTo("other-client"));
+    }
+
+    @Test
+    @DisplayName("consume and purgeExpired should ignore and delete expired codes")
+    void consume_ShouldIgnoreExpiredCodes() {
+        store.save("exchange-key", authCode);
+        jdbcTemplate.update(
+                "UPDATE exchange_codes SET expires_at = now() - interval '1 second'"
+                        + " WHERE code = 'exchange-key'");
+
+        assertThat(store.consume("exchange-key")).isEmpty();
+        store.purgeExpired();
+        assertThat(
+                        jdbcTemplate.queryForObject(
+                                "SELECT count(*) FROM exchange_codes", Integer.class))
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("purgeExpired should count the codes left for the pending gauge")
+    void purgeExpired_ShouldCountPendingCodes() {
+        store.save("exchange-key", authCode);
+        store.save("expired-key", authCode);
+        jdbcTemplate.update(
+                "UPDATE exchange_codes SET expires_at = now() - interval '1 second'"
+                        + " WHERE code = 'expired-key'");
+
+        store.purgeExpired();
+
+        assertThat(store.pendingCodes()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,121 @@
+package com.alpaca.integration.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.alpaca.dto.response.AuthResponseDTO;
+import com.alpaca.resources.utility.BaseIntegrationTests;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Integration tests sending an invalid Bearer token to the auth routes. The writes of the {@code
+ * permitAll} routes, audited by {@link com.alpaca.config.JpaAuditingConfig}, must neither verify
+ * nor reject the token, while rotation, which requires the authenticated user, must verify it.
+ *
+ * <p>Requests run outside of any test transaction, so the user is removed after each test.
+ */
+@DisplayName("Stale Bearer token Integration Tests")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StaleBearerTokenIT extends BaseIntegrationTests {
+
+    private static final String PASSWORD = "Password123!";
+
+    /** A token shaped like ours, with the pinned ES256 header, whose signature is invalid. */
+    private static final String STALE_BEARER =
+            "Bearer eyJhbGciOiJFUzI1NiJ9.eyJzdWIiOiJzdGFsZSJ9." + "A".repeat(86);
+
+    @LocalServerPort private int port;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private RestClient client;
+
+    private String email;
+
+    @BeforeEach
+    void setup() {
+        client =
+                RestClient.builder()
+                        .baseUrl("http://localhost:" + port + "/api/auth")
+                        .defaultHeader("X-Client-Id", UUID.randomUUID().toString())
+                        .defaultHeader("User-Agent", "stale-bearer-it")
+                        .defaultHeader("Authorization", STALE_BEARER)
+                        .defaultStatusHandler(_ -> true, (_, _) -> {})
+                        .build();
+        email = "stale-bearer-" + UUID.randomUUID() + "@alpaca.com";
+    }
+
+    @AfterEach
+    void cleanup() {
+        String user = "(SELECT id FROM users WHERE email = ?)";
+        jdbcTemplate.update(
+                "UPDATE refresh_tokens SET replaced_by = NULL WHERE user_id = " + user, email);
+        for (String table :
+                new String[] {
+                    "refresh_tokens", "sessions", "user_roles", "profiles", "advertisers"
+                }) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id = " + user, email);
+        }
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", email);
+    }
+
+    private static AuthResponseDTO ok(ResponseEntity<AuthResponseDTO> response) {
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    @Test
+    @DisplayName(
+            "register and login should succeed with an invalid Bearer token, rotate should not")
+    void publicAuthRoutes_ShouldIgnoreInvalidBearerToken() {
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+
+        ok(
+                client.post()
+                        .uri("/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(credentials)
+                        .retrieve()
+                        .toEntity(AuthResponseDTO.class));
+        AuthResponseDTO login =
+                ok(
+                        client.post()
+                                .uri("/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(credentials)
+                                .retrieve()
+                                .toEntity(AuthResponseDTO.class));
+
+        assertThat(
+                        client.post()
+                                .uri("/rotate")
+                                .header("X-Refresh-Token", login.refreshToken())
+                                .retrieve()
+                                .toBodilessEntity()
+                                .getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        AuthResponseDTO rotated =
+                ok(
+                        client.post()
+                                .uri("/rotate")
+                                .header("X-Refresh-Token", login.refreshToken())
+                                .header("Authorization", "Bearer " + login.accessToken())
+                                .retrieve()
+                                .toEntity(AuthResponseDTO.class));
+
+        assertThat(rotated.refreshToken()).isNotEqualTo(login.refreshToken());
+    }
+}
@@ -0,0 +1,175 @@
+package com.alpaca.integration.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.alpaca.entity.Advertiser;
+import com.alpaca.entity.Profile;
+import com.alpaca.entity.Role;
+import com.alpaca.entity.User;
+import com.alpaca.mapper.IAdvertiserMapper;
+import com.alpaca.mapper.IProfileMapper;
+import com.alpaca.mapper.IUserMapper;
+import com.alpaca.resources.provider.AdvertiserProvider;
+import com.alpaca.resources.provider.ProfileProvider;
+import com.alpaca.resources.provider.UserProvider;
+import com.alpaca.resources.utility.BaseIntegrationTests;
+import com.alpaca.service.impl.AdvertiserServiceImpl;
+import com.alpaca.service.impl.ProfileServiceImpl;
+import com.alpaca.service.impl.UserServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests asserting that paged listings, mapped to their responses, run a constant number
+ * of statements whatever the page size.
+ *
+ * <p>The listings run outside of any test transaction, against committed rows, so that entities
+ * already in the persistence context cannot hide a lazy load.
+ */
+@DisplayName("Paged listing query count Integration Tests")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PagedListingQueryCountIT extends BaseIntegrationTests {
+
+    private static final int ROWS = 12;
+
+    @Autowired private UserServiceImpl userService;
+    @Autowired private AdvertiserServiceImpl advertiserService;
+    @Autowired private ProfileServiceImpl profileService;
+    @Autowired private IUserMapper userMapper;
+    @Autowired private IAdvertiserMapper advertiserMapper;
+    @Autowired private IProfileMapper profileMapper;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private final List<UUID> userIds = new ArrayList<>();
+
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        transactionTemplate.executeWithoutResult(
+                _ -> {
+                    List<Role> roles =
+                            entityManager
+                                    .createQuery("SELECT r FROM Role r", Role.class)
+                                    .getResultList();
+                    for (int i = 0; i < ROWS; i++) {
+                        User user = UserProvider.singleTemplate();
+                        user.setEmail("paged-listing-" + i + "@alpaca.com");
+                        user.setCreatedAt(Instant.now());
+                        user.setRoles(roles);
+                        entityManager.persist(user);
+
+                        Profile profile = ProfileProvider.singleTemplate();
+                        profile.setUser(user);
+                        entityManager.persist(profile);
+
+                        Advertiser advertiser = AdvertiserProvider.singleTemplate();
+                        advertiser.setTitle("Paged listing " + i);
+                        advertiser.setUser(user);
+                        entityManager.persist(advertiser);
+
+                        userIds.add(user.getId());
+                    }
+                });
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(
+                _ ->
+                        userIds.forEach(
+                                id -> entityManager.remove(entityManager.find(User.class, id))));
+        userIds.clear();
+    }
+
+    /**
+     * Counts the statements run by a listing and the mapping of its page, for a page size.
+     *
+     * @param listing the listing mapped to its responses, returning the number of rows
+     * @param size the page size
+     * @return the number of prepared statements
+     */
+    private long countStatements(IntFunction<Integer> listing, int size) {
+        statistics.clear();
+        int rows = listing.apply(size);
+        long statements = statistics.getPrepareStatementCount();
+        assertThat(rows).isEqualTo(size);
+        return statements;
+    }
+
+    @Test
+    @DisplayName("findAllPage of users runs the same statements for 2 and 10 users")
+    void userFindAllPage_ShouldRunConstantStatements() {
+        IntFunction<Integer> listing =
+                size ->
+                        userMapper
+                                .toPageResponseDTO(userService.findAllPage(Pageable.ofSize(size)))
+                                .getNumberOfElements();
+
+        assertThat(countStatements(listing, 10)).isEqualTo(countStatements(listing, 2));
+    }
+
+    @Test
+    @DisplayName("findAllPage of advertisers runs the same statements for 2 and 10 advertisers")
+    void advertiserFindAllPage_ShouldRunConstantStatements() {
+        IntFunction<Integer> listing =
+                size ->
+                        advertiserMapper
+                                .toPageResponseDTO(
+                                        advertiserService.findAllPage(Pageable.ofSize(size)))
+                                .getNumberOfElements();
+
+        assertThat(countStatements(listing, 10)).isEqualTo(countStatements(listing, 2));
+    }
+
+    @Test
+    @DisplayName("findAllByIndexedTrue runs the same statements for 2 and 10 advertisers")
+    void advertiserFindAllByIndexedTrue_ShouldRunConstantStatements() {
+        IntFunction<Integer> listing =
+                size ->
+                        advertiserMapper
+                                .toPageResponseDTO(
+                                        advertiserService.findAllByIndexedTrue(
+                                                Pageable.ofSize(size)))
+                                .getNumberOfElements();
+
+        assertThat(countStatements(listing, 10)).isEqualTo(countStatements(listing, 2));
+    }
+
+    @Test
+    @DisplayName("findAllPage of profiles runs the same statements for 2 and 10 profiles")
+    void profileFindAllPage_ShouldRunConstantStatements() {
+        IntFunction<Integer> listing =
+                size ->
+                        profileMapper
+                                .toPageResponseDTO(
+                                        profileService.findAllPage(Pageable.ofSize(size)))
+                                .getNumberOfElements();
+
+        assertThat(countStatements(listing, 10)).isEqualTo(countStatements(listing, 2));
+    }
+}
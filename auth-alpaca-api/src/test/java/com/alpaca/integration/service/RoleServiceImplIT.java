@@ -9,20 +9,29 @@ import com.alpaca.entity.Permission;
 import com.alpaca.entity.Role;
 import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.NotFoundException;
+import com.alpaca.mapper.IRoleMapper;
 import com.alpaca.persistence.IPermissionDAO;
 import com.alpaca.resources.provider.PermissionProvider;
 import com.alpaca.resources.provider.RoleProvider;
 import com.alpaca.resources.utility.BaseIntegrationTests;
 import com.alpaca.service.impl.RoleServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import java.time.Instant;
 import java.util.*;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /** Integration tests for {@link RoleServiceImpl} */
 @DisplayName("RoleServiceImpl Integration Tests")
@@ -30,6 +39,8 @@ class RoleServiceImplIT extends BaseIntegrationTests {
 
     @Autowired private RoleServiceImpl service;
     @Autowired private IPermissionDAO permissionDAO;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private IRoleMapper mapper;
 
     private Instant now;
 
@@ -547,4 +558,49 @@ class RoleServiceImplIT extends BaseIntegrationTests {
 
         assertThat(service.existsByUniqueProperties(nonExisting)).isFalse();
     }
+
+    // ------------------------------------------------
+    // read-only transactions
+    // ------------------------------------------------
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("findAll and findAllPage load roles read-only, without dirty-checking snapshots")
+    void findAllAndFindAllPage_ShouldNotRetainSnapshots() {
+        // Shared persistence context spanning the service transactions, as in open-in-view
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(
+                entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            List<Role> roles = new ArrayList<>(service.findAll());
+            roles.addAll(service.findAllPage(Pageable.ofSize(10)).getContent());
+
+            SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+            assertThat(roles).isNotEmpty();
+            assertThat(roles)
+                    .allSatisfy(
+                            role -> {
+                                EntityEntry entry =
+                                        session.getPersistenceContextInternal().getEntry(role);
+                                assertThat(entry.getStatus()).isEqualTo(Status.READ_ONLY);
+                                assertThat(entry.getLoadedState()).isNull();
+                            });
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("findAll, findAllPage and findById load permissions, as open-in-view is disabled")
+    void findAllAndFindById_ShouldBeMappableOutsideTransaction() {
+        List<Role> roles = service.findAll();
+        Page<Role> page = service.findAllPage(Pageable.ofSize(10));
+        Role found = service.findById(roles.getFirst().getId());
+
+        assertThat(mapper.toListResponseDTO(roles)).hasSameSizeAs(roles);
+        assertThat(mapper.toPageResponseDTO(page).getContent()).isNotEmpty();
+        assertThat(mapper.toResponseDTO(found).id()).isEqualTo(found.getId());
+    }
 }
@@ -8,12 +8,14 @@ import com.alpaca.entity.User;
 import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.ForbiddenException;
 import com.alpaca.exception.NotFoundException;
+import com.alpaca.metrics.AuthMetrics;
 import com.alpaca.persistence.IRefreshTokenDAO;
 import com.alpaca.persistence.ISessionDAO;
 import com.alpaca.persistence.IUserDAO;
 import com.alpaca.resources.provider.SessionProvider;
 import com.alpaca.resources.provider.UserProvider;
 import com.alpaca.resources.utility.BaseIntegrationTests;
+import com.alpaca.security.manager.AccessTokenRevocationIndex;
 import com.alpaca.service.impl.SessionServiceImpl;
 import com.alpaca.utils.UUIDv7Generator;
 import java.time.Instant;
@@ -36,6 +38,8 @@ class SessionServiceImplIT extends BaseIntegrationTests {
     @Autowired private IUserDAO userDAO;
     @Autowired private ISessionDAO sessionDAO;
     @Autowired private IRefreshTokenDAO refreshTokenDAO;
+    @Autowired private AccessTokenRevocationIndex revocationIndex;
+    @Autowired private AuthMetrics authMetrics;
 
     private Instant now;
 
@@ -80,6 +84,8 @@ class SessionServiceImplIT extends BaseIntegrationTests {
                                         userDAO,
                                         refreshTokenDAO,
                                         new UUIDv7Generator(),
+                                        revocationIndex,
+                                        authMetrics,
                                         0,
                                         false));
         assertThat(thrown)
@@ -9,6 +9,7 @@ import com.alpaca.entity.Role;
 import com.alpaca.entity.User;
 import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.NotFoundException;
+import com.alpaca.mapper.IUserMapper;
 import com.alpaca.model.UserPrincipal;
 import com.alpaca.persistence.IRoleDAO;
 import com.alpaca.persistence.IUserDAO;
@@ -25,6 +26,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /** Integration tests for {@link UserServiceImpl}. */
@@ -34,6 +36,7 @@ class UserServiceImplIT extends BaseIntegrationTests {
     @Autowired private UserServiceImpl service;
     @Autowired private IUserDAO userDAO;
     @Autowired private IRoleDAO roleDAO;
+    @Autowired private IUserMapper mapper;
 
     private Instant now;
 
@@ -539,4 +542,27 @@ class UserServiceImplIT extends BaseIntegrationTests {
     void existsByUniqueProperties_ShouldHandleNull() {
         assertThat(service.existsByUniqueProperties(null)).isFalse();
     }
+
+    // ------------------------------------------------
+    // fetch plans
+    // ------------------------------------------------
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("findById and findAllPage load what responses map, as open-in-view is disabled")
+    void findByIdAndFindAllPage_ShouldBeMappableOutsideTransaction() {
+        User user = buildSingleUser();
+        user.setRoles(Set.of(roleDAO.save(buildRole())));
+        User saved = service.save(user);
+        try {
+            User found = service.findById(saved.getId());
+            Page<User> page = service.findAllPage(Pageable.ofSize(50));
+
+            assertThat(mapper.toResponseDTO(found).roles()).isNotEmpty();
+            assertThat(mapper.toPageResponseDTO(page).getContent()).isNotEmpty();
+        } finally {
+            service.deleteById(saved.getId());
+            user.getRoles().forEach(role -> roleDAO.deleteById(role.getId()));
+        }
+    }
 }
@@ -3,6 +3,8 @@ package com.alpaca.unit.config;
 import static org.mockito.Mockito.*;
 
 import com.alpaca.config.CleanupScheduler;
+import com.alpaca.metrics.AuthMetrics;
+import com.alpaca.metrics.AuthMetrics.CleanupTable;
 import com.alpaca.repository.RefreshTokenRepo;
 import com.alpaca.repository.SessionRepo;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,13 +19,15 @@ class CleanupSchedulerTest {
 
     private RefreshTokenRepo refreshTokenRepo;
     private SessionRepo sessionRepo;
+    private AuthMetrics authMetrics;
     private CleanupScheduler scheduler;
 
     @BeforeEach
     void setUp() {
         refreshTokenRepo = mock(RefreshTokenRepo.class);
         sessionRepo = mock(SessionRepo.class);
-        scheduler = new CleanupScheduler(refreshTokenRepo, sessionRepo);
+        authMetrics = mock(AuthMetrics.class);
+        scheduler = new CleanupScheduler(refreshTokenRepo, sessionRepo, authMetrics);
     }
 
     @Test
@@ -34,6 +38,7 @@ class CleanupSchedulerTest {
         scheduler.purgeRevokedRefreshTokens();
 
         verify(refreshTokenRepo).deleteRevoked();
+        verify(authMetrics).recordCleanup(CleanupTable.REFRESH_TOKENS, 5);
         verifyNoInteractions(sessionRepo);
     }
 
@@ -55,6 +60,7 @@ class CleanupSchedulerTest {
         scheduler.purgeRevokedSessions();
 
         verify(sessionRepo).deleteRevoked();
+        verify(authMetrics).recordCleanup(CleanupTable.SESSIONS, 3);
         verifyNoInteractions(refreshTokenRepo);
     }
 
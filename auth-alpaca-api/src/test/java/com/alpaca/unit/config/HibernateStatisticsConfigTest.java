@@ -0,0 +1,72 @@
+package com.alpaca.unit.config;
+
+import static org.mockito.Mockito.*;
+
+import com.alpaca.config.HibernateStatisticsConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link HibernateStatisticsConfig}. */
+@ExtendWith(MockitoExtension.class)
+class HibernateStatisticsConfigTest {
+
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        statistics = mock(Statistics.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+    }
+
+    @Test
+    @DisplayName("enableStatistics: should enable statistics when configured")
+    void enableStatistics_ShouldEnable_WhenConfigured() {
+        new HibernateStatisticsConfig(entityManagerFactory, true).enableStatistics();
+
+        verify(statistics).setStatisticsEnabled(true);
+    }
+
+    @Test
+    @DisplayName("enableStatistics: should keep statistics disabled when not configured")
+    void enableStatistics_ShouldDisable_WhenNotConfigured() {
+        new HibernateStatisticsConfig(entityManagerFactory, false).enableStatistics();
+
+        verify(statistics).setStatisticsEnabled(false);
+    }
+
+    @Test
+    @DisplayName("logCacheStatistics: should read every cache region when statistics are enabled")
+    void logCacheStatistics_ShouldReadRegions_WhenEnabled() {
+        CacheRegionStatistics regionStats = mock(CacheRegionStatistics.class);
+        when(statistics.isStatisticsEnabled()).thenReturn(true);
+        when(statistics.getSecondLevelCacheRegionNames())
+                .thenReturn(new String[] {"com.alpaca.entity.Role"});
+        when(statistics.getCacheRegionStatistics("com.alpaca.entity.Role")).thenReturn(regionStats);
+
+        new HibernateStatisticsConfig(entityManagerFactory, true).logCacheStatistics();
+
+        verify(statistics).getSecondLevelCacheHitCount();
+        verify(regionStats).getHitCount();
+    }
+
+    @Test
+    @DisplayName("logCacheStatistics: should do nothing when statistics are disabled")
+    void logCacheStatistics_ShouldSkip_WhenDisabled() {
+        when(statistics.isStatisticsEnabled()).thenReturn(false);
+
+        new HibernateStatisticsConfig(entityManagerFactory, false).logCacheStatistics();
+
+        verify(statistics, never()).getSecondLevelCacheRegionNames();
+    }
+}
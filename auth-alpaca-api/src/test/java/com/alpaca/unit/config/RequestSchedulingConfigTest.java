@@ -0,0 +1,102 @@
+package com.alpaca.unit.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.config.DataSourceConfig;
+import com.alpaca.config.RequestSchedulingConfig;
+import com.alpaca.dto.response.ErrorResponseDTO;
+import com.alpaca.exception.GlobalExceptionHandler;
+import com.alpaca.scheduling.LoadShedder;
+import com.alpaca.scheduling.RequestDeadline;
+import com.alpaca.scheduling.RequestScheduler;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Unit tests for {@link RequestSchedulingConfig} applied to the data sources of {@link
+ * DataSourceConfig}.
+ */
+@DisplayName("RequestSchedulingConfig Unit Tests")
+class RequestSchedulingConfigTest {
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableConfigurationProperties(DataSourceProperties.class)
+    static class DataSourcePropertiesConfig {}
+
+    private final ApplicationContextRunner contextRunner =
+            new ApplicationContextRunner()
+                    .withUserConfiguration(
+                            DataSourcePropertiesConfig.class,
+                            DataSourceConfig.class,
+                            RequestSchedulingConfig.class)
+                    .withBean(LoadShedder.class)
+                    .withBean(RequestScheduler.class)
+                    .withPropertyValues(
+                            "spring.datasource.url=jdbc:h2:mem:request-scheduling-config",
+                            "spring.datasource.hikari.maximum-pool-size=1",
+                            "spring.datasource.hikari.connection-timeout=5000");
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("dataSource should answer 503 when the deadline passes while waiting for the pool")
+    void dataSource_ShouldShed_WhenDeadlinePassesInPoolWait() {
+        contextRunner.run(
+                context -> {
+                    DataSource dataSource = context.getBean(DataSource.class);
+                    // The lazy proxy reads the connection defaults on its first acquisition
+                    new JdbcTemplate(dataSource).queryForObject("SELECT 1", Integer.class);
+                    Connection held =
+                            context.getBean("authDataSource", DataSource.class).getConnection();
+                    CompletableFuture<Void> release =
+                            CompletableFuture.runAsync(
+                                    () -> {
+                                        try {
+                                            held.close();
+                                        } catch (Exception e) {
+                                            throw new IllegalStateException(e);
+                                        }
+                                    },
+                                    CompletableFuture.delayedExecutor(400, TimeUnit.MILLISECONDS));
+                    MockHttpServletRequest request = new MockHttpServletRequest();
+                    RequestDeadline.stamp(request, Duration.ofMillis(200));
+                    RequestContextHolder.setRequestAttributes(
+                            new ServletRequestAttributes(request));
+
+                    DataAccessException exception =
+                            assertThrows(
+                                    DataAccessException.class,
+                                    () ->
+                                            new JdbcTemplate(dataSource)
+                                                    .queryForObject("SELECT 1", Integer.class));
+                    release.join();
+
+                    ResponseEntity<ErrorResponseDTO> response =
+                            new GlobalExceptionHandler()
+                                    .handleGlobalException(
+                                            exception, new ServletWebRequest(request));
+                    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+                });
+    }
+}
@@ -0,0 +1,109 @@
+package com.alpaca.unit.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.datasource.ConnectionPool;
+import com.alpaca.datasource.ConnectionPoolContext;
+import com.alpaca.datasource.ConnectionPoolInterceptor;
+import com.alpaca.datasource.ReadFromReplica;
+import com.alpaca.datasource.UseConnectionPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+/** Unit tests for {@link ConnectionPoolInterceptor}. */
+@DisplayName("ConnectionPoolInterceptor Unit Tests")
+class ConnectionPoolInterceptorTest {
+
+    private Listing proxy;
+
+    @BeforeEach
+    void setUp() {
+        ProxyFactory factory = new ProxyFactory(new Listing());
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new ConnectionPoolInterceptor());
+        proxy = (Listing) factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ConnectionPoolContext.select(null);
+        ConnectionPoolContext.allowReplica(false);
+    }
+
+    @Test
+    @DisplayName("invoke should select the annotated pool during the call and restore it after")
+    void invoke_ShouldSelectAnnotatedPool() {
+        assertEquals(ConnectionPool.BULK, proxy.bulk());
+        assertEquals(ConnectionPool.AUTH, ConnectionPoolContext.current());
+    }
+
+    @Test
+    @DisplayName("invoke should keep the pool of the caller for methods without annotation")
+    void invoke_ShouldKeepCallerPool() {
+        assertEquals(ConnectionPool.AUTH, proxy.inherited());
+
+        ConnectionPoolContext.select(ConnectionPool.BULK);
+        assertEquals(ConnectionPool.BULK, proxy.inherited());
+        assertEquals(ConnectionPool.AUTH, proxy.auth());
+        assertEquals(ConnectionPool.BULK, ConnectionPoolContext.current());
+    }
+
+    @Test
+    @DisplayName("invoke should restore the previous pool when the method throws")
+    void invoke_ShouldRestorePool_WhenMethodThrows() {
+        assertThrows(IllegalStateException.class, proxy::failing);
+        assertEquals(ConnectionPool.AUTH, ConnectionPoolContext.current());
+    }
+
+    @Test
+    @DisplayName("invoke should allow the replica during annotated calls only")
+    void invoke_ShouldAllowReplica_WhenAnnotated() {
+        assertTrue(proxy.replica());
+        assertFalse(ConnectionPoolContext.isReplicaAllowed());
+        assertEquals(ConnectionPool.AUTH, ConnectionPoolContext.current());
+    }
+
+    @Test
+    @DisplayName("invoke should keep the primary for calls nested in a replica call")
+    void invoke_ShouldDisallowReplica_ForNestedPoolSelection() {
+        ConnectionPoolContext.allowReplica(true);
+
+        assertFalse(proxy.bulkAllowsReplica());
+        assertTrue(ConnectionPoolContext.isReplicaAllowed());
+    }
+
+    static class Listing {
+
+        @ReadFromReplica
+        public boolean replica() {
+            return ConnectionPoolContext.isReplicaAllowed();
+        }
+
+        @UseConnectionPool(ConnectionPool.BULK)
+        public boolean bulkAllowsReplica() {
+            return ConnectionPoolContext.isReplicaAllowed();
+        }
+
+        @UseConnectionPool(ConnectionPool.BULK)
+        public ConnectionPool bulk() {
+            return ConnectionPoolContext.current();
+        }
+
+        @UseConnectionPool(ConnectionPool.AUTH)
+        public ConnectionPool auth() {
+            return ConnectionPoolContext.current();
+        }
+
+        public ConnectionPool inherited() {
+            return ConnectionPoolContext.current();
+        }
+
+        @UseConnectionPool(ConnectionPool.BULK)
+        public void failing() {
+            throw new IllegalStateException();
+        }
+    }
+}
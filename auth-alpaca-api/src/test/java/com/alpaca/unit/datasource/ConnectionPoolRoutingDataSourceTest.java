@@ -0,0 +1,98 @@
+package com.alpaca.unit.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.alpaca.datasource.ConnectionPool;
+import com.alpaca.datasource.ConnectionPoolContext;
+import com.alpaca.datasource.ConnectionPoolRoutingDataSource;
+import com.alpaca.datasource.ReplicaRouter;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Unit tests for {@link ConnectionPoolRoutingDataSource}. */
+@DisplayName("ConnectionPoolRoutingDataSource Unit Tests")
+class ConnectionPoolRoutingDataSourceTest {
+
+    private Connection authConnection;
+
+    private Connection bulkConnection;
+
+    private Connection replicaConnection;
+
+    private ReplicaRouter replicaRouter;
+
+    private ConnectionPoolRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource authPool = mock(DataSource.class);
+        DataSource bulkPool = mock(DataSource.class);
+        authConnection = mock(Connection.class);
+        bulkConnection = mock(Connection.class);
+        when(authPool.getConnection()).thenReturn(authConnection);
+        when(bulkPool.getConnection()).thenReturn(bulkConnection);
+        DataSource replicaPool = mock(DataSource.class);
+        replicaConnection = mock(Connection.class);
+        when(replicaPool.getConnection()).thenReturn(replicaConnection);
+        replicaRouter = mock(ReplicaRouter.class);
+        when(replicaRouter.getReplica()).thenReturn(replicaPool);
+        dataSource = new ConnectionPoolRoutingDataSource(authPool, bulkPool, replicaRouter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ConnectionPoolContext.select(null);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("getConnection should use the auth pool when no pool is selected")
+    void getConnection_ShouldDefaultToAuthPool() throws Exception {
+        assertSame(authConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("getConnection should use the pool selected for the current thread")
+    void getConnection_ShouldUseSelectedPool() throws Exception {
+        ConnectionPool previous = ConnectionPoolContext.select(ConnectionPool.BULK);
+
+        assertSame(bulkConnection, dataSource.getConnection());
+
+        ConnectionPoolContext.select(previous);
+        assertSame(authConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("getConnection should use the replica when the router sends the transaction there")
+    void getConnection_ShouldUseReplica_WhenRouted() throws Exception {
+        ConnectionPoolContext.select(ConnectionPool.BULK);
+        when(replicaRouter.shouldRead()).thenReturn(true);
+
+        assertSame(replicaConnection, dataSource.getConnection());
+        verify(replicaRouter, never()).recordWrite();
+    }
+
+    @Test
+    @DisplayName("getConnection should record a possible write when using a primary pool")
+    void getConnection_ShouldRecordWrite_WhenNotRouted() throws Exception {
+        assertSame(authConnection, dataSource.getConnection());
+        verify(replicaRouter).recordWrite();
+    }
+
+    @Test
+    @DisplayName("getConnection should flag the connections of read-only transactions only")
+    void getConnection_ShouldSetReadOnly_ForReadOnlyTransactions() throws Exception {
+        dataSource.getConnection();
+        verify(authConnection, never()).setReadOnly(anyBoolean());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        dataSource.getConnection();
+        verify(authConnection).setReadOnly(true);
+    }
+}
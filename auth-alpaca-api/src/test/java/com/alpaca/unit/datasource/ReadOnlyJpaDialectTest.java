@@ -0,0 +1,82 @@
+package com.alpaca.unit.datasource;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+import com.alpaca.datasource.ReadOnlyJpaDialect;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import org.hibernate.FlushMode;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+/** Unit tests for {@link ReadOnlyJpaDialect}. */
+@DisplayName("ReadOnlyJpaDialect Unit Tests")
+class ReadOnlyJpaDialectTest {
+
+    private EntityManager entityManager;
+
+    private SessionImplementor session;
+
+    private ReadOnlyJpaDialect dialect;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        session = mock(SessionImplementor.class);
+        when(entityManager.unwrap(SessionImplementor.class)).thenReturn(session);
+        when(entityManager.getDelegate()).thenReturn(session);
+        when(entityManager.getTransaction()).thenReturn(mock(EntityTransaction.class));
+        when(session.getHibernateFlushMode()).thenReturn(FlushMode.AUTO);
+        JdbcCoordinator jdbcCoordinator = mock(JdbcCoordinator.class, RETURNS_DEEP_STUBS);
+        when(jdbcCoordinator.getLogicalConnection().getConnectionHandlingMode())
+                .thenReturn(
+                        PhysicalConnectionHandlingMode
+                                .DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+        when(session.getJdbcCoordinator()).thenReturn(jdbcCoordinator);
+        dialect = new ReadOnlyJpaDialect();
+    }
+
+    @Test
+    @DisplayName("beginTransaction should make a pre-bound session read-only until cleanup")
+    void beginTransaction_ShouldSetSessionReadOnly() throws Exception {
+        Object transactionData = dialect.beginTransaction(entityManager, definition(true));
+
+        verify(session).setDefaultReadOnly(true);
+        verify(session).setHibernateFlushMode(FlushMode.MANUAL);
+
+        dialect.cleanupTransaction(transactionData);
+
+        verify(session).setDefaultReadOnly(false);
+        verify(session).setHibernateFlushMode(FlushMode.AUTO);
+    }
+
+    @Test
+    @DisplayName("beginTransaction should leave the session of write transactions untouched")
+    void beginTransaction_ShouldIgnoreWriteTransactions() throws Exception {
+        dialect.cleanupTransaction(dialect.beginTransaction(entityManager, definition(false)));
+
+        verify(session, never()).setDefaultReadOnly(anyBoolean());
+    }
+
+    @Test
+    @DisplayName("cleanupTransaction should keep a session that was already read-only")
+    void cleanupTransaction_ShouldKeepReadOnlySession() throws Exception {
+        when(session.isDefaultReadOnly()).thenReturn(true);
+
+        dialect.cleanupTransaction(dialect.beginTransaction(entityManager, definition(true)));
+
+        verify(session, never()).setDefaultReadOnly(anyBoolean());
+    }
+
+    private static DefaultTransactionDefinition definition(boolean readOnly) {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(readOnly);
+        return definition;
+    }
+}
@@ -0,0 +1,204 @@
+package com.alpaca.unit.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.alpaca.datasource.ConnectionPoolContext;
+import com.alpaca.datasource.ReplicaRouter;
+import com.alpaca.model.UserPrincipal;
+import com.alpaca.security.filter.JwtTokenValidatorFilter;
+import com.alpaca.security.manager.JJwtManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/** Unit tests for {@link ReplicaRouter}. */
+@DisplayName("ReplicaRouter Unit Tests")
+class ReplicaRouterTest {
+
+    private static final Duration MAX_LAG = Duration.ofMillis(1000);
+
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    private DriverManagerDataSource replica;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        replica = new DriverManagerDataSource("jdbc:h2:mem:replica-router;DB_CLOSE_DELAY=-1");
+        meterRegistry = new SimpleMeterRegistry();
+        ConnectionPoolContext.allowReplica(true);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ConnectionPoolContext.allowReplica(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("shouldRead should route eligible read-only transactions to a healthy replica")
+    void shouldRead_ShouldReturnTrue_WhenEligible() {
+        ReplicaRouter router = router("SELECT 0");
+        router.checkLag();
+
+        assertTrue(router.shouldRead());
+        assertEquals(1, meterRegistry.counter("datasource.replica.reads").count());
+        assertEquals(0, meterRegistry.get("datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    @DisplayName("shouldRead should keep writes and methods without annotation on the primary")
+    void shouldRead_ShouldReturnFalse_WhenNotEligible() {
+        ReplicaRouter router = router("SELECT 0");
+        router.checkLag();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertFalse(router.shouldRead());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ConnectionPoolContext.allowReplica(false);
+        assertFalse(router.shouldRead());
+        assertEquals(0, meterRegistry.counter("datasource.replica.reads").count());
+    }
+
+    @Test
+    @DisplayName("shouldRead should never route without a replica")
+    void shouldRead_ShouldReturnFalse_WithoutReplica() {
+        ReplicaRouter router = new ReplicaRouter(null, "SELECT 0", MAX_LAG, WINDOW, meterRegistry);
+        router.checkLag();
+
+        assertFalse(router.shouldRead());
+        assertNull(meterRegistry.find("datasource.replica.lag").gauge());
+    }
+
+    @Test
+    @DisplayName("shouldRead should fall back to the primary while the replica lags or is unknown")
+    void shouldRead_ShouldFallBack_WhenLagging() {
+        assertFalse(router("SELECT 5000").shouldRead());
+
+        ReplicaRouter lagging = router("SELECT 5000");
+        lagging.checkLag();
+        assertFalse(lagging.shouldRead());
+
+        ReplicaRouter unknown = router("SELECT NULL");
+        unknown.checkLag();
+        assertFalse(unknown.shouldRead());
+
+        ReplicaRouter failing = router("SELECT missing FROM nowhere");
+        failing.checkLag();
+        assertFalse(failing.shouldRead());
+        assertTrue(Double.isNaN(meterRegistry.get("datasource.replica.lag").gauge().value()));
+        assertEquals(
+                4, meterRegistry.counter("datasource.replica.fallbacks", "reason", "lag").count());
+    }
+
+    @Test
+    @DisplayName("shouldRead should keep the reads of a user on the primary after their write")
+    void shouldRead_ShouldFallBack_AfterOwnWrite() {
+        ReplicaRouter router = router("SELECT 0");
+        router.checkLag();
+        UUID writer = UUID.randomUUID();
+        authenticate(writer);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.initSynchronization();
+
+        router.recordWrite();
+
+        List<TransactionSynchronization> synchronizations =
+                TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertTrue(router.shouldRead());
+
+        synchronizations.getFirst().afterCommit();
+
+        assertFalse(router.shouldRead());
+        authenticate(UUID.randomUUID());
+        assertTrue(router.shouldRead());
+        assertEquals(
+                1,
+                meterRegistry
+                        .counter("datasource.replica.fallbacks", "reason", "read-your-writes")
+                        .count());
+    }
+
+    @Test
+    @DisplayName("recordWrite should ignore anonymous and read-only transactions")
+    void recordWrite_ShouldIgnoreReadsAndAnonymous() {
+        ReplicaRouter router = router("SELECT 0");
+        TransactionSynchronizationManager.initSynchronization();
+
+        router.recordWrite();
+        authenticate(UUID.randomUUID());
+        router.recordWrite();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+        router.recordWrite();
+
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    @DisplayName("shouldRead and recordWrite should not verify a deferred Bearer token")
+    void shouldRead_ShouldSkipReadYourWrites_WhenTokenIsDeferred() throws Exception {
+        ReplicaRouter router = router("SELECT 0");
+        router.checkLag();
+        JJwtManager jwtManager = mock(JJwtManager.class);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + "a".repeat(130));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        new JwtTokenValidatorFilter(jwtManager)
+                .doFilter(
+                        request,
+                        new MockHttpServletResponse(),
+                        (_, _) -> {
+                            assertTrue(router.shouldRead());
+                            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+                            TransactionSynchronizationManager.initSynchronization();
+                            router.recordWrite();
+                        });
+
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+        verifyNoInteractions(jwtManager);
+    }
+
+    private ReplicaRouter router(String lagQuery) {
+        return new ReplicaRouter(replica, lagQuery, MAX_LAG, WINDOW, meterRegistry);
+    }
+
+    private static void authenticate(UUID userId) {
+        UserPrincipal principal = new UserPrincipal();
+        principal.setUserId(userId);
+        SecurityContextHolder.getContext()
+                .setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+}
@@ -0,0 +1,77 @@
+package com.alpaca.unit.exception;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.exception.AuthFailure;
+import com.alpaca.exception.BadRequestException;
+import com.alpaca.exception.UnauthorizedException;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/** Unit tests for {@link AuthFailure}. */
+@DisplayName("AuthFailure Unit Tests")
+class AuthFailureTest {
+
+    private final JsonMapper jsonMapper = new JsonMapper();
+
+    @Test
+    @DisplayName("exception should return the same stackless instance of the failure type")
+    void exception_ShouldReturnSharedStacklessInstance() {
+        for (AuthFailure failure : AuthFailure.values()) {
+            assertSame(failure.exception(), failure.exception());
+            assertEquals(0, failure.exception().getStackTrace().length);
+            assertEquals(failure.status(), failure.exception().getStatusCode());
+            assertSame(failure, AuthFailure.of(failure.exception()));
+            Class<?> type =
+                    failure.status() == HttpStatus.UNAUTHORIZED
+                            ? UnauthorizedException.class
+                            : BadRequestException.class;
+            assertInstanceOf(type, failure.exception());
+        }
+        assertEquals(
+                "Invalid Access Token", AuthFailure.INVALID_ACCESS_TOKEN.exception().getReason());
+    }
+
+    @Test
+    @DisplayName("of should return null for exceptions created per throw")
+    void of_ShouldReturnNull_ForOtherExceptions() {
+        assertNull(AuthFailure.of(new UnauthorizedException("Invalid Access Token")));
+        assertNull(AuthFailure.of(null));
+    }
+
+    @Test
+    @DisplayName("body should render the fields of the error response as valid JSON")
+    void body_ShouldRenderErrorResponseFields() {
+        LocalDateTime before = LocalDateTime.now();
+
+        JsonNode body = jsonMapper.readTree(AuthFailure.TOKEN_INVALID.body("uri=/api/auth/\"me\\"));
+
+        assertEquals("uri=/api/auth/\"me\\", body.get("apiPath").asString());
+        assertEquals("Token Invalid, Unauthorized", body.get("message").asString());
+        LocalDateTime errorTime = LocalDateTime.parse(body.get("errorTime").asString());
+        assertFalse(errorTime.isBefore(before));
+        assertEquals(3, body.size());
+    }
+
+    @Test
+    @DisplayName("write should answer the response with the status and the JSON body")
+    void write_ShouldWriteStatusAndBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        AuthFailure.INVALID_ACCESS_TOKEN.write(request, response);
+
+        assertEquals(401, response.getStatus());
+        assertEquals("application/json", response.getContentType());
+        JsonNode body = jsonMapper.readTree(response.getContentAsString());
+        assertEquals("uri=/api/users", body.get("apiPath").asString());
+        assertEquals("Invalid Access Token", body.get("message").asString());
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+    }
+}
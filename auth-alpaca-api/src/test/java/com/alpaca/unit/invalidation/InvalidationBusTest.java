@@ -0,0 +1,187 @@
+package com.alpaca.unit.invalidation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.alpaca.invalidation.InvalidationBus;
+import com.alpaca.invalidation.InvalidationEvent;
+import com.alpaca.invalidation.InvalidationListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.mock.env.MockEnvironment;
+
+/** Unit tests for {@link InvalidationBus}. */
+@DisplayName("InvalidationBus Unit Tests")
+class InvalidationBusTest {
+
+    private static final String CHANNEL = "alpaca_invalidation";
+
+    private JdbcTemplate jdbcTemplate;
+
+    private InvalidationListener roleListener;
+
+    private InvalidationListener tokenListener;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        roleListener = mock(InvalidationListener.class);
+        when(roleListener.invalidationTypes()).thenReturn(Set.of(InvalidationEvent.Type.ROLE));
+        tokenListener = mock(InvalidationListener.class);
+        when(tokenListener.invalidationTypes())
+                .thenReturn(Set.of(InvalidationEvent.Type.TOKEN_FAMILY));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("publish should notify the channel inside the current transaction")
+    void publish_ShouldNotifyChannel() {
+        InvalidationBus bus = bus(true);
+
+        bus.publish(InvalidationEvent.Type.ROLE, "role-id", 42L);
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate)
+                .query(
+                        eq("SELECT pg_notify(?, ?)"),
+                        any(RowCallbackHandler.class),
+                        eq(CHANNEL),
+                        payload.capture());
+        InvalidationEvent event = InvalidationEvent.decode(payload.getValue());
+        assertNotNull(event);
+        assertEquals(InvalidationEvent.Type.ROLE, event.type());
+        assertEquals("role-id", event.key());
+        assertEquals(42L, event.timestamp());
+        assertEquals(1.0, meterRegistry.counter("invalidation.bus.published").count());
+    }
+
+    @Test
+    @DisplayName("publish should do nothing when the bus is disabled")
+    void publish_ShouldDoNothing_WhenDisabled() {
+        InvalidationBus bus = bus(false);
+
+        bus.publish(InvalidationEvent.Type.ROLE, "role-id");
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("dispatch should route events to the listeners of their type")
+    void dispatch_ShouldRouteByType() {
+        InvalidationBus bus = bus(true);
+        InvalidationEvent event =
+                new InvalidationEvent(
+                        InvalidationEvent.Type.TOKEN_FAMILY,
+                        "family-id",
+                        System.currentTimeMillis(),
+                        "other-node");
+
+        bus.dispatch(event.encode());
+
+        verify(tokenListener).onInvalidation(event);
+        verify(roleListener, never()).onInvalidation(any());
+        assertEquals(1.0, meterRegistry.counter("invalidation.bus.received").count());
+        Timer lag = meterRegistry.find("invalidation.bus.lag").tag("type", "TOKEN_FAMILY").timer();
+        assertNotNull(lag);
+        assertEquals(1, lag.count());
+    }
+
+    @Test
+    @DisplayName("dispatch should skip the events published by this replica")
+    void dispatch_ShouldSkipOwnEvents() {
+        InvalidationBus bus = bus(true);
+        bus.publish(InvalidationEvent.Type.ROLE, "role-id");
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate)
+                .query(anyString(), any(RowCallbackHandler.class), eq(CHANNEL), payload.capture());
+
+        bus.dispatch(payload.getValue());
+
+        verify(roleListener, never()).onInvalidation(any());
+        assertEquals(0.0, meterRegistry.counter("invalidation.bus.received").count());
+    }
+
+    @Test
+    @DisplayName("dispatch should keep going when a listener fails")
+    void dispatch_ShouldIsolateListenerFailures() {
+        InvalidationListener failing = mock(InvalidationListener.class);
+        when(failing.invalidationTypes()).thenReturn(Set.of(InvalidationEvent.Type.ROLE));
+        doThrow(new IllegalStateException("boom")).when(failing).onInvalidation(any());
+        InvalidationBus bus = bus(true, failing, roleListener);
+        InvalidationEvent event =
+                new InvalidationEvent(InvalidationEvent.Type.ROLE, "role-id", 0, "other-node");
+
+        assertDoesNotThrow(() -> bus.dispatch(event.encode()));
+
+        verify(roleListener).onInvalidation(event);
+    }
+
+    @Test
+    @DisplayName("dispatch should ignore unknown payloads")
+    void dispatch_ShouldIgnoreUnknownPayloads() {
+        InvalidationBus bus = bus(true);
+
+        bus.dispatch("garbage");
+
+        verify(roleListener, never()).onInvalidation(any());
+        verify(tokenListener, never()).onInvalidation(any());
+    }
+
+    @Test
+    @DisplayName("constructor should reject channel names that need quoting")
+    void constructor_ShouldRejectInvalidChannel() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        new InvalidationBus(
+                                jdbcTemplate,
+                                beanFactory.getBeanProvider(InvalidationListener.class),
+                                beanFactory.getBeanProvider(MeterRegistry.class),
+                                true,
+                                "alpaca; DROP TABLE users",
+                                new DataSourceProperties(),
+                                beanFactory.getBeanProvider(JdbcConnectionDetails.class),
+                                new MockEnvironment(),
+                                1000));
+    }
+
+    private InvalidationBus bus(boolean enabled) {
+        return bus(enabled, roleListener, tokenListener);
+    }
+
+    private InvalidationBus bus(boolean enabled, InvalidationListener... listeners) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        for (int i = 0; i < listeners.length; i++) {
+            beanFactory.addBean("listener" + i, listeners[i]);
+        }
+        return new InvalidationBus(
+                jdbcTemplate,
+                beanFactory.getBeanProvider(InvalidationListener.class),
+                beanFactory.getBeanProvider(MeterRegistry.class),
+                enabled,
+                CHANNEL,
+                new DataSourceProperties(),
+                beanFactory.getBeanProvider(JdbcConnectionDetails.class),
+                new MockEnvironment(),
+                1000);
+    }
+}
@@ -0,0 +1,48 @@
+package com.alpaca.unit.invalidation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.invalidation.InvalidationEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link InvalidationEvent}. */
+@DisplayName("InvalidationEvent Unit Tests")
+class InvalidationEventTest {
+
+    @Test
+    @DisplayName("decode should read back an encoded event")
+    void decode_ShouldReadEncodedEvent() {
+        InvalidationEvent event =
+                new InvalidationEvent(
+                        InvalidationEvent.Type.TOKEN_FAMILY,
+                        "0190f3a4-0000-7000-8000-000000000001",
+                        1_800_000_000_000L,
+                        "node-a");
+
+        assertEquals(event, InvalidationEvent.decode(event.encode()));
+    }
+
+    @Test
+    @DisplayName("decode should keep an empty key")
+    void decode_ShouldKeepEmptyKey() {
+        InvalidationEvent event =
+                new InvalidationEvent(InvalidationEvent.Type.AUTHORITIES, "", 42L, "node-a");
+
+        InvalidationEvent decoded = InvalidationEvent.decode(event.encode());
+
+        assertNotNull(decoded);
+        assertEquals("", decoded.key());
+        assertEquals(InvalidationEvent.Type.AUTHORITIES, decoded.type());
+    }
+
+    @Test
+    @DisplayName("decode should ignore malformed payloads and unknown types")
+    void decode_ShouldReturnNull_WhenInvalid() {
+        assertNull(InvalidationEvent.decode(null));
+        assertNull(InvalidationEvent.decode(""));
+        assertNull(InvalidationEvent.decode("node-a|ROLE"));
+        assertNull(InvalidationEvent.decode("node-a|ROLE|not-a-number|key"));
+        assertNull(InvalidationEvent.decode("node-a|UNKNOWN|42|key"));
+    }
+}
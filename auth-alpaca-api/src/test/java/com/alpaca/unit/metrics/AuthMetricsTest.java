@@ -0,0 +1,124 @@
+package com.alpaca.unit.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.alpaca.metrics.AuthMetrics;
+import com.alpaca.metrics.AuthMetrics.CleanupTable;
+import com.alpaca.metrics.AuthMetrics.PasswordOperation;
+import com.alpaca.metrics.AuthMetrics.RotationOutcome;
+import com.alpaca.metrics.AuthMetrics.SessionAdmission;
+import com.alpaca.metrics.AuthMetrics.TokenType;
+import com.alpaca.security.exchange.IExchangeCodeStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+/** Unit tests for {@link AuthMetrics}. */
+class AuthMetricsTest {
+
+    private MeterRegistry meterRegistry;
+
+    private AuthMetrics authMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        authMetrics = new AuthMetrics(beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    @DisplayName("Every meter is registered up front with one tag value per constant")
+    void constructor_ShouldRegisterEveryMeter() {
+        assertThat(meterRegistry.get("auth.jwt.sign").timers()).hasSize(2);
+        assertThat(meterRegistry.get("auth.jwt.verify").timers()).hasSize(2);
+        assertThat(meterRegistry.get("auth.password.hash").timers()).hasSize(2);
+        assertThat(meterRegistry.get("auth.ratelimit").counters()).hasSize(2);
+        assertThat(meterRegistry.get("auth.refresh.rotation").counters())
+                .hasSize(RotationOutcome.values().length);
+        assertThat(meterRegistry.get("auth.session.admission").counters())
+                .hasSize(SessionAdmission.values().length);
+        assertThat(meterRegistry.get("cleanup.deleted").counters())
+                .hasSize(CleanupTable.values().length);
+        assertThat(meterRegistry.get("cleanup.deleted").tag("table", "refresh-tokens").counter())
+                .isNotNull();
+    }
+
+    @Test
+    @DisplayName("Timers record under the tag of their kind")
+    void recordTimers_ShouldRecordUnderTag() {
+        long start = System.nanoTime();
+
+        authMetrics.recordJwtSign(TokenType.ACCESS, start);
+        authMetrics.recordJwtVerify(TokenType.REFRESH, start);
+        authMetrics.recordPasswordHash(PasswordOperation.MATCH, start);
+
+        assertThat(meterRegistry.get("auth.jwt.sign").tag("type", "access").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("auth.jwt.sign").tag("type", "refresh").timer().count())
+                .isZero();
+        assertThat(meterRegistry.get("auth.jwt.verify").tag("type", "refresh").timer().count())
+                .isEqualTo(1);
+        assertThat(
+                        meterRegistry
+                                .get("auth.password.hash")
+                                .tag("operation", "match")
+                                .timer()
+                                .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Counters count under the tag of their outcome")
+    void recordCounters_ShouldCountUnderTag() {
+        authMetrics.recordRateLimit(true);
+        authMetrics.recordRateLimit(false);
+        authMetrics.recordRateLimit(false);
+        authMetrics.recordRotation(RotationOutcome.REUSE);
+        authMetrics.recordSessionAdmission(SessionAdmission.EVICTED);
+        authMetrics.recordCleanup(CleanupTable.EXCHANGE_CODES, 4);
+
+        assertThat(meterRegistry.get("auth.ratelimit").tag("result", "allowed").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("auth.ratelimit").tag("result", "denied").counter().count())
+                .isEqualTo(2);
+        assertThat(
+                        meterRegistry
+                                .get("auth.refresh.rotation")
+                                .tag("outcome", "reuse")
+                                .counter()
+                                .count())
+                .isEqualTo(1);
+        assertThat(
+                        meterRegistry
+                                .get("auth.session.admission")
+                                .tag("outcome", "evicted")
+                                .counter()
+                                .count())
+                .isEqualTo(1);
+        assertThat(
+                        meterRegistry
+                                .get("cleanup.deleted")
+                                .tag("table", "exchange-codes")
+                                .counter()
+                                .count())
+                .isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("The pending gauge reads the exchange code store")
+    void registerExchangeCodeStore_ShouldGaugePendingCodes() {
+        IExchangeCodeStore store = mock(IExchangeCodeStore.class);
+        when(store.pendingCodes()).thenReturn(7L);
+
+        authMetrics.registerExchangeCodeStore(store);
+
+        assertThat(meterRegistry.get("auth.exchange.codes.pending").gauge().value()).isEqualTo(7);
+    }
+}
@@ -0,0 +1,90 @@
+package com.alpaca.unit.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.metrics.QueryBudget;
+import com.alpaca.metrics.QueryBudgetFilter;
+import com.alpaca.metrics.QueryBudgetProperties;
+import com.alpaca.metrics.QueryBudgetProperties.Route;
+import jakarta.servlet.DispatcherType;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/** Unit tests for {@link QueryBudgetFilter}. */
+@DisplayName("QueryBudgetFilter Unit Tests")
+class QueryBudgetFilterTest {
+
+    private final QueryBudgetFilter filter =
+            new QueryBudgetFilter(
+                    new QueryBudgetProperties(
+                            true,
+                            false,
+                            3,
+                            Map.of(
+                                    "/api/auth/**", new Route(10, null),
+                                    "/api/auth/rotate", new Route(1, null))));
+
+    /**
+     * Runs a request through the filter, adding the given number of statements.
+     *
+     * @param path the path of the request
+     * @param statements the statements run by the request
+     * @return the budget of the request
+     */
+    private QueryBudget filter(String path, int statements) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        filter.doFilter(
+                request,
+                new MockHttpServletResponse(),
+                (req, res) -> {
+                    for (int i = 0; i < statements; i++) {
+                        QueryBudget.of(request).add("select " + i);
+                    }
+                });
+        return QueryBudget.of(request);
+    }
+
+    @Test
+    @DisplayName("doFilter should apply the budget of the most specific matching route")
+    void doFilter_ShouldApplyMostSpecificRoute() throws Exception {
+        assertTrue(filter("/api/auth/rotate", 2).isOverStatements());
+        assertFalse(filter("/api/auth/login", 2).isOverStatements());
+    }
+
+    @Test
+    @DisplayName("doFilter should only check repeats of routes without budget")
+    void doFilter_ShouldNotLimitUnknownRoutes() throws Exception {
+        QueryBudget budget = filter("/api/users", 20);
+
+        assertFalse(budget.isOverStatements());
+        assertTrue(budget.summary().startsWith("route=/api/users, statements=20, budget=-1"));
+    }
+
+    @Test
+    @DisplayName("doFilter should keep counting a parked request on its ASYNC dispatch")
+    void doFilter_ShouldKeepBudgetOfParkedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/rotate");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, response, (req, res) -> request.startAsync(req, res));
+        QueryBudget budget = QueryBudget.of(request);
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        request.setAsyncStarted(false);
+        filter.doFilter(
+                request,
+                response,
+                (req, res) -> {
+                    QueryBudget.of(request).add("select 1");
+                    QueryBudget.of(request).add("select 2");
+                });
+
+        assertSame(budget, QueryBudget.of(request));
+        assertEquals(2, budget.statements());
+        assertTrue(budget.isOverStatements());
+    }
+}
@@ -0,0 +1,119 @@
+package com.alpaca.unit.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.exception.InternalErrorException;
+import com.alpaca.metrics.QueryBudget;
+import com.alpaca.metrics.QueryBudgetInspector;
+import com.alpaca.metrics.QueryBudgetProperties.Route;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/** Unit tests for {@link QueryBudget} and the {@link QueryBudgetInspector}. */
+@DisplayName("QueryBudget Unit Tests")
+class QueryBudgetTest {
+
+    private static final String SELECT_TOKEN = "select * from refresh_tokens where token_hash=?";
+
+    private static final String SELECT_USER = "select * from users where id=?";
+
+    private final QueryBudgetInspector inspector = new QueryBudgetInspector();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("add should report statements over the budget of the route")
+    void add_ShouldReportStatementsOverBudget() {
+        QueryBudget budget =
+                QueryBudget.start(
+                        new MockHttpServletRequest(),
+                        "/api/auth/rotate",
+                        new Route(2, null),
+                        3,
+                        false);
+
+        budget.add(SELECT_TOKEN);
+        budget.add(SELECT_USER);
+        assertFalse(budget.isOverStatements());
+
+        budget.add(SELECT_USER);
+
+        assertEquals(3, budget.statements());
+        assertTrue(budget.isOverStatements());
+        assertFalse(budget.isOverRepeats());
+        assertTrue(budget.summary().startsWith("route=/api/auth/rotate, statements=3, budget=2"));
+    }
+
+    @Test
+    @DisplayName("add should report a statement repeated more than the allowed repeats")
+    void add_ShouldReportRepeatedStatement() {
+        QueryBudget budget =
+                QueryBudget.start(
+                        new MockHttpServletRequest(), "/api/users", Route.UNLIMITED, 2, false);
+
+        budget.add(SELECT_TOKEN);
+        for (int i = 0; i < 3; i++) {
+            budget.add(SELECT_USER);
+        }
+
+        assertFalse(budget.isOverStatements());
+        assertTrue(budget.isOverRepeats());
+        assertTrue(
+                budget.summary()
+                        .endsWith("repeats=3, maxRepeats=2, repeatedStatement=" + SELECT_USER));
+    }
+
+    @Test
+    @DisplayName("add should fail the statement over budget in strict mode")
+    void add_ShouldFailOverBudgetWhenStrict() {
+        QueryBudget budget =
+                QueryBudget.start(
+                        new MockHttpServletRequest(), "/api/auth/me", new Route(0, null), 3, true);
+
+        InternalErrorException exception =
+                assertThrows(InternalErrorException.class, () -> budget.add(SELECT_USER));
+
+        assertTrue(exception.getReason().contains("route=/api/auth/me, statements=1, budget=0"));
+    }
+
+    @Test
+    @DisplayName("isOverLatency should compare the elapsed time with the latency of the route")
+    void isOverLatency_ShouldCompareWithRouteLatency() {
+        QueryBudget limited =
+                QueryBudget.start(
+                        new MockHttpServletRequest(),
+                        "/api/auth/me",
+                        new Route(-1, Duration.ofSeconds(1)),
+                        3,
+                        false);
+        QueryBudget unlimited =
+                QueryBudget.start(
+                        new MockHttpServletRequest(), "/api/auth/me", Route.UNLIMITED, 3, false);
+
+        assertFalse(limited.isOverLatency(Duration.ofMillis(1000)));
+        assertTrue(limited.isOverLatency(Duration.ofMillis(1001)));
+        assertFalse(unlimited.isOverLatency(Duration.ofHours(1)));
+    }
+
+    @Test
+    @DisplayName("inspect should count statements of the current request and return them unchanged")
+    void inspect_ShouldCountStatementsOfCurrentRequest() {
+        assertEquals(SELECT_USER, inspector.inspect(SELECT_USER));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        QueryBudget budget = QueryBudget.start(request, "/api/auth/me", Route.UNLIMITED, 3, false);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertEquals(SELECT_USER, inspector.inspect(SELECT_USER));
+        assertSame(budget, QueryBudget.current());
+        assertEquals(1, budget.statements());
+    }
+}
@@ -0,0 +1,62 @@
+package com.alpaca.unit.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.metrics.ServerTiming;
+import com.alpaca.metrics.ServerTimingFilter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/** Unit tests for {@link ServerTimingFilter}. */
+@DisplayName("ServerTimingFilter Unit Tests")
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter();
+
+    @Test
+    @DisplayName("doFilter should answer the header before the buffered body")
+    void doFilter_ShouldAnswerHeaderAndBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain =
+                (req, res) -> {
+                    ServerTiming.of(request).add(ServerTiming.Stage.BCRYPT, 400_000_000);
+                    res.getWriter().write("{\"accessToken\":\"a\"}");
+                };
+
+        filter.doFilter(request, response, chain);
+
+        assertTrue(response.getHeader(ServerTiming.HEADER).startsWith("bcrypt;dur=400.000, total"));
+        assertEquals("{\"accessToken\":\"a\"}", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("doFilter should answer the header of a parked request on its ASYNC dispatch")
+    void doFilter_ShouldAnswerParkedRequestOnAsyncDispatch() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        request.setAsyncSupported(true);
+        FilterChain[] parkedResponse = new FilterChain[1];
+
+        filter.doFilter(
+                request,
+                response,
+                (req, res) -> {
+                    request.startAsync(req, res);
+                    parkedResponse[0] = (r, s) -> s.getWriter().write("ok");
+                });
+
+        assertNull(response.getHeader(ServerTiming.HEADER));
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        request.setAsyncStarted(false);
+        filter.doFilter(request, request.getAsyncContext().getResponse(), parkedResponse[0]);
+
+        assertTrue(response.getHeader(ServerTiming.HEADER).startsWith("queue;dur="));
+        assertEquals("ok", response.getContentAsString());
+    }
+}
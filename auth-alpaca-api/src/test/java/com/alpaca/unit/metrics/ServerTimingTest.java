@@ -0,0 +1,89 @@
+package com.alpaca.unit.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.metrics.ServerTiming;
+import com.alpaca.metrics.ServerTiming.Stage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/** Unit tests for {@link ServerTiming}. */
+@DisplayName("ServerTiming Unit Tests")
+class ServerTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("finish should list the recorded stages in order, then the total")
+    void finish_ShouldListRecordedStages() {
+        ServerTiming timing = ServerTiming.start(new MockHttpServletRequest());
+
+        timing.add(Stage.TOKEN_SIGN, 2_500_000);
+        timing.add(Stage.BCRYPT, 400_000_000);
+        timing.add(Stage.BCRYPT, 1_000_000);
+
+        String header = timing.finish();
+
+        assertTrue(header.startsWith("bcrypt;dur=401.000, sign;dur=2.500, total;dur="), header);
+        assertFalse(header.contains("jwt"));
+    }
+
+    @Test
+    @DisplayName("record should add to the request bound to the current thread")
+    void record_ShouldAddToCurrentRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        ServerTiming timing = ServerTiming.start(request);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        ServerTiming.record(Stage.DB_STATEMENT, 3_000_000);
+
+        assertSame(timing, ServerTiming.current());
+        assertEquals(3_000_000, timing.duration(Stage.DB_STATEMENT));
+    }
+
+    @Test
+    @DisplayName("record should do nothing outside of a timed request")
+    void record_ShouldIgnoreUntimedRequests() {
+        assertDoesNotThrow(() -> ServerTiming.record(Stage.DB_STATEMENT, 3_000_000));
+
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertNull(ServerTiming.current());
+        assertDoesNotThrow(() -> ServerTiming.record(Stage.DB_STATEMENT, 3_000_000));
+    }
+
+    @Test
+    @DisplayName("resume should count the time a request was parked as queue")
+    void resume_ShouldCountParkedTime() throws InterruptedException {
+        ServerTiming timing = ServerTiming.start(new MockHttpServletRequest());
+
+        timing.resume();
+        assertEquals(0, timing.duration(Stage.QUEUE));
+
+        timing.park();
+        Thread.sleep(5);
+        timing.resume();
+
+        assertTrue(timing.duration(Stage.QUEUE) >= 5_000_000);
+        assertTrue(timing.finish().startsWith("queue;dur="));
+    }
+
+    @Test
+    @DisplayName("finish should time the serialization from its start")
+    void finish_ShouldTimeSerialization() {
+        ServerTiming timing = ServerTiming.start(new MockHttpServletRequest());
+
+        timing.startSerialization();
+
+        assertTrue(timing.finish().startsWith("ser;dur="));
+        assertTrue(timing.duration(Stage.SERIALIZATION) > 0);
+    }
+}
@@ -0,0 +1,157 @@
+package com.alpaca.unit.metrics.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.alpaca.exception.ServiceUnavailableException;
+import com.alpaca.exception.UnauthorizedException;
+import com.alpaca.metrics.AuthMetrics.CleanupTable;
+import com.alpaca.metrics.AuthMetrics.PasswordOperation;
+import com.alpaca.metrics.jfr.AuthEvent;
+import com.alpaca.metrics.jfr.AuthenticationEvent;
+import com.alpaca.metrics.jfr.CleanupEvent;
+import com.alpaca.metrics.jfr.JwtVerificationEvent;
+import com.alpaca.metrics.jfr.PasswordHashEvent;
+import com.alpaca.metrics.jfr.RefreshRotationEvent;
+import com.alpaca.metrics.jfr.SessionCreationEvent;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for {@link AuthEvent} and the shipped {@code jfr/auth-pipeline.jfc} settings. */
+class AuthEventTest {
+
+    private static final Path SETTINGS = Path.of("jfr", "auth-pipeline.jfc");
+
+    private static final List<Class<? extends AuthEvent>> EVENTS =
+            List.of(
+                    JwtVerificationEvent.class,
+                    PasswordHashEvent.class,
+                    AuthenticationEvent.class,
+                    SessionCreationEvent.class,
+                    RefreshRotationEvent.class,
+                    CleanupEvent.class);
+
+    @TempDir private Path tempDir;
+
+    /**
+     * Runs the given work under a recording using the shipped settings and reads back its events.
+     *
+     * @param work the recorded work
+     * @return the recorded events of the application
+     */
+    private List<RecordedEvent> recordWithSettings(Runnable work) throws Exception {
+        Path file = tempDir.resolve("auth.jfr");
+        try (Recording recording = new Recording(Configuration.create(SETTINGS))) {
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("com.alpaca."))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Events are disabled by default and enabled by the shipped settings")
+    void settings_ShouldEnableEveryEvent() throws Exception {
+        Map<String, String> settings = Configuration.create(SETTINGS).getSettings();
+
+        for (Class<? extends AuthEvent> event : EVENTS) {
+            EventType type = EventType.getEventType(event);
+            assertThat(type.isEnabled()).as(type.getName()).isFalse();
+            assertThat(settings).containsEntry(type.getName() + "#enabled", "true");
+            assertThat(settings).containsEntry(type.getName() + "#threshold", "0 ms");
+        }
+    }
+
+    @Test
+    @DisplayName("record commits the event with ok, or the outcome set by the stage")
+    void record_ShouldCommitOutcome() throws Exception {
+        List<RecordedEvent> events =
+                recordWithSettings(
+                        () -> {
+                            new AuthenticationEvent().record(() -> "user");
+                            SessionCreationEvent session = new SessionCreationEvent();
+                            session.record(() -> session.setOutcome("evicted"));
+                        });
+
+        assertThat(events)
+                .extracting(
+                        event -> event.getEventType().getName(),
+                        event -> event.getString("outcome"))
+                .containsExactly(
+                        tuple("com.alpaca.Authentication", "ok"),
+                        tuple("com.alpaca.SessionCreation", "evicted"));
+    }
+
+    /**
+     * Records a stage failing with the given exception.
+     *
+     * @param event the event of the stage
+     * @param failure the exception thrown by the stage
+     */
+    private static void recordFailure(AuthEvent event, RuntimeException failure) {
+        assertThatThrownBy(
+                        () ->
+                                event.record(
+                                        () -> {
+                                            throw failure;
+                                        }))
+                .isSameAs(failure);
+    }
+
+    @Test
+    @DisplayName("record commits a failed stage with the outcome of its exception")
+    void record_ShouldCommitFailureOutcome() throws Exception {
+        List<RecordedEvent> events =
+                recordWithSettings(
+                        () -> {
+                            recordFailure(
+                                    new JwtVerificationEvent(),
+                                    new UnauthorizedException("Invalid Access Token"));
+                            recordFailure(
+                                    new PasswordHashEvent(PasswordOperation.MATCH),
+                                    new ServiceUnavailableException("Shed"));
+                            recordFailure(
+                                    new RefreshRotationEvent(RefreshRotationEvent.Stage.INSERT),
+                                    new IllegalStateException());
+                        });
+
+        assertThat(events)
+                .extracting(event -> event.getString("outcome"))
+                .containsExactly(AuthEvent.REJECTED, AuthEvent.UNAVAILABLE, AuthEvent.ERROR);
+        assertThat(events.get(1).getString("operation")).isEqualTo("match");
+        assertThat(events.get(2).getString("stage")).isEqualTo("insert");
+    }
+
+    @Test
+    @DisplayName("Events carry their stage fields")
+    void events_ShouldCarryFields() throws Exception {
+        List<RecordedEvent> events =
+                recordWithSettings(
+                        () -> {
+                            PasswordHashEvent hash =
+                                    new PasswordHashEvent(PasswordOperation.ENCODE);
+                            hash.record(() -> hash.setQueueTime(1_000_000L));
+                            CleanupEvent cleanup = new CleanupEvent(CleanupTable.REFRESH_TOKENS);
+                            cleanup.record(() -> cleanup.setDeleted(5));
+                        });
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getString("operation")).isEqualTo("encode");
+        assertThat(events.get(0).getDuration("queueTime").toMillis()).isEqualTo(1);
+        assertThat(events.get(1).getString("table")).isEqualTo("refresh-tokens");
+        assertThat(events.get(1).getInt("deleted")).isEqualTo(5);
+    }
+}
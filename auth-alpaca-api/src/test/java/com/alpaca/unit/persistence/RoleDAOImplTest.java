@@ -1,6 +1,9 @@
 package com.alpaca.unit.persistence;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
@@ -19,6 +22,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 /** Unit tests for {@link RoleDAOImpl}. */
 @ExtendWith(MockitoExtension.class)
@@ -57,6 +64,26 @@ class RoleDAOImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("findByIdWithPermissions Logic")
+    class FindByIdWithPermissionsTests {
+
+        @Test
+        @DisplayName("Should return empty without querying when ID is null")
+        void findByIdWithPermissions_NullId() {
+            assertThat(dao.findByIdWithPermissions(null)).isEmpty();
+            verifyNoInteractions(repo);
+        }
+
+        @Test
+        @DisplayName("Should call repository when ID is valid")
+        void findByIdWithPermissions_Valid() {
+            UUID id = firstEntity.getId();
+            when(repo.findWithPermissionsById(id)).thenReturn(Optional.of(firstEntity));
+            assertThat(dao.findByIdWithPermissions(id)).contains(firstEntity);
+        }
+    }
+
     @Nested
     @DisplayName("existsByUniqueProperties Logic")
     class ExistsByUniquePropertiesTests {
@@ -109,4 +136,28 @@ class RoleDAOImplTest {
         when(repo.countEntitiesIds(ids)).thenReturn(0L);
         assertThat(dao.existsAllByIds(ids)).isFalse();
     }
+
+    @Test
+    @DisplayName("findAllPage: Should load the permissions of the page in one query")
+    void findAllPage_ShouldLoadPermissionsOfPage() {
+        List<Role> roles = RoleProvider.listEntities();
+        roles.forEach(role -> role.setId(UUID.randomUUID()));
+        Pageable pageable = PageRequest.of(0, 10);
+        when(repo.findAll(pageable)).thenReturn(new PageImpl<>(roles, pageable, roles.size()));
+
+        Page<Role> page = dao.findAllPage(pageable);
+
+        assertThat(page.getContent()).isEqualTo(roles);
+        verify(repo).findAllWithPermissionsByIdIn(roles.stream().map(Role::getId).toList());
+    }
+
+    @Test
+    @DisplayName("findAllPage: Should skip the permissions query for an empty page")
+    void findAllPage_ShouldSkipEmptyPage() {
+        Pageable pageable = PageRequest.of(3, 10);
+        when(repo.findAll(pageable)).thenReturn(Page.empty(pageable));
+
+        assertThat(dao.findAllPage(pageable)).isEmpty();
+        verify(repo, never()).findAllWithPermissionsByIdIn(any());
+    }
 }
@@ -2,6 +2,7 @@ package com.alpaca.unit.persistence;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import com.alpaca.entity.User;
@@ -18,6 +19,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 /** Unit tests for {@link UserDAOImpl} implementation. */
 @ExtendWith(MockitoExtension.class)
@@ -59,6 +64,30 @@ class UserDAOImplTest {
         verify(repo).findByEmail(email);
     }
 
+    // --- findAllPage Tests ---
+
+    @Test
+    @DisplayName("Should load the authorities of the page in one query")
+    void findAllPage_ShouldLoadAuthoritiesOfPage() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(repo.findAll(pageable)).thenReturn(new PageImpl<>(List.of(firstEntity), pageable, 1));
+
+        Page<User> page = dao.findAllPage(pageable);
+
+        assertThat(page.getContent()).containsExactly(firstEntity);
+        verify(repo).findAllWithAuthoritiesByIdIn(List.of(id));
+    }
+
+    @Test
+    @DisplayName("Should skip the authorities query for an empty page")
+    void findAllPage_ShouldSkipEmptyPage() {
+        Pageable pageable = PageRequest.of(3, 10);
+        when(repo.findAll(pageable)).thenReturn(Page.empty(pageable));
+
+        assertTrue(dao.findAllPage(pageable).isEmpty());
+        verify(repo, never()).findAllWithAuthoritiesByIdIn(any());
+    }
+
     // --- existsByUniqueProperties Tests ---
 
     @Test
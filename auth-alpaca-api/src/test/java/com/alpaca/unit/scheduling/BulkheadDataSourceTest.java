@@ -0,0 +1,87 @@
+package com.alpaca.unit.scheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.alpaca.scheduling.Bulkhead;
+import com.alpaca.scheduling.BulkheadDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/** Unit tests for {@link BulkheadDataSource}. */
+@DisplayName("BulkheadDataSource Unit Tests")
+class BulkheadDataSourceTest {
+
+    private DataSource target;
+
+    private Connection connection;
+
+    private BulkheadDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource =
+                new BulkheadDataSource(
+                        target,
+                        new Bulkhead(
+                                "connection", 1, Duration.ofMillis(10), new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("getConnection should not bound connections requested outside of a request")
+    void getConnection_ShouldPassThrough_OutsideRequest() throws Exception {
+        assertSame(connection, dataSource.getConnection());
+        assertSame(connection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("getConnection should hold a permit until the connection is closed")
+    void getConnection_ShouldHoldPermitUntilClose() throws Exception {
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        Connection first = dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        first.close();
+        verify(connection).close();
+
+        Connection second = dataSource.getConnection();
+        assertNotNull(second);
+        assertEquals(second, second);
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("getConnection should give the permit back when the pool fails")
+    void getConnection_ShouldReleasePermit_WhenPoolFails() throws Exception {
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(target.getConnection())
+                .thenThrow(new SQLTransientConnectionException("timeout"))
+                .thenReturn(connection);
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        assertNotNull(dataSource.getConnection());
+    }
+}
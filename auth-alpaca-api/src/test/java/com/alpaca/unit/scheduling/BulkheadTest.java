@@ -0,0 +1,87 @@
+package com.alpaca.unit.scheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.exception.ServiceUnavailableException;
+import com.alpaca.scheduling.Bulkhead;
+import com.alpaca.scheduling.RequestDeadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/** Unit tests for {@link Bulkhead}. */
+@DisplayName("Bulkhead Unit Tests")
+class BulkheadTest {
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("call should run the action and give the permit back")
+    void call_ShouldReleasePermit() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofMillis(10), meterRegistry);
+
+        assertEquals("first", bulkhead.call(() -> "first"));
+        assertEquals("second", bulkhead.call(() -> "second"));
+        assertEquals(1, meterRegistry.get("bulkhead.available").gauge().value());
+    }
+
+    @Test
+    @DisplayName("acquire should answer 503 once every permit is taken for the max wait")
+    void acquire_ShouldReject_WhenFull() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofMillis(10), meterRegistry);
+        bulkhead.acquire();
+
+        ServiceUnavailableException exception =
+                assertThrows(ServiceUnavailableException.class, bulkhead::acquire);
+
+        assertEquals(503, exception.getStatusCode().value());
+        assertEquals(1, meterRegistry.counter("bulkhead.rejected", "name", "test").count());
+        bulkhead.release();
+        assertDoesNotThrow(bulkhead::acquire);
+    }
+
+    @Test
+    @DisplayName("acquire should not wait past the deadline of the current request")
+    void acquire_ShouldHonorRequestDeadline() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofMinutes(1), meterRegistry);
+        bulkhead.acquire();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestDeadline.stamp(request, Duration.ofMillis(20));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        long start = System.nanoTime();
+        assertThrows(ServiceUnavailableException.class, bulkhead::acquire);
+
+        assertTrue(
+                Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+    }
+
+    @Test
+    @DisplayName("a bulkhead without permits should let every caller through")
+    void disabled_ShouldNotBound() {
+        Bulkhead bulkhead = new Bulkhead("test", 0, Duration.ZERO, meterRegistry);
+
+        assertFalse(bulkhead.isEnabled());
+        bulkhead.acquire();
+        bulkhead.acquire();
+        bulkhead.release();
+        assertEquals(0, meterRegistry.counter("bulkhead.rejected", "name", "test").count());
+    }
+}
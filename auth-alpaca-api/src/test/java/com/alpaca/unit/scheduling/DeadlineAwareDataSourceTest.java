@@ -0,0 +1,91 @@
+package com.alpaca.unit.scheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.alpaca.exception.ServiceUnavailableException;
+import com.alpaca.scheduling.DeadlineAwareDataSource;
+import com.alpaca.scheduling.LoadShedder;
+import com.alpaca.scheduling.RequestDeadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/** Unit tests for {@link DeadlineAwareDataSource}. */
+@DisplayName("DeadlineAwareDataSource Unit Tests")
+class DeadlineAwareDataSourceTest {
+
+    private DataSource target;
+
+    private Connection connection;
+
+    private DeadlineAwareDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", new SimpleMeterRegistry());
+        dataSource =
+                new DeadlineAwareDataSource(
+                        target, new LoadShedder(beanFactory.getBeanProvider(MeterRegistry.class)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("getConnection should hand out connections outside of a request")
+    void getConnection_ShouldPassThrough_OutsideRequest() throws Exception {
+        assertSame(connection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("getConnection should refuse an expired request before asking the pool")
+    void getConnection_ShouldRefuse_WhenDeadlinePassed() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(
+                RequestDeadline.HEADER, String.valueOf(System.currentTimeMillis() - 1_000));
+        RequestDeadline.stamp(request, Duration.ZERO);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        SQLTransientConnectionException exception =
+                assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        assertInstanceOf(ServiceUnavailableException.class, exception.getCause());
+        verify(target, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("getConnection should give back a connection acquired after the deadline")
+    void getConnection_ShouldReleaseConnection_WhenDeadlinePassedWhileWaiting() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestDeadline.stamp(request, Duration.ofMillis(200));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        when(target.getConnection())
+                .thenAnswer(
+                        _ -> {
+                            Thread.sleep(300);
+                            return connection;
+                        });
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        verify(connection).close();
+    }
+}
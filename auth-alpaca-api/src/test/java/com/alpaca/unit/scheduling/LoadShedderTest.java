@@ -0,0 +1,89 @@
+package com.alpaca.unit.scheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.exception.ServiceUnavailableException;
+import com.alpaca.scheduling.LoadShedder;
+import com.alpaca.scheduling.RequestDeadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/** Unit tests for {@link LoadShedder}. */
+@DisplayName("LoadShedder Unit Tests")
+class LoadShedderTest {
+
+    private MeterRegistry meterRegistry;
+
+    private LoadShedder loadShedder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        loadShedder = new LoadShedder(beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("shouldShed should keep requests within their deadline or without one")
+    void shouldShed_ShouldKeepLiveRequests() {
+        RequestDeadline live = RequestDeadline.stamp(new MockHttpServletRequest(), Duration.ZERO);
+
+        assertFalse(loadShedder.shouldShed(live, LoadShedder.STAGE_QUEUE));
+        assertFalse(loadShedder.shouldShed(null, LoadShedder.STAGE_QUEUE));
+        assertEquals(0, dropped(LoadShedder.STAGE_QUEUE));
+    }
+
+    @Test
+    @DisplayName("shouldShed should count expired requests by stage")
+    void shouldShed_ShouldCountExpiredRequests() {
+        RequestDeadline expired = expired(new MockHttpServletRequest());
+
+        assertTrue(loadShedder.shouldShed(expired, LoadShedder.STAGE_ARRIVAL));
+        assertTrue(loadShedder.shouldShed(expired, LoadShedder.STAGE_QUEUE));
+
+        assertEquals(1, dropped(LoadShedder.STAGE_ARRIVAL));
+        assertEquals(1, dropped(LoadShedder.STAGE_QUEUE));
+    }
+
+    @Test
+    @DisplayName("checkDeadline should throw 503 for an expired request bound to the thread")
+    void checkDeadline_ShouldThrow_WhenCurrentRequestExpired() {
+        assertDoesNotThrow(() -> loadShedder.checkDeadline(LoadShedder.STAGE_PASSWORD));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        expired(request);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        ServiceUnavailableException exception =
+                assertThrows(
+                        ServiceUnavailableException.class,
+                        () -> loadShedder.checkDeadline(LoadShedder.STAGE_PASSWORD));
+        assertEquals(503, exception.getStatusCode().value());
+        assertEquals(1, dropped(LoadShedder.STAGE_PASSWORD));
+    }
+
+    private double dropped(String stage) {
+        return meterRegistry.counter("request.deadline.dropped", "stage", stage).count();
+    }
+
+    private static RequestDeadline expired(MockHttpServletRequest request) {
+        request.addHeader(
+                RequestDeadline.HEADER, String.valueOf(System.currentTimeMillis() - 1_000));
+        return RequestDeadline.stamp(request, Duration.ZERO);
+    }
+}
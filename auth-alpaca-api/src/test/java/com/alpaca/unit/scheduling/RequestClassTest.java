@@ -0,0 +1,48 @@
+package com.alpaca.unit.scheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.scheduling.RequestClass;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/** Unit tests for {@link RequestClass}. */
+@DisplayName("RequestClass Unit Tests")
+class RequestClassTest {
+
+    @Test
+    @DisplayName("of should classify token-only routes")
+    void of_ShouldClassifyTokenOnlyRoutes() {
+        assertEquals(RequestClass.TOKEN_ONLY, RequestClass.of("GET", "/api/auth/me"));
+        assertEquals(RequestClass.TOKEN_ONLY, RequestClass.of("GET", "/api/auth"));
+    }
+
+    @Test
+    @DisplayName("of should classify bcrypt-bound routes")
+    void of_ShouldClassifyCpuHeavyRoutes() {
+        assertEquals(RequestClass.CPU_HEAVY, RequestClass.of("POST", "/api/auth/login"));
+        assertEquals(RequestClass.CPU_HEAVY, RequestClass.of("POST", "/api/auth/register"));
+        assertEquals(RequestClass.CPU_HEAVY, RequestClass.of("POST", "/api/users"));
+        assertEquals(RequestClass.CPU_HEAVY, RequestClass.of("PUT", "/api/users/change-password"));
+    }
+
+    @Test
+    @DisplayName("of should default to DB-light")
+    void of_ShouldDefaultToDbLight() {
+        assertEquals(RequestClass.DB_LIGHT, RequestClass.of("POST", "/api/auth/rotate"));
+        assertEquals(RequestClass.DB_LIGHT, RequestClass.of("POST", "/api/auth/exchange"));
+        assertEquals(RequestClass.DB_LIGHT, RequestClass.of("GET", "/api/sessions/page"));
+        assertEquals(RequestClass.DB_LIGHT, RequestClass.of("PUT", "/api/users/42"));
+        assertEquals(RequestClass.DB_LIGHT, RequestClass.of("DELETE", "/api/auth/me"));
+    }
+
+    @Test
+    @DisplayName("of should ignore the context path")
+    void of_ShouldStripContextPath() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/app/api/auth/login");
+        request.setContextPath("/app");
+
+        assertEquals(RequestClass.CPU_HEAVY, RequestClass.of(request));
+    }
+}
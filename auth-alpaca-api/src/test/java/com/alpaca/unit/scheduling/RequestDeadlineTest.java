@@ -0,0 +1,79 @@
+package com.alpaca.unit.scheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.scheduling.RequestDeadline;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/** Unit tests for {@link RequestDeadline}. */
+@DisplayName("RequestDeadline Unit Tests")
+class RequestDeadlineTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("stamp should never expire without a default timeout nor client deadline")
+    void stamp_ShouldNotExpire_WithoutDeadline() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        RequestDeadline deadline = RequestDeadline.stamp(request, Duration.ZERO);
+
+        assertFalse(deadline.isExpired());
+        assertSame(deadline, RequestDeadline.of(request));
+    }
+
+    @Test
+    @DisplayName("stamp should expire once the default timeout elapsed")
+    void stamp_ShouldExpire_AfterDefaultTimeout() throws InterruptedException {
+        RequestDeadline deadline =
+                RequestDeadline.stamp(new MockHttpServletRequest(), Duration.ofMillis(5));
+
+        Thread.sleep(10);
+
+        assertTrue(deadline.isExpired());
+        assertTrue(deadline.age().toMillis() >= 5);
+    }
+
+    @Test
+    @DisplayName("stamp should keep the earliest of the default timeout and the client deadline")
+    void stamp_ShouldHonorClientDeadline() {
+        MockHttpServletRequest past = new MockHttpServletRequest();
+        past.addHeader(RequestDeadline.HEADER, String.valueOf(System.currentTimeMillis() - 1));
+        MockHttpServletRequest future = new MockHttpServletRequest();
+        future.addHeader(
+                RequestDeadline.HEADER, String.valueOf(System.currentTimeMillis() + 60_000));
+
+        assertTrue(RequestDeadline.stamp(past, Duration.ofMinutes(1)).isExpired());
+        assertFalse(RequestDeadline.stamp(future, Duration.ZERO).isExpired());
+    }
+
+    @Test
+    @DisplayName("stamp should ignore a malformed client deadline")
+    void stamp_ShouldIgnoreMalformedHeader() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestDeadline.HEADER, "soon");
+
+        assertFalse(RequestDeadline.stamp(request, Duration.ZERO).isExpired());
+    }
+
+    @Test
+    @DisplayName("current should return the deadline of the request bound to the thread")
+    void current_ShouldReadBoundRequest() {
+        assertNull(RequestDeadline.current());
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestDeadline deadline = RequestDeadline.stamp(request, Duration.ZERO);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertSame(deadline, RequestDeadline.current());
+    }
+}
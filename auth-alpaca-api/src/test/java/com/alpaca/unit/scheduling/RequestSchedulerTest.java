@@ -0,0 +1,161 @@
+package com.alpaca.unit.scheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.scheduling.RequestClass;
+import com.alpaca.scheduling.RequestScheduler;
+import com.alpaca.scheduling.RequestScheduler.Ticket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+/** Unit tests for {@link RequestScheduler}. */
+@DisplayName("RequestScheduler Unit Tests")
+class RequestSchedulerTest {
+
+    private MeterRegistry meterRegistry;
+
+    private List<RequestClass> admitted;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        admitted = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("tryAdmit should admit requests while slots are free")
+    void tryAdmit_ShouldAdmitWhileSlotsFree() {
+        RequestScheduler scheduler = scheduler(2, 2, 60_000);
+
+        Ticket first = scheduler.tryAdmit(RequestClass.DB_LIGHT);
+        Ticket second = scheduler.tryAdmit(RequestClass.TOKEN_ONLY);
+
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(scheduler.tryAdmit(RequestClass.TOKEN_ONLY));
+    }
+
+    @Test
+    @DisplayName("tryAdmit should keep slots for cheap requests beyond the CPU-heavy limit")
+    void tryAdmit_ShouldCapCpuHeavy() {
+        RequestScheduler scheduler = scheduler(3, 1, 60_000);
+
+        assertNotNull(scheduler.tryAdmit(RequestClass.CPU_HEAVY));
+        assertNull(scheduler.tryAdmit(RequestClass.CPU_HEAVY));
+        assertNotNull(scheduler.tryAdmit(RequestClass.TOKEN_ONLY));
+        assertNotNull(scheduler.tryAdmit(RequestClass.DB_LIGHT));
+    }
+
+    @Test
+    @DisplayName("finish should hand the freed slot to the cheapest waiting class")
+    void finish_ShouldAdmitCheapestClassFirst() {
+        RequestScheduler scheduler = scheduler(1, 1, 60_000);
+        Ticket running = scheduler.tryAdmit(RequestClass.DB_LIGHT);
+        scheduler.enqueue(RequestClass.CPU_HEAVY, this::record);
+        scheduler.enqueue(RequestClass.DB_LIGHT, this::record);
+        scheduler.enqueue(RequestClass.TOKEN_ONLY, this::record);
+
+        scheduler.finish(running);
+
+        assertEquals(List.of(RequestClass.TOKEN_ONLY), admitted);
+        assertEquals(1, scheduler.queueSize(RequestClass.CPU_HEAVY));
+        assertEquals(1, scheduler.queueSize(RequestClass.DB_LIGHT));
+    }
+
+    @Test
+    @DisplayName("finish should admit a starving request before cheaper ones")
+    void finish_ShouldProtectStarvingRequests() throws InterruptedException {
+        RequestScheduler scheduler = scheduler(1, 1, 20);
+        Ticket running = scheduler.tryAdmit(RequestClass.DB_LIGHT);
+        scheduler.enqueue(RequestClass.CPU_HEAVY, this::record);
+        Thread.sleep(40);
+        scheduler.enqueue(RequestClass.TOKEN_ONLY, this::record);
+
+        scheduler.finish(running);
+
+        assertEquals(List.of(RequestClass.CPU_HEAVY), admitted);
+    }
+
+    @Test
+    @DisplayName("enqueue should admit immediately when a slot is free")
+    void enqueue_ShouldAdmitWhenSlotFree() {
+        RequestScheduler scheduler = scheduler(1, 1, 60_000);
+
+        scheduler.enqueue(RequestClass.DB_LIGHT, this::record);
+
+        assertEquals(List.of(RequestClass.DB_LIGHT), admitted);
+        assertEquals(0, scheduler.queueSize(RequestClass.DB_LIGHT));
+    }
+
+    @Test
+    @DisplayName("finish should withdraw a waiting request and ignore repeated calls")
+    void finish_ShouldWithdrawWaitingRequest() {
+        RequestScheduler scheduler = scheduler(1, 1, 60_000);
+        Ticket running = scheduler.tryAdmit(RequestClass.DB_LIGHT);
+        Ticket waiting = scheduler.enqueue(RequestClass.DB_LIGHT, this::record);
+
+        assertTrue(scheduler.finish(waiting));
+        assertFalse(scheduler.finish(waiting));
+        assertEquals(0, scheduler.queueSize(RequestClass.DB_LIGHT));
+
+        scheduler.finish(running);
+        scheduler.finish(running);
+        assertTrue(admitted.isEmpty());
+        assertNotNull(scheduler.tryAdmit(RequestClass.DB_LIGHT));
+        assertNull(scheduler.tryAdmit(RequestClass.DB_LIGHT));
+    }
+
+    @Test
+    @DisplayName("scheduler should export queue depth and wait time per class")
+    void scheduler_ShouldExportMetrics() {
+        RequestScheduler scheduler = scheduler(1, 1, 60_000);
+        Ticket running = scheduler.tryAdmit(RequestClass.DB_LIGHT);
+        scheduler.enqueue(RequestClass.TOKEN_ONLY, this::record);
+
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("request.scheduler.queue")
+                        .tag("class", "TOKEN_ONLY")
+                        .gauge()
+                        .value());
+
+        scheduler.finish(running);
+        scheduler.recordTimeout(RequestClass.CPU_HEAVY);
+
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("request.scheduler.wait")
+                        .tag("class", "TOKEN_ONLY")
+                        .timer()
+                        .count());
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("request.scheduler.timeouts")
+                        .tag("class", "CPU_HEAVY")
+                        .counter()
+                        .count());
+    }
+
+    private void record(Ticket ticket) {
+        admitted.add(ticket.getRequestClass());
+    }
+
+    private RequestScheduler scheduler(int maxConcurrent, int maxCpuHeavy, long starvation) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        return new RequestScheduler(
+                maxConcurrent,
+                maxCpuHeavy,
+                starvation,
+                beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+}
@@ -0,0 +1,140 @@
+package com.alpaca.unit.scheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.alpaca.scheduling.LoadShedder;
+import com.alpaca.scheduling.RequestClass;
+import com.alpaca.scheduling.RequestDeadline;
+import com.alpaca.scheduling.RequestScheduler;
+import com.alpaca.scheduling.RequestScheduler.Ticket;
+import com.alpaca.scheduling.RequestSchedulingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/** Unit tests for {@link RequestSchedulingFilter}. */
+@DisplayName("RequestSchedulingFilter Unit Tests")
+class RequestSchedulingFilterTest {
+
+    private MeterRegistry meterRegistry;
+
+    private RequestScheduler scheduler;
+
+    private RequestSchedulingFilter filter;
+
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        scheduler =
+                new RequestScheduler(
+                        1, 1, 60_000, beanFactory.getBeanProvider(MeterRegistry.class));
+        filter =
+                new RequestSchedulingFilter(
+                        scheduler,
+                        Duration.ofSeconds(30),
+                        new LoadShedder(beanFactory.getBeanProvider(MeterRegistry.class)));
+        chain = mock(FilterChain.class);
+    }
+
+    @Test
+    @DisplayName("doFilter should run admitted requests inline and free their slot")
+    void doFilter_ShouldRunAdmittedRequestInline() throws Exception {
+        MockHttpServletRequest request = request("GET", "/api/auth/me");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        assertFalse(request.isAsyncStarted());
+        assertNotNull(scheduler.tryAdmit(RequestClass.TOKEN_ONLY));
+    }
+
+    @Test
+    @DisplayName("doFilter should park requests without a slot and resume them once admitted")
+    void doFilter_ShouldParkAndResume() throws Exception {
+        Ticket running = scheduler.tryAdmit(RequestClass.DB_LIGHT);
+        MockHttpServletRequest request = request("POST", "/api/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertTrue(request.isAsyncStarted());
+        verifyNoInteractions(chain);
+        assertEquals(1, scheduler.queueSize(RequestClass.CPU_HEAVY));
+
+        scheduler.finish(running);
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        assertNotNull(asyncContext.getDispatchedPath());
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        request.setAsyncStarted(false);
+        filter.doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        assertNotNull(scheduler.tryAdmit(RequestClass.DB_LIGHT));
+    }
+
+    @Test
+    @DisplayName("doFilter should answer 503 when a parked request times out")
+    void doFilter_ShouldRejectOnTimeout() throws Exception {
+        scheduler.tryAdmit(RequestClass.DB_LIGHT);
+        MockHttpServletRequest request = request("GET", "/api/auth/me");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        assertEquals(503, response.getStatus());
+        assertEquals(0, scheduler.queueSize(RequestClass.TOKEN_ONLY));
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    @DisplayName("doFilter should answer 503 when a request is admitted after its deadline")
+    void doFilter_ShouldShedExpiredRequestOnAdmission() throws Exception {
+        Ticket running = scheduler.tryAdmit(RequestClass.DB_LIGHT);
+        MockHttpServletRequest request = request("GET", "/api/auth/me");
+        request.addHeader(
+                RequestDeadline.HEADER, String.valueOf(System.currentTimeMillis() - 1_000));
+        RequestDeadline.stamp(request, Duration.ZERO);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+        scheduler.finish(running);
+
+        assertEquals(503, response.getStatus());
+        assertNull(((MockAsyncContext) request.getAsyncContext()).getDispatchedPath());
+        assertEquals(
+                1,
+                meterRegistry
+                        .counter("request.deadline.dropped", "stage", LoadShedder.STAGE_QUEUE)
+                        .count());
+        assertNotNull(scheduler.tryAdmit(RequestClass.DB_LIGHT));
+        verifyNoInteractions(chain);
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
@@ -0,0 +1,33 @@
+package com.alpaca.unit.scheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.scheduling.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+/** Unit tests for {@link VirtualThreadPinningMonitor}. */
+@DisplayName("VirtualThreadPinningMonitor Unit Tests")
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    @DisplayName("start and stop should open and close the event stream once")
+    void lifecycle_ShouldStartAndStopStream() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", new SimpleMeterRegistry());
+        VirtualThreadPinningMonitor monitor =
+                new VirtualThreadPinningMonitor(
+                        20, beanFactory.getBeanProvider(MeterRegistry.class));
+
+        monitor.start();
+        monitor.start();
+        assertTrue(monitor.isRunning());
+
+        monitor.stop();
+        monitor.stop();
+        assertFalse(monitor.isRunning());
+    }
+}
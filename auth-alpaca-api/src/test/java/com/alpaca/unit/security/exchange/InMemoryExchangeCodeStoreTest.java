@@ -0,0 +1,81 @@
+package com.alpaca.unit.security.exchange;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.model.AuthCode;
+import com.alpaca.security.exchange.InMemoryExchangeCodeStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link InMemoryExchangeCodeStore}. */
+@DisplayName("InMemoryExchangeCodeStore Unit Tests")
+class InMemoryExchangeCodeStoreTest {
+
+    private final AuthCode authCode =
+            new AuthCode("code", "verifier", "http://localhost/callback", "client", "agent", "ip");
+
+    @Test
+    @DisplayName("consume should return the code once")
+    void consume_ShouldReturnCodeOnce() {
+        InMemoryExchangeCodeStore store = new InMemoryExchangeCodeStore(50);
+        store.save("key", authCode);
+
+        assertSame(authCode, store.consume("key").orElseThrow());
+        assertTrue(store.consume("key").isEmpty());
+    }
+
+    @Test
+    @DisplayName("consume should hand a code to a single one of concurrent callers")
+    void consume_ShouldBeAtomic() throws Exception {
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            for (int round = 0; round < 50; round++) {
+                InMemoryExchangeCodeStore store = new InMemoryExchangeCodeStore(50);
+                store.save("key", authCode);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Optional<AuthCode>>> results = new ArrayList<>();
+                for (int i = 0; i < callers; i++) {
+                    Callable<Optional<AuthCode>> consume =
+                            () -> {
+                                start.await();
+                                return store.consume("key");
+                            };
+                    results.add(executor.submit(consume));
+                }
+                start.countDown();
+
+                int consumed = 0;
+                for (Future<Optional<AuthCode>> result : results) {
+                    if (result.get().isPresent()) {
+                        consumed++;
+                    }
+                }
+                assertEquals(1, consumed);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("save should keep the codes of one lifetime at the peak login rate")
+    void save_ShouldBoundSizeFromLoginRate() {
+        InMemoryExchangeCodeStore store = new InMemoryExchangeCodeStore(1);
+        for (int i = 0; i < 60; i++) {
+            store.save("key-" + i, authCode);
+        }
+
+        for (int i = 0; i < 60; i++) {
+            assertTrue(store.consume("key-" + i).isPresent());
+        }
+    }
+}
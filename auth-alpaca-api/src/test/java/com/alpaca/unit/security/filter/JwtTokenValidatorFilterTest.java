@@ -20,6 +20,8 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 /** Unit tests for {@link JwtTokenValidatorFilter}. */
 @DisplayName("JwtTokenValidatorFilter Unit Tests")
@@ -58,6 +60,7 @@ class JwtTokenValidatorFilterTest {
     @AfterEach
     void tearDown() {
         SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
     }
 
     @Test
@@ -88,6 +91,15 @@ class JwtTokenValidatorFilterTest {
         assertFalse(result);
     }
 
+    @Test
+    @DisplayName("isAToken should accept the shortest possible ES256 token")
+    void isAToken_ShouldReturnTrue_ForShortestES256Token() {
+        String token = "Bearer " + "h".repeat(20) + ".p." + "s".repeat(86);
+
+        assertTrue(filter.isAToken(token));
+        assertFalse(filter.isAToken(token.substring(0, token.length() - 1)));
+    }
+
     @Test
     @DisplayName("isAToken should return true when token is valid")
     void isAToken_ShouldReturnTrue_WhenTokenIsValid() {
@@ -124,7 +136,7 @@ class JwtTokenValidatorFilterTest {
     }
 
     @Test
-    @DisplayName("doFilterInternal should throw exception when authentication token is null")
+    @DisplayName("reading the context should throw exception when authentication token is null")
     void doFilterInternal_ShouldThrowException_WhenAuthenticationTokenIsNull()
             throws ServletException, IOException {
 
@@ -135,17 +147,124 @@ class JwtTokenValidatorFilterTest {
 
         when(jwtManager.manageAuthentication(rawToken)).thenReturn(null);
 
+        filter.executeFilter(request, response, filterChain);
+
         UnauthorizedException exception =
+                assertThrows(UnauthorizedException.class, SecurityContextHolder::getContext);
+
+        assertEquals("Invalid Access Token", exception.getReason());
+
+        verify(jwtManager).manageAuthentication(rawToken);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("doFilterInternal should write a 401 when the chain rejects the token")
+    void doFilterInternal_ShouldWriteUnauthorized_WhenChainRejectsToken()
+            throws ServletException, IOException {
+
+        String rawToken = "a".repeat(130);
+        request.setRequestURI("/api/users");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + rawToken);
+        when(jwtManager.manageAuthentication(rawToken)).thenReturn(null);
+        doAnswer(_ -> SecurityContextHolder.getContext())
+                .when(filterChain)
+                .doFilter(request, response);
+
+        filter.executeFilter(request, response, filterChain);
+
+        assertEquals(401, response.getStatus());
+        assertEquals("application/json", response.getContentType());
+        assertTrue(
+                response.getContentAsString()
+                        .startsWith(
+                                "{\"apiPath\":\"uri=/api/users\",\"message\":\"Invalid Access"
+                                        + " Token\""));
+    }
+
+    @Test
+    @DisplayName("doFilterInternal should rethrow other exceptions of the chain")
+    void doFilterInternal_ShouldRethrowOtherExceptions() throws ServletException, IOException {
+
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + "a".repeat(130));
+        UnauthorizedException other = new UnauthorizedException("Invalid Access Token");
+        doThrow(other).when(filterChain).doFilter(request, response);
+
+        assertSame(
+                other,
                 assertThrows(
                         UnauthorizedException.class,
-                        () -> filter.executeFilter(request, response, filterChain));
+                        () -> filter.executeFilter(request, response, filterChain)));
+        assertEquals(200, response.getStatus());
+    }
 
-        assertEquals("Invalid Access Token", exception.getReason());
+    @Test
+    @DisplayName("doFilterInternal should defer token verification until the context is read")
+    void doFilterInternal_ShouldDeferVerification_UntilContextIsRead()
+            throws ServletException, IOException {
 
-        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        String rawToken = "a".repeat(130);
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + rawToken);
+        UsernamePasswordAuthenticationToken authenticationToken =
+                new UsernamePasswordAuthenticationToken("user", null);
+        when(jwtManager.manageAuthentication(rawToken)).thenReturn(authenticationToken);
+
+        filter.executeFilter(request, response, filterChain);
 
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(jwtManager);
+
+        assertSame(authenticationToken, SecurityContextHolder.getContext().getAuthentication());
+        assertSame(authenticationToken, SecurityContextHolder.getContext().getAuthentication());
         verify(jwtManager).manageAuthentication(rawToken);
-        verify(filterChain, never()).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("getResolvedAuthentication should not verify a deferred token")
+    void getResolvedAuthentication_ShouldNotVerifyDeferredToken()
+            throws ServletException, IOException {
+
+        String rawToken = "a".repeat(130);
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + rawToken);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        UsernamePasswordAuthenticationToken authenticationToken =
+                new UsernamePasswordAuthenticationToken("user", null);
+        when(jwtManager.manageAuthentication(rawToken)).thenReturn(authenticationToken);
+
+        filter.executeFilter(request, response, filterChain);
+
+        assertNull(JwtTokenValidatorFilter.getResolvedAuthentication());
+        verifyNoInteractions(jwtManager);
+
+        assertSame(authenticationToken, SecurityContextHolder.getContext().getAuthentication());
+        assertSame(authenticationToken, JwtTokenValidatorFilter.getResolvedAuthentication());
+    }
+
+    @Test
+    @DisplayName("getResolvedAuthentication should ignore a token that failed verification")
+    void getResolvedAuthentication_ShouldIgnoreRejectedToken()
+            throws ServletException, IOException {
+
+        String rawToken = "a".repeat(130);
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + rawToken);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        when(jwtManager.manageAuthentication(rawToken)).thenReturn(null);
+
+        filter.executeFilter(request, response, filterChain);
+
+        assertThrows(UnauthorizedException.class, SecurityContextHolder::getContext);
+        assertNull(JwtTokenValidatorFilter.getResolvedAuthentication());
+        verify(jwtManager, times(1)).manageAuthentication(rawToken);
+    }
+
+    @Test
+    @DisplayName("getResolvedAuthentication should return the context outside of requests")
+    void getResolvedAuthentication_ShouldReturnContext_OutsideOfRequests() {
+        UsernamePasswordAuthenticationToken authenticationToken =
+                new UsernamePasswordAuthenticationToken("job", null);
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+
+        assertSame(authenticationToken, JwtTokenValidatorFilter.getResolvedAuthentication());
     }
 
     @Test
@@ -0,0 +1,236 @@
+package com.alpaca.unit.security.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.alpaca.invalidation.InvalidationBus;
+import com.alpaca.invalidation.InvalidationEvent;
+import com.alpaca.model.UserTokenWatermark;
+import com.alpaca.persistence.IRefreshTokenDAO;
+import com.alpaca.persistence.IUserDAO;
+import com.alpaca.security.manager.AccessTokenRevocationIndex;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Unit tests for {@link AccessTokenRevocationIndex}. */
+@DisplayName("AccessTokenRevocationIndex Unit Tests")
+class AccessTokenRevocationIndexTest {
+
+    private static final long ACCESS_EXPIRATION = 300_000;
+
+    private static final long POLL_INTERVAL = 30_000;
+
+    private IRefreshTokenDAO refreshTokenDAO;
+
+    private IUserDAO userDAO;
+
+    private InvalidationBus invalidationBus;
+
+    private PlatformTransactionManager transactionManager;
+
+    private AccessTokenRevocationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenDAO = mock(IRefreshTokenDAO.class);
+        userDAO = mock(IUserDAO.class);
+        invalidationBus = mock(InvalidationBus.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        index =
+                new AccessTokenRevocationIndex(
+                        refreshTokenDAO,
+                        userDAO,
+                        invalidationBus,
+                        transactionManager,
+                        String.valueOf(ACCESS_EXPIRATION),
+                        POLL_INTERVAL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("isRevoked should accept tokens when nothing was revoked")
+    void isRevoked_ShouldReturnFalse_WhenEmpty() {
+        assertFalse(index.isRevoked(UUID.randomUUID(), UUID.randomUUID(), new Date()));
+        assertFalse(index.isRevoked(null, null, null));
+    }
+
+    @Test
+    @DisplayName("revokeFamily should reject the tokens of that family only")
+    void revokeFamily_ShouldRejectFamily() {
+        UUID familyId = UUID.randomUUID();
+
+        index.revokeFamily(familyId);
+
+        assertTrue(index.isRevoked(UUID.randomUUID(), familyId, new Date()));
+        assertFalse(index.isRevoked(UUID.randomUUID(), UUID.randomUUID(), new Date()));
+        assertFalse(index.isRevoked(UUID.randomUUID(), null, new Date()));
+        verify(invalidationBus).publish(InvalidationEvent.Type.TOKEN_FAMILY, familyId);
+    }
+
+    @Test
+    @DisplayName("revokeFamily should wait for the surrounding transaction to commit")
+    void revokeFamily_ShouldApplyAfterCommit() {
+        UUID familyId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.revokeFamily(familyId);
+
+        assertFalse(index.isRevoked(null, familyId, new Date()));
+        List<TransactionSynchronization> synchronizations =
+                TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+
+        synchronizations.getFirst().afterCommit();
+
+        assertTrue(index.isRevoked(null, familyId, new Date()));
+    }
+
+    @Test
+    @DisplayName("invalidateTokensBefore should reject tokens issued before the watermark")
+    void invalidateTokensBefore_ShouldRejectOlderTokens() {
+        UUID userId = UUID.randomUUID();
+        Instant watermark = Instant.ofEpochSecond(1_800_000_000L, 500_000_000);
+
+        index.invalidateTokensBefore(userId, watermark);
+
+        assertTrue(index.isRevoked(userId, null, Date.from(watermark.minusSeconds(60))));
+        assertTrue(index.isRevoked(userId, null, new Date(1_800_000_000_000L)));
+        assertFalse(index.isRevoked(userId, null, Date.from(watermark.plusSeconds(1))));
+        assertFalse(index.isRevoked(UUID.randomUUID(), null, Date.from(watermark)));
+        assertEquals(
+                watermark.truncatedTo(ChronoUnit.MILLIS), index.getTokensInvalidBefore(userId));
+        verify(invalidationBus)
+                .publish(InvalidationEvent.Type.USER_TOKENS, userId, watermark.toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("invalidateTokensBefore should accept a login made later in the watermark second")
+    void invalidateTokensBefore_ShouldAcceptTokensIssuedInSameSecondAfterWatermark() {
+        UUID userId = UUID.randomUUID();
+        Instant second = Instant.ofEpochSecond(1_800_000_000L);
+        Instant watermark = second.plusMillis(400);
+
+        index.invalidateTokensBefore(userId, watermark);
+
+        // Issued at .200, before the revocation, with its iat truncated to the second
+        assertTrue(index.isRevoked(userId, null, Date.from(second)));
+        // Logged in again at .700, with the iat moved to the next second by JJwtManager
+        assertFalse(index.isRevoked(userId, null, Date.from(second.plusSeconds(1))));
+        // A watermark on the second boundary accepts tokens issued in that second
+        index.invalidateTokensBefore(userId, second.plusSeconds(1));
+        assertFalse(index.isRevoked(userId, null, Date.from(second.plusSeconds(1))));
+    }
+
+    @Test
+    @DisplayName("getTokensInvalidBefore should return null for users without a watermark")
+    void getTokensInvalidBefore_ShouldReturnNull_WhenNoWatermark() {
+        assertNull(index.getTokensInvalidBefore(UUID.randomUUID()));
+        assertNull(index.getTokensInvalidBefore(null));
+    }
+
+    @Test
+    @DisplayName("invalidateTokensBefore should keep the latest watermark")
+    void invalidateTokensBefore_ShouldKeepLatestWatermark() {
+        UUID userId = UUID.randomUUID();
+        Instant later = Instant.ofEpochSecond(1_800_000_100L);
+
+        index.invalidateTokensBefore(userId, later);
+        index.invalidateTokensBefore(userId, later.minusSeconds(100));
+
+        assertTrue(index.isRevoked(userId, null, Date.from(later.minusSeconds(50))));
+    }
+
+    @Test
+    @DisplayName("onInvalidation should apply revocations made by another replica")
+    void onInvalidation_ShouldApplyRemoteRevocations() {
+        UUID familyId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        Instant watermark = Instant.ofEpochSecond(1_800_000_000L);
+
+        index.onInvalidation(
+                new InvalidationEvent(
+                        InvalidationEvent.Type.TOKEN_FAMILY, familyId.toString(), 0, "other"));
+        index.onInvalidation(
+                new InvalidationEvent(
+                        InvalidationEvent.Type.USER_TOKENS,
+                        userId.toString(),
+                        watermark.toEpochMilli(),
+                        "other"));
+
+        assertTrue(index.isRevoked(null, familyId, new Date()));
+        assertTrue(index.isRevoked(userId, null, Date.from(watermark.minusSeconds(1))));
+        assertFalse(index.isRevoked(userId, null, Date.from(watermark)));
+        verifyNoInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("onInvalidationGap should reload the recent revocations")
+    void onInvalidationGap_ShouldReload() {
+        UUID familyId = UUID.randomUUID();
+        when(refreshTokenDAO.findFamilyIdsRevokedSince(any(Instant.class)))
+                .thenReturn(List.of(familyId));
+
+        index.onInvalidationGap();
+
+        assertTrue(index.isRevoked(null, familyId, new Date()));
+    }
+
+    @Test
+    @DisplayName("reload should load recent revocations and then poll incrementally")
+    void reload_ShouldLoadRecentRevocations() {
+        UUID familyId = UUID.randomUUID();
+        UserTokenWatermark watermark = new UserTokenWatermark(UUID.randomUUID(), Instant.now());
+        when(refreshTokenDAO.findFamilyIdsRevokedSince(any(Instant.class)))
+                .thenReturn(List.of(familyId));
+        when(userDAO.findTokenWatermarksSince(any(Instant.class))).thenReturn(List.of(watermark));
+
+        Instant before = Instant.now();
+        index.reload();
+        index.reload();
+
+        assertTrue(index.isRevoked(null, familyId, new Date()));
+        assertTrue(index.isRevoked(watermark.userId(), null, Date.from(before.minusSeconds(1))));
+
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(refreshTokenDAO, times(2)).findFamilyIdsRevokedSince(since.capture());
+        Instant startup = since.getAllValues().get(0);
+        Instant incremental = since.getAllValues().get(1);
+        assertFalse(startup.isBefore(before.minusMillis(ACCESS_EXPIRATION)));
+        assertFalse(startup.isAfter(Instant.now().minusMillis(ACCESS_EXPIRATION)));
+        assertTrue(incremental.isAfter(startup));
+        assertFalse(incremental.isAfter(Instant.now().minusMillis(POLL_INTERVAL)));
+    }
+
+    @Test
+    @DisplayName("onInvalidationGap should reload within a read-only transaction")
+    void onInvalidationGap_ShouldReloadInReadOnlyTransaction() {
+        index.onInvalidationGap();
+
+        ArgumentCaptor<TransactionDefinition> definition =
+                ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+        verify(refreshTokenDAO).findFamilyIdsRevokedSince(any(Instant.class));
+        verify(userDAO).findTokenWatermarksSince(any(Instant.class));
+        verify(transactionManager).commit(any());
+    }
+}
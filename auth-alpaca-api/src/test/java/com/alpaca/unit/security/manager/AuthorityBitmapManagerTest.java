@@ -0,0 +1,140 @@
+package com.alpaca.unit.security.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.alpaca.entity.Permission;
+import com.alpaca.entity.Role;
+import com.alpaca.persistence.IPermissionDAO;
+import com.alpaca.persistence.IRoleDAO;
+import com.alpaca.security.manager.AuthorityBitmapManager;
+import com.alpaca.security.manager.AuthorityBitmapManager.AuthorityBits;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link AuthorityBitmapManager}. */
+@DisplayName("AuthorityBitmapManager Unit Tests")
+@ExtendWith(MockitoExtension.class)
+class AuthorityBitmapManagerTest {
+
+    @Mock private IRoleDAO roleDAO;
+
+    @Mock private IPermissionDAO permissionDAO;
+
+    @InjectMocks private AuthorityBitmapManager bitmapManager;
+
+    @BeforeEach
+    void setUp() {
+        lenient()
+                .when(roleDAO.findAll())
+                .thenReturn(
+                        List.of(
+                                new Role("ADMIN", "admin", Set.of()),
+                                new Role("USER", "user", Set.of())));
+        lenient()
+                .when(permissionDAO.findAll())
+                .thenReturn(List.of(new Permission("READ"), new Permission("DELETE")));
+    }
+
+    @Test
+    @DisplayName("encode and decode should round-trip catalogued authorities")
+    void encodeDecode_ShouldRoundTrip() {
+        String claim = bitmapManager.encode("ROLE_USER,READ");
+        AuthorityBits bits = bitmapManager.decode(claim);
+
+        assertNotNull(bits);
+        assertTrue(bits.bits().get(bitmapManager.indexOf(bits.version(), "ROLE_USER")));
+        assertTrue(bits.bits().get(bitmapManager.indexOf(bits.version(), "READ")));
+        assertFalse(bits.bits().get(bitmapManager.indexOf(bits.version(), "ROLE_ADMIN")));
+        assertFalse(bits.bits().get(bitmapManager.indexOf(bits.version(), "DELETE")));
+    }
+
+    @Test
+    @DisplayName("indexOf should number the catalogue densely in name order")
+    void indexOf_ShouldNumberCatalogueInNameOrder() {
+        String version = bitmapManager.decode(bitmapManager.encode("")).version();
+
+        assertEquals(0, bitmapManager.indexOf(version, "DELETE"));
+        assertEquals(1, bitmapManager.indexOf(version, "READ"));
+        assertEquals(2, bitmapManager.indexOf(version, "ROLE_ADMIN"));
+        assertEquals(3, bitmapManager.indexOf(version, "ROLE_USER"));
+        assertEquals(-1, bitmapManager.indexOf(version, "UNKNOWN"));
+        assertEquals(-1, bitmapManager.indexOf("other", "READ"));
+    }
+
+    @Test
+    @DisplayName("encode should return null and recompile when an authority is not catalogued")
+    void encode_ShouldReturnNull_WhenAuthorityUnknown() {
+        assertNull(bitmapManager.encode("ROLE_USER,WRITE"));
+
+        bitmapManager.encode("ROLE_USER");
+
+        verify(roleDAO, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("decode should reject claims issued against another catalogue")
+    void decode_ShouldRejectOtherCatalogueVersion() {
+        String claim = bitmapManager.encode("ROLE_ADMIN");
+        when(permissionDAO.findAll()).thenReturn(List.of(new Permission("READ")));
+
+        bitmapManager.invalidate();
+
+        assertNull(bitmapManager.decode(claim));
+    }
+
+    @Test
+    @DisplayName("decode should return null for missing or malformed claims")
+    void decode_ShouldReturnNull_ForMalformedClaims() {
+        String version = bitmapManager.decode(bitmapManager.encode("")).version();
+
+        assertNull(bitmapManager.decode(null));
+        assertNull(bitmapManager.decode(""));
+        assertNull(bitmapManager.decode(version));
+        assertNull(bitmapManager.decode(version + "x!"));
+        assertNull(bitmapManager.decode(version + ".*"));
+    }
+
+    @Test
+    @DisplayName("toAuthoritiesClaim should recover the names of a bitset claim")
+    void toAuthoritiesClaim_ShouldRecoverNames() {
+        String claim = bitmapManager.encode("ROLE_USER,READ");
+
+        assertEquals("READ,ROLE_USER", bitmapManager.toAuthoritiesClaim(claim));
+        assertNull(bitmapManager.toAuthoritiesClaim("unknown.BQ"));
+        assertNull(bitmapManager.toAuthoritiesClaim(claim + "*"));
+        assertNull(
+                bitmapManager.toAuthoritiesClaim(claim.substring(0, claim.indexOf('.')) + ".EA"));
+    }
+
+    @Test
+    @DisplayName("toAuthoritiesClaim should still read bitsets of a replaced catalogue")
+    void toAuthoritiesClaim_ShouldReadReplacedCatalogue() {
+        String claim = bitmapManager.encode("ROLE_ADMIN,DELETE");
+        when(permissionDAO.findAll()).thenReturn(List.of(new Permission("READ")));
+
+        bitmapManager.invalidate();
+
+        assertNull(bitmapManager.decode(claim));
+        assertEquals("DELETE,ROLE_ADMIN", bitmapManager.toAuthoritiesClaim(claim));
+    }
+
+    @Test
+    @DisplayName("the catalogue should be compiled once until invalidated")
+    void catalogue_ShouldBeCompiledOnce() {
+        bitmapManager.encode("READ");
+        bitmapManager.encode("DELETE");
+        bitmapManager.invalidate();
+        bitmapManager.encode("READ");
+
+        verify(roleDAO, times(2)).findAll();
+        verify(permissionDAO, times(2)).findAll();
+    }
+}
@@ -0,0 +1,242 @@
+package com.alpaca.unit.security.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.alpaca.entity.Permission;
+import com.alpaca.entity.Role;
+import com.alpaca.entity.RolePermission;
+import com.alpaca.invalidation.InvalidationBus;
+import com.alpaca.invalidation.InvalidationEvent;
+import com.alpaca.persistence.IRoleDAO;
+import com.alpaca.repository.RoleRepo;
+import com.alpaca.security.manager.AuthorityBitmapManager;
+import com.alpaca.security.manager.AuthorityCacheManager;
+import com.alpaca.security.manager.AuthorityCacheManager.RoleAuthorities;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+
+/** Unit tests for {@link AuthorityCacheManager}. */
+@DisplayName("AuthorityCacheManager Unit Tests")
+@ExtendWith(MockitoExtension.class)
+class AuthorityCacheManagerTest {
+
+    @Mock private IRoleDAO roleDAO;
+    @Mock private EntityManagerFactory entityManagerFactory;
+    @Mock private Cache secondLevelCache;
+    @Mock private AuthorityBitmapManager authorityBitmapManager;
+    @Mock private InvalidationBus invalidationBus;
+
+    @InjectMocks private AuthorityCacheManager cacheManager;
+
+    private Role adminRole;
+    private Role userRole;
+
+    @BeforeEach
+    void setUp() {
+        adminRole = role("ADMIN", "READ");
+        userRole = role("USER", "READ");
+    }
+
+    @Test
+    @DisplayName("getRoleAuthorities should compute role and permission authorities in order")
+    void getRoleAuthorities_ShouldComputeAuthorities() {
+        when(roleDAO.findByIdWithPermissions(adminRole.getId())).thenReturn(Optional.of(adminRole));
+
+        RoleAuthorities result = cacheManager.getRoleAuthorities(adminRole.getId());
+
+        assertEquals("ROLE_ADMIN,READ", result.claim());
+        assertEquals(
+                List.of("ROLE_ADMIN", "READ"),
+                result.authorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    @DisplayName("getRoleAuthorities should load the role only once per role ID")
+    void getRoleAuthorities_ShouldLoadRoleOnce() {
+        when(roleDAO.findByIdWithPermissions(adminRole.getId())).thenReturn(Optional.of(adminRole));
+
+        RoleAuthorities first = cacheManager.getRoleAuthorities(adminRole.getId());
+        RoleAuthorities second = cacheManager.getRoleAuthorities(adminRole.getId());
+
+        assertSame(first, second);
+        verify(roleDAO, times(1)).findByIdWithPermissions(adminRole.getId());
+    }
+
+    @Test
+    @DisplayName("getRoleAuthorities should return an empty snapshot for unknown roles")
+    void getRoleAuthorities_ShouldReturnEmptyForUnknownRole() {
+        UUID unknownId = UUID.randomUUID();
+        when(roleDAO.findByIdWithPermissions(unknownId)).thenReturn(Optional.empty());
+
+        RoleAuthorities result = cacheManager.getRoleAuthorities(unknownId);
+
+        assertTrue(result.authorities().isEmpty());
+        assertEquals("", result.claim());
+    }
+
+    @Test
+    @DisplayName("getAuthoritiesClaim should merge several roles without duplicates")
+    void getAuthoritiesClaim_ShouldMergeRoles() {
+        when(roleDAO.findByIdWithPermissions(adminRole.getId())).thenReturn(Optional.of(adminRole));
+        when(roleDAO.findByIdWithPermissions(userRole.getId())).thenReturn(Optional.of(userRole));
+
+        String claim =
+                cacheManager.getAuthoritiesClaim(List.of(adminRole.getId(), userRole.getId()));
+
+        assertEquals("ROLE_ADMIN,READ,ROLE_USER", claim);
+    }
+
+    @Test
+    @DisplayName("getAuthoritiesClaim should return an empty claim without roles")
+    void getAuthoritiesClaim_ShouldReturnEmptyWithoutRoles() {
+        assertEquals("", cacheManager.getAuthoritiesClaim(null));
+        assertEquals("", cacheManager.getAuthoritiesClaim(List.of()));
+        verifyNoInteractions(roleDAO);
+    }
+
+    @Test
+    @DisplayName("evictRole should force the role to be reloaded")
+    void evictRole_ShouldReloadRole() {
+        when(roleDAO.findByIdWithPermissions(adminRole.getId())).thenReturn(Optional.of(adminRole));
+        cacheManager.getRoleAuthorities(adminRole.getId());
+
+        adminRole.setName("SUPER_ADMIN");
+        stubSecondLevelCache();
+        cacheManager.evictRole(adminRole.getId());
+
+        assertEquals(
+                "ROLE_SUPER_ADMIN,READ",
+                cacheManager.getAuthoritiesClaim(List.of(adminRole.getId())));
+        verify(roleDAO, times(2)).findByIdWithPermissions(adminRole.getId());
+    }
+
+    @Test
+    @DisplayName("evictAll should force every role to be reloaded")
+    void evictAll_ShouldReloadEveryRole() {
+        when(roleDAO.findByIdWithPermissions(adminRole.getId())).thenReturn(Optional.of(adminRole));
+        when(roleDAO.findByIdWithPermissions(userRole.getId())).thenReturn(Optional.of(userRole));
+        cacheManager.getRoleAuthorities(adminRole.getId());
+        cacheManager.getRoleAuthorities(userRole.getId());
+        stubSecondLevelCache();
+
+        cacheManager.evictAll();
+        cacheManager.getRoleAuthorities(userRole.getId());
+
+        verify(roleDAO, times(2)).findByIdWithPermissions(userRole.getId());
+    }
+
+    @Test
+    @DisplayName("getRoleAuthorities should not cache a role loaded while it was evicted")
+    void getRoleAuthorities_ShouldNotCache_WhenEvictedWhileLoading() {
+        stubSecondLevelCache();
+        when(roleDAO.findByIdWithPermissions(adminRole.getId()))
+                .thenAnswer(
+                        invocation -> {
+                            cacheManager.evictRole(adminRole.getId());
+                            return Optional.of(adminRole);
+                        })
+                .thenReturn(Optional.of(adminRole));
+
+        cacheManager.getRoleAuthorities(adminRole.getId());
+        cacheManager.getRoleAuthorities(adminRole.getId());
+        cacheManager.getRoleAuthorities(adminRole.getId());
+
+        verify(roleDAO, times(2)).findByIdWithPermissions(adminRole.getId());
+    }
+
+    @Test
+    @DisplayName("evictRole should evict the role from the Hibernate second-level cache")
+    void evictRole_ShouldEvictSecondLevelCache() {
+        stubSecondLevelCache();
+
+        cacheManager.evictRole(adminRole.getId());
+
+        verify(secondLevelCache).evictEntityData(Role.class, adminRole.getId());
+        verify(secondLevelCache)
+                .evictCollectionData(Role.class.getName() + ".rolePermissions", adminRole.getId());
+        verify(secondLevelCache).evictQueryRegion(RoleRepo.FIND_BY_NAME_CACHE_REGION);
+        verify(authorityBitmapManager).invalidate();
+        verify(invalidationBus).publish(InvalidationEvent.Type.ROLE, adminRole.getId());
+    }
+
+    @Test
+    @DisplayName("evictAll should evict every RBAC region from the Hibernate second-level cache")
+    void evictAll_ShouldEvictSecondLevelCache() {
+        stubSecondLevelCache();
+
+        cacheManager.evictAll();
+
+        verify(secondLevelCache).evictEntityData(Role.class);
+        verify(secondLevelCache).evictEntityData(Permission.class);
+        verify(secondLevelCache).evictEntityData(RolePermission.class);
+        verify(secondLevelCache).evictCollectionData(Role.class.getName() + ".rolePermissions");
+        verify(secondLevelCache)
+                .evictCollectionData(Permission.class.getName() + ".rolePermissions");
+        verify(secondLevelCache).evictQueryRegion(RoleRepo.FIND_BY_NAME_CACHE_REGION);
+        verify(authorityBitmapManager).invalidate();
+        verify(invalidationBus).publish(InvalidationEvent.Type.AUTHORITIES, null);
+    }
+
+    @Test
+    @DisplayName("evictRole should ignore null IDs")
+    void evictRole_ShouldIgnoreNullId() {
+        cacheManager.evictRole(null);
+
+        verifyNoInteractions(entityManagerFactory, invalidationBus);
+    }
+
+    @Test
+    @DisplayName("onInvalidation should evict a role from another replica without publishing")
+    void onInvalidation_ShouldEvictRoleLocally() {
+        stubSecondLevelCache();
+        when(roleDAO.findByIdWithPermissions(adminRole.getId())).thenReturn(Optional.of(adminRole));
+        cacheManager.getRoleAuthorities(adminRole.getId());
+
+        cacheManager.onInvalidation(
+                new InvalidationEvent(
+                        InvalidationEvent.Type.ROLE, adminRole.getId().toString(), 0, "other"));
+        cacheManager.getRoleAuthorities(adminRole.getId());
+
+        verify(roleDAO, times(2)).findByIdWithPermissions(adminRole.getId());
+        verify(secondLevelCache).evictEntityData(Role.class, adminRole.getId());
+        verifyNoInteractions(invalidationBus);
+    }
+
+    @Test
+    @DisplayName("onInvalidationGap should evict every role without publishing")
+    void onInvalidationGap_ShouldEvictAllLocally() {
+        stubSecondLevelCache();
+
+        cacheManager.onInvalidationGap();
+
+        verify(secondLevelCache).evictEntityData(Role.class);
+        verify(authorityBitmapManager).invalidate();
+        verifyNoInteractions(invalidationBus);
+    }
+
+    private void stubSecondLevelCache() {
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+    }
+
+    private static Role role(String name, String permission) {
+        Role role = new Role(name, name + " description", Set.of(new Permission(permission)));
+        role.setId(UUID.randomUUID());
+        return role;
+    }
+}
@@ -0,0 +1,107 @@
+package com.alpaca.unit.security.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.alpaca.model.UserPrincipal;
+import com.alpaca.security.manager.AuthorityBitmapManager;
+import com.alpaca.security.manager.AuthorityBitmapManager.AuthorityBits;
+import com.alpaca.security.manager.BitmapAuthorizationManagerFactory;
+import java.util.BitSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+/** Unit tests for {@link BitmapAuthorizationManagerFactory}. */
+@DisplayName("BitmapAuthorizationManagerFactory Unit Tests")
+@ExtendWith(MockitoExtension.class)
+class BitmapAuthorizationManagerFactoryTest {
+
+    private static final String VERSION = "cafe";
+
+    @Mock private AuthorityBitmapManager bitmapManager;
+
+    private BitmapAuthorizationManagerFactory<Object> factory;
+
+    @BeforeEach
+    void setUp() {
+        factory = new BitmapAuthorizationManagerFactory<>(bitmapManager);
+        lenient().when(bitmapManager.indexOf(VERSION, "READ")).thenReturn(0);
+        lenient().when(bitmapManager.indexOf(VERSION, "ROLE_ADMIN")).thenReturn(1);
+        lenient().when(bitmapManager.indexOf(VERSION, "ROLE_USER")).thenReturn(2);
+        lenient().when(bitmapManager.indexOf(VERSION, "DELETE")).thenReturn(3);
+    }
+
+    @Test
+    @DisplayName("hasRole should be answered from the authority bitset")
+    void hasRole_ShouldUseBitset() {
+        Authentication user = authentication(VERSION, 0, 2);
+
+        assertTrue(isGranted(factory.hasRole("USER"), user));
+        assertTrue(isGranted(factory.hasRole("ROLE_USER"), user));
+        assertFalse(isGranted(factory.hasRole("ADMIN"), user));
+        assertTrue(isGranted(factory.hasAnyRole("ADMIN", "USER"), user));
+        assertFalse(isGranted(factory.hasAllRoles("ADMIN", "USER"), user));
+    }
+
+    @Test
+    @DisplayName("hasAuthority should be answered from the authority bitset")
+    void hasAuthority_ShouldUseBitset() {
+        Authentication user = authentication(VERSION, 0, 2);
+
+        assertTrue(isGranted(factory.hasAuthority("READ"), user));
+        assertFalse(isGranted(factory.hasAuthority("DELETE"), user));
+        assertTrue(isGranted(factory.hasAnyAuthority("DELETE", "READ"), user));
+        assertTrue(isGranted(factory.hasAllAuthorities("READ", "ROLE_USER"), user));
+        assertFalse(isGranted(factory.hasAllAuthorities("READ", "DELETE"), user));
+    }
+
+    @Test
+    @DisplayName("checks should fall back to the granted authorities without a bitset")
+    void checks_ShouldFallBack_WithoutBitset() {
+        UsernamePasswordAuthenticationToken user =
+                UsernamePasswordAuthenticationToken.authenticated(
+                        new UserPrincipal(),
+                        null,
+                        AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+
+        assertTrue(isGranted(factory.hasRole("ADMIN"), user));
+        assertTrue(isGranted(factory.hasRole("ROLE_ADMIN"), user));
+        assertFalse(isGranted(factory.hasAllRoles("ADMIN", "USER"), user));
+        assertFalse(isGranted(factory.hasAuthority("READ"), user));
+        verifyNoInteractions(bitmapManager);
+    }
+
+    @Test
+    @DisplayName("checks should fall back when the catalogue changed since the token was issued")
+    void checks_ShouldFallBack_WhenCatalogueChanged() {
+        when(bitmapManager.indexOf(eq("old"), anyString())).thenReturn(-1);
+        Authentication user = authentication("old", 1);
+
+        assertFalse(isGranted(factory.hasRole("ADMIN"), user));
+        assertTrue(isGranted(factory.hasRole("USER"), user));
+    }
+
+    private static Authentication authentication(String version, int... indexes) {
+        BitSet bits = new BitSet();
+        for (int index : indexes) {
+            bits.set(index);
+        }
+        UserPrincipal principal = new UserPrincipal();
+        principal.setAuthorityBits(new AuthorityBits(version, bits));
+        return UsernamePasswordAuthenticationToken.authenticated(
+                principal, null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+    }
+
+    private static boolean isGranted(
+            AuthorizationManager<Object> manager, Authentication authentication) {
+        return manager.authorize(() -> authentication, new Object()).isGranted();
+    }
+}
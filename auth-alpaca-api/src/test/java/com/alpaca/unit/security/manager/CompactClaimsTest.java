@@ -0,0 +1,71 @@
+package com.alpaca.unit.security.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.security.manager.CompactClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link CompactClaims}. */
+@DisplayName("CompactClaims Unit Tests")
+class CompactClaimsTest {
+
+    @Test
+    @DisplayName("encodeUUID and decodeUUID should round-trip identifiers in 22 characters")
+    void encodeDecodeUUID_ShouldRoundTrip() {
+        UUID id = UUID.randomUUID();
+
+        String encoded = CompactClaims.encodeUUID(id);
+
+        assertEquals(22, encoded.length());
+        assertEquals(id, CompactClaims.decodeUUID(encoded));
+    }
+
+    @Test
+    @DisplayName("decodeUUID should return null when absent and reject other lengths")
+    void decodeUUID_ShouldHandleAbsentAndMalformedValues() {
+        assertNull(CompactClaims.decodeUUID(null));
+        assertNull(CompactClaims.decodeUUID(""));
+        assertThrows(IllegalArgumentException.class, () -> CompactClaims.decodeUUID("AAAA"));
+    }
+
+    @Test
+    @DisplayName("readers should accept the legacy claim profile")
+    void readers_ShouldAcceptLegacyProfile() {
+        UUID userId = UUID.randomUUID();
+        Claims claims =
+                Jwts.claims()
+                        .add("userId", userId.toString())
+                        .add("profileId", "")
+                        .add("authorities", "ROLE_USER")
+                        .build();
+
+        assertFalse(CompactClaims.isCompact(claims));
+        assertEquals(userId, CompactClaims.getUserId(claims));
+        assertNull(CompactClaims.getProfileId(claims));
+        assertEquals("ROLE_USER", CompactClaims.getAuthoritiesClaim(claims));
+    }
+
+    @Test
+    @DisplayName("readers should accept the compact claim profile")
+    void readers_ShouldAcceptCompactProfile() {
+        UUID userId = UUID.randomUUID();
+        UUID advertiserId = UUID.randomUUID();
+        Claims claims =
+                Jwts.claims()
+                        .add("v", 2)
+                        .add("uid", CompactClaims.encodeUUID(userId))
+                        .add("aid", CompactClaims.encodeUUID(advertiserId))
+                        .add("au", "ROLE_USER")
+                        .build();
+
+        assertTrue(CompactClaims.isCompact(claims));
+        assertEquals(userId, CompactClaims.getUserId(claims));
+        assertNull(CompactClaims.getProfileId(claims));
+        assertEquals(advertiserId, CompactClaims.getAdvertiserId(claims));
+        assertEquals("ROLE_USER", CompactClaims.getAuthoritiesClaim(claims));
+    }
+}
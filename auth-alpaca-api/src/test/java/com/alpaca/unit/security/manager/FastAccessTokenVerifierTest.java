@@ -0,0 +1,160 @@
+package com.alpaca.unit.security.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.exception.UnauthorizedException;
+import com.alpaca.security.manager.FastAccessTokenVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link FastAccessTokenVerifier}, checking every outcome against the jjwt parser
+ * that {@code JJwtManager} falls back to.
+ */
+@DisplayName("FastAccessTokenVerifier Unit Tests")
+class FastAccessTokenVerifierTest {
+
+    private static final String ISSUER = "alpaca-auth-service";
+
+    private static KeyPair keyPair;
+
+    private static KeyPair otherKeyPair;
+
+    private static FastAccessTokenVerifier verifier;
+
+    private static JwtParser reference;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        keyPair = generator.generateKeyPair();
+        otherKeyPair = generator.generateKeyPair();
+        verifier = new FastAccessTokenVerifier((ECPublicKey) keyPair.getPublic(), ISSUER);
+        reference = Jwts.parser().verifyWith(keyPair.getPublic()).requireIssuer(ISSUER).build();
+    }
+
+    @Test
+    @DisplayName("legacy Access Tokens should be verified to the same claims as jjwt")
+    void verify_ShouldMatchJjwt_ForLegacyTokens() {
+        String token =
+                sign(
+                        token(Instant.now())
+                                .claim("authorities", "ROLE_USER,READ")
+                                .claim("authorityBits", "1a2b.BQ")
+                                .claim("userId", UUID.randomUUID().toString())
+                                .claim("profileId", "")
+                                .claim("advertiserId", ""));
+
+        assertSameClaims(reference.parseSignedClaims(token).getPayload(), verifier.verify(token));
+    }
+
+    @Test
+    @DisplayName("compact Access Tokens should be verified to the same claims as jjwt")
+    void verify_ShouldMatchJjwt_ForCompactTokens() {
+        String token =
+                sign(
+                        token(Instant.now())
+                                .claim("v", 2)
+                                .claim("uid", "AAECAwQFBgcICQoLDA0ODw")
+                                .claim("ab", "1a2b.BQ"));
+
+        assertSameClaims(reference.parseSignedClaims(token).getPayload(), verifier.verify(token));
+    }
+
+    @Test
+    @DisplayName("tokens rejected by jjwt should be rejected by the fast path as well")
+    void verify_ShouldRejectLikeJjwt() {
+        Instant now = Instant.now();
+        String valid = sign(token(now));
+        String[] rejected = {
+            valid.substring(0, valid.length() - 2) + "AA",
+            tamperPayload(valid),
+            sign(token(now).issuer("someone-else")),
+            sign(token(now.minusSeconds(7200))),
+            sign(token(now).notBefore(Date.from(now.plusSeconds(60)))),
+            token(now).signWith(otherKeyPair.getPrivate(), Jwts.SIG.ES256).compact()
+        };
+
+        for (String token : rejected) {
+            assertThrows(Exception.class, () -> reference.parseSignedClaims(token));
+            assertThrows(UnauthorizedException.class, () -> verifier.verify(token));
+        }
+    }
+
+    @Test
+    @DisplayName("tokens outside the pinned shape should be left to jjwt")
+    void verify_ShouldFallBack_ForOtherShapes() {
+        Instant now = Instant.now();
+        String withUnknownClaim = sign(token(now).claim("scope", "admin"));
+        String withOtherHeader = sign(token(now).header().keyId("k1").and());
+        String withOtherType = sign(token(now).claim("v", "2"));
+
+        assertNull(verifier.verify(withUnknownClaim));
+        assertNull(verifier.verify(withOtherHeader));
+        assertNull(verifier.verify(withOtherType));
+        assertNotNull(reference.parseSignedClaims(withUnknownClaim));
+        assertNotNull(reference.parseSignedClaims(withOtherHeader));
+        assertNull(verifier.verify(null));
+        assertNull(verifier.verify("not-a-token"));
+        assertNull(verifier.verify(sign(token(now)) + ".extra"));
+    }
+
+    private static JwtBuilder token(Instant issuedAt) {
+        return Jwts.builder()
+                .issuer(ISSUER)
+                .subject("fast.user")
+                .issuedAt(Date.from(issuedAt))
+                .notBefore(Date.from(issuedAt))
+                .expiration(Date.from(issuedAt.plusSeconds(3600)));
+    }
+
+    private static String sign(JwtBuilder builder) {
+        return builder.signWith(keyPair.getPrivate(), Jwts.SIG.ES256).compact();
+    }
+
+    /** Replaces the subject in the payload while keeping the original signature. */
+    private static String tamperPayload(String token) {
+        String[] parts = token.split("\\.");
+        String payload =
+                new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                        .replace("fast.user", "root.user");
+        return parts[0]
+                + "."
+                + Base64.getUrlEncoder()
+                        .withoutPadding()
+                        .encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + "."
+                + parts[2];
+    }
+
+    private static void assertSameClaims(Claims expected, Claims actual) {
+        assertNotNull(actual);
+        assertEquals(expected.keySet(), actual.keySet());
+        for (String name : expected.keySet()) {
+            if (expected.get(name) instanceof Date date) {
+                assertEquals(date, actual.get(name, Date.class), name);
+            } else {
+                assertEquals(
+                        String.valueOf(expected.get(name)), String.valueOf(actual.get(name)), name);
+            }
+        }
+        assertEquals(expected.getExpiration(), actual.getExpiration());
+        assertEquals(expected.getIssuedAt(), actual.getIssuedAt());
+        assertEquals(expected.getNotBefore(), actual.getNotBefore());
+    }
+}
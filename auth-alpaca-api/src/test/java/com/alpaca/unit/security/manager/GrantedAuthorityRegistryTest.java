@@ -0,0 +1,81 @@
+package com.alpaca.unit.security.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.security.manager.GrantedAuthorityRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+/** Unit tests for {@link GrantedAuthorityRegistry}. */
+@DisplayName("GrantedAuthorityRegistry Unit Tests")
+class GrantedAuthorityRegistryTest {
+
+    private GrantedAuthorityRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new GrantedAuthorityRegistry();
+    }
+
+    @Test
+    @DisplayName("resolve should parse a claim like AuthorityUtils")
+    void resolve_ShouldMatchAuthorityUtils() {
+        String claim = "ROLE_ADMIN, READ,,CREATE ";
+
+        assertEquals(
+                AuthorityUtils.commaSeparatedStringToAuthorityList(claim), registry.resolve(claim));
+    }
+
+    @Test
+    @DisplayName("resolve should return the same immutable list for the same claim")
+    void resolve_ShouldReturnSameList() {
+        List<GrantedAuthority> first = registry.resolve("ROLE_USER,READ");
+        List<GrantedAuthority> second = registry.resolve(new String("ROLE_USER,READ"));
+
+        assertSame(first, second);
+        assertThrows(UnsupportedOperationException.class, () -> first.add(first.getFirst()));
+    }
+
+    @Test
+    @DisplayName("resolve should share interned authorities between different claims")
+    void resolve_ShouldShareAuthoritiesBetweenClaims() {
+        List<GrantedAuthority> user = registry.resolve("ROLE_USER,READ");
+        List<GrantedAuthority> manager = registry.resolve("ROLE_MANAGER,READ");
+
+        assertSame(user.get(1), manager.get(1));
+        assertSame(registry.intern("READ"), user.get(1));
+    }
+
+    @Test
+    @DisplayName("resolve should convert an alias once and share the authorities of its claim")
+    void resolveAlias_ShouldConvertOnce() {
+        AtomicInteger conversions = new AtomicInteger();
+        Function<String, String> converter =
+                alias -> {
+                    conversions.incrementAndGet();
+                    return "ab.BQ".equals(alias) ? "ROLE_USER,READ" : null;
+                };
+
+        List<GrantedAuthority> first = registry.resolve("ab.BQ", converter);
+        List<GrantedAuthority> second = registry.resolve("ab.BQ", converter);
+
+        assertSame(first, second);
+        assertSame(registry.resolve("ROLE_USER,READ"), first);
+        assertNull(registry.resolve("ab.Cg", converter));
+        assertNull(registry.resolve("ab.Cg", converter));
+        assertEquals(3, conversions.get());
+    }
+
+    @Test
+    @DisplayName("resolve should return an empty list for missing claims")
+    void resolve_ShouldReturnEmpty_ForMissingClaims() {
+        assertTrue(registry.resolve(null).isEmpty());
+        assertTrue(registry.resolve("  ").isEmpty());
+    }
+}
@@ -2,23 +2,37 @@ package com.alpaca.unit.security.manager;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.alpaca.entity.RefreshToken;
 import com.alpaca.entity.User;
 import com.alpaca.exception.UnauthorizedException;
+import com.alpaca.metrics.AuthMetrics;
 import com.alpaca.model.UserPrincipal;
+import com.alpaca.security.manager.AccessTokenRevocationIndex;
+import com.alpaca.security.manager.AuthorityBitmapManager;
+import com.alpaca.security.manager.AuthorityBitmapManager.AuthorityBits;
+import com.alpaca.security.manager.AuthorityCacheManager;
+import com.alpaca.security.manager.CompactClaims;
+import com.alpaca.security.manager.GrantedAuthorityRegistry;
 import com.alpaca.security.manager.JJwtManager;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
@@ -33,21 +47,54 @@ class JJwtManagerTest {
 
     private JJwtManager jwtManager;
 
+    private AuthorityCacheManager authorityCacheManager;
+
+    private AuthorityBitmapManager authorityBitmapManager;
+
+    private AccessTokenRevocationIndex revocationIndex;
+
+    private MeterRegistry meterRegistry;
+
+    private AuthMetrics authMetrics;
+
     @BeforeEach
     void setUp() throws Exception {
 
+        authorityCacheManager = mock(AuthorityCacheManager.class);
+        authorityBitmapManager = mock(AuthorityBitmapManager.class);
+        revocationIndex = mock(AccessTokenRevocationIndex.class);
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        authMetrics = new AuthMetrics(beanFactory.getBeanProvider(MeterRegistry.class));
+
+        jwtManager = createManager(false);
+    }
+
+    private JJwtManager createManager(boolean compactClaims) throws Exception {
+        return createManager(compactClaims, false);
+    }
+
+    private JJwtManager createManager(boolean compactClaims, boolean fastVerify) throws Exception {
+
         String accessExpiration = "3600000";
         String refreshExpiration = "86400000";
 
-        jwtManager =
-                new JJwtManager(
-                        new ClassPathResource("keys/access_private.pem"),
-                        new ClassPathResource("keys/access_public.pem"),
-                        accessExpiration,
-                        new ClassPathResource("keys/refresh_private.pem"),
-                        new ClassPathResource("keys/refresh_public.pem"),
-                        refreshExpiration,
-                        ISSUER);
+        return new JJwtManager(
+                new ClassPathResource("keys/access_private.pem"),
+                new ClassPathResource("keys/access_public.pem"),
+                accessExpiration,
+                new ClassPathResource("keys/refresh_private.pem"),
+                new ClassPathResource("keys/refresh_public.pem"),
+                refreshExpiration,
+                ISSUER,
+                compactClaims,
+                fastVerify,
+                authorityCacheManager,
+                authorityBitmapManager,
+                new GrantedAuthorityRegistry(),
+                revocationIndex,
+                authMetrics);
     }
 
     @Test
@@ -106,6 +153,205 @@ class JJwtManagerTest {
                 () -> assertEquals("", claims.get("advertiserId")));
     }
 
+    @Test
+    @DisplayName("createAccessToken should build authorities from cached role snapshots")
+    void createAccessToken_ShouldUseCachedRoleAuthorities() {
+
+        UserPrincipal principal = mock(UserPrincipal.class);
+
+        UUID userId = UUID.randomUUID();
+        List<UUID> roleIds = List.of(UUID.randomUUID());
+
+        when(principal.getUsername()).thenReturn("cached.roles");
+        when(principal.getUserId()).thenReturn(userId);
+        when(principal.getRoleIds()).thenReturn(roleIds);
+        when(authorityCacheManager.getAuthoritiesClaim(roleIds)).thenReturn("ROLE_USER,READ");
+
+        String token = jwtManager.createAccessToken(principal, Instant.now());
+
+        Claims claims = jwtManager.validateAccessToken(token);
+
+        assertEquals("ROLE_USER,READ", claims.get("authorities", String.class));
+        verify(principal, never()).getAuthorities();
+    }
+
+    @Test
+    @DisplayName(
+            "createAccessToken and createAuthentication should round-trip the authority bitset")
+    void createAccessToken_ShouldRoundTripAuthorityBits() {
+
+        UserPrincipal principal = mock(UserPrincipal.class);
+        AuthorityBits bits = new AuthorityBits("1a2b", BitSet.valueOf(new long[] {0b101}));
+
+        when(principal.getUsername()).thenReturn("bitmap.user");
+        when(principal.getUserId()).thenReturn(UUID.randomUUID());
+        when(principal.getAuthorities())
+                .thenReturn(AuthorityUtils.createAuthorityList("ROLE_USER", "READ"));
+        when(authorityBitmapManager.encode("ROLE_USER,READ")).thenReturn("1a2b.BQ");
+        when(authorityBitmapManager.decode("1a2b.BQ")).thenReturn(bits);
+
+        String token = jwtManager.createAccessToken(principal, Instant.now());
+        Claims claims = jwtManager.validateAccessToken(token);
+        UsernamePasswordAuthenticationToken authentication =
+                jwtManager.createAuthentication(claims);
+
+        assertEquals("1a2b.BQ", claims.get("authorityBits", String.class));
+        assertEquals("ROLE_USER,READ", claims.get("authorities", String.class));
+        assertSame(bits, ((UserPrincipal) authentication.getPrincipal()).getAuthorityBits());
+    }
+
+    @Test
+    @DisplayName("createAccessToken should omit the authority bitset when it cannot be encoded")
+    void createAccessToken_ShouldOmitAuthorityBits_WhenNotEncodable() {
+
+        UserPrincipal principal = mock(UserPrincipal.class);
+
+        when(principal.getUsername()).thenReturn("legacy.user");
+        when(principal.getUserId()).thenReturn(UUID.randomUUID());
+        when(principal.getAuthorities()).thenReturn(AuthorityUtils.createAuthorityList("ROLE_NEW"));
+
+        Claims claims =
+                jwtManager.validateAccessToken(
+                        jwtManager.createAccessToken(principal, Instant.now()));
+
+        assertNull(claims.get("authorityBits"));
+        assertNull(
+                ((UserPrincipal) jwtManager.createAuthentication(claims).getPrincipal())
+                        .getAuthorityBits());
+    }
+
+    @Test
+    @DisplayName("compact Access Tokens should round-trip through createAuthentication")
+    void createAccessToken_ShouldRoundTripCompactClaims() throws Exception {
+
+        JJwtManager compactManager = createManager(true);
+        UserPrincipal principal = mock(UserPrincipal.class);
+        UUID userId = UUID.randomUUID();
+        UUID profileId = UUID.randomUUID();
+
+        when(principal.getUsername()).thenReturn("compact.user");
+        when(principal.getUserId()).thenReturn(userId);
+        when(principal.getProfileId()).thenReturn(profileId);
+        when(principal.getAuthorities())
+                .thenReturn(AuthorityUtils.createAuthorityList("ROLE_USER", "READ"));
+        when(authorityBitmapManager.encode("ROLE_USER,READ")).thenReturn("1a2b.BQ");
+        when(authorityBitmapManager.toAuthoritiesClaim("1a2b.BQ")).thenReturn("ROLE_USER,READ");
+
+        String token = compactManager.createAccessToken(principal, Instant.now());
+        Claims claims = compactManager.validateAccessToken(token);
+        UsernamePasswordAuthenticationToken authentication =
+                compactManager.createAuthentication(claims);
+        UserPrincipal result = (UserPrincipal) authentication.getPrincipal();
+
+        assertAll(
+                () -> assertEquals(2, claims.get("v", Integer.class)),
+                () -> assertEquals(22, claims.get("uid", String.class).length()),
+                () -> assertEquals("1a2b.BQ", claims.get("ab", String.class)),
+                () -> assertNull(claims.get("aid")),
+                () -> assertNull(claims.get("au")),
+                () -> assertNull(claims.get("userId")),
+                () -> assertNull(claims.get("authorities")),
+                () -> assertNull(claims.getNotBefore()),
+                () -> assertEquals(userId, result.getUserId()),
+                () -> assertEquals(profileId, result.getProfileId()),
+                () -> assertNull(result.getAdvertiserId()),
+                () -> assertEquals("compact.user", result.getUsername()),
+                () ->
+                        assertEquals(
+                                AuthorityUtils.createAuthorityList("ROLE_USER", "READ"),
+                                List.copyOf(authentication.getAuthorities())));
+        assertTrue(
+                token.length() < jwtManager.createAccessToken(principal, Instant.now()).length());
+    }
+
+    @Test
+    @DisplayName("validateAccessToken should give the same claims with the fast verifier")
+    void validateAccessToken_ShouldMatchJjwt_WithFastVerifier() throws Exception {
+
+        JJwtManager fastManager = createManager(true, true);
+        UserPrincipal principal = mock(UserPrincipal.class);
+
+        when(principal.getUsername()).thenReturn("fast.user");
+        when(principal.getUserId()).thenReturn(UUID.randomUUID());
+        when(principal.getAuthorities()).thenReturn(AuthorityUtils.createAuthorityList("ROLE_NEW"));
+
+        String token = fastManager.createAccessToken(principal, Instant.now());
+        Claims fast = fastManager.validateAccessToken(token);
+        Claims reference = createManager(true, false).validateAccessToken(token);
+
+        assertEquals(reference.getSubject(), fast.getSubject());
+        assertEquals(reference.getExpiration(), fast.getExpiration());
+        assertEquals(reference.get("uid"), fast.get("uid"));
+        assertEquals(reference.get("au"), fast.get("au"));
+        assertThrows(
+                UnauthorizedException.class,
+                () -> fastManager.validateAccessToken(token.substring(0, token.length() - 2)));
+    }
+
+    @Test
+    @DisplayName("compact Access Tokens should carry authority names when no bitset is available")
+    void createAccessToken_ShouldWriteCompactNames_WhenNotEncodable() throws Exception {
+
+        JJwtManager compactManager = createManager(true);
+        UserPrincipal principal = mock(UserPrincipal.class);
+
+        when(principal.getUsername()).thenReturn("compact.user");
+        when(principal.getUserId()).thenReturn(UUID.randomUUID());
+        when(principal.getAuthorities()).thenReturn(AuthorityUtils.createAuthorityList("ROLE_NEW"));
+
+        Claims claims =
+                compactManager.validateAccessToken(
+                        compactManager.createAccessToken(principal, Instant.now()));
+
+        assertNull(claims.get("ab"));
+        assertEquals("ROLE_NEW", claims.get("au", String.class));
+        assertEquals(
+                AuthorityUtils.createAuthorityList("ROLE_NEW"),
+                List.copyOf(compactManager.createAuthentication(claims).getAuthorities()));
+    }
+
+    @Test
+    @DisplayName("createAuthentication should reject compact bitsets of an unknown catalogue")
+    void createAuthentication_ShouldReturnNull_WhenCompactCatalogueUnknown() {
+
+        Claims claims =
+                Jwts.claims()
+                        .subject("user")
+                        .expiration(new Date(System.currentTimeMillis() + 10_000))
+                        .add("v", 2)
+                        .add("uid", "AAAAAAAAAAAAAAAAAAAAAA")
+                        .add("ab", "dead.BQ")
+                        .build();
+
+        assertTrue(jwtManager.isValidAccessToken(claims));
+        assertNull(jwtManager.createAuthentication(claims));
+    }
+
+    @Test
+    @DisplayName("createAuthentication should share one interned authority list across requests")
+    void createAuthentication_ShouldShareInternedAuthorities() {
+
+        Claims claims =
+                Jwts.claims()
+                        .subject("user")
+                        .expiration(new Date(System.currentTimeMillis() + 10_000))
+                        .add("userId", UUID.randomUUID().toString())
+                        .add("authorities", "ROLE_USER,READ")
+                        .build();
+
+        UsernamePasswordAuthenticationToken first = jwtManager.createAuthentication(claims);
+        UsernamePasswordAuthenticationToken second = jwtManager.createAuthentication(claims);
+        UserPrincipal firstPrincipal = (UserPrincipal) first.getPrincipal();
+
+        assertSame(
+                firstPrincipal.getAuthorities(),
+                ((UserPrincipal) second.getPrincipal()).getAuthorities());
+        assertEquals(
+                AuthorityUtils.createAuthorityList("ROLE_USER", "READ"),
+                List.copyOf(first.getAuthorities()));
+        assertTrue(first.isAuthenticated());
+    }
+
     @Test
     @DisplayName("createRefreshToken should create valid refresh token")
     void createRefreshToken_ShouldCreateValidRefreshToken() {
@@ -306,6 +552,87 @@ class JJwtManagerTest {
                 () -> assertFalse(jwtManager.isValidRefreshToken(invalidClaims)));
     }
 
+    @Test
+    @DisplayName("createAccessToken should bind the token to its refresh token family")
+    void createAccessToken_ShouldWriteFamilyId() throws Exception {
+
+        UserPrincipal principal = mock(UserPrincipal.class);
+        UUID familyId = UUID.randomUUID();
+
+        when(principal.getUsername()).thenReturn("family.user");
+        when(principal.getUserId()).thenReturn(UUID.randomUUID());
+        when(principal.getAuthorities())
+                .thenReturn(AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+        JJwtManager compactManager = createManager(true, true);
+        Claims legacy =
+                jwtManager.validateAccessToken(
+                        jwtManager.createAccessToken(principal, familyId, Instant.now()));
+        Claims compact =
+                compactManager.validateAccessToken(
+                        compactManager.createAccessToken(principal, familyId, Instant.now()));
+
+        assertEquals(familyId.toString(), legacy.get("familyId", String.class));
+        assertEquals(familyId, CompactClaims.getFamilyId(legacy));
+        assertEquals(CompactClaims.encodeUUID(familyId), compact.get("fid", String.class));
+        assertEquals(familyId, CompactClaims.getFamilyId(compact));
+        assertNull(
+                CompactClaims.getFamilyId(
+                        jwtManager.validateAccessToken(
+                                jwtManager.createAccessToken(principal, Instant.now()))));
+    }
+
+    @Test
+    @DisplayName("createAuthentication should reject tokens found in the revocation index")
+    void createAuthentication_ShouldReturnNull_WhenRevoked() {
+
+        UUID userId = UUID.randomUUID();
+        UUID familyId = UUID.randomUUID();
+        Date issuedAt = new Date(System.currentTimeMillis() / 1000 * 1000);
+        Claims claims =
+                Jwts.claims()
+                        .subject("user")
+                        .issuedAt(issuedAt)
+                        .expiration(new Date(System.currentTimeMillis() + 10_000))
+                        .add("userId", userId.toString())
+                        .add("familyId", familyId.toString())
+                        .add("authorities", "ROLE_USER")
+                        .build();
+
+        assertNotNull(jwtManager.createAuthentication(claims));
+
+        when(revocationIndex.isRevoked(userId, familyId, issuedAt)).thenReturn(true);
+
+        assertNull(jwtManager.createAuthentication(claims));
+    }
+
+    @Test
+    @DisplayName("createAccessToken should not predate a watermark set earlier in the same second")
+    void createAccessToken_ShouldMoveIssuedAt_WhenWatermarkInSameSecond() {
+
+        UserPrincipal principal = mock(UserPrincipal.class);
+        UUID userId = UUID.randomUUID();
+        when(principal.getUsername()).thenReturn("tester");
+        when(principal.getUserId()).thenReturn(userId);
+        when(principal.getAuthorities())
+                .thenReturn(AuthorityUtils.createAuthorityList("ROLE_USER"));
+        Instant second = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant watermark = second.plusMillis(200);
+        when(revocationIndex.getTokensInvalidBefore(userId)).thenReturn(watermark);
+
+        Claims sameSecond =
+                jwtManager.validateAccessToken(
+                        jwtManager.createAccessToken(principal, second.plusMillis(700)));
+        Claims beforeWatermark =
+                jwtManager.validateAccessToken(
+                        jwtManager.createAccessToken(principal, second.plusMillis(100)));
+
+        assertAll(
+                () -> assertEquals(Date.from(second.plusSeconds(1)), sameSecond.getIssuedAt()),
+                () -> assertEquals(Date.from(second), sameSecond.getNotBefore()),
+                () -> assertEquals(Date.from(second), beforeWatermark.getIssuedAt()));
+    }
+
     @Test
     @DisplayName("manageAuthentication should create authentication from token")
     void manageAuthentication_ShouldCreateAuthenticationFromToken() {
@@ -369,6 +696,36 @@ class JJwtManagerTest {
                                 invalidResource,
                                 invalidResource,
                                 "1000",
-                                ISSUER));
+                                ISSUER,
+                                false,
+                                false,
+                                authorityCacheManager,
+                                authorityBitmapManager,
+                                new GrantedAuthorityRegistry(),
+                                revocationIndex,
+                                authMetrics));
+    }
+
+    @Test
+    @DisplayName("sign and verify should be timed by token type, rejected tokens included")
+    void signAndVerify_ShouldRecordTimersByType() {
+        UserPrincipal principal = mock(UserPrincipal.class);
+        when(principal.getUsername()).thenReturn("rogelio.olarte");
+        when(principal.getUserId()).thenReturn(UUID.randomUUID());
+        when(principal.getAuthorities())
+                .thenReturn(AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+        jwtManager.validateAccessToken(jwtManager.createAccessToken(principal, Instant.now()));
+        assertThrows(UnauthorizedException.class, () -> jwtManager.validateRefreshToken("invalid"));
+
+        assertAll(
+                () -> assertEquals(1, timerCount("auth.jwt.sign", "access")),
+                () -> assertEquals(0, timerCount("auth.jwt.sign", "refresh")),
+                () -> assertEquals(1, timerCount("auth.jwt.verify", "access")),
+                () -> assertEquals(1, timerCount("auth.jwt.verify", "refresh")));
+    }
+
+    private long timerCount(String name, String type) {
+        return meterRegistry.get(name).tag("type", type).timer().count();
     }
 }
@@ -2,22 +2,49 @@ package com.alpaca.unit.security.manager;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.alpaca.exception.ServiceUnavailableException;
+import com.alpaca.metrics.AuthMetrics;
+import com.alpaca.scheduling.Bulkhead;
+import com.alpaca.scheduling.LoadShedder;
+import com.alpaca.scheduling.RequestDeadline;
 import com.alpaca.security.manager.PasswordManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 /** Unit tests for {@link PasswordManager}. */
 @DisplayName("Unit Tests for PasswordManager")
 class PasswordManagerTest {
 
+    private MeterRegistry meterRegistry;
     private PasswordManager passwordManager;
     private final String rawPassword = "AlpacaSecurePassword2026!";
     private final String blankInput = "   ";
 
     @BeforeEach
     void setUp() {
-        passwordManager = new PasswordManager(12);
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        passwordManager =
+                new PasswordManager(
+                        12,
+                        new LoadShedder(beanFactory.getBeanProvider(MeterRegistry.class)),
+                        new Bulkhead("password", 1, Duration.ofSeconds(5), meterRegistry),
+                        new AuthMetrics(beanFactory.getBeanProvider(MeterRegistry.class)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
     }
 
     @Test
@@ -32,6 +59,21 @@ class PasswordManagerTest {
                 "Hash should follow BCrypt format");
     }
 
+    @Test
+    @DisplayName("encodePassword and matches: Should time each hash by operation")
+    void encodeAndMatches_ShouldRecordHashTimers() {
+        String encoded = passwordManager.encodePassword(rawPassword);
+        passwordManager.matches(rawPassword, encoded);
+        passwordManager.matches(blankInput, encoded);
+
+        assertEquals(1, hashCount("encode"));
+        assertEquals(1, hashCount("match"));
+    }
+
+    private long hashCount(String operation) {
+        return meterRegistry.get("auth.password.hash").tag("operation", operation).timer().count();
+    }
+
     @Test
     @DisplayName("matches: Should return true when credentials are valid")
     void matches_ShouldReturnTrue_WhenPasswordsMatch() {
@@ -81,4 +123,27 @@ class PasswordManagerTest {
         assertTrue(passwordManager.matches(rawPassword, firstHash));
         assertTrue(passwordManager.matches(rawPassword, secondHash));
     }
+
+    @Test
+    @DisplayName("encodePassword and matches: Should not hash once the request deadline has passed")
+    void encodePassword_ShouldShed_WhenDeadlineExpired() {
+        String encoded = passwordManager.encodePassword(rawPassword);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(
+                RequestDeadline.HEADER, String.valueOf(System.currentTimeMillis() - 1_000));
+        RequestDeadline.stamp(request, Duration.ZERO);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertThrows(
+                ServiceUnavailableException.class,
+                () -> passwordManager.encodePassword(rawPassword));
+        assertThrows(
+                ServiceUnavailableException.class,
+                () -> passwordManager.matches(rawPassword, encoded));
+        assertEquals(
+                2,
+                meterRegistry
+                        .counter("request.deadline.dropped", "stage", LoadShedder.STAGE_PASSWORD)
+                        .count());
+    }
 }
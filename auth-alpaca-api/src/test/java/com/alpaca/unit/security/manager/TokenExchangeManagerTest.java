@@ -3,17 +3,23 @@ package com.alpaca.unit.security.manager;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.alpaca.metrics.AuthMetrics;
 import com.alpaca.model.AuthCode;
+import com.alpaca.security.exchange.InMemoryExchangeCodeStore;
 import com.alpaca.security.manager.TokenExchangeManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 
 @DisplayName("Unit Tests for TokenExchangeManager")
 class TokenExchangeManagerTest {
 
     private TokenExchangeManager tokenExchangeManager;
+    private MeterRegistry meterRegistry;
     private final AuthCode authCode =
             new AuthCode(
                     "test-code",
@@ -26,7 +32,13 @@ class TokenExchangeManagerTest {
 
     @BeforeEach
     void setUp() {
-        tokenExchangeManager = new TokenExchangeManager();
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        tokenExchangeManager =
+                new TokenExchangeManager(
+                        new InMemoryExchangeCodeStore(50),
+                        new AuthMetrics(beanFactory.getBeanProvider(MeterRegistry.class)));
     }
 
     @Test
@@ -82,4 +94,18 @@ class TokenExchangeManagerTest {
         assertTrue(result.isPresent());
         assertEquals(newAuthCode.getCode(), result.get().getCode());
     }
+
+    @Test
+    @DisplayName("pending gauge: Should follow the codes waiting to be consumed")
+    void pendingGauge_ShouldFollowStoredCodes() {
+        tokenExchangeManager.createExchangeCode(exchangeKey, authCode);
+        assertEquals(1, pendingCodes());
+
+        tokenExchangeManager.consumeCode(exchangeKey);
+        assertEquals(0, pendingCodes());
+    }
+
+    private double pendingCodes() {
+        return meterRegistry.get("auth.exchange.codes.pending").gauge().value();
+    }
 }
@@ -2,20 +2,17 @@ package com.alpaca.unit.security.oauth2;
 
 import static org.mockito.Mockito.*;
 
-import com.alpaca.security.manager.CookieManager;
 import com.alpaca.security.oauth2.AuthFailureHandler;
 import com.alpaca.security.oauth2.CookieAuthReqRepo;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -81,26 +78,25 @@ class AuthFailureHandlerTest {
         }
 
         @Test
-        @DisplayName("Given cookie 'redirect_uri' if param absent")
-        void cookieRedirectUri_andExceptionMessage() throws IOException {
-            try (MockedStatic<CookieManager> cm = mockStatic(CookieManager.class)) {
-                Cookie c = new Cookie(REDIRECT_PARAM_NAME, "http://test/uri");
-                cm.when(() -> CookieManager.getCookie(request, REDIRECT_PARAM_NAME))
-                        .thenReturn(Optional.of(c));
-
-                handler.onAuthenticationFailure(request, response, exception);
-
-                verify(repository).removeAuthorizationRequestCookies(request, response);
-                String sanitized = "orig error"; // from exception.getMessage()
-                String expected = "http://test/uri?error=" + sanitized;
-                verify(redirectStrategy).sendRedirect(request, response, expected);
-            }
+        @DisplayName("Given stored 'redirect_uri' if param absent")
+        void storedRedirectUri_andExceptionMessage() throws IOException {
+            when(repository.loadAttribute(request, REDIRECT_PARAM_NAME))
+                    .thenReturn("http://test/uri");
+
+            handler.onAuthenticationFailure(request, response, exception);
+
+            InOrder inOrder = inOrder(repository);
+            inOrder.verify(repository).loadAttribute(request, REDIRECT_PARAM_NAME);
+            inOrder.verify(repository).removeAuthorizationRequestCookies(request, response);
+            String sanitized = "orig error"; // from exception.getMessage()
+            String expected = "http://test/uri?error=" + sanitized;
+            verify(redirectStrategy).sendRedirect(request, response, expected);
         }
 
         @Test
-        @DisplayName("Falls back to frontendUri when no param or cookie")
+        @DisplayName("Falls back to frontendUri when no param or stored redirect")
         void fallbackFrontendUri() throws IOException {
-            // no param, no cookie -> use FRONTEND_URI
+            // no param, no stored redirect -> use FRONTEND_URI
             handler.onAuthenticationFailure(request, response, exception);
 
             verify(repository).removeAuthorizationRequestCookies(request, response);
@@ -0,0 +1,120 @@
+package com.alpaca.unit.security.oauth2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.security.manager.CookieManager;
+import com.alpaca.security.oauth2.AuthRequestCookieCodec;
+import com.alpaca.security.oauth2.CookieAuthReqRepo;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.core.endpoint.PkceParameterNames;
+import org.springframework.security.oauth2.core.oidc.endpoint.OidcParameterNames;
+
+/** Unit tests for {@link AuthRequestCookieCodec} */
+@DisplayName("AuthRequestCookieCodec Unit Tests")
+class AuthRequestCookieCodecTest {
+
+    private static final String KEY = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+    private static final Instant NOW = Instant.parse("2026-10-19T10:00:00Z");
+
+    private final AuthRequestCookieCodec codec = new AuthRequestCookieCodec(KEY);
+
+    private static OAuth2AuthorizationRequest authorizationRequest() {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(OAuth2ParameterNames.REGISTRATION_ID, "google");
+        attributes.put(PkceParameterNames.CODE_VERIFIER, "v".repeat(128));
+        attributes.put(OidcParameterNames.NONCE, "nonce-value");
+        attributes.put(CookieAuthReqRepo.CLIENT_CODE_CHALLENGE, "client-challenge");
+        attributes.put(CookieAuthReqRepo.REDIRECT_PARAM_NAME, "https://alpaca.com/dashboard");
+        attributes.put(CookieAuthReqRepo.CLIENT_ID_PARAM, "web-client");
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+                .clientId("google-client")
+                .redirectUri("http://localhost:8080/oauth2/callback/google")
+                .state("state-123")
+                .scopes(Set.of("openid", "email", "profile"))
+                .attributes(attributes)
+                .additionalParameters(
+                        Map.of(
+                                PkceParameterNames.CODE_CHALLENGE,
+                                "c".repeat(43),
+                                PkceParameterNames.CODE_CHALLENGE_METHOD,
+                                "S256"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("decode: Should restore the fields and attributes used on the callback")
+    void decode_ShouldRestoreCallbackFields() {
+        OAuth2AuthorizationRequest original = authorizationRequest();
+
+        OAuth2AuthorizationRequest decoded =
+                codec.decode(codec.encode(original, NOW.plusSeconds(600)), NOW);
+
+        assertNotNull(decoded);
+        assertEquals(original.getAuthorizationUri(), decoded.getAuthorizationUri());
+        assertEquals(original.getClientId(), decoded.getClientId());
+        assertEquals(original.getRedirectUri(), decoded.getRedirectUri());
+        assertEquals(original.getState(), decoded.getState());
+        assertEquals(original.getScopes(), decoded.getScopes());
+        assertEquals(original.getAttributes(), decoded.getAttributes());
+        assertTrue(decoded.getAdditionalParameters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("encode: Should be smaller than the JSON cookie value it replaces")
+    void encode_ShouldBeSmallerThanJson() {
+        OAuth2AuthorizationRequest original = authorizationRequest();
+
+        String encoded = codec.encode(original, NOW.plusSeconds(600));
+
+        assertTrue(
+                encoded.length() * 2 < CookieManager.serialize(original).length(),
+                encoded.length() + " bytes");
+    }
+
+    @Test
+    @DisplayName("decode: Should reject an expired value")
+    void decode_ShouldRejectExpiredValue() {
+        String encoded = codec.encode(authorizationRequest(), NOW);
+
+        assertNotNull(codec.decode(encoded, NOW));
+        assertNull(codec.decode(encoded, NOW.plusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("decode: Should reject a value tampered with or signed with another key")
+    void decode_ShouldRejectTamperedValue() {
+        String encoded = codec.encode(authorizationRequest(), NOW.plusSeconds(600));
+        char first = encoded.charAt(0);
+        String tampered = (first == 'A' ? 'B' : 'A') + encoded.substring(1);
+
+        assertNull(codec.decode(tampered, NOW));
+        assertNull(new AuthRequestCookieCodec("").decode(encoded, NOW));
+        assertNull(codec.decode("not base64!", NOW));
+        assertNull(codec.decode("", NOW));
+    }
+
+    @Test
+    @DisplayName("constructor: Should reject keys shorter than 32 bytes")
+    void constructor_ShouldRejectShortKey() {
+        assertThrows(IllegalArgumentException.class, () -> new AuthRequestCookieCodec("c2hvcnQ="));
+    }
+
+    @Test
+    @DisplayName("constructor: Should generate a random key when none is configured")
+    void constructor_ShouldGenerateRandomKey_WhenBlank() {
+        AuthRequestCookieCodec randomKeyCodec = new AuthRequestCookieCodec(" ");
+        String encoded = randomKeyCodec.encode(authorizationRequest(), NOW.plusSeconds(600));
+
+        assertNotNull(randomKeyCodec.decode(encoded, NOW));
+        assertNull(codec.decode(encoded, NOW));
+    }
+}
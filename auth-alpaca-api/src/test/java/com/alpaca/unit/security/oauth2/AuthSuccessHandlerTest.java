@@ -8,19 +8,15 @@ import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.UnauthorizedException;
 import com.alpaca.model.AuthCode;
 import com.alpaca.model.UserPrincipal;
-import com.alpaca.security.manager.CookieManager;
 import com.alpaca.security.manager.TokenExchangeManager;
 import com.alpaca.security.oauth2.AuthSuccessHandler;
 import com.alpaca.security.oauth2.CookieAuthReqRepo;
 import com.alpaca.utils.UUIDv7Generator;
 import com.alpaca.utils.Utils;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.net.URI;
-import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -31,7 +27,6 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
 import org.springframework.security.web.RedirectStrategy;
 
 /** Unit tests for {@link AuthSuccessHandler} */
@@ -78,7 +73,6 @@ class AuthSuccessHandlerTest {
         UUID generatedCode = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
 
-        OAuth2AuthorizationRequest authorizationRequest = mock(OAuth2AuthorizationRequest.class);
         when(authentication.getPrincipal()).thenReturn(principal);
         when(response.isCommitted()).thenReturn(false);
         when(uuidGenerator.generate()).thenReturn(generatedCode);
@@ -86,32 +80,14 @@ class AuthSuccessHandlerTest {
 
         when(request.getHeader("User-Agent")).thenReturn("mozilla");
 
-        when(repository.loadAuthorizationRequest(request)).thenReturn(authorizationRequest);
-
-        when(authorizationRequest.getAttributes())
-                .thenReturn(Map.of(AuthSuccessHandler.CLIENT_CODE_CHALLENGE, "challenge-value"));
-
-        try (MockedStatic<CookieManager> cookieManager = mockStatic(CookieManager.class);
-                MockedStatic<Utils> utils = mockStatic(Utils.class)) {
-
-            cookieManager
-                    .when(
-                            () ->
-                                    CookieManager.getCookie(
-                                            request, AuthSuccessHandler.REDIRECT_PARAM_NAME))
-                    .thenReturn(
-                            Optional.of(
-                                    new Cookie(
-                                            AuthSuccessHandler.REDIRECT_PARAM_NAME,
-                                            authorizedRedirectUri.toString())));
-            cookieManager
-                    .when(
-                            () ->
-                                    CookieManager.getCookie(
-                                            request, AuthSuccessHandler.CLIENT_ID_PARAM))
-                    .thenReturn(
-                            Optional.of(
-                                    new Cookie(AuthSuccessHandler.CLIENT_ID_PARAM, "web-client")));
+        when(repository.loadAttribute(request, AuthSuccessHandler.CLIENT_CODE_CHALLENGE))
+                .thenReturn("challenge-value");
+        when(repository.loadAttribute(request, AuthSuccessHandler.REDIRECT_PARAM_NAME))
+                .thenReturn(authorizedRedirectUri.toString());
+        when(repository.loadAttribute(request, AuthSuccessHandler.CLIENT_ID_PARAM))
+                .thenReturn("web-client");
+
+        try (MockedStatic<Utils> utils = mockStatic(Utils.class)) {
 
             utils.when(() -> Utils.extractClientIP(request)).thenReturn("127.0.0.1");
 
@@ -154,94 +130,43 @@ class AuthSuccessHandlerTest {
     }
 
     @Test
-    @DisplayName("Should throw bad request exception when code challenge is blank")
-    void onAuthenticationSuccess_ShouldThrowBadRequestException_WhenCodeChallengeIsBlank()
-            throws IOException {
-
-        OAuth2AuthorizationRequest authorizationRequest = mock(OAuth2AuthorizationRequest.class);
+    @DisplayName("Should throw bad request exception when code challenge is missing")
+    void onAuthenticationSuccess_ShouldThrowBadRequestException_WhenCodeChallengeIsMissing() {
 
         when(response.isCommitted()).thenReturn(false);
 
-        when(repository.loadAuthorizationRequest(request)).thenReturn(authorizationRequest);
-
-        when(authorizationRequest.getAttributes()).thenReturn(Map.of());
-
-        try (MockedStatic<CookieManager> cookieManager = mockStatic(CookieManager.class)) {
-
-            cookieManager
-                    .when(
-                            () ->
-                                    CookieManager.getCookie(
-                                            request, AuthSuccessHandler.CLIENT_CODE_CHALLENGE))
-                    .thenReturn(Optional.of(new Cookie("cookie", " ")));
-
-            cookieManager
-                    .when(
-                            () ->
-                                    CookieManager.getCookie(
-                                            request, AuthSuccessHandler.REDIRECT_PARAM_NAME))
-                    .thenReturn(
-                            Optional.of(
-                                    new Cookie(
-                                            AuthSuccessHandler.REDIRECT_PARAM_NAME,
-                                            authorizedRedirectUri.toString())));
-
-            BadRequestException exception =
-                    assertThrows(
-                            BadRequestException.class,
-                            () ->
-                                    handler.onAuthenticationSuccess(
-                                            request, response, authentication));
-
-            assertEquals("Invalid Code Challenge", exception.getReason());
-
-            verifyNoInteractions(exchangeManager);
-            verify(redirectStrategy, never()).sendRedirect(any(), any(), anyString());
-        }
+        when(repository.loadAttribute(request, AuthSuccessHandler.REDIRECT_PARAM_NAME))
+                .thenReturn(authorizedRedirectUri.toString());
+
+        BadRequestException exception =
+                assertThrows(
+                        BadRequestException.class,
+                        () -> handler.onAuthenticationSuccess(request, response, authentication));
+
+        assertEquals("Invalid Code Challenge", exception.getReason());
+
+        verifyNoInteractions(exchangeManager);
+        verifyNoInteractions(redirectStrategy);
     }
 
     @Test
-    @DisplayName("Should use code challenge from cookie when attribute is missing")
-    void onAuthenticationSuccess_ShouldUseCodeChallengeFromCookie() throws IOException {
+    @DisplayName("Should default the client id to empty when none was stored")
+    void onAuthenticationSuccess_ShouldDefaultClientId_WhenNoneStored() throws IOException {
 
         UUID generatedCode = UUID.randomUUID();
 
-        OAuth2AuthorizationRequest authorizationRequest = mock(OAuth2AuthorizationRequest.class);
-
         when(authentication.getPrincipal()).thenReturn(principal);
         when(response.isCommitted()).thenReturn(false);
         when(uuidGenerator.generate()).thenReturn(generatedCode);
 
-        when(repository.loadAuthorizationRequest(request)).thenReturn(authorizationRequest);
-
-        when(authorizationRequest.getAttributes()).thenReturn(Map.of());
+        when(repository.loadAttribute(request, AuthSuccessHandler.CLIENT_CODE_CHALLENGE))
+                .thenReturn("stored-challenge");
+        when(repository.loadAttribute(request, AuthSuccessHandler.REDIRECT_PARAM_NAME))
+                .thenReturn(authorizedRedirectUri.toString());
 
         when(principal.getUserId()).thenReturn(UUID.randomUUID());
 
-        try (MockedStatic<CookieManager> cookieManager = mockStatic(CookieManager.class);
-                MockedStatic<Utils> utils = mockStatic(Utils.class)) {
-
-            cookieManager
-                    .when(
-                            () ->
-                                    CookieManager.getCookie(
-                                            request, AuthSuccessHandler.CLIENT_CODE_CHALLENGE))
-                    .thenReturn(
-                            Optional.of(
-                                    new Cookie(
-                                            AuthSuccessHandler.CLIENT_CODE_CHALLENGE,
-                                            "cookie-challenge")));
-
-            cookieManager
-                    .when(
-                            () ->
-                                    CookieManager.getCookie(
-                                            request, AuthSuccessHandler.REDIRECT_PARAM_NAME))
-                    .thenReturn(
-                            Optional.of(
-                                    new Cookie(
-                                            AuthSuccessHandler.REDIRECT_PARAM_NAME,
-                                            authorizedRedirectUri.toString())));
+        try (MockedStatic<Utils> utils = mockStatic(Utils.class)) {
 
             utils.when(() -> Utils.extractClientIP(request)).thenReturn(null);
 
@@ -252,8 +177,8 @@ class AuthSuccessHandlerTest {
                             eq(generatedCode.toString()),
                             argThat(
                                     authCode ->
-                                            authCode.getCodeChallenge()
-                                                    .equals("cookie-challenge")));
+                                            authCode.getCodeChallenge().equals("stored-challenge")
+                                                    && authCode.getClientId().isEmpty()));
         }
     }
 
@@ -261,41 +186,23 @@ class AuthSuccessHandlerTest {
     @DisplayName("Should throw unauthorized exception when principal is null")
     void onAuthenticationSuccess_ShouldThrowUnauthorizedException_WhenPrincipalIsNull() {
 
-        OAuth2AuthorizationRequest authorizationRequest = mock(OAuth2AuthorizationRequest.class);
-
         when(response.isCommitted()).thenReturn(false);
 
         when(authentication.getPrincipal()).thenReturn(null);
 
-        when(repository.loadAuthorizationRequest(request)).thenReturn(authorizationRequest);
-
-        when(authorizationRequest.getAttributes())
-                .thenReturn(Map.of(AuthSuccessHandler.CLIENT_CODE_CHALLENGE, "challenge"));
-
-        try (MockedStatic<CookieManager> cookieManager = mockStatic(CookieManager.class)) {
+        when(repository.loadAttribute(request, AuthSuccessHandler.CLIENT_CODE_CHALLENGE))
+                .thenReturn("challenge");
+        when(repository.loadAttribute(request, AuthSuccessHandler.REDIRECT_PARAM_NAME))
+                .thenReturn(authorizedRedirectUri.toString());
 
-            cookieManager
-                    .when(
-                            () ->
-                                    CookieManager.getCookie(
-                                            request, AuthSuccessHandler.REDIRECT_PARAM_NAME))
-                    .thenReturn(
-                            Optional.of(
-                                    new Cookie(
-                                            AuthSuccessHandler.REDIRECT_PARAM_NAME,
-                                            authorizedRedirectUri.toString())));
+        UnauthorizedException exception =
+                assertThrows(
+                        UnauthorizedException.class,
+                        () -> handler.onAuthenticationSuccess(request, response, authentication));
 
-            UnauthorizedException exception =
-                    assertThrows(
-                            UnauthorizedException.class,
-                            () ->
-                                    handler.onAuthenticationSuccess(
-                                            request, response, authentication));
+        assertEquals("Invalid Credentials", exception.getReason());
 
-            assertEquals("Invalid Credentials", exception.getReason());
-
-            verifyNoInteractions(exchangeManager);
-        }
+        verifyNoInteractions(exchangeManager);
     }
 
     @Test
@@ -304,68 +211,38 @@ class AuthSuccessHandlerTest {
 
         when(response.isCommitted()).thenReturn(false);
 
-        try (MockedStatic<CookieManager> cookieManager = mockStatic(CookieManager.class)) {
-
-            cookieManager
-                    .when(
-                            () ->
-                                    CookieManager.getCookie(
-                                            request, AuthSuccessHandler.REDIRECT_PARAM_NAME))
-                    .thenReturn(
-                            Optional.of(
-                                    new Cookie(
-                                            AuthSuccessHandler.REDIRECT_PARAM_NAME,
-                                            "https://malicious.com/callback")));
-
-            UnauthorizedException exception =
-                    assertThrows(
-                            UnauthorizedException.class,
-                            () ->
-                                    handler.onAuthenticationSuccess(
-                                            request, response, authentication));
-
-            assertEquals("Unauthorized redirect URI", exception.getReason());
-        }
+        when(repository.loadAttribute(request, AuthSuccessHandler.REDIRECT_PARAM_NAME))
+                .thenReturn("https://malicious.com/callback");
+
+        UnauthorizedException exception =
+                assertThrows(
+                        UnauthorizedException.class,
+                        () -> handler.onAuthenticationSuccess(request, response, authentication));
+
+        assertEquals("Unauthorized redirect URI", exception.getReason());
     }
 
     @Test
-    @DisplayName("Should use default target URL when redirect cookie is absent")
-    void onAuthenticationSuccess_ShouldUseDefaultTargetUrl_WhenRedirectCookieIsAbsent()
+    @DisplayName("Should use default target URL when no redirect URI was stored")
+    void onAuthenticationSuccess_ShouldUseDefaultTargetUrl_WhenNoRedirectUriStored()
             throws IOException {
 
         UUID generatedCode = UUID.randomUUID();
 
-        OAuth2AuthorizationRequest authorizationRequest = mock(OAuth2AuthorizationRequest.class);
-
         when(authentication.getPrincipal()).thenReturn(principal);
         when(response.isCommitted()).thenReturn(false);
         when(uuidGenerator.generate()).thenReturn(generatedCode);
 
-        when(repository.loadAuthorizationRequest(request)).thenReturn(authorizationRequest);
-
-        when(authorizationRequest.getAttributes())
-                .thenReturn(Map.of(AuthSuccessHandler.CLIENT_CODE_CHALLENGE, "challenge"));
+        when(repository.loadAttribute(request, AuthSuccessHandler.REDIRECT_PARAM_NAME))
+                .thenReturn(null);
+        when(repository.loadAttribute(request, AuthSuccessHandler.CLIENT_CODE_CHALLENGE))
+                .thenReturn("challenge");
 
         when(principal.getUserId()).thenReturn(UUID.randomUUID());
 
         handler.setDefaultTargetUrl(authorizedRedirectUri.toString());
 
-        try (MockedStatic<CookieManager> cookieManager = mockStatic(CookieManager.class);
-                MockedStatic<Utils> utils = mockStatic(Utils.class)) {
-
-            cookieManager
-                    .when(
-                            () ->
-                                    CookieManager.getCookie(
-                                            request, AuthSuccessHandler.REDIRECT_PARAM_NAME))
-                    .thenReturn(Optional.empty());
-
-            cookieManager
-                    .when(
-                            () ->
-                                    CookieManager.getCookie(
-                                            request, AuthSuccessHandler.CLIENT_CODE_CHALLENGE))
-                    .thenReturn(Optional.empty());
+        try (MockedStatic<Utils> utils = mockStatic(Utils.class)) {
 
             utils.when(() -> Utils.extractClientIP(request)).thenReturn("");
 
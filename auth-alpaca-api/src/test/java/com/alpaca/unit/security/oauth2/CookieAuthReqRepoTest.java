@@ -1,205 +1,153 @@
 package com.alpaca.unit.security.oauth2;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-import com.alpaca.security.manager.CookieManager;
+import com.alpaca.security.oauth2.AuthRequestCookieCodec;
 import com.alpaca.security.oauth2.CookieAuthReqRepo;
 import jakarta.servlet.http.Cookie;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
-import org.mockito.MockedStatic;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
 
 /** Unit tests for {@link CookieAuthReqRepo} */
-@ExtendWith(MockitoExtension.class)
 @DisplayName("CookieAuthReqRepo Unit Tests")
 class CookieAuthReqRepoTest {
 
+    private static final String KEY = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+    private AuthRequestCookieCodec codec;
     private CookieAuthReqRepo repo;
     private MockHttpServletRequest request;
     private MockHttpServletResponse response;
 
     @BeforeEach
     void setUp() {
-        repo = new CookieAuthReqRepo();
+        codec = spy(new AuthRequestCookieCodec(KEY));
+        repo = new CookieAuthReqRepo(codec);
         request = new MockHttpServletRequest();
         response = new MockHttpServletResponse();
     }
 
-    @Test
-    @DisplayName("loadAuthorizationRequest: Should return deserialized request when cookie exists")
-    void loadAuthorizationRequest_ShouldReturnRequest_WhenCookieExists() {
-        String cookieValue = "serialized-data";
-        Cookie cookie = new Cookie(CookieAuthReqRepo.AUTHORIZATION_COOKIE_NAME, cookieValue);
-        OAuth2AuthorizationRequest expected = mock(OAuth2AuthorizationRequest.class);
-
-        try (MockedStatic<CookieManager> cm = mockStatic(CookieManager.class)) {
-            cm.when(
-                            () ->
-                                    CookieManager.getCookie(
-                                            request, CookieAuthReqRepo.AUTHORIZATION_COOKIE_NAME))
-                    .thenReturn(Optional.of(cookie));
-            cm.when(() -> CookieManager.deserialize(cookie, OAuth2AuthorizationRequest.class))
-                    .thenReturn(expected);
-
-            OAuth2AuthorizationRequest actual = repo.loadAuthorizationRequest(request);
-
-            assertEquals(expected, actual);
-        }
+    private static OAuth2AuthorizationRequest authorizationRequest(String challenge) {
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+                .clientId("google-client")
+                .redirectUri("http://localhost:8080/oauth2/callback/google")
+                .state("state-123")
+                .attributes(
+                        Map.of(
+                                OAuth2ParameterNames.REGISTRATION_ID,
+                                "google",
+                                CookieAuthReqRepo.CLIENT_CODE_CHALLENGE,
+                                challenge))
+                .build();
     }
 
-    @Test
-    @DisplayName("loadAuthorizationRequest: Should return null when cookie is missing")
-    void loadAuthorizationRequest_ShouldReturnNull_WhenCookieMissing() {
-        try (MockedStatic<CookieManager> cm = mockStatic(CookieManager.class)) {
-            cm.when(
-                            () ->
-                                    CookieManager.getCookie(
-                                            request, CookieAuthReqRepo.AUTHORIZATION_COOKIE_NAME))
-                    .thenReturn(Optional.empty());
-
-            OAuth2AuthorizationRequest actual = repo.loadAuthorizationRequest(request);
-
-            assertNull(actual);
-        }
+    /** Sends the cookie saved by the repository on a new callback request. */
+    private MockHttpServletRequest callbackWithSavedCookie() {
+        Cookie saved = response.getCookie(CookieAuthReqRepo.AUTHORIZATION_COOKIE_NAME);
+        assertNotNull(saved);
+        MockHttpServletRequest callback = new MockHttpServletRequest();
+        callback.setCookies(new Cookie(saved.getName(), saved.getValue()));
+        return callback;
     }
 
     @Test
     @DisplayName(
-            "saveAuthorizationRequest: Should add cookies for auth, redirect, and client challenge")
-    void saveAuthorizationRequest_ShouldAddAllCookies_WhenPresent() {
-        OAuth2AuthorizationRequest authReq = mock(OAuth2AuthorizationRequest.class);
-        String serialized = "serialized-auth-req";
-        String redirectUri = "[https://alpaca.com/dashboard](https://alpaca.com/dashboard)";
-        String challenge = "pkce-challenge-v7";
-        Map<String, Object> attributes = new HashMap<>();
-        attributes.put(CookieAuthReqRepo.CLIENT_CODE_CHALLENGE, challenge);
-
-        request.addParameter(CookieAuthReqRepo.REDIRECT_PARAM_NAME, redirectUri);
-        when(authReq.getAttributes()).thenReturn(attributes);
-
-        try (MockedStatic<CookieManager> cm = mockStatic(CookieManager.class)) {
-            cm.when(() -> CookieManager.serialize(authReq)).thenReturn(serialized);
-
-            repo.saveAuthorizationRequest(authReq, request, response);
-
-            cm.verify(
-                    () ->
-                            CookieManager.addCookie(
-                                    request,
-                                    response,
-                                    CookieAuthReqRepo.AUTHORIZATION_COOKIE_NAME,
-                                    serialized,
-                                    CookieAuthReqRepo.COOKIE_EXPIRED_SECONDS));
-            cm.verify(
-                    () ->
-                            CookieManager.addCookie(
-                                    request,
-                                    response,
-                                    CookieAuthReqRepo.REDIRECT_PARAM_NAME,
-                                    redirectUri,
-                                    CookieAuthReqRepo.COOKIE_EXPIRED_SECONDS));
-            cm.verify(
-                    () ->
-                            CookieManager.addCookie(
-                                    request,
-                                    response,
-                                    CookieAuthReqRepo.CLIENT_CODE_CHALLENGE,
-                                    challenge,
-                                    CookieAuthReqRepo.COOKIE_EXPIRED_SECONDS));
-        }
+            "saveAuthorizationRequest: Should store request, redirect and client id in one cookie")
+    void saveAuthorizationRequest_ShouldStoreEverythingInOneCookie() {
+        request.addParameter(CookieAuthReqRepo.REDIRECT_PARAM_NAME, "https://alpaca.com/dashboard");
+        request.addParameter(CookieAuthReqRepo.CLIENT_ID_PARAM, "web-client");
+
+        repo.saveAuthorizationRequest(authorizationRequest("pkce-challenge-v7"), request, response);
+
+        assertEquals(1, response.getCookies().length);
+        Cookie cookie = response.getCookies()[0];
+        assertEquals(CookieAuthReqRepo.AUTHORIZATION_COOKIE_NAME, cookie.getName());
+        assertEquals(CookieAuthReqRepo.COOKIE_EXPIRED_SECONDS, cookie.getMaxAge());
+
+        MockHttpServletRequest callback = callbackWithSavedCookie();
+        OAuth2AuthorizationRequest loaded = repo.loadAuthorizationRequest(callback);
+        assertNotNull(loaded);
+        assertEquals("state-123", loaded.getState());
+        assertEquals(
+                "https://alpaca.com/dashboard",
+                repo.loadAttribute(callback, CookieAuthReqRepo.REDIRECT_PARAM_NAME));
+        assertEquals("web-client", repo.loadAttribute(callback, CookieAuthReqRepo.CLIENT_ID_PARAM));
+        assertEquals(
+                "pkce-challenge-v7",
+                repo.loadAttribute(callback, CookieAuthReqRepo.CLIENT_CODE_CHALLENGE));
     }
 
     @ParameterizedTest
     @NullAndEmptySource
-    @DisplayName("saveAuthorizationRequest: Should skip redirect and challenge cookies if blank")
-    void saveAuthorizationRequest_ShouldSkipCookies_WhenDataIsBlank(String blankValue) {
-        OAuth2AuthorizationRequest authReq = mock(OAuth2AuthorizationRequest.class);
-        Map<String, Object> attributes = new HashMap<>();
-        attributes.put(CookieAuthReqRepo.CLIENT_CODE_CHALLENGE, blankValue);
-
-        request.addParameter(CookieAuthReqRepo.REDIRECT_PARAM_NAME, blankValue);
-        when(authReq.getAttributes()).thenReturn(attributes);
-
-        try (MockedStatic<CookieManager> cm = mockStatic(CookieManager.class)) {
-            cm.when(() -> CookieManager.serialize(authReq)).thenReturn("data");
-
-            repo.saveAuthorizationRequest(authReq, request, response);
-
-            cm.verify(
-                    () ->
-                            CookieManager.addCookie(
-                                    eq(request),
-                                    eq(response),
-                                    eq(CookieAuthReqRepo.REDIRECT_PARAM_NAME),
-                                    anyString(),
-                                    anyInt()),
-                    never());
-            cm.verify(
-                    () ->
-                            CookieManager.addCookie(
-                                    eq(request),
-                                    eq(response),
-                                    eq(CookieAuthReqRepo.CLIENT_CODE_CHALLENGE),
-                                    anyString(),
-                                    anyInt()),
-                    never());
+    @DisplayName("saveAuthorizationRequest: Should skip redirect and client id if blank")
+    void saveAuthorizationRequest_ShouldSkipAttributes_WhenParametersAreBlank(String blankValue) {
+        if (blankValue != null) {
+            request.addParameter(CookieAuthReqRepo.REDIRECT_PARAM_NAME, blankValue);
+            request.addParameter(CookieAuthReqRepo.CLIENT_ID_PARAM, blankValue);
         }
+
+        repo.saveAuthorizationRequest(authorizationRequest("challenge"), request, response);
+
+        MockHttpServletRequest callback = callbackWithSavedCookie();
+        assertNull(repo.loadAttribute(callback, CookieAuthReqRepo.REDIRECT_PARAM_NAME));
+        assertNull(repo.loadAttribute(callback, CookieAuthReqRepo.CLIENT_ID_PARAM));
     }
 
     @Test
-    @DisplayName("removeAuthorizationRequest: Should delegate to loadAuthorizationRequest")
-    void removeAuthorizationRequest_ShouldReturnLoadedRequest() {
-        Cookie cookie = new Cookie(CookieAuthReqRepo.AUTHORIZATION_COOKIE_NAME, "val");
-        OAuth2AuthorizationRequest expected = mock(OAuth2AuthorizationRequest.class);
-
-        try (MockedStatic<CookieManager> cm = mockStatic(CookieManager.class)) {
-            cm.when(
-                            () ->
-                                    CookieManager.getCookie(
-                                            request, CookieAuthReqRepo.AUTHORIZATION_COOKIE_NAME))
-                    .thenReturn(Optional.of(cookie));
-            cm.when(() -> CookieManager.deserialize(cookie, OAuth2AuthorizationRequest.class))
-                    .thenReturn(expected);
-
-            OAuth2AuthorizationRequest actual = repo.removeAuthorizationRequest(request, response);
-
-            assertEquals(expected, actual);
-        }
+    @DisplayName("loadAuthorizationRequest: Should return null when cookie is missing")
+    void loadAuthorizationRequest_ShouldReturnNull_WhenCookieMissing() {
+        assertNull(repo.loadAuthorizationRequest(request));
+        assertNull(repo.loadAttribute(request, CookieAuthReqRepo.REDIRECT_PARAM_NAME));
     }
 
     @Test
-    @DisplayName("removeAuthorizationRequestCookies: Should explicitly delete all state cookies")
-    void removeAuthorizationRequestCookies_ShouldDeleteAll() {
-        try (MockedStatic<CookieManager> cm = mockStatic(CookieManager.class)) {
-            repo.removeAuthorizationRequestCookies(request, response);
-
-            cm.verify(
-                    () ->
-                            CookieManager.deleteCookie(
-                                    request,
-                                    response,
-                                    CookieAuthReqRepo.AUTHORIZATION_COOKIE_NAME));
-            cm.verify(
-                    () ->
-                            CookieManager.deleteCookie(
-                                    request, response, CookieAuthReqRepo.REDIRECT_PARAM_NAME));
-            cm.verify(
-                    () ->
-                            CookieManager.deleteCookie(
-                                    request, response, CookieAuthReqRepo.CLIENT_CODE_CHALLENGE));
-        }
+    @DisplayName("loadAuthorizationRequest: Should return null when cookie was tampered with")
+    void loadAuthorizationRequest_ShouldReturnNull_WhenCookieTampered() {
+        repo.saveAuthorizationRequest(authorizationRequest("challenge"), request, response);
+        String value = response.getCookie(CookieAuthReqRepo.AUTHORIZATION_COOKIE_NAME).getValue();
+        char first = value.charAt(0);
+        MockHttpServletRequest callback = new MockHttpServletRequest();
+        callback.setCookies(
+                new Cookie(
+                        CookieAuthReqRepo.AUTHORIZATION_COOKIE_NAME,
+                        (first == 'A' ? 'B' : 'A') + value.substring(1)));
+
+        assertNull(repo.loadAuthorizationRequest(callback));
+    }
+
+    @Test
+    @DisplayName("loadAuthorizationRequest: Should decode the cookie once per request")
+    void loadAuthorizationRequest_ShouldDecodeOncePerRequest() {
+        repo.saveAuthorizationRequest(authorizationRequest("challenge"), request, response);
+        MockHttpServletRequest callback = callbackWithSavedCookie();
+
+        OAuth2AuthorizationRequest removed = repo.removeAuthorizationRequest(callback, response);
+        repo.loadAttribute(callback, CookieAuthReqRepo.CLIENT_CODE_CHALLENGE);
+        repo.loadAttribute(callback, CookieAuthReqRepo.REDIRECT_PARAM_NAME);
+
+        assertSame(removed, repo.loadAuthorizationRequest(callback));
+        verify(codec, times(1)).decode(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("removeAuthorizationRequestCookies: Should delete the authorization cookie")
+    void removeAuthorizationRequestCookies_ShouldDeleteCookie() {
+        request.setCookies(new Cookie(CookieAuthReqRepo.AUTHORIZATION_COOKIE_NAME, "value"));
+
+        repo.removeAuthorizationRequestCookies(request, response);
+
+        Cookie deleted = response.getCookie(CookieAuthReqRepo.AUTHORIZATION_COOKIE_NAME);
+        assertNotNull(deleted);
+        assertEquals(0, deleted.getMaxAge());
     }
 }
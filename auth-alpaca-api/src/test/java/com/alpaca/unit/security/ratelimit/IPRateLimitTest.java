@@ -3,21 +3,32 @@ package com.alpaca.unit.security.ratelimit;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.alpaca.dto.response.RateLimitResult;
+import com.alpaca.metrics.AuthMetrics;
 import com.alpaca.security.ratelimit.IPRateLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 
 class IPRateLimitTest {
 
     private IPRateLimit ipRateLimit;
+    private MeterRegistry meterRegistry;
     private final String testIp = "192.168.1.1";
     private static final int MAX_REQUESTS = 10;
 
     @BeforeEach
     void setUp() {
         // A fresh instance for each test to clean the internal ConcurrentHashMap
-        ipRateLimit = new IPRateLimit(MAX_REQUESTS);
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        ipRateLimit =
+                new IPRateLimit(
+                        MAX_REQUESTS,
+                        new AuthMetrics(beanFactory.getBeanProvider(MeterRegistry.class)));
     }
 
     @Test
@@ -42,6 +53,20 @@ class IPRateLimitTest {
         assertThat(result.retryAfterSeconds()).isGreaterThan(0);
     }
 
+    @Test
+    @DisplayName("It must count allowed and denied decisions without tagging the IP")
+    void shouldCountDecisions() {
+        for (int i = 0; i < 11; i++) {
+            ipRateLimit.check(testIp);
+        }
+
+        assertThat(meterRegistry.get("auth.ratelimit").tag("result", "allowed").counter().count())
+                .isEqualTo(10);
+        assertThat(meterRegistry.get("auth.ratelimit").tag("result", "denied").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("auth.ratelimit").counters()).hasSize(2);
+    }
+
     @Test
     @DisplayName("You must manage separate buckets for different IPs")
     void shouldMaintainSeparateBucketsForDifferentIps() {
@@ -8,6 +8,7 @@ import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.NotFoundException;
 import com.alpaca.persistence.impl.PermissionDAOImpl;
 import com.alpaca.resources.provider.PermissionProvider;
+import com.alpaca.security.manager.AuthorityCacheManager;
 import com.alpaca.service.impl.PermissionServiceImpl;
 import java.util.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,6 +27,7 @@ import org.springframework.data.domain.Pageable;
 class PermissionServiceImplTest {
 
     @Mock private PermissionDAOImpl dao;
+    @Mock private AuthorityCacheManager authorityCacheManager;
 
     @InjectMocks private PermissionServiceImpl service;
 
@@ -639,4 +641,27 @@ class PermissionServiceImplTest {
 
         assertTrue(values.isEmpty());
     }
+
+    @Test
+    void updateByIdShouldEvictAllCachedRoleAuthorities() {
+        Permission existingPermission = PermissionProvider.singleEntity();
+        UUID permissionId = existingPermission.getId();
+
+        when(dao.findById(permissionId)).thenReturn(Optional.of(existingPermission));
+        when(dao.save(existingPermission)).thenReturn(existingPermission);
+
+        service.updateById(PermissionProvider.alternativeEntity(), permissionId);
+
+        verify(authorityCacheManager).evictAll();
+    }
+
+    @Test
+    void deleteByIdShouldEvictAllCachedRoleAuthorities() {
+        UUID permissionId = firstEntity.getId();
+
+        service.deleteById(permissionId);
+
+        verify(dao).deleteById(permissionId);
+        verify(authorityCacheManager).evictAll();
+    }
 }
@@ -9,6 +9,8 @@ import com.alpaca.entity.Session;
 import com.alpaca.entity.User;
 import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.UnauthorizedException;
+import com.alpaca.metrics.AuthMetrics;
+import com.alpaca.metrics.AuthMetrics.RotationOutcome;
 import com.alpaca.model.AuthCode;
 import com.alpaca.model.UserPrincipal;
 import com.alpaca.persistence.IRefreshTokenDAO;
@@ -39,6 +41,7 @@ class RefreshTokenServiceImplTest {
     @Mock private IUserService userService;
     @Mock private JJwtManager manager;
     @Mock private UUIDv7Generator uuidv7Generator;
+    @Mock private AuthMetrics authMetrics;
 
     @InjectMocks private RefreshTokenServiceImpl service;
 
@@ -88,7 +91,10 @@ class RefreshTokenServiceImplTest {
         when(manager.createRefreshToken(any(RefreshToken.class))).thenReturn(newRefreshTokenJwt);
         when(manager.createTokenHash(newRefreshTokenJwt)).thenReturn(newRefreshTokenHash);
         when(dao.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(manager.createAccessToken(any(UserPrincipal.class), any(Instant.class)))
+        when(manager.createAccessToken(
+                        any(UserPrincipal.class),
+                        eq(refreshToken.getFamilyId()),
+                        any(Instant.class)))
                 .thenReturn(accessToken);
 
         AuthResponseDTO response =
@@ -108,7 +114,12 @@ class RefreshTokenServiceImplTest {
                 () -> assertNotNull(refreshToken.getReplacedBy()));
 
         verify(dao, times(2)).save(any(RefreshToken.class));
-        verify(manager).createAccessToken(any(UserPrincipal.class), any(Instant.class));
+        verify(manager)
+                .createAccessToken(
+                        any(UserPrincipal.class),
+                        eq(refreshToken.getFamilyId()),
+                        any(Instant.class));
+        verify(authMetrics).recordRotation(RotationOutcome.OK);
     }
 
     @Test
@@ -133,6 +144,7 @@ class RefreshTokenServiceImplTest {
         assertEquals("Revoked Session", exception.getReason());
 
         verify(dao, never()).save(any(RefreshToken.class));
+        verify(authMetrics).recordRotation(RotationOutcome.REVOKED);
     }
 
     @Test
@@ -218,6 +230,7 @@ class RefreshTokenServiceImplTest {
         assertEquals("Invalid Refresh Token", exception.getReason());
 
         verify(dao, never()).save(any(RefreshToken.class));
+        verify(authMetrics).recordRotation(RotationOutcome.UNKNOWN);
     }
 
     @Test
@@ -376,7 +389,8 @@ class RefreshTokenServiceImplTest {
         when(manager.getJwtTimeExpRefresh()).thenReturn(300_000L);
         when(manager.createRefreshToken(any(RefreshToken.class))).thenReturn(refreshTokenJwt);
         when(manager.createTokenHash(refreshTokenJwt)).thenReturn(refreshTokenHash);
-        when(manager.createAccessToken(userPrincipal, session.getLastSeenAt()))
+        when(manager.createAccessToken(
+                        userPrincipal, session.getFamilyId(), session.getLastSeenAt()))
                 .thenReturn(accessToken);
 
         AuthResponseDTO response = service.generateJWTTokens(userPrincipal, session);
@@ -417,7 +431,8 @@ class RefreshTokenServiceImplTest {
         when(manager.getJwtTimeExpRefresh()).thenReturn(300_000L);
         when(manager.createRefreshToken(any(RefreshToken.class))).thenReturn(refreshTokenJwt);
         when(manager.createTokenHash(refreshTokenJwt)).thenReturn(refreshTokenHash);
-        when(manager.createAccessToken(any(UserPrincipal.class), any(Instant.class)))
+        when(manager.createAccessToken(
+                        any(UserPrincipal.class), eq(session.getFamilyId()), any(Instant.class)))
                 .thenReturn(accessToken);
 
         AuthResponseDTO response = service.generateJWTTokens(authCode);
@@ -508,6 +523,7 @@ class RefreshTokenServiceImplTest {
 
         verify(sessionService)
                 .revokeSessionByFamilyId(refreshToken.getFamilyId(), now, "reuse-detected");
+        verify(authMetrics).recordRotation(RotationOutcome.REUSE);
     }
 
     @Test
@@ -554,6 +570,7 @@ class RefreshTokenServiceImplTest {
 
         verify(sessionService)
                 .revokeSessionByFamilyId(refreshToken.getFamilyId(), now, "reuse-detected");
+        verify(authMetrics).recordRotation(RotationOutcome.EXPIRED);
     }
 
     @Test
@@ -597,6 +614,7 @@ class RefreshTokenServiceImplTest {
 
         verify(sessionService)
                 .revokeSessionByFamilyId(refreshToken.getFamilyId(), now, "client-mismatch");
+        verify(authMetrics).recordRotation(RotationOutcome.MISMATCH);
     }
 
     @Test
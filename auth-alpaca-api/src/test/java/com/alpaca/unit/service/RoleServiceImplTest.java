@@ -8,6 +8,7 @@ import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.NotFoundException;
 import com.alpaca.persistence.impl.RoleDAOImpl;
 import com.alpaca.resources.provider.RoleProvider;
+import com.alpaca.security.manager.AuthorityCacheManager;
 import com.alpaca.service.impl.RoleServiceImpl;
 import java.util.HashSet;
 import java.util.Optional;
@@ -26,6 +27,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class RoleServiceImplTest {
 
     @Mock private RoleDAOImpl dao;
+    @Mock private AuthorityCacheManager authorityCacheManager;
 
     @InjectMocks private RoleServiceImpl service;
 
@@ -304,4 +306,29 @@ class RoleServiceImplTest {
         verify(dao).findById(roleId);
         verify(dao).save(existingRole);
     }
+
+    @Test
+    void updateByIdShouldEvictCachedAuthoritiesOfRole() {
+        Role existingRole = RoleProvider.singleEntity();
+        UUID roleId = existingRole.getId();
+
+        when(dao.findById(roleId)).thenReturn(Optional.of(existingRole));
+        when(dao.save(existingRole)).thenReturn(existingRole);
+
+        service.updateById(RoleProvider.alternativeEntity(), roleId);
+
+        verify(authorityCacheManager).evictRole(roleId);
+    }
+
+    // --- deleteById ---
+
+    @Test
+    void deleteByIdShouldEvictCachedAuthoritiesOfRole() {
+        UUID roleId = firstEntity.getId();
+
+        service.deleteById(roleId);
+
+        verify(dao).deleteById(roleId);
+        verify(authorityCacheManager).evictRole(roleId);
+    }
 }
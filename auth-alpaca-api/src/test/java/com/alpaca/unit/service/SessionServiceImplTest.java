@@ -9,11 +9,14 @@ import com.alpaca.exception.BadRequestException;
 import com.alpaca.exception.ExceededSessionsException;
 import com.alpaca.exception.ForbiddenException;
 import com.alpaca.exception.NotFoundException;
+import com.alpaca.metrics.AuthMetrics;
+import com.alpaca.metrics.AuthMetrics.SessionAdmission;
 import com.alpaca.persistence.IRefreshTokenDAO;
 import com.alpaca.persistence.ISessionDAO;
 import com.alpaca.persistence.IUserDAO;
 import com.alpaca.resources.provider.SessionProvider;
 import com.alpaca.resources.provider.UserProvider;
+import com.alpaca.security.manager.AccessTokenRevocationIndex;
 import com.alpaca.service.impl.SessionServiceImpl;
 import com.alpaca.utils.UUIDv7Generator;
 import java.time.Instant;
@@ -22,6 +25,7 @@ import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 /** Unit tests for {@link SessionServiceImpl}. */
@@ -32,6 +36,8 @@ class SessionServiceImplTest {
     private IUserDAO userDAO;
     private IRefreshTokenDAO refreshTokenDAO;
     private UUIDv7Generator uuidv7Generator;
+    private AccessTokenRevocationIndex revocationIndex;
+    private AuthMetrics authMetrics;
 
     private SessionServiceImpl service;
 
@@ -44,8 +50,19 @@ class SessionServiceImplTest {
         userDAO = mock(IUserDAO.class);
         refreshTokenDAO = mock(IRefreshTokenDAO.class);
         uuidv7Generator = mock(UUIDv7Generator.class);
-
-        service = new SessionServiceImpl(dao, userDAO, refreshTokenDAO, uuidv7Generator, 2, false);
+        revocationIndex = mock(AccessTokenRevocationIndex.class);
+        authMetrics = mock(AuthMetrics.class);
+
+        service =
+                new SessionServiceImpl(
+                        dao,
+                        userDAO,
+                        refreshTokenDAO,
+                        uuidv7Generator,
+                        revocationIndex,
+                        authMetrics,
+                        2,
+                        false);
 
         user = UserProvider.singleEntity();
         session = SessionProvider.singleEntity();
@@ -57,7 +74,14 @@ class SessionServiceImplTest {
                 IllegalStateException.class,
                 () ->
                         new SessionServiceImpl(
-                                dao, userDAO, refreshTokenDAO, uuidv7Generator, 0, false));
+                                dao,
+                                userDAO,
+                                refreshTokenDAO,
+                                uuidv7Generator,
+                                revocationIndex,
+                                authMetrics,
+                                0,
+                                false));
     }
 
     @Test
@@ -69,6 +93,7 @@ class SessionServiceImplTest {
         service.revokeSessionByFamilyId(familyId, revokedAt, reason);
 
         verify(dao).revokeSessionByFamilyId(familyId, revokedAt, reason);
+        verify(revocationIndex).revokeFamily(familyId);
     }
 
     @Test
@@ -142,6 +167,7 @@ class SessionServiceImplTest {
                         eq(oldFamilyId), any(Instant.class), eq("new-session-created"));
 
         verify(dao).save(session);
+        verify(authMetrics).recordSessionAdmission(SessionAdmission.REUSED);
     }
 
     @Test
@@ -166,12 +192,21 @@ class SessionServiceImplTest {
         verify(dao).countByUserIdAndRevokedFalse(userId);
         verify(dao).findFirstActiveSessionForUpdate(userId);
         verify(dao, never()).save(any(Session.class));
+        verify(authMetrics).recordSessionAdmission(SessionAdmission.REJECTED);
     }
 
     @Test
     void createSessionShouldRevokeOldestSessionWhenInfinityLoginEnabledAndLimitIsReached() {
         SessionServiceImpl infinityLoginService =
-                new SessionServiceImpl(dao, userDAO, refreshTokenDAO, uuidv7Generator, 2, true);
+                new SessionServiceImpl(
+                        dao,
+                        userDAO,
+                        refreshTokenDAO,
+                        uuidv7Generator,
+                        revocationIndex,
+                        authMetrics,
+                        2,
+                        true);
 
         UUID userId = user.getId();
         UUID newFamilyId = UUID.randomUUID();
@@ -209,8 +244,10 @@ class SessionServiceImplTest {
                         eq(oldestSession.getFamilyId()),
                         any(Instant.class),
                         eq("new-session-created"));
+        verify(revocationIndex).revokeFamily(oldestSession.getFamilyId());
 
         verify(dao).save(any(Session.class));
+        verify(authMetrics).recordSessionAdmission(SessionAdmission.EVICTED);
     }
 
     @Test
@@ -243,6 +280,7 @@ class SessionServiceImplTest {
                 () -> assertNotNull(result.getLastSeenAt()));
 
         verify(dao).save(any(Session.class));
+        verify(authMetrics).recordSessionAdmission(SessionAdmission.CREATED);
     }
 
     @Test
@@ -290,6 +328,7 @@ class SessionServiceImplTest {
         verify(dao)
                 .revokeSessionByFamilyId(
                         eq(session.getFamilyId()), any(Instant.class), eq("user-self-revocation"));
+        verify(revocationIndex).revokeFamily(session.getFamilyId());
     }
 
     @Test
@@ -303,6 +342,10 @@ class SessionServiceImplTest {
 
         verify(refreshTokenDAO)
                 .revokeTokensByUserId(eq(userId), any(Instant.class), eq("user-self-revocation"));
+
+        ArgumentCaptor<Instant> watermark = ArgumentCaptor.forClass(Instant.class);
+        verify(userDAO).updateTokensInvalidBefore(eq(userId), watermark.capture());
+        verify(revocationIndex).invalidateTokensBefore(userId, watermark.getValue());
     }
 
     @Test
@@ -522,7 +565,15 @@ class SessionServiceImplTest {
     void
             createSessionShouldCreateSessionWithoutRevokingWhenInfinityLoginEnabledAndNoOldestSession() {
         SessionServiceImpl infinityLoginService =
-                new SessionServiceImpl(dao, userDAO, refreshTokenDAO, uuidv7Generator, 2, true);
+                new SessionServiceImpl(
+                        dao,
+                        userDAO,
+                        refreshTokenDAO,
+                        uuidv7Generator,
+                        revocationIndex,
+                        authMetrics,
+                        2,
+                        true);
 
         UUID userId = user.getId();
         UUID newFamilyId = UUID.randomUUID();
@@ -11,6 +11,7 @@ import com.alpaca.exception.NotFoundException;
 import com.alpaca.model.UserPrincipal;
 import com.alpaca.persistence.IUserDAO;
 import com.alpaca.resources.provider.UserProvider;
+import com.alpaca.security.manager.AccessTokenRevocationIndex;
 import com.alpaca.security.manager.PasswordManager;
 import com.alpaca.service.impl.UserServiceImpl;
 import java.util.Optional;
@@ -29,6 +30,7 @@ class UserServiceImplTest {
 
     @Mock private IUserDAO dao;
     @Mock private PasswordManager passwordManager;
+    @Mock private AccessTokenRevocationIndex revocationIndex;
 
     @InjectMocks private UserServiceImpl service;
 
@@ -132,6 +134,46 @@ class UserServiceImplTest {
         verify(dao).save(existingUser);
     }
 
+    @Test
+    void updateByIdShouldInvalidateIssuedTokensWhenUserIsDisabled() {
+        User existingUser = firstUser;
+        User incomingUser = secondUser;
+        existingUser.setEnabled(true);
+        existingUser.setAccountNonLocked(true);
+        existingUser.setAccountNonExpired(true);
+        incomingUser.setEnabled(false);
+        UUID userId = existingUser.getId();
+
+        when(dao.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(dao.save(existingUser)).thenReturn(existingUser);
+
+        User result = service.updateById(incomingUser, userId);
+
+        assertThat(result.getTokensInvalidBefore()).isNotNull();
+        verify(revocationIndex).invalidateTokensBefore(userId, result.getTokensInvalidBefore());
+    }
+
+    @Test
+    void updateByIdShouldKeepIssuedTokensWhenUserStaysActive() {
+        User existingUser = firstUser;
+        User incomingUser = secondUser;
+        existingUser.setTokensInvalidBefore(null);
+        for (User user : new User[] {existingUser, incomingUser}) {
+            user.setEnabled(true);
+            user.setAccountNonLocked(true);
+            user.setAccountNonExpired(true);
+        }
+        UUID userId = existingUser.getId();
+
+        when(dao.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(dao.save(existingUser)).thenReturn(existingUser);
+
+        User result = service.updateById(incomingUser, userId);
+
+        assertThat(result.getTokensInvalidBefore()).isNull();
+        verifyNoInteractions(revocationIndex);
+    }
+
     @Test
     void updateByIdShouldNotUpdatePasswordWhenPasswordsMatch() {
         User existingUser = firstUser;
@@ -0,0 +1,103 @@
+package com.alpaca.unit.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.alpaca.utils.UUIDv7Generator;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link UUIDv7Generator}. */
+@DisplayName("UUIDv7Generator Unit Tests")
+class UUIDv7GeneratorTest {
+
+    private static final int THREADS = 8;
+
+    private static final int PER_THREAD = 20_000;
+
+    private final UUIDv7Generator generator = new UUIDv7Generator();
+
+    /**
+     * Compares two UUIDs as unsigned 128-bit values, the order of their string and byte forms.
+     *
+     * @param a the first UUID
+     * @param b the second UUID
+     * @return a negative value, zero or a positive value as {@code a} is before, equal to or after
+     *     {@code b}
+     */
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0
+                ? high
+                : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    @Test
+    @DisplayName("generate should return a version 7, IETF variant UUID stamped with the time")
+    void generate_ShouldReturnVersion7WithTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = generator.generate();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after + 1, "timestamp " + timestamp);
+    }
+
+    @Test
+    @DisplayName("generate should return strictly increasing UUIDs within a thread")
+    void generate_ShouldBeMonotonicWithinThread() {
+        UUID previous = generator.generate();
+        for (int i = 0; i < PER_THREAD; i++) {
+            UUID next = generator.generate();
+            assertTrue(compareUnsigned(previous, next) < 0, previous + " !< " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("generate should return unique UUIDs, ordered per thread, under concurrency")
+    void generate_ShouldBeUniqueAcrossThreads() throws Exception {
+        List<Future<List<UUID>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(
+                        executor.submit(
+                                () -> {
+                                    List<UUID> uuids = new ArrayList<>(PER_THREAD);
+                                    for (int i = 0; i < PER_THREAD; i++) {
+                                        uuids.add(generator.generate());
+                                    }
+                                    return uuids;
+                                }));
+            }
+        }
+
+        Set<UUID> unique = new HashSet<>();
+        for (Future<List<UUID>> result : results) {
+            List<UUID> uuids = result.get();
+            for (int i = 1; i < uuids.size(); i++) {
+                assertTrue(compareUnsigned(uuids.get(i - 1), uuids.get(i)) < 0);
+            }
+            unique.addAll(uuids);
+        }
+        assertEquals(THREADS * PER_THREAD, unique.size());
+    }
+
+    @Test
+    @DisplayName("generate should share its state with the Hibernate entry point")
+    void generate_ShouldShareStateWithHibernateEntryPoint() {
+        UUID first = generator.generate();
+        UUID second = (UUID) new UUIDv7Generator().generate(null, new Object());
+
+        assertTrue(compareUnsigned(first, second) < 0);
+    }
+}
@@ -1,3 +1,15 @@
+import { Trend } from 'k6/metrics';
+
+// Stages reported by the backend in the Server-Timing header (`timing` profile), plus its total
+export const SERVER_TIMING_STAGES = [
+  'queue', 'ratelimit', 'jwt', 'bcrypt', 'db-conn', 'db-exec', 'db-batch', 'sign', 'ser', 'total',
+];
+
+// Trends must be created in the init context; stages missing from a response record nothing
+const SERVER_TIMING_TRENDS = Object.fromEntries(
+  SERVER_TIMING_STAGES.map((stage) => [stage, new Trend(`server_${stage.replace('-', '_')}`, true)]),
+);
+
 export function generateMarkdownSummary(endpoint: string, data: any) {
   const p95 = data.metrics.http_req_duration?.values?.p95 || 0;
   const errorRate = data.metrics.http_req_failed?.values?.rate * 100 || 0;
@@ -11,3 +23,46 @@ export function generateMarkdownSummary(endpoint: string, data: any) {
 - **Throughput**: ${throughput.toFixed(2)} req/s
 `;
 }
+
+// Records the Server-Timing durations of a response, e.g. `bcrypt;dur=401.000, total;dur=412.500`
+export function recordServerTiming(res: any, tags: Record<string, string>) {
+  const header = res.headers['Server-Timing'];
+  if (!header) {
+    return;
+  }
+  for (const entry of header.split(',')) {
+    const [name, ...params] = entry.trim().split(';');
+    const dur = params.find((param: string) => param.startsWith('dur='));
+    const trend = SERVER_TIMING_TRENDS[name];
+    if (trend && dur) {
+      trend.add(parseFloat(dur.substring(4)), tags);
+    }
+  }
+}
+
+// Always-passing thresholds, so the summary holds a sub-metric per stage and request type
+export function serverTimingThresholds(types: string[]) {
+  const thresholds: Record<string, string[]> = {};
+  for (const stage of SERVER_TIMING_STAGES) {
+    for (const type of types) {
+      thresholds[`server_${stage.replace('-', '_')}{type:${type}}`] = ['max>=0'];
+    }
+  }
+  return thresholds;
+}
+
+// p95 of each server stage per request type, next to the p95 seen by the client
+export function generateServerTimingSummary(types: string[], data: any) {
+  const p95 = (metric: string) => data.metrics[metric]?.values?.['p(95)'];
+  const format = (value: number | undefined) => (value === undefined ? '-' : value.toFixed(2));
+
+  let table = `### Server-Timing p95 (ms)\n\n| Stage | ${types.join(' | ')} |\n|---|${types.map(() => '---').join('|')}|\n`;
+  table += `| client | ${types.map((type) => format(p95(`http_req_duration{type:${type}}`))).join(' | ')} |\n`;
+  for (const stage of SERVER_TIMING_STAGES) {
+    const values = types.map((type) => p95(`server_${stage.replace('-', '_')}{type:${type}}`));
+    if (values.some((value) => (value ?? 0) > 0)) {
+      table += `| ${stage} | ${values.map(format).join(' | ')} |\n`;
+    }
+  }
+  return table;
+}
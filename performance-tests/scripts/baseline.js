@@ -4,6 +4,9 @@ import http from 'k6/http';
 import { htmlReport } from 'https://raw.githubusercontent.com/benc-uk/k6-reporter/3.0.4/dist/bundle.js';
 import { textSummary } from 'https://jslib.k6.io/k6-summary/0.1.0/index.js';
 import { CONFIG } from '../lib/config.ts';
+import { generateServerTimingSummary, recordServerTiming, serverTimingThresholds } from '../lib/reporting.ts';
+
+const TYPES = ['login', 'me', 'rotate', 'logout'];
 
 const USERS = new SharedArray('users', function () {
   return open('../data/users.csv').split('\n').slice(1).filter(Boolean).map(line => {
@@ -37,10 +40,13 @@ export const options = {
   thresholds: {
     // t3.micro (2 CPU, 1 GB) + bcrypt cost 12 — realistic p95 targets
     'http_req_duration{type:login}':  ['p(95)<15000'], // 15s
+    // Calibrated without the request scheduler; re-calibrate from a measured run (see README)
     'http_req_duration{type:me}':     ['p(95)<8000'],  // 8s
     'http_req_duration{type:rotate}': ['p(95)<6000'],  // 6s
     'http_req_duration{type:logout}': ['p(95)<6000'],  // 6s
     'http_req_failed':                ['rate<0.01'],   // <1%
+    // Server-Timing breakdown, recorded only when the backend runs with the `timing` profile
+    ...serverTimingThresholds(TYPES),
   },
 };
 
@@ -73,6 +79,7 @@ export default function () {
     JSON.stringify({ email: user.email, password: user.pass }),
     { tags: { type: 'login' }, headers: headers({ 'Content-Type': 'application/json' }) },
   );
+  recordServerTiming(loginRes, { type: 'login' });
   check(loginRes, { 'login ok': (r) => r.status === 200 });
   if (loginRes.status !== 200) {
     sleep(1);
@@ -85,6 +92,7 @@ export default function () {
     `${CONFIG.baseURL}/api/auth/me`,
     { tags: { type: 'me' }, headers: headers({ Authorization: `Bearer ${accessToken}` }) },
   );
+  recordServerTiming(meRes, { type: 'me' });
   check(meRes, { 'me ok': (r) => r.status === 200 });
 
   // --- Rotate ---
@@ -95,6 +103,7 @@ export default function () {
       'X-Refresh-Token': refreshToken,
     })},
   );
+  recordServerTiming(rotateRes, { type: 'rotate' });
   check(rotateRes, { 'rotate ok': (r) => r.status === 200 });
   if (rotateRes.status !== 200) {
     sleep(1);
@@ -110,6 +119,7 @@ export default function () {
       'X-Refresh-Token': newTokens.refreshToken,
     })},
   );
+  recordServerTiming(logoutRes, { type: 'logout' });
   check(logoutRes, { 'logout ok': (r) => r.status === 200 });
 
   sleep(1);
@@ -119,6 +129,7 @@ export function handleSummary(data) {
   return {
     'summary.html': htmlReport(data, { title: 'Auth-Alpaca Baseline' }),
     'summary.json': JSON.stringify(data, null, 2),
+    'server-timing.md': generateServerTimingSummary(TYPES, data),
     stdout: textSummary(data, { indent: ' ', enableColors: true }),
   };
 }